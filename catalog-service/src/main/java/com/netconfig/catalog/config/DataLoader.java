@@ -11,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Map;
 
 /**
@@ -316,6 +317,8 @@ public class DataLoader {
         product.setDescription(description);
         product.setType(type);
         product.setBasePrice(price);
+        // Sample data: cost at 60% of list price
+        product.setCostPrice(price.multiply(new BigDecimal("0.60")).setScale(2, RoundingMode.HALF_UP));
         product.setAttributes(new java.util.HashMap<>(attributes));
         product.setCompatibilityRules(new java.util.HashMap<>(compatibilityRules));
         return product;
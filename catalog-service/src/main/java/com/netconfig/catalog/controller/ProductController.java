@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for product catalog operations.
@@ -45,6 +46,36 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(product));
     }
 
+    /**
+     * Fetch many products by SKU in one call. Unknown SKUs are left out of the result.
+     */
+    @PostMapping("/sku/batch")
+    public ResponseEntity<ApiResponse<List<Product>>> getProductsBySkus(
+            @RequestBody Set<String> skus) {
+        List<Product> products = productService.getProductsBySkus(skus);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    /**
+     * Page through all active products in SKU order. Pass the last SKU of
+     * one page as {@code after} to get the next; an empty page is the end.
+     */
+    @GetMapping("/scan")
+    public ResponseEntity<ApiResponse<List<Product>>> scanActiveProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "500") int limit) {
+        List<Product> products = productService.scanActiveProducts(after, limit);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    /**
+     * Catalog version token; changes with every product write.
+     */
+    @GetMapping("/version")
+    public ResponseEntity<ApiResponse<String>> getCatalogVersion() {
+        return ResponseEntity.ok(ApiResponse.success(productService.getCatalogVersion()));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<Product>> createProduct(@Valid @RequestBody Product product) {
         Product created = productService.createProduct(product);
@@ -31,6 +31,12 @@ public class Product {
     private BigDecimal basePrice;
     private String currency = "USD";
 
+    /**
+     * What the product costs us, in {@code currency}; used for margin
+     * checks when pricing. Null if unknown.
+     */
+    private BigDecimal costPrice;
+
     /**
      * Flexible attributes map for product-specific properties.
      * Examples:
@@ -114,6 +120,14 @@ public class Product {
         this.currency = currency;
     }
 
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+
+    public void setCostPrice(BigDecimal costPrice) {
+        this.costPrice = costPrice;
+    }
+
     public Map<String, Object> getAttributes() {
         return attributes;
     }
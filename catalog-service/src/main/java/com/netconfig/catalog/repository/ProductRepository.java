@@ -2,10 +2,12 @@ package com.netconfig.catalog.repository;
 
 import com.netconfig.catalog.domain.Product;
 import com.netconfig.catalog.domain.ProductType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +19,22 @@ public interface ProductRepository extends MongoRepository<Product, String> {
 
     Optional<Product> findBySku(String sku);
 
+    List<Product> findBySkuIn(Collection<String> skus);
+
     List<Product> findByType(ProductType type);
 
     List<Product> findByActiveTrue();
 
     List<Product> findByTypeAndActiveTrue(ProductType type);
 
+    /**
+     * Active products with a SKU after the given one, in SKU order (keyset
+     * paging over the unique SKU index).
+     */
+    List<Product> findByActiveTrueAndSkuGreaterThanOrderBySkuAsc(String sku, Pageable pageable);
+
+    Optional<Product> findTopByOrderByUpdatedAtDesc();
+
     @Query("{ 'attributes.ports': { $gte: ?0 } }")
     List<Product> findSwitchesWithMinPorts(int minPorts);
 
@@ -6,9 +6,11 @@ import com.netconfig.catalog.repository.ProductRepository;
 import com.netconfig.common.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +21,8 @@ public class ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
 
+    private static final int MAX_SKU_BATCH = 1000;
+
     private final ProductRepository productRepository;
 
     public ProductService(ProductRepository productRepository) {
@@ -39,6 +43,42 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", sku));
     }
 
+    public List<Product> getProductsBySkus(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        if (skus.size() > MAX_SKU_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_SKU_BATCH + " SKUs per request");
+        }
+        return productRepository.findBySkuIn(skus);
+    }
+
+    /**
+     * Next page of active products in SKU order, starting after
+     * {@code afterSku} (null or blank for the first page). Unlike offset
+     * paging this stays cheap deep into the catalog and does not skip or
+     * repeat products when others are added meanwhile.
+     */
+    public List<Product> scanActiveProducts(String afterSku, int limit) {
+        if (limit < 1 || limit > MAX_SKU_BATCH) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SKU_BATCH);
+        }
+        String after = afterSku != null ? afterSku : "";
+        return productRepository.findByActiveTrueAndSkuGreaterThanOrderBySkuAsc(after, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Token that changes whenever a product is created, updated or
+     * deactivated: the latest update time plus the product count. Services
+     * caching catalog data poll it instead of being called on every write.
+     */
+    public String getCatalogVersion() {
+        Instant lastUpdate = productRepository.findTopByOrderByUpdatedAtDesc()
+                .map(Product::getUpdatedAt)
+                .orElse(Instant.EPOCH);
+        return lastUpdate.toEpochMilli() + "-" + productRepository.count();
+    }
+
     public List<Product> getProductsByType(ProductType type) {
         return productRepository.findByTypeAndActiveTrue(type);
     }
@@ -66,6 +106,9 @@ public class ProductService {
         if (updates.getBasePrice() != null) {
             existing.setBasePrice(updates.getBasePrice());
         }
+        if (updates.getCostPrice() != null) {
+            existing.setCostPrice(updates.getCostPrice());
+        }
         if (updates.getAttributes() != null && !updates.getAttributes().isEmpty()) {
             existing.getAttributes().putAll(updates.getAttributes());
         }
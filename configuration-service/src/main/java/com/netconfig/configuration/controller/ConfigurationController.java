@@ -3,12 +3,15 @@ package com.netconfig.configuration.controller;
 import com.netconfig.common.dto.ApiResponse;
 import com.netconfig.configuration.domain.ConfigurationItem;
 import com.netconfig.configuration.domain.RackConfiguration;
+import com.netconfig.configuration.dto.InstantiateTemplateRequest;
 import com.netconfig.configuration.service.ConfigurationService;
 import com.netconfig.configuration.validation.ValidationSummary;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -79,12 +82,14 @@ public class ConfigurationController {
 
     /**
      * Add a component to a configuration.
+     * With merge=true, the quantity is added to an existing item with the same SKU.
      */
     @PostMapping("/{id}/components")
     public ResponseEntity<ApiResponse<RackConfiguration>> addComponent(
             @PathVariable String id,
-            @Valid @RequestBody ConfigurationItem item) {
-        RackConfiguration updated = configurationService.addComponent(id, item);
+            @Valid @RequestBody ConfigurationItem item,
+            @RequestParam(required = false, defaultValue = "false") boolean merge) {
+        RackConfiguration updated = configurationService.addComponent(id, item, merge);
         return ResponseEntity.ok(ApiResponse.success(updated, "Component added successfully"));
     }
 
@@ -123,6 +128,15 @@ public class ConfigurationController {
         return ResponseEntity.ok(ApiResponse.success(summary, message));
     }
 
+    /**
+     * Stream validation results as Server-Sent Events.
+     * Pushes a fresh summary on connect and after every (debounced) burst of edits.
+     */
+    @GetMapping(path = "/{id}/validation-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamValidation(@PathVariable String id) {
+        return configurationService.streamValidation(id);
+    }
+
     /**
      * Clone a configuration.
      */
@@ -135,6 +149,19 @@ public class ConfigurationController {
                 .body(ApiResponse.success(cloned, "Configuration cloned successfully"));
     }
 
+    /**
+     * Instantiate a template configuration for many sites or customers in one call.
+     */
+    @PostMapping("/{id}/instantiate")
+    public ResponseEntity<ApiResponse<List<RackConfiguration>>> instantiateTemplate(
+            @PathVariable String id,
+            @Valid @RequestBody InstantiateTemplateRequest request) {
+        List<RackConfiguration> created = configurationService.instantiateTemplate(id, request.targets());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(created,
+                        String.format("Created %d configurations from template", created.size())));
+    }
+
     /**
      * Get list of validation rules.
      */
@@ -1,11 +1,21 @@
 package com.netconfig.configuration.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Represents a user's rack configuration.
@@ -33,10 +43,23 @@ public class RackConfiguration {
     // Validation state
     private boolean validated = false;
     private List<String> validationErrors = new ArrayList<>();
+
+    // Content hash the last successful validation was run against
+    private String validatedContentHash;
     
     private Instant createdAt;
     private Instant updatedAt;
 
+    // Lookup indexes over items, never persisted. Left null until first use so that
+    // they are rebuilt lazily after Mongo or Jackson populate the items list.
+    @Transient
+    private Map<String, ConfigurationItem> itemsById;
+    @Transient
+    private Map<String, ConfigurationItem> itemsBySku;
+    // First item per SKU without a rack position: the only kind of item additions merge into
+    @Transient
+    private Map<String, ConfigurationItem> mergeTargetsBySku;
+
     public RackConfiguration() {
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
@@ -89,6 +112,7 @@ public class RackConfiguration {
 
     public void setItems(List<ConfigurationItem> items) {
         this.items = items;
+        invalidateItemIndex();
     }
 
     public ConfigurationStatus getStatus() {
@@ -115,6 +139,14 @@ public class RackConfiguration {
         this.validationErrors = validationErrors;
     }
 
+    public String getValidatedContentHash() {
+        return validatedContentHash;
+    }
+
+    public void setValidatedContentHash(String validatedContentHash) {
+        this.validatedContentHash = validatedContentHash;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -132,15 +164,168 @@ public class RackConfiguration {
     }
 
     public void addItem(ConfigurationItem item) {
-        this.items.add(item);
+        addItem(item, false);
+    }
+
+    /**
+     * Add an item, optionally merging it into an existing item with the same SKU.
+     * Items pinned to a rack position are never merged.
+     *
+     * @return the item now holding the quantity (the merge target or the added item)
+     */
+    public ConfigurationItem addItem(ConfigurationItem item, boolean mergeSameSku) {
+        ensureItemIndex();
+
+        ConfigurationItem target = null;
+        if (mergeSameSku && item.getRackPosition() == null) {
+            target = mergeTargetsBySku.get(item.getProductSku());
+            if (target != null && target.getRackPosition() != null) {
+                // Pinned to a position after it was indexed
+                target = reindexMergeTarget(item.getProductSku());
+            }
+        }
+
+        if (target != null) {
+            target.setQuantity(target.getQuantity() + item.getQuantity());
+        } else {
+            this.items.add(item);
+            itemsById.put(item.getId(), item);
+            itemsBySku.putIfAbsent(item.getProductSku(), item);
+            if (item.getRackPosition() == null) {
+                mergeTargetsBySku.putIfAbsent(item.getProductSku(), item);
+            }
+            target = item;
+        }
+
         this.validated = false;
         this.updatedAt = Instant.now();
+        return target;
     }
 
+    /**
+     * Remove an item by its ID. The item is found through the ID index, but
+     * removing it from the ordered item list and re-indexing its SKU are
+     * still linear in the number of items.
+     */
     public void removeItem(String itemId) {
-        this.items.removeIf(item -> item.getId().equals(itemId));
+        ensureItemIndex();
+        ConfigurationItem removed = itemsById.remove(itemId);
+        if (removed != null) {
+            this.items.remove(removed);
+            if (itemsBySku.get(removed.getProductSku()) == removed) {
+                itemsBySku.remove(removed.getProductSku());
+                reindexSku(removed.getProductSku());
+            }
+            if (mergeTargetsBySku.get(removed.getProductSku()) == removed) {
+                reindexMergeTarget(removed.getProductSku());
+            }
+        }
         this.validated = false;
         this.updatedAt = Instant.now();
     }
-}
 
+    /**
+     * Find an item by its ID.
+     */
+    public Optional<ConfigurationItem> findItem(String itemId) {
+        ensureItemIndex();
+        return Optional.ofNullable(itemsById.get(itemId));
+    }
+
+    /**
+     * Find the first item holding the given SKU.
+     */
+    public Optional<ConfigurationItem> findItemBySku(String productSku) {
+        ensureItemIndex();
+        return Optional.ofNullable(itemsBySku.get(productSku));
+    }
+
+    /**
+     * Hash of everything validation depends on: the rack and the
+     * (SKU, quantity, position) of each item. Item IDs, names and
+     * ordering are ignored, so clones hash equal to their template.
+     */
+    public String contentHash() {
+        List<String> lines = new ArrayList<>();
+        if (items != null) {
+            for (ConfigurationItem item : items) {
+                lines.add(item.getProductSku() + "|" + item.getQuantity() + "|" + item.getRackPosition());
+            }
+        }
+        Collections.sort(lines);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(rackSku).getBytes(StandardCharsets.UTF_8));
+            for (String line : lines) {
+                digest.update((byte) '\n');
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Whether the stored validation result still applies to the current content.
+     */
+    public boolean hasCurrentValidation() {
+        return validated && validatedContentHash != null && validatedContentHash.equals(contentHash());
+    }
+
+    /**
+     * Drop the lookup indexes so they are rebuilt on next use.
+     * Call this after mutating the list returned by {@link #getItems()} directly.
+     */
+    public void invalidateItemIndex() {
+        this.itemsById = null;
+        this.itemsBySku = null;
+        this.mergeTargetsBySku = null;
+    }
+
+    private void ensureItemIndex() {
+        if (itemsById != null) {
+            return;
+        }
+        if (items == null) {
+            items = new ArrayList<>();
+        }
+        Map<String, ConfigurationItem> byId = new HashMap<>();
+        Map<String, ConfigurationItem> bySku = new HashMap<>();
+        Map<String, ConfigurationItem> mergeTargets = new HashMap<>();
+        for (ConfigurationItem item : items) {
+            byId.put(item.getId(), item);
+            bySku.putIfAbsent(item.getProductSku(), item);
+            if (item.getRackPosition() == null) {
+                mergeTargets.putIfAbsent(item.getProductSku(), item);
+            }
+        }
+        this.itemsById = byId;
+        this.itemsBySku = bySku;
+        this.mergeTargetsBySku = mergeTargets;
+    }
+
+    private void reindexSku(String productSku) {
+        for (ConfigurationItem item : items) {
+            if (Objects.equals(item.getProductSku(), productSku)) {
+                itemsBySku.put(productSku, item);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Point the merge index for a SKU at its first unpositioned item, if any.
+     */
+    private ConfigurationItem reindexMergeTarget(String productSku) {
+        mergeTargetsBySku.remove(productSku);
+        for (ConfigurationItem item : items) {
+            if (Objects.equals(item.getProductSku(), productSku) && item.getRackPosition() == null) {
+                mergeTargetsBySku.put(productSku, item);
+                return item;
+            }
+        }
+        return null;
+    }
+}
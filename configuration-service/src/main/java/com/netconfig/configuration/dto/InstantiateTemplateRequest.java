@@ -0,0 +1,32 @@
+package com.netconfig.configuration.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for instantiating a template configuration for many sites or customers.
+ */
+public record InstantiateTemplateRequest(
+    @NotEmpty(message = "At least one target is required")
+    @Size(max = 1000, message = "At most 1000 targets per request")
+    List<@Valid Target> targets
+) {
+    /**
+     * One configuration to create from the template.
+     * Null fields are inherited from the template.
+     */
+    public record Target(
+        @NotBlank(message = "Target name is required")
+        String name,
+
+        String customerId,
+
+        String rackSku,
+
+        String description
+    ) {}
+}
@@ -1,5 +1,6 @@
 package com.netconfig.configuration.service;
 
+import com.mongodb.bulk.BulkWriteError;
 import com.netconfig.common.exception.ResourceNotFoundException;
 import com.netconfig.common.exception.ValidationException;
 import com.netconfig.configuration.client.CatalogClient;
@@ -7,15 +8,24 @@ import com.netconfig.configuration.client.dto.ProductResponse;
 import com.netconfig.configuration.domain.ConfigurationItem;
 import com.netconfig.configuration.domain.ConfigurationStatus;
 import com.netconfig.configuration.domain.RackConfiguration;
+import com.netconfig.configuration.dto.InstantiateTemplateRequest;
 import com.netconfig.configuration.repository.ConfigurationRepository;
 import com.netconfig.configuration.validation.ConfigurationValidator;
 import com.netconfig.configuration.validation.ValidationSummary;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for managing rack configurations.
@@ -28,14 +38,20 @@ public class ConfigurationService {
     private final ConfigurationRepository repository;
     private final ConfigurationValidator validator;
     private final CatalogClient catalogClient;
+    private final ValidationStreamService validationStream;
+    private final MongoOperations mongoOperations;
 
     public ConfigurationService(
             ConfigurationRepository repository,
             ConfigurationValidator validator,
-            CatalogClient catalogClient) {
+            CatalogClient catalogClient,
+            ValidationStreamService validationStream,
+            MongoOperations mongoOperations) {
         this.repository = repository;
+        this.mongoOperations = mongoOperations;
         this.validator = validator;
         this.catalogClient = catalogClient;
+        this.validationStream = validationStream;
     }
 
     /**
@@ -100,6 +116,7 @@ public class ConfigurationService {
         existing.setUpdatedAt(Instant.now());
 
         RackConfiguration saved = repository.save(existing);
+        validationStream.configurationChanged(id);
         log.info("Updated configuration: {}", saved.getId());
         return saved;
     }
@@ -108,6 +125,14 @@ public class ConfigurationService {
      * Add a component to a configuration.
      */
     public RackConfiguration addComponent(String configurationId, ConfigurationItem item) {
+        return addComponent(configurationId, item, false);
+    }
+
+    /**
+     * Add a component to a configuration, optionally merging it into an
+     * existing item with the same SKU instead of adding a new line.
+     */
+    public RackConfiguration addComponent(String configurationId, ConfigurationItem item, boolean mergeSameSku) {
         RackConfiguration configuration = getConfiguration(configurationId);
 
         // Validate that the product exists
@@ -118,12 +143,13 @@ public class ConfigurationService {
         // Set product name from catalog
         item.setProductName(product.name());
         
-        configuration.addItem(item);
+        configuration.addItem(item, mergeSameSku);
         configuration.setValidated(false);
         configuration.setStatus(ConfigurationStatus.DRAFT);
         configuration.setUpdatedAt(Instant.now());
 
         RackConfiguration saved = repository.save(configuration);
+        validationStream.configurationChanged(configurationId);
         log.info("Added component {} to configuration {}", item.getProductSku(), configurationId);
         return saved;
     }
@@ -140,6 +166,7 @@ public class ConfigurationService {
         configuration.setUpdatedAt(Instant.now());
 
         RackConfiguration saved = repository.save(configuration);
+        validationStream.configurationChanged(configurationId);
         log.info("Removed component {} from configuration {}", itemId, configurationId);
         return saved;
     }
@@ -150,9 +177,7 @@ public class ConfigurationService {
     public RackConfiguration updateComponentQuantity(String configurationId, String itemId, int quantity) {
         RackConfiguration configuration = getConfiguration(configurationId);
         
-        configuration.getItems().stream()
-                .filter(item -> item.getId().equals(itemId))
-                .findFirst()
+        configuration.findItem(itemId)
                 .ifPresent(item -> item.setQuantity(quantity));
 
         configuration.setValidated(false);
@@ -160,10 +185,19 @@ public class ConfigurationService {
         configuration.setUpdatedAt(Instant.now());
 
         RackConfiguration saved = repository.save(configuration);
+        validationStream.configurationChanged(configurationId);
         log.info("Updated quantity for component {} in configuration {}", itemId, configurationId);
         return saved;
     }
 
+    /**
+     * Open a live validation stream for a configuration.
+     */
+    public SseEmitter streamValidation(String id) {
+        getConfiguration(id);
+        return validationStream.subscribe(id);
+    }
+
     /**
      * Validate a configuration.
      */
@@ -175,6 +209,7 @@ public class ConfigurationService {
         // Update configuration with validation results
         configuration.setValidated(summary.valid());
         configuration.setValidationErrors(summary.getAllErrors());
+        configuration.setValidatedContentHash(summary.valid() ? configuration.contentHash() : null);
         
         if (summary.valid()) {
             configuration.setStatus(ConfigurationStatus.VALIDATED);
@@ -210,6 +245,7 @@ public class ConfigurationService {
     public void deleteConfiguration(String id) {
         RackConfiguration configuration = getConfiguration(id);
         repository.delete(configuration);
+        validationStream.configurationDeleted(id);
         log.info("Deleted configuration: {}", id);
     }
 
@@ -218,15 +254,81 @@ public class ConfigurationService {
      */
     public RackConfiguration cloneConfiguration(String id, String newName) {
         RackConfiguration original = getConfiguration(id);
-        
-        RackConfiguration clone = new RackConfiguration();
+
+        RackConfiguration clone = copyOf(original, original.hasCurrentValidation());
         clone.setName(newName != null ? newName : original.getName() + " (Copy)");
-        clone.setDescription(original.getDescription());
-        clone.setCustomerId(original.getCustomerId());
-        clone.setRackSku(original.getRackSku());
-        clone.setStatus(ConfigurationStatus.DRAFT);
-        clone.setValidated(false);
-        
+
+        RackConfiguration saved = repository.save(clone);
+        log.info("Cloned configuration {} to new configuration {}", id, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Create one configuration per target from a template, written with a
+     * single unordered bulk insert. IDs are assigned here so the caller gets
+     * them back without a second round trip. If the template's validation
+     * result still matches its content, copies on the same rack inherit it
+     * instead of having to be re-validated one by one. When some inserts
+     * fail, the others are still written and only those are returned.
+     */
+    public List<RackConfiguration> instantiateTemplate(String templateId, List<InstantiateTemplateRequest.Target> targets) {
+        RackConfiguration template = getConfiguration(templateId);
+        boolean reuseValidation = template.hasCurrentValidation();
+
+        List<RackConfiguration> copies = new ArrayList<>(targets.size());
+        for (InstantiateTemplateRequest.Target target : targets) {
+            // A different rack changes the content, so the template's result no longer applies
+            boolean sameRack = target.rackSku() == null || target.rackSku().equals(template.getRackSku());
+            RackConfiguration copy = copyOf(template, reuseValidation && sameRack);
+            copy.setId(new ObjectId().toHexString());
+            copy.setName(target.name());
+            if (target.customerId() != null) {
+                copy.setCustomerId(target.customerId());
+            }
+            if (target.rackSku() != null) {
+                copy.setRackSku(target.rackSku());
+            }
+            if (target.description() != null) {
+                copy.setDescription(target.description());
+            }
+            copies.add(copy);
+        }
+
+        List<RackConfiguration> created = copies;
+        try {
+            mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, RackConfiguration.class)
+                    .insert(copies)
+                    .execute();
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                log.warn("Could not instantiate template {} for target {}: {}",
+                        templateId, targets.get(error.getIndex()).name(), error.getMessage());
+            }
+            created = new ArrayList<>(copies.size() - failed.size());
+            for (int i = 0; i < copies.size(); i++) {
+                if (!failed.contains(i)) {
+                    created.add(copies.get(i));
+                }
+            }
+        }
+
+        log.info("Instantiated template {} into {} of {} configurations (validation reused: {})",
+                templateId, created.size(), copies.size(), reuseValidation);
+        return created;
+    }
+
+    /**
+     * Copy the content of a configuration with fresh item IDs.
+     */
+    private RackConfiguration copyOf(RackConfiguration original, boolean carryValidation) {
+        RackConfiguration copy = new RackConfiguration();
+        copy.setName(original.getName());
+        copy.setDescription(original.getDescription());
+        copy.setCustomerId(original.getCustomerId());
+        copy.setRackSku(original.getRackSku());
+
         // Deep copy items
         for (ConfigurationItem originalItem : original.getItems()) {
             ConfigurationItem newItem = new ConfigurationItem(
@@ -235,12 +337,19 @@ public class ConfigurationService {
                     originalItem.getQuantity()
             );
             newItem.setRackPosition(originalItem.getRackPosition());
-            clone.addItem(newItem);
+            copy.addItem(newItem);
         }
-        
-        RackConfiguration saved = repository.save(clone);
-        log.info("Cloned configuration {} to new configuration {}", id, saved.getId());
-        return saved;
+
+        if (carryValidation) {
+            copy.setStatus(ConfigurationStatus.VALIDATED);
+            copy.setValidated(true);
+            copy.setValidationErrors(new ArrayList<>(original.getValidationErrors()));
+            copy.setValidatedContentHash(original.getValidatedContentHash());
+        } else {
+            copy.setStatus(ConfigurationStatus.DRAFT);
+            copy.setValidated(false);
+        }
+        return copy;
     }
 
     /**
@@ -0,0 +1,204 @@
+package com.netconfig.configuration.service;
+
+import com.netconfig.configuration.domain.RackConfiguration;
+import com.netconfig.configuration.repository.ConfigurationRepository;
+import com.netconfig.configuration.validation.ConfigurationValidator;
+import com.netconfig.configuration.validation.ValidationSummary;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes live validation results to editors over Server-Sent Events.
+ *
+ * Mutations are debounced per configuration: every edit inside the debounce
+ * window pushes the pending run back, so a burst of edits results in a
+ * single validation run. Runs of the same configuration never overlap, so
+ * a slow run cannot push its result after a newer one. Runs only happen
+ * while someone is subscribed, and the results are not persisted - POST /validate remains the way to mark a
+ * configuration as validated.
+ */
+@Service
+public class ValidationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidationStreamService.class);
+
+    private static final String VALIDATION_EVENT = "validation";
+
+    private final ConfigurationRepository repository;
+    private final ConfigurationValidator validator;
+    private final long debounceMillis;
+    private final long emitterTimeoutMillis;
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> pendingRuns = new ConcurrentHashMap<>();
+    private final Set<String> runningValidations = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ValidationStreamService(
+            ConfigurationRepository repository,
+            ConfigurationValidator validator,
+            @Value("${configuration.validation-stream.debounce-ms:300}") long debounceMillis,
+            @Value("${configuration.validation-stream.timeout-ms:1800000}") long emitterTimeoutMillis,
+            @Value("${configuration.validation-stream.threads:2}") int threads) {
+        this(repository, validator, debounceMillis, emitterTimeoutMillis,
+                Executors.newScheduledThreadPool(threads, runnable -> {
+                    Thread thread = new Thread(runnable, "validation-stream");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * Service running validations on the given scheduler.
+     */
+    ValidationStreamService(ConfigurationRepository repository, ConfigurationValidator validator,
+                            long debounceMillis, long emitterTimeoutMillis, ScheduledExecutorService scheduler) {
+        this.repository = repository;
+        this.validator = validator;
+        this.debounceMillis = debounceMillis;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Open a stream for a configuration. An initial validation result is
+     * pushed right away, then one per (debounced) burst of edits.
+     */
+    public SseEmitter subscribe(String configurationId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        // Add inside compute so a concurrent unsubscribe cannot drop the set we add to
+        Set<SseEmitter> emitters = subscribers.compute(configurationId, (id, existing) -> {
+            Set<SseEmitter> set = existing != null ? existing : new CopyOnWriteArraySet<>();
+            set.add(emitter);
+            return set;
+        });
+
+        Runnable remove = () -> unsubscribe(configurationId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        log.debug("Validation stream opened for configuration {} ({} subscribers)",
+                configurationId, emitters.size());
+        configurationChanged(configurationId);
+        return emitter;
+    }
+
+    /**
+     * Notify the stream that a configuration was mutated.
+     * Cheap no-op when nobody is listening.
+     */
+    public void configurationChanged(String configurationId) {
+        if (!subscribers.containsKey(configurationId)) {
+            return;
+        }
+        pendingRuns.compute(configurationId, (id, pending) -> {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            // The run needs its own future to deregister only itself, not a newer run
+            AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+            ScheduledFuture<?> run = scheduler.schedule(
+                    () -> runValidation(id, self.get()), debounceMillis, TimeUnit.MILLISECONDS);
+            self.set(run);
+            return run;
+        });
+    }
+
+    /**
+     * Close all streams of a deleted configuration.
+     */
+    public void configurationDeleted(String configurationId) {
+        ScheduledFuture<?> pending = pendingRuns.remove(configurationId);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        Set<SseEmitter> emitters = subscribers.remove(configurationId);
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void runValidation(String configurationId, ScheduledFuture<?> self) {
+        try {
+            if (!runningValidations.add(configurationId)) {
+                // An earlier run is still validating: go again after it instead of racing its push
+                configurationChanged(configurationId);
+                return;
+            }
+            try {
+                validateAndPush(configurationId);
+            } finally {
+                runningValidations.remove(configurationId);
+            }
+        } finally {
+            // Deregister only this run: an edit made meanwhile has replaced it with the next one
+            if (self != null) {
+                pendingRuns.remove(configurationId, self);
+            }
+        }
+    }
+
+    private void validateAndPush(String configurationId) {
+        Set<SseEmitter> emitters = subscribers.get(configurationId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        RackConfiguration configuration = repository.findById(configurationId).orElse(null);
+        if (configuration == null) {
+            configurationDeleted(configurationId);
+            return;
+        }
+
+        ValidationSummary summary;
+        try {
+            summary = validator.validate(configuration);
+        } catch (Exception e) {
+            log.error("Streaming validation failed for configuration {}", configurationId, e);
+            return;
+        }
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(VALIDATION_EVENT)
+                        .data(summary));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping validation stream subscriber for {}: {}", configurationId, e.getMessage());
+                unsubscribe(configurationId, emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(String configurationId, SseEmitter emitter) {
+        subscribers.computeIfPresent(configurationId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+}
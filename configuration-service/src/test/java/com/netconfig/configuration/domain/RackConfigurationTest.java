@@ -0,0 +1,175 @@
+package com.netconfig.configuration.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RackConfiguration item indexing.
+ */
+class RackConfigurationTest {
+
+    private RackConfiguration config;
+
+    @BeforeEach
+    void setUp() {
+        config = new RackConfiguration();
+        config.setId("test-config-1");
+        config.setRackSku("RACK-42U");
+    }
+
+    @Test
+    @DisplayName("Should find items by ID and SKU after adding")
+    void shouldFindItemsAfterAdding() {
+        ConfigurationItem item = createItem("SW-1", 2);
+        config.addItem(item);
+
+        assertThat(config.findItem(item.getId())).containsSame(item);
+        assertThat(config.findItemBySku("SW-1")).containsSame(item);
+        assertThat(config.findItem("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should merge same-SKU items when requested")
+    void shouldMergeSameSkuItems() {
+        ConfigurationItem first = createItem("SW-1", 2);
+        config.addItem(first, true);
+        ConfigurationItem merged = config.addItem(createItem("SW-1", 3), true);
+
+        assertThat(merged).isSameAs(first);
+        assertThat(config.getItems()).hasSize(1);
+        assertThat(first.getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not merge by default or when items are pinned to a rack position")
+    void shouldNotMergeByDefaultOrWhenPositioned() {
+        config.addItem(createItem("SW-1", 1));
+        config.addItem(createItem("SW-1", 1));
+
+        ConfigurationItem positioned = createItem("SW-1", 1);
+        positioned.setRackPosition(10);
+        config.addItem(positioned, true);
+
+        assertThat(config.getItems()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should keep SKU index pointing at a remaining item after removal")
+    void shouldReindexSkuAfterRemoval() {
+        ConfigurationItem first = createItem("SW-1", 1);
+        ConfigurationItem second = createItem("SW-1", 4);
+        config.addItem(first);
+        config.addItem(second);
+
+        config.removeItem(first.getId());
+
+        assertThat(config.getItems()).containsExactly(second);
+        assertThat(config.findItem(first.getId())).isEmpty();
+        assertThat(config.findItemBySku("SW-1")).containsSame(second);
+    }
+
+    @Test
+    @DisplayName("Should merge into an unpositioned item when the first item of the SKU is positioned")
+    void shouldMergeBehindPositionedItem() {
+        ConfigurationItem positioned = createItem("SW-1", 1);
+        positioned.setRackPosition(10);
+        config.addItem(positioned);
+        ConfigurationItem loose = createItem("SW-1", 2);
+        config.addItem(loose, true);
+
+        ConfigurationItem merged = config.addItem(createItem("SW-1", 3), true);
+        config.addItem(createItem("SW-1", 4), true);
+
+        assertThat(merged).isSameAs(loose);
+        assertThat(config.getItems()).containsExactly(positioned, loose);
+        assertThat(loose.getQuantity()).isEqualTo(9);
+        assertThat(config.findItemBySku("SW-1")).containsSame(positioned);
+    }
+
+    @Test
+    @DisplayName("Should move the merge target to the next unpositioned item after removal")
+    void shouldReindexMergeTargetAfterRemoval() {
+        ConfigurationItem first = createItem("SW-1", 1);
+        ConfigurationItem positioned = createItem("SW-1", 1);
+        positioned.setRackPosition(10);
+        ConfigurationItem second = createItem("SW-1", 2);
+        config.addItem(first);
+        config.addItem(positioned);
+        config.addItem(second);
+
+        config.removeItem(first.getId());
+        ConfigurationItem merged = config.addItem(createItem("SW-1", 3), true);
+
+        assertThat(merged).isSameAs(second);
+        assertThat(second.getQuantity()).isEqualTo(5);
+
+        config.removeItem(second.getId());
+        ConfigurationItem added = createItem("SW-1", 1);
+        assertThat(config.addItem(added, true)).isSameAs(added);
+        assertThat(config.getItems()).containsExactly(positioned, added);
+    }
+
+    @Test
+    @DisplayName("Should not merge into an item pinned to a position after it was added")
+    void shouldSkipMergeTargetPinnedLater() {
+        ConfigurationItem first = createItem("SW-1", 1);
+        ConfigurationItem second = createItem("SW-1", 2);
+        config.addItem(first);
+        config.addItem(second);
+        first.setRackPosition(5);
+
+        ConfigurationItem merged = config.addItem(createItem("SW-1", 3), true);
+
+        assertThat(merged).isSameAs(second);
+        assertThat(first.getQuantity()).isEqualTo(1);
+        assertThat(second.getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index lazily when items are replaced")
+    void shouldRebuildIndexAfterSetItems() {
+        config.addItem(createItem("SW-1", 1));
+
+        ConfigurationItem replacement = createItem("PSU-1", 2);
+        List<ConfigurationItem> items = new ArrayList<>();
+        items.add(replacement);
+        config.setItems(items);
+
+        assertThat(config.findItemBySku("SW-1")).isEmpty();
+        assertThat(config.findItem(replacement.getId())).containsSame(replacement);
+    }
+
+    @Test
+    @DisplayName("Should keep validation current only while content is unchanged")
+    void shouldTrackValidationAgainstContentHash() {
+        config.addItem(createItem("SW-1", 1));
+        config.addItem(createItem("PSU-1", 2));
+        config.setValidated(true);
+        config.setValidatedContentHash(config.contentHash());
+
+        // Item order and item IDs do not affect the hash
+        RackConfiguration reordered = new RackConfiguration();
+        reordered.setRackSku("RACK-42U");
+        reordered.addItem(createItem("PSU-1", 2));
+        reordered.addItem(createItem("SW-1", 1));
+        assertThat(reordered.contentHash()).isEqualTo(config.contentHash());
+        assertThat(config.hasCurrentValidation()).isTrue();
+
+        config.findItemBySku("SW-1").orElseThrow().setQuantity(3);
+
+        assertThat(config.hasCurrentValidation()).isFalse();
+    }
+
+    private ConfigurationItem createItem(String sku, int quantity) {
+        ConfigurationItem item = new ConfigurationItem();
+        item.setProductSku(sku);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,199 @@
+package com.netconfig.configuration.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.netconfig.common.exception.ResourceNotFoundException;
+import com.netconfig.configuration.client.CatalogClient;
+import com.netconfig.configuration.domain.ConfigurationItem;
+import com.netconfig.configuration.domain.ConfigurationStatus;
+import com.netconfig.configuration.domain.RackConfiguration;
+import com.netconfig.configuration.dto.InstantiateTemplateRequest.Target;
+import com.netconfig.configuration.repository.ConfigurationRepository;
+import com.netconfig.configuration.validation.ConfigurationValidator;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConfigurationService template instantiation.
+ */
+class ConfigurationServiceTest {
+
+    private static final String TEMPLATE_ID = "tpl-1";
+
+    private ConfigurationRepository repository;
+    private MongoOperations mongoOperations;
+    private BulkOperations bulkOps;
+    private ConfigurationService service;
+    private RackConfiguration template;
+
+    // Documents handed to the bulk insert
+    private final List<Object> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ConfigurationRepository.class);
+        mongoOperations = mock(MongoOperations.class);
+        bulkOps = mock(BulkOperations.class);
+        when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, RackConfiguration.class))
+                .thenReturn(bulkOps);
+        when(bulkOps.insert(anyList())).thenAnswer(invocation -> {
+            inserted.addAll(invocation.getArgument(0));
+            return bulkOps;
+        });
+        service = new ConfigurationService(repository, mock(ConfigurationValidator.class),
+                mock(CatalogClient.class), mock(ValidationStreamService.class), mongoOperations);
+
+        template = new RackConfiguration();
+        template.setId(TEMPLATE_ID);
+        template.setName("Branch standard");
+        template.setDescription("Standard branch rack");
+        template.setCustomerId("cust-template");
+        template.setRackSku("RACK-42U");
+        ConfigurationItem pinned = new ConfigurationItem("SW-48", "48-port switch", 1);
+        pinned.setRackPosition(10);
+        template.addItem(pinned);
+        template.addItem(new ConfigurationItem("PDU-1", "PDU", 2));
+        when(repository.findById(TEMPLATE_ID)).thenReturn(Optional.of(template));
+    }
+
+    @Test
+    @DisplayName("Should insert one copy per target in a single bulk write with fresh IDs")
+    void shouldInsertCopiesInOneBulkWrite() {
+        // When
+        List<RackConfiguration> created = service.instantiateTemplate(TEMPLATE_ID, List.of(
+                new Target("Site A", null, null, null),
+                new Target("Site B", null, null, "Site B rack")));
+
+        // Then
+        verify(bulkOps).execute();
+        assertThat(inserted).containsExactlyElementsOf(created);
+        assertThat(created).extracting(RackConfiguration::getName).containsExactly("Site A", "Site B");
+        assertThat(created).extracting(RackConfiguration::getId)
+                .doesNotContainNull()
+                .doesNotHaveDuplicates()
+                .doesNotContain(TEMPLATE_ID);
+        assertThat(created).extracting(RackConfiguration::getDescription)
+                .containsExactly("Standard branch rack", "Site B rack");
+
+        List<String> templateItemIds = template.getItems().stream().map(ConfigurationItem::getId).toList();
+        for (RackConfiguration copy : created) {
+            assertThat(copy.getItems()).extracting(ConfigurationItem::getProductSku).containsExactly("SW-48", "PDU-1");
+            assertThat(copy.getItems()).extracting(ConfigurationItem::getRackPosition).containsExactly(10, null);
+            assertThat(copy.getItems()).extracting(ConfigurationItem::getId).doesNotContainAnyElementsOf(templateItemIds);
+        }
+        assertThat(created.get(0).getItems().get(0).getId()).isNotEqualTo(created.get(1).getItems().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should apply customer and rack overrides and keep template values otherwise")
+    void shouldApplyTargetOverrides() {
+        // When
+        List<RackConfiguration> created = service.instantiateTemplate(TEMPLATE_ID, List.of(
+                new Target("Inherited", null, null, null),
+                new Target("Other customer", "cust-7", null, null),
+                new Target("Other rack", null, "RACK-24U", null)));
+
+        // Then
+        assertThat(created).extracting(RackConfiguration::getCustomerId)
+                .containsExactly("cust-template", "cust-7", "cust-template");
+        assertThat(created).extracting(RackConfiguration::getRackSku)
+                .containsExactly("RACK-42U", "RACK-42U", "RACK-24U");
+        assertThat(template.getCustomerId()).isEqualTo("cust-template");
+        assertThat(template.getRackSku()).isEqualTo("RACK-42U");
+    }
+
+    @Test
+    @DisplayName("Should reuse a current template validation except for copies on another rack")
+    void shouldReuseValidationOnlyForSameContent() {
+        // Given
+        markValidated(template);
+
+        // When
+        List<RackConfiguration> created = service.instantiateTemplate(TEMPLATE_ID, List.of(
+                new Target("Same rack", "cust-7", null, null),
+                new Target("Explicit same rack", null, "RACK-42U", null),
+                new Target("Other rack", null, "RACK-24U", null)));
+
+        // Then: a different customer does not change the content, a different rack does
+        assertThat(created).extracting(RackConfiguration::isValidated).containsExactly(true, true, false);
+        assertThat(created).extracting(RackConfiguration::getStatus).containsExactly(
+                ConfigurationStatus.VALIDATED, ConfigurationStatus.VALIDATED, ConfigurationStatus.DRAFT);
+        assertThat(created.get(0).hasCurrentValidation()).isTrue();
+        assertThat(created.get(1).hasCurrentValidation()).isTrue();
+        assertThat(created.get(2).hasCurrentValidation()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not reuse a validation the template's content has moved past")
+    void shouldNotReuseStaleValidation() {
+        // Given: the template was edited after it was validated
+        markValidated(template);
+        template.getItems().get(1).setQuantity(3);
+
+        // When
+        List<RackConfiguration> created = service.instantiateTemplate(TEMPLATE_ID, List.of(
+                new Target("Site A", null, null, null)));
+
+        // Then
+        assertThat(created.get(0).isValidated()).isFalse();
+        assertThat(created.get(0).getStatus()).isEqualTo(ConfigurationStatus.DRAFT);
+    }
+
+    @Test
+    @DisplayName("Should return only the copies that were written when some inserts fail")
+    void shouldReturnWrittenCopiesOnPartialFailure() {
+        // Given: the unordered bulk write rejects the second and fourth documents
+        List<BulkWriteError> errors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1),
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 3));
+        BulkWriteResult result = BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of());
+        when(bulkOps.execute()).thenThrow(new BulkOperationException("Bulk write failed",
+                new MongoBulkWriteException(result, errors, null, new ServerAddress(), Set.of())));
+
+        // When
+        List<RackConfiguration> created = service.instantiateTemplate(TEMPLATE_ID, List.of(
+                new Target("Site A", null, null, null),
+                new Target("Site B", null, null, null),
+                new Target("Site C", null, null, null),
+                new Target("Site D", null, null, null)));
+
+        // Then
+        assertThat(inserted).hasSize(4);
+        assertThat(created).extracting(RackConfiguration::getName).containsExactly("Site A", "Site C");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown template without writing anything")
+    void shouldRejectUnknownTemplate() {
+        // When / Then
+        assertThatThrownBy(() -> service.instantiateTemplate("missing", List.of(new Target("Site A", null, null, null))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(mongoOperations);
+    }
+
+    private static void markValidated(RackConfiguration configuration) {
+        configuration.setStatus(ConfigurationStatus.VALIDATED);
+        configuration.setValidated(true);
+        configuration.setValidatedContentHash(configuration.contentHash());
+    }
+}
@@ -0,0 +1,190 @@
+package com.netconfig.configuration.service;
+
+import com.netconfig.configuration.domain.RackConfiguration;
+import com.netconfig.configuration.repository.ConfigurationRepository;
+import com.netconfig.configuration.validation.ConfigurationValidator;
+import com.netconfig.configuration.validation.ValidationSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ValidationStreamService debouncing and subscriber cleanup.
+ */
+class ValidationStreamServiceTest {
+
+    private static final String CONFIG_ID = "cfg-1";
+
+    private ConfigurationRepository repository;
+    private ConfigurationValidator validator;
+    private ScheduledExecutorService scheduler;
+    private ValidationStreamService service;
+
+    // Runs handed to the scheduler and their futures, in scheduling order
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ConfigurationRepository.class);
+        validator = mock(ConfigurationValidator.class);
+        // Nothing runs until the test calls runScheduled
+        scheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            futures.add(future);
+            return future;
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        service = new ValidationStreamService(repository, validator, 300, 60_000, scheduler);
+
+        RackConfiguration configuration = new RackConfiguration();
+        configuration.setId(CONFIG_ID);
+        when(repository.findById(CONFIG_ID)).thenReturn(Optional.of(configuration));
+        when(validator.validate(any())).thenReturn(
+                new ValidationSummary(CONFIG_ID, true, List.of(), 0, 0, 0, 42));
+    }
+
+    @Test
+    @DisplayName("Should not schedule runs for configurations nobody watches")
+    void shouldIgnoreChangesWithoutSubscribers() {
+        // When
+        service.configurationChanged(CONFIG_ID);
+
+        // Then
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of edits into one debounced run")
+    void shouldCoalesceBurstOfEdits() {
+        // Given: subscribing schedules the initial run
+        service.subscribe(CONFIG_ID);
+
+        // When: two edits inside the debounce window
+        service.configurationChanged(CONFIG_ID);
+        service.configurationChanged(CONFIG_ID);
+
+        // Then: each edit pushed the pending run back, only the last one is live
+        verify(scheduler, times(3)).schedule(any(Runnable.class), eq(300L), eq(TimeUnit.MILLISECONDS));
+        verify(futures.get(0)).cancel(false);
+        verify(futures.get(1)).cancel(false);
+        verify(futures.get(2), never()).cancel(false);
+
+        runScheduled(2);
+        verify(validator, times(1)).validate(any());
+    }
+
+    @Test
+    @DisplayName("Should keep a run scheduled during another run cancellable")
+    void shouldNotForgetRunScheduledWhileValidating() {
+        // Given: an edit arrives while the first run is validating
+        service.subscribe(CONFIG_ID);
+        when(validator.validate(any())).thenAnswer(invocation -> {
+            service.configurationChanged(CONFIG_ID);
+            return new ValidationSummary(CONFIG_ID, true, List.of(), 0, 0, 0, 42);
+        });
+        runScheduled(0);
+
+        // When: another edit follows
+        service.configurationChanged(CONFIG_ID);
+
+        // Then: the run scheduled during validation was still tracked and got cancelled
+        assertThat(futures).hasSize(3);
+        verify(futures.get(1)).cancel(false);
+    }
+
+    @Test
+    @DisplayName("Should postpone a run that starts while an earlier one is still validating")
+    void shouldNotOverlapRunsOfSameConfiguration() {
+        // Given: an edit arrives mid-run and its run fires before the first one has pushed
+        service.subscribe(CONFIG_ID);
+        when(validator.validate(any())).thenAnswer(invocation -> {
+            if (scheduled.size() == 1) {
+                service.configurationChanged(CONFIG_ID);
+                runScheduled(1);
+            }
+            return new ValidationSummary(CONFIG_ID, true, List.of(), 0, 0, 0, 42);
+        });
+
+        // When
+        runScheduled(0);
+
+        // Then: the overlapping run validated nothing and re-armed itself behind the first
+        verify(validator, times(1)).validate(any());
+        assertThat(scheduled).hasSize(3);
+
+        runScheduled(2);
+        verify(validator, times(2)).validate(any());
+    }
+
+    @Test
+    @DisplayName("Should track a stream opened after the last one closed")
+    void shouldResubscribeAfterLastStreamClosed() {
+        // Given: the only stream closed and was dropped by the first run
+        service.subscribe(CONFIG_ID).complete();
+        runScheduled(0);
+
+        // When
+        service.subscribe(CONFIG_ID);
+        service.configurationChanged(CONFIG_ID);
+
+        // Then: the new stream is registered, so edits schedule runs again
+        assertThat(scheduled).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should drop closed streams and stop scheduling once none are left")
+    void shouldDropClosedSubscribers() {
+        // Given: the only subscriber's stream has been closed
+        SseEmitter emitter = service.subscribe(CONFIG_ID);
+        emitter.complete();
+
+        // When: the run fails to send to it
+        runScheduled(0);
+        service.configurationChanged(CONFIG_ID);
+
+        // Then: no further runs are scheduled for the configuration
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("Should cancel the pending run and close streams when a configuration is deleted")
+    void shouldCleanUpOnDelete() {
+        // Given
+        service.subscribe(CONFIG_ID);
+
+        // When
+        service.configurationDeleted(CONFIG_ID);
+        service.configurationChanged(CONFIG_ID);
+
+        // Then
+        verify(futures.get(0)).cancel(false);
+        assertThat(futures).hasSize(1);
+    }
+
+    private void runScheduled(int index) {
+        scheduled.get(index).run();
+    }
+}
@@ -7,7 +7,49 @@ dependencies {
     // WebClient for calling other services
     implementation("org.springframework.boot:spring-boot-starter-webflux")
     
+    // In-memory result cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    
     // Testing
     testImplementation("org.mockito:mockito-core")
 }
 
+
+// JMH micro-benchmarks (src/jmh/java). Run with: gradle :pricing-service:jmh
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args = (project.findProperty("jmhArgs") as String? ?: "-f 1 -wi 3 -i 5").split(" ")
+}
+
+// Offline replay of captured pricing traffic (src/replay/java). Run with:
+// gradle :pricing-service:replay -PreplayArgs="--requests=capture.jsonl --snapshot=snapshot.json --concurrency=8"
+val replay by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
+dependencies {
+    "replayImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+tasks.register<JavaExec>("replay") {
+    description = "Replays captured pricing requests against the engine and reports latency and result diffs."
+    group = "verification"
+    classpath = replay.runtimeClasspath
+    mainClass.set("com.netconfig.pricing.replay.ReplayHarness")
+    workingDir = rootProject.projectDir
+    args = (project.findProperty("replayArgs") as String? ?: "").split(" ").filter { it.isNotBlank() }
+}
@@ -0,0 +1,122 @@
+package com.netconfig.pricing.engine;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.netconfig.pricing.cache.PricingResultCache;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.promotion.PromotionIndex;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.BundleDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.PartnerDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.SupportAddOnStrategy;
+import com.netconfig.pricing.strategy.impl.VolumeDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BigDecimal and fixed-point pricing pipelines.
+ * Both variants pay the same cost for building the context each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PricingArithmeticBenchmark {
+
+    @Param({"10", "100"})
+    private int lineCount;
+
+    private PricingEngine bigDecimalEngine;
+    private PricingEngine fixedPointEngine;
+    private String[] skus;
+    private String[] types;
+    private int[] quantities;
+    private BigDecimal[] prices;
+
+    @Setup
+    public void setUp() {
+        // Keep per-strategy debug logging out of the measurement
+        ((Logger) LoggerFactory.getLogger("com.netconfig")).setLevel(Level.WARN);
+
+        bigDecimalEngine = engine(ArithmeticMode.BIG_DECIMAL);
+        fixedPointEngine = engine(ArithmeticMode.FIXED_POINT);
+
+        Random random = new Random(7);
+        skus = new String[lineCount];
+        types = new String[lineCount];
+        quantities = new int[lineCount];
+        prices = new BigDecimal[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            skus[i] = "SKU-" + i;
+            types[i] = i % 2 == 0 ? "SWITCH" : "PSU";
+            quantities[i] = 1 + random.nextInt(10);
+            prices[i] = BigDecimal.valueOf(100_00 + random.nextInt(1_000_000), 2);
+        }
+    }
+
+    @Benchmark
+    public PricingResult bigDecimal() {
+        return bigDecimalEngine.calculatePrice(context());
+    }
+
+    @Benchmark
+    public PricingResult fixedPoint() {
+        return fixedPointEngine.calculatePrice(context());
+    }
+
+    private PricingContext context() {
+        List<PricingLineItem> items = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            items.add(new PricingLineItem(skus[i], skus[i], types[i], quantities[i], prices[i]));
+        }
+        PricingContext context = new PricingContext("bench", items);
+        context.setCustomerTier("PARTNER");
+        context.setOptions(Map.of("include_support", true, "support_tier", "PREMIUM"));
+        context.setRackUnitsUsed(40);
+        context.setRackCapacity(42);
+        return context;
+    }
+
+    private static PricingEngine engine(ArithmeticMode mode) {
+        List<PricingStrategy> strategies = List.of(
+                new BasePriceStrategy(),
+                new VolumeDiscountStrategy(5, 10),
+                new BundleDiscountStrategy(80, 5),
+                new PartnerDiscountStrategy(15, 20),
+                new SupportAddOnStrategy(15, 20));
+        PricingResultCache cache = new PricingResultCache(false, 1, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        PricingRulesRegistry rules = new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                VolumeDiscountTables.legacy(5, 10),
+                new PricingRules.BundleDiscount(80, 5),
+                new PricingRules.TierDiscount(15, 20),
+                new PricingRules.SupportAddOn(15, 20)));
+        return new PricingEngine(strategies, null, null, cache, rules,
+                new PromotionRegistry(PromotionIndex.EMPTY), new FxRateRegistry(FxRates.baseOnly("USD")),
+                new SimpleMeterRegistry(), mode);
+    }
+}
@@ -0,0 +1,99 @@
+package com.netconfig.pricing.cache;
+
+import com.netconfig.pricing.client.CatalogClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidates the pricing result cache when the catalog changes.
+ *
+ * Polls the catalog version every {@code pricing.cache.catalog-poll-interval}
+ * in the background, so every pricing instance notices a change on its own
+ * and the catalog does not need to know about pricing. Failed polls are
+ * counted as {@code pricing.cache.catalog.poll.failures}; until a poll
+ * succeeds again the cache TTL bounds staleness.
+ */
+@Component
+public class CatalogVersionWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogVersionWatcher.class);
+
+    private final CatalogClient catalogClient;
+    private final PricingResultCache resultCache;
+    private final Counter pollFailures;
+    private final ScheduledExecutorService poller;
+    private volatile String lastVersion;
+
+    @Autowired
+    public CatalogVersionWatcher(
+            CatalogClient catalogClient,
+            PricingResultCache resultCache,
+            MeterRegistry meterRegistry,
+            @Value("${pricing.cache.catalog-poll-interval:5s}") Duration pollInterval) {
+        this.catalogClient = catalogClient;
+        this.resultCache = resultCache;
+        this.pollFailures = pollFailures(meterRegistry);
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-version-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::poll, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Watcher that only polls when {@link #poll()} is called.
+     */
+    CatalogVersionWatcher(CatalogClient catalogClient, PricingResultCache resultCache, MeterRegistry meterRegistry) {
+        this.catalogClient = catalogClient;
+        this.resultCache = resultCache;
+        this.pollFailures = pollFailures(meterRegistry);
+        this.poller = null;
+    }
+
+    /**
+     * Fetch the catalog version and invalidate the cache if it changed. The
+     * first successful poll always invalidates, since results cached before
+     * it cannot be tied to a version.
+     */
+    void poll() {
+        String version;
+        try {
+            version = catalogClient.getCatalogVersion();
+        } catch (RuntimeException e) {
+            pollFailures.increment();
+            log.debug("Catalog version poll failed: {}", e.getMessage());
+            return;
+        }
+        if (!version.equals(lastVersion)) {
+            log.debug("Catalog version changed from {} to {}", lastVersion, version);
+            lastVersion = version;
+            resultCache.invalidateAll();
+        }
+    }
+
+    private static Counter pollFailures(MeterRegistry meterRegistry) {
+        return Counter.builder("pricing.cache.catalog.poll.failures")
+                .description("Catalog version polls that failed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+}
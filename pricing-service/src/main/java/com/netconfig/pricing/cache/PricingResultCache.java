@@ -0,0 +1,184 @@
+package com.netconfig.pricing.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.netconfig.pricing.client.dto.ConfigurationItemResponse;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.dto.PricingRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of pricing results keyed by what actually determines the price:
+ * configuration content, customer tier, options, rack utilization, the
+ * currency, the pricing rules version, the promotion epoch, the FX snapshot
+ * and the catalog version.
+ *
+ * Keying on content rather than configuration ID means an edited
+ * configuration simply misses the cache, and so does every request after
+ * a rules reload. The promotion epoch changes whenever a promotion starts
+ * or ends and on every promotions reload, the FX snapshot ID whenever the
+ * rates change. Catalog changes, seen by {@link CatalogVersionWatcher},
+ * are handled by bumping the catalog version, which orphans every existing
+ * entry; the orphans age out through the size bound and TTL.
+ */
+@Component
+public class PricingResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingResultCache.class);
+
+    private static final String CACHE_NAME = "pricing.results";
+
+    private final boolean enabled;
+    private final Cache<Key, PricingResult> cache;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    public PricingResultCache(
+            @Value("${pricing.cache.enabled:true}") boolean enabled,
+            @Value("${pricing.cache.maximum-size:10000}") long maximumSize,
+            @Value("${pricing.cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        log.info("Pricing result cache {} (maximumSize={}, ttl={})",
+                enabled ? "enabled" : "disabled", maximumSize, ttl);
+    }
+
+    /**
+     * Return the cached result for this configuration, request, rules
+     * version, promotion epoch and FX snapshot, or compute and cache it.
+     * Callers always get their own copy, stamped with the requested
+     * configuration ID.
+     */
+    public PricingResult get(ConfigurationResponse configuration, PricingRequest request,
+                             long rulesVersion, long promotionEpoch, String fxSnapshotId,
+                             Supplier<PricingResult> calculation) {
+        if (!enabled) {
+            return calculation.get();
+        }
+        Key key = keyFor(configuration, request, rulesVersion, promotionEpoch, fxSnapshotId);
+        PricingResult cached = cache.get(key, k -> calculation.get());
+        if (cached.isDegraded()) {
+            // Priced from stale catalog data; recompute as soon as the catalog is back
+            cache.asMap().remove(key, cached);
+        }
+        return cached.copyFor(configuration.id());
+    }
+
+    /**
+     * Invalidate every cached result, e.g. after a catalog price change.
+     *
+     * @return the new catalog version
+     */
+    public long invalidateAll() {
+        long version = catalogVersion.incrementAndGet();
+        cache.invalidateAll();
+        log.info("Pricing result cache invalidated, catalog version is now {}", version);
+        return version;
+    }
+
+    /**
+     * Snapshot of cache size and hit/miss counters.
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("size", cache.estimatedSize());
+        result.put("catalogVersion", catalogVersion.get());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    Key keyFor(ConfigurationResponse configuration, PricingRequest request, long rulesVersion,
+               long promotionEpoch, String fxSnapshotId) {
+        String tier = request.customerTier() != null
+                ? request.customerTier().trim().toUpperCase(Locale.ROOT)
+                : null;
+        String currency = request.currency() != null
+                ? request.currency().trim().toUpperCase(Locale.ROOT)
+                : null;
+        return new Key(
+                contentHash(configuration),
+                tier,
+                Collections.unmodifiableMap(new TreeMap<>(request.options())),
+                request.rackUnitsUsed(),
+                request.rackCapacity(),
+                currency,
+                rulesVersion,
+                promotionEpoch,
+                fxSnapshotId,
+                catalogVersion.get());
+    }
+
+    /**
+     * SHA-256 over customer, rack and items. Items are sorted so that order
+     * and item IDs do not matter.
+     */
+    static String contentHash(ConfigurationResponse configuration) {
+        List<String> lines = new ArrayList<>();
+        if (configuration.items() != null) {
+            for (ConfigurationItemResponse item : configuration.items()) {
+                lines.add(item.productSku() + "|" + item.quantity());
+            }
+        }
+        Collections.sort(lines);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(configuration.customerId()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(String.valueOf(configuration.rackSku()).getBytes(StandardCharsets.UTF_8));
+            for (String line : lines) {
+                digest.update((byte) '\n');
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record Key(
+        String contentHash,
+        String customerTier,
+        Map<String, Object> options,
+        Integer rackUnitsUsed,
+        Integer rackCapacity,
+        String currency,
+        long rulesVersion,
+        long promotionEpoch,
+        String fxSnapshotId,
+        long catalogVersion
+    ) {}
+}
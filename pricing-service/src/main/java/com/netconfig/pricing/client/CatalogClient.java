@@ -1,54 +1,254 @@
 package com.netconfig.pricing.client;
 
 import com.netconfig.pricing.client.dto.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 /**
  * Client for communicating with the Catalog Service.
+ *
+ * Every call has a timeout, runs only if one of a bounded number of call
+ * slots is free (bulkhead) and goes through a circuit breaker, so a slow
+ * or failing catalog costs at most one timeout per call and, once the
+ * circuit is open, nothing. Product lookups that cannot reach the catalog
+ * are answered from the last-known-good {@link CatalogSnapshot} and marked
+ * as such; see {@link ProductResponse.Source}.
  */
 @Component
 public class CatalogClient {
 
     private static final Logger log = LoggerFactory.getLogger(CatalogClient.class);
 
+    private static final int SKU_BATCH_SIZE = 1000;
+
     private final WebClient webClient;
+    private final Duration callTimeout;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final CatalogSnapshot snapshot;
+    private final Counter snapshotFallbacks;
+    private final Counter unavailableFallbacks;
 
-    public CatalogClient(@Value("${services.catalog.url}") String catalogServiceUrl) {
+    public CatalogClient(
+            @Value("${services.catalog.url}") String catalogServiceUrl,
+            @Value("${pricing.catalog.timeout:2s}") Duration callTimeout,
+            @Value("${pricing.catalog.max-concurrent-calls:16}") int maxConcurrentCalls,
+            @Value("${pricing.catalog.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${pricing.catalog.circuit-breaker.open-duration:30s}") Duration openDuration,
+            CatalogSnapshot snapshot,
+            MeterRegistry meterRegistry) {
         this.webClient = WebClient.builder()
                 .baseUrl(catalogServiceUrl)
                 .build();
+        this.callTimeout = callTimeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.snapshot = snapshot;
+
+        Gauge.builder("pricing.catalog.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Catalog circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.snapshotFallbacks = Counter.builder("pricing.catalog.fallback")
+                .description("Products answered without the catalog")
+                .tag("source", "snapshot")
+                .register(meterRegistry);
+        this.unavailableFallbacks = Counter.builder("pricing.catalog.fallback")
+                .description("Products answered without the catalog")
+                .tag("source", "unavailable")
+                .register(meterRegistry);
     }
 
     /**
-     * Fetch a product by its SKU.
+     * Fetch a product by its SKU, or its last known copy if the catalog is
+     * unavailable.
      */
     public Optional<ProductResponse> getProductBySku(String sku) {
         try {
-            var response = webClient.get()
+            var response = call("product " + sku, () -> webClient.get()
                     .uri("/api/v1/products/sku/{sku}", sku)
                     .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
 
             if (response != null && Boolean.TRUE.equals(response.get("success"))) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> data = (Map<String, Object>) response.get("data");
-                return Optional.of(mapToProductResponse(data));
+                ProductResponse product = mapToProductResponse(data);
+                snapshot.putAll(List.of(product));
+                return Optional.of(product);
             }
             return Optional.empty();
-        } catch (Exception e) {
-            log.error("Failed to fetch product with SKU: {}", sku, e);
+        } catch (WebClientResponseException e) {
+            log.debug("Product {} not returned by catalog: {}", sku, e.getStatusCode());
             return Optional.empty();
+        } catch (CatalogUnavailableException e) {
+            log.warn("{}; using last known copy", e.getMessage());
+            return Optional.of(fallback(sku));
+        }
+    }
+
+    /**
+     * Fetch many products by SKU, in chunks the catalog accepts. SKUs the
+     * catalog does not know are missing from the map. If a chunk cannot be
+     * fetched, its SKUs map to their last known copy
+     * ({@link ProductResponse.Source#SNAPSHOT}) or, never seen before, to
+     * {@link ProductResponse#unavailable}.
+     */
+    public Map<String, ProductResponse> getProductsBySkus(Collection<String> skus) {
+        Map<String, ProductResponse> products = new HashMap<>();
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(skus));
+
+        for (int from = 0; from < distinct.size(); from += SKU_BATCH_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + SKU_BATCH_SIZE, distinct.size()));
+            try {
+                var response = call(chunk.size() + " products by SKU", () -> webClient.post()
+                        .uri("/api/v1/products/sku/batch")
+                        .bodyValue(chunk)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
+
+                if (response != null && Boolean.TRUE.equals(response.get("success"))) {
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> data = (List<Map<String, Object>>) response.get("data");
+                    List<ProductResponse> fetched = data.stream().map(this::mapToProductResponse).toList();
+                    snapshot.putAll(fetched);
+                    for (ProductResponse product : fetched) {
+                        products.put(product.sku(), product);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("{}; using last known copies", e.getMessage());
+                for (String sku : chunk) {
+                    products.put(sku, fallback(sku));
+                }
+            }
         }
+        return products;
+    }
+
+    /**
+     * One keyset page of active products in SKU order, starting after
+     * {@code afterSku} (null for the first page). An empty list is the end
+     * of the catalog.
+     *
+     * @throws IllegalStateException if the catalog cannot be read; a caller
+     *         walking the whole catalog must not mistake that for the end
+     */
+    public List<ProductResponse> scanActiveProducts(String afterSku, int limit) {
+        try {
+            var response = call("catalog scan after " + afterSku, () -> webClient.get()
+                    .uri(uri -> uri.path("/api/v1/products/scan")
+                            .queryParamIfPresent("after", Optional.ofNullable(afterSku))
+                            .queryParam("limit", limit)
+                            .build())
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
+
+            if (response == null || !Boolean.TRUE.equals(response.get("success"))) {
+                throw new IllegalStateException("Catalog scan after " + afterSku + " was not successful");
+            }
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> data = (List<Map<String, Object>>) response.get("data");
+            List<ProductResponse> page = data.stream().map(this::mapToProductResponse).toList();
+            snapshot.putAll(page);
+            return page;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to scan catalog after " + afterSku + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The catalog's version token, which changes with every product write.
+     *
+     * @throws CatalogUnavailableException if the catalog cannot be reached
+     * @throws IllegalStateException if the catalog answers without a version
+     */
+    public String getCatalogVersion() {
+        var response = call("catalog version", () -> webClient.get()
+                .uri("/api/v1/products/version")
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
+
+        if (response == null || !Boolean.TRUE.equals(response.get("success")) || response.get("data") == null) {
+            throw new IllegalStateException("Catalog did not return a version");
+        }
+        return response.get("data").toString();
+    }
+
+    /**
+     * Circuit breaker state and snapshot size.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("circuit", circuitBreaker.getState());
+        status.put("availableCallSlots", bulkhead.availablePermits());
+        status.put("snapshotProducts", snapshot.size());
+        status.put("snapshotFallbacks", (long) snapshotFallbacks.count());
+        status.put("unavailableFallbacks", (long) unavailableFallbacks.count());
+        return status;
+    }
+
+    /**
+     * Run one catalog call with a timeout, inside the bulkhead and the
+     * circuit breaker. 4xx responses mean the catalog is up and are
+     * rethrown as they are.
+     *
+     * @throws CatalogUnavailableException if the call is rejected, times out or fails
+     */
+    private <T> T call(String what, Supplier<Mono<T>> request) {
+        if (!bulkhead.tryAcquire()) {
+            throw new CatalogUnavailableException("Catalog call limit reached, not fetching " + what);
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new CatalogUnavailableException("Catalog circuit open, not fetching " + what);
+            }
+            try {
+                T result = request.get().timeout(callTimeout).block();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (WebClientResponseException e) {
+                if (e.getStatusCode().is4xxClientError()) {
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                throw new CatalogUnavailableException("Catalog failed to return " + what + ": " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw new CatalogUnavailableException("Catalog failed to return " + what + ": " + e.getMessage(), e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private ProductResponse fallback(String sku) {
+        Optional<ProductResponse> known = snapshot.get(sku);
+        (known.isPresent() ? snapshotFallbacks : unavailableFallbacks).increment();
+        return known.orElseGet(() -> ProductResponse.unavailable(sku));
     }
 
     private ProductResponse mapToProductResponse(Map<String, Object> data) {
@@ -57,13 +257,21 @@ public class CatalogClient {
         if (priceObj instanceof Number) {
             basePrice = BigDecimal.valueOf(((Number) priceObj).doubleValue());
         }
+        BigDecimal costPrice = null;
+        Object costObj = data.get("costPrice");
+        if (costObj instanceof Number) {
+            costPrice = BigDecimal.valueOf(((Number) costObj).doubleValue());
+        }
 
         return new ProductResponse(
                 (String) data.get("id"),
                 (String) data.get("sku"),
                 (String) data.get("name"),
                 (String) data.get("type"),
-                basePrice
+                basePrice,
+                (String) data.get("currency"),
+                costPrice,
+                ProductResponse.Source.CATALOG
         );
     }
 }
@@ -0,0 +1,47 @@
+package com.netconfig.pricing.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Last-known-good copy of every product the catalog returned, used to keep
+ * pricing while the Catalog Service is unavailable. Every successful lookup
+ * or scan overwrites the entries it returned; the size bound evicts the
+ * least recently used SKUs. Entries never expire, since an old price is
+ * still better than dropping the line.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private final Cache<String, ProductResponse> products;
+
+    public CatalogSnapshot(@Value("${pricing.catalog.snapshot.maximum-size:100000}") long maximumSize) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public void putAll(Collection<ProductResponse> fetched) {
+        for (ProductResponse product : fetched) {
+            products.put(product.sku(), product);
+        }
+    }
+
+    /**
+     * The last copy the catalog returned, marked as coming from the snapshot.
+     */
+    public Optional<ProductResponse> get(String sku) {
+        ProductResponse product = products.getIfPresent(sku);
+        return product != null ? Optional.of(product.withSource(ProductResponse.Source.SNAPSHOT)) : Optional.empty();
+    }
+
+    public long size() {
+        return products.estimatedSize();
+    }
+}
@@ -0,0 +1,16 @@
+package com.netconfig.pricing.client;
+
+/**
+ * The Catalog Service could not be asked: the call timed out, failed, or
+ * was rejected by the circuit breaker or bulkhead.
+ */
+public class CatalogUnavailableException extends IllegalStateException {
+
+    public CatalogUnavailableException(String message) {
+        super(message);
+    }
+
+    public CatalogUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,93 @@
+package com.netconfig.pricing.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * CLOSED lets every call through. After {@code failureThreshold} failures
+ * in a row it turns OPEN and rejects calls for {@code openDuration}; the
+ * first call after that is let through alone as a probe (HALF_OPEN), and
+ * its outcome closes or re-opens the circuit. State changes are single
+ * compare-and-set operations, so callers never wait on each other.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private record Status(State state, int failures, long openedAt) {}
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Status> status = new AtomicReference<>(new Status(State.CLOSED, 0, 0));
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive: " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a call may go ahead. A caller that gets {@code true} must
+     * report the outcome with {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            Status current = status.get();
+            switch (current.state()) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    // A probe is already out
+                    return false;
+                default:
+                    if (nanoClock.getAsLong() - current.openedAt() < openNanos) {
+                        return false;
+                    }
+                    if (status.compareAndSet(current, new Status(State.HALF_OPEN, current.failures(), current.openedAt()))) {
+                        return true;
+                    }
+            }
+        }
+    }
+
+    public void onSuccess() {
+        Status current = status.get();
+        if (current.state() != State.CLOSED || current.failures() != 0) {
+            status.set(new Status(State.CLOSED, 0, 0));
+        }
+    }
+
+    public void onFailure() {
+        while (true) {
+            Status current = status.get();
+            Status next;
+            if (current.state() == State.HALF_OPEN
+                    || (current.state() == State.CLOSED && current.failures() + 1 >= failureThreshold)) {
+                next = new Status(State.OPEN, current.failures() + 1, nanoClock.getAsLong());
+            } else if (current.state() == State.CLOSED) {
+                next = new Status(State.CLOSED, current.failures() + 1, 0);
+            } else {
+                // Already open, e.g. a slow call that started before it opened
+                return;
+            }
+            if (status.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public State getState() {
+        return status.get().state();
+    }
+}
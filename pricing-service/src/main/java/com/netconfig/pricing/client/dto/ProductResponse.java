@@ -10,6 +10,48 @@ public record ProductResponse(
     String sku,
     String name,
     String type,
-    BigDecimal basePrice
-) {}
+    BigDecimal basePrice,
+    String currency,       // currency of basePrice and costPrice
+    BigDecimal costPrice,  // what the product costs us, null if unknown
+    Source source          // where this copy came from
+) {
+    /**
+     * Origin of a product lookup result.
+     */
+    public enum Source {
+        /** Answered by the Catalog Service for this call. */
+        CATALOG,
+        /** Catalog unavailable; last known copy from an earlier call. */
+        SNAPSHOT,
+        /** Catalog unavailable and never seen before: no price. */
+        UNAVAILABLE
+    }
 
+    public ProductResponse {
+        if (currency == null) {
+            currency = "USD";
+        }
+        if (source == null) {
+            source = Source.CATALOG;
+        }
+    }
+
+    public ProductResponse(String id, String sku, String name, String type, BigDecimal basePrice) {
+        this(id, sku, name, type, basePrice, null, null, Source.CATALOG);
+    }
+
+    public ProductResponse(String id, String sku, String name, String type, BigDecimal basePrice, String currency) {
+        this(id, sku, name, type, basePrice, currency, null, Source.CATALOG);
+    }
+
+    /**
+     * Placeholder for a SKU the catalog could not be asked about.
+     */
+    public static ProductResponse unavailable(String sku) {
+        return new ProductResponse(null, sku, null, null, null, null, null, Source.UNAVAILABLE);
+    }
+
+    public ProductResponse withSource(Source source) {
+        return new ProductResponse(id, sku, name, type, basePrice, currency, costPrice, source);
+    }
+}
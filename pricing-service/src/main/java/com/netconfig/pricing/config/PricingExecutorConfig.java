@@ -0,0 +1,33 @@
+package com.netconfig.pricing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executor for batch pricing. When the queue is full the submitting
+ * thread runs the task itself, which throttles producers instead of
+ * rejecting work.
+ */
+@Configuration
+public class PricingExecutorConfig {
+
+    @Bean(name = "pricingExecutor")
+    public ThreadPoolTaskExecutor pricingExecutor(
+            @Value("${pricing.batch.threads:8}") int threads,
+            @Value("${pricing.batch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pricing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
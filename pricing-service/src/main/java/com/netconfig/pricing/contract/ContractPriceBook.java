@@ -0,0 +1,244 @@
+package com.netconfig.pricing.contract;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Customer contract prices indexed by (customer, SKU).
+ *
+ * Customer IDs and SKUs are interned to ints once; entries live in an
+ * open-addressing table keyed by the two ints packed into a long, with
+ * prices as int cents in parallel arrays. That is about 20 bytes per slot
+ * instead of several boxed objects per entry, so millions of contract
+ * lines stay cheap to hold. Instances are immutable; build them with
+ * {@link Builder}.
+ */
+public final class ContractPriceBook {
+
+    /** Marker for a price component that is not set. */
+    public static final int NOT_SET = -1;
+
+    /** Result of {@link #find} when there is no contract line. */
+    public static final int NOT_FOUND = -1;
+
+    public static final ContractPriceBook EMPTY = new Builder().build();
+
+    private static final long EMPTY_KEY = 0L;
+
+    private final Map<String, Integer> customerIds;
+    private final Map<String, Integer> skuIds;
+    private final long[] keys;
+    private final int[] prices;
+    private final int[] caps;
+    private final int[] floors;
+    private final int mask;
+    private final int size;
+
+    private ContractPriceBook(Map<String, Integer> customerIds, Map<String, Integer> skuIds,
+                              long[] keys, int[] prices, int[] caps, int[] floors, int size) {
+        this.customerIds = customerIds;
+        this.skuIds = skuIds;
+        this.keys = keys;
+        this.prices = prices;
+        this.caps = caps;
+        this.floors = floors;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Interned index of a customer, or -1 if the customer has no contract.
+     */
+    public int customerIndex(String customerId) {
+        if (customerId == null) {
+            return NOT_FOUND;
+        }
+        Integer index = customerIds.get(customerId);
+        return index != null ? index : NOT_FOUND;
+    }
+
+    /**
+     * Slot of the contract line for a customer (see {@link #customerIndex})
+     * and SKU, or {@link #NOT_FOUND}.
+     */
+    public int find(int customerIndex, String sku) {
+        if (customerIndex < 0 || sku == null) {
+            return NOT_FOUND;
+        }
+        Integer skuIndex = skuIds.get(sku);
+        if (skuIndex == null) {
+            return NOT_FOUND;
+        }
+        long key = pack(customerIndex, skuIndex);
+        for (int slot = slotFor(key, mask); ; slot = (slot + 1) & mask) {
+            long candidate = keys[slot];
+            if (candidate == key) {
+                return slot;
+            }
+            if (candidate == EMPTY_KEY) {
+                return NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * Contract unit price in cents for a list price: the override if set,
+     * else the list price, then held at or below the cap and at or above
+     * the floor.
+     */
+    public long unitPriceCents(int slot, long listCents) {
+        long price = prices[slot] != NOT_SET ? prices[slot] : listCents;
+        if (caps[slot] != NOT_SET) {
+            price = Math.min(price, caps[slot]);
+        }
+        if (floors[slot] != NOT_SET) {
+            price = Math.max(price, floors[slot]);
+        }
+        return price;
+    }
+
+    /**
+     * Same as {@link #unitPriceCents} for a BigDecimal list price. Returns
+     * the list price itself when the contract does not change it.
+     */
+    public BigDecimal unitPrice(int slot, BigDecimal listPrice) {
+        BigDecimal price = prices[slot] != NOT_SET ? BigDecimal.valueOf(prices[slot], 2) : listPrice;
+        if (caps[slot] != NOT_SET) {
+            BigDecimal cap = BigDecimal.valueOf(caps[slot], 2);
+            if (price.compareTo(cap) > 0) {
+                price = cap;
+            }
+        }
+        if (floors[slot] != NOT_SET) {
+            BigDecimal floor = BigDecimal.valueOf(floors[slot], 2);
+            if (price.compareTo(floor) < 0) {
+                price = floor;
+            }
+        }
+        return price;
+    }
+
+    /**
+     * Number of contract lines.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCustomerCount() {
+        return customerIds.size();
+    }
+
+    public int getSkuCount() {
+        return skuIds.size();
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    // Indexes are stored +1 so that 0 can mark an empty slot
+    private static long pack(int customerIndex, int skuIndex) {
+        return ((long) (customerIndex + 1) << 32) | (skuIndex + 1L);
+    }
+
+    private static int slotFor(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Collects contract lines and builds the table sized to hold them at a
+     * load factor of at most 0.75.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> customerIds = new HashMap<>();
+        private final Map<String, Integer> skuIds = new HashMap<>();
+        private long[] keys = new long[16];
+        private int[] prices = new int[16];
+        private int[] caps = new int[16];
+        private int[] floors = new int[16];
+        private int size;
+
+        /**
+         * Add a contract line. Amounts are cents or {@link #NOT_SET}; at
+         * least one must be set.
+         *
+         * @throws IllegalArgumentException if the line is a duplicate or invalid
+         */
+        public Builder add(String customerId, String sku, int priceCents, int capCents, int floorCents) {
+            if (customerId == null || customerId.isBlank() || sku == null || sku.isBlank()) {
+                throw new IllegalArgumentException("Contract line needs a customer ID and SKU");
+            }
+            if (priceCents == NOT_SET && capCents == NOT_SET && floorCents == NOT_SET) {
+                throw new IllegalArgumentException(
+                        "Contract line for " + customerId + "/" + sku + " sets no price, cap or floor");
+            }
+            if (priceCents < NOT_SET || capCents < NOT_SET || floorCents < NOT_SET) {
+                throw new IllegalArgumentException(
+                        "Contract line for " + customerId + "/" + sku + " has a negative amount");
+            }
+            if (capCents != NOT_SET && floorCents != NOT_SET && floorCents > capCents) {
+                throw new IllegalArgumentException(
+                        "Contract line for " + customerId + "/" + sku + " has a floor above its cap");
+            }
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                caps = Arrays.copyOf(caps, capacity);
+                floors = Arrays.copyOf(floors, capacity);
+            }
+            int customer = customerIds.computeIfAbsent(customerId, k -> customerIds.size());
+            int skuIndex = skuIds.computeIfAbsent(sku, k -> skuIds.size());
+            keys[size] = pack(customer, skuIndex);
+            prices[size] = priceCents;
+            caps[size] = capCents;
+            floors[size] = floorCents;
+            size++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a (customer, SKU) pair was added twice
+         */
+        public ContractPriceBook build() {
+            int capacity = Integer.highestOneBit(Math.max(4, size + size / 3) * 2 - 1);
+            int mask = capacity - 1;
+            long[] tableKeys = new long[capacity];
+            int[] tablePrices = new int[capacity];
+            int[] tableCaps = new int[capacity];
+            int[] tableFloors = new int[capacity];
+
+            for (int i = 0; i < size; i++) {
+                long key = keys[i];
+                int slot = slotFor(key, mask);
+                while (tableKeys[slot] != EMPTY_KEY) {
+                    if (tableKeys[slot] == key) {
+                        throw new IllegalArgumentException("Duplicate contract line for "
+                                + nameOf(customerIds, (int) (key >>> 32) - 1) + "/"
+                                + nameOf(skuIds, (int) key - 1));
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                tableKeys[slot] = key;
+                tablePrices[slot] = prices[i];
+                tableCaps[slot] = caps[i];
+                tableFloors[slot] = floors[i];
+            }
+            return new ContractPriceBook(Map.copyOf(customerIds), Map.copyOf(skuIds),
+                    tableKeys, tablePrices, tableCaps, tableFloors, size);
+        }
+
+        private static String nameOf(Map<String, Integer> ids, int index) {
+            return ids.entrySet().stream()
+                    .filter(e -> e.getValue() == index)
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse("?");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.netconfig.pricing.contract;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current contract price book.
+ *
+ * Contracts are read from {@code pricing.contracts.file}, a CSV file (any
+ * Spring resource location) with the header
+ * {@code customerId,sku,price,cap,floor}. Amounts are in dollars and may be
+ * left empty. The file is streamed line by line into a new book that is
+ * swapped in once complete; a bad file leaves the current book in place.
+ * Without a file every customer pays catalog prices.
+ */
+@Component
+public class ContractPriceBookRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractPriceBookRegistry.class);
+
+    private static final String HEADER = "customerId,sku,price,cap,floor";
+
+    private final String contractsFile;
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<ContractPriceBook> current = new AtomicReference<>(ContractPriceBook.EMPTY);
+
+    public ContractPriceBookRegistry(
+            @Value("${pricing.contracts.file:}") String contractsFile,
+            ResourceLoader resourceLoader) {
+        this.contractsFile = contractsFile;
+        this.resourceLoader = resourceLoader;
+
+        if (isReloadable()) {
+            current.set(load());
+        }
+    }
+
+    /**
+     * The price book to price with. Read once per calculation.
+     */
+    public ContractPriceBook current() {
+        return current.get();
+    }
+
+    /**
+     * Whether contracts come from a file and can be reloaded.
+     */
+    public boolean isReloadable() {
+        return contractsFile != null && !contractsFile.isBlank();
+    }
+
+    /**
+     * Re-read the contracts file and swap the new book in.
+     *
+     * @return summary of the loaded book
+     * @throws IllegalArgumentException if no contracts file is configured or it is invalid
+     */
+    public Map<String, Object> reload() {
+        if (!isReloadable()) {
+            throw new IllegalArgumentException("No contracts file configured (pricing.contracts.file)");
+        }
+        ContractPriceBook book = load();
+        current.set(book);
+        return summary(book);
+    }
+
+    /**
+     * Size of the current book.
+     */
+    public Map<String, Object> getSummary() {
+        return summary(current.get());
+    }
+
+    private ContractPriceBook load() {
+        Resource resource = resourceLoader.getResource(contractsFile);
+        ContractPriceBook.Builder builder = new ContractPriceBook.Builder();
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#") || (lineNumber == 1 && line.trim().equals(HEADER))) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != 5) {
+                    throw new IllegalArgumentException("expected " + HEADER);
+                }
+                builder.add(fields[0].trim(), fields[1].trim(),
+                        cents(fields[2]), cents(fields[3]), cents(fields[4]));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot read contracts from " + contractsFile + ": " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid contracts file " + contractsFile + " at line " + lineNumber + ": " + e.getMessage(), e);
+        }
+
+        ContractPriceBook book = builder.build();
+        log.info("Loaded contract price book from {}: {}", contractsFile, summary(book));
+        return book;
+    }
+
+    private static int cents(String field) {
+        String amount = field.trim();
+        if (amount.isEmpty()) {
+            return ContractPriceBook.NOT_SET;
+        }
+        try {
+            return new BigDecimal(amount).movePointRight(2).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("amount is sub-cent or too large: " + amount);
+        }
+    }
+
+    private Map<String, Object> summary(ContractPriceBook book) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("source", isReloadable() ? contractsFile : "none");
+        summary.put("customers", book.getCustomerCount());
+        summary.put("skus", book.getSkuCount());
+        summary.put("contractLines", book.size());
+        summary.put("capacity", book.getCapacity());
+        return summary;
+    }
+}
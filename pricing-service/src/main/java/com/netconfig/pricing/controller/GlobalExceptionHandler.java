@@ -1,6 +1,7 @@
 package com.netconfig.pricing.controller;
 
 import com.netconfig.common.dto.ApiResponse;
+import com.netconfig.pricing.client.CatalogUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -26,6 +27,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(CatalogUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleCatalogUnavailable(CatalogUnavailableException ex) {
+        log.warn("Catalog unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationErrors(MethodArgumentNotValidException ex) {
         String errors = ex.getBindingResult().getFieldErrors().stream()
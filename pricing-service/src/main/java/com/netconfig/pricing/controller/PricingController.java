@@ -3,11 +3,24 @@ package com.netconfig.pricing.controller;
 import com.netconfig.common.dto.ApiResponse;
 import com.netconfig.pricing.domain.PricingResult;
 import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixResponse;
+import com.netconfig.pricing.pricelist.PriceListFormat;
+import com.netconfig.pricing.pricelist.PriceListJob;
+import com.netconfig.pricing.service.BatchPricingService;
+import com.netconfig.pricing.service.PriceListService;
 import com.netconfig.pricing.service.PricingService;
 import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +32,14 @@ import java.util.Map;
 public class PricingController {
 
     private final PricingService pricingService;
+    private final BatchPricingService batchPricingService;
+    private final PriceListService priceListService;
 
-    public PricingController(PricingService pricingService) {
+    public PricingController(PricingService pricingService, BatchPricingService batchPricingService,
+                             PriceListService priceListService) {
         this.pricingService = pricingService;
+        this.batchPricingService = batchPricingService;
+        this.priceListService = priceListService;
     }
 
     /**
@@ -34,6 +52,30 @@ public class PricingController {
         return ResponseEntity.ok(ApiResponse.success(result, "Pricing calculated successfully"));
     }
 
+    /**
+     * Price many configurations at once. Streams one JSON object per line
+     * (NDJSON) in completion order; each line carries the request index.
+     */
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<ResponseBodyEmitter> calculateBatch(@RequestBody List<PricingRequest> requests) {
+        ResponseBodyEmitter emitter = batchPricingService.streamBatch(requests);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * Price one configuration for several customer tiers and support options
+     * side by side (defaults to all tiers × NONE/STANDARD/PREMIUM support).
+     */
+    @PostMapping("/scenarios")
+    public ResponseEntity<ApiResponse<ScenarioMatrixResponse>> calculateScenarios(
+            @Valid @RequestBody ScenarioMatrixRequest request) {
+        ScenarioMatrixResponse response = pricingService.calculateScenarios(request);
+        return ResponseEntity.ok(ApiResponse.success(response,
+                String.format("Calculated %d pricing scenarios", response.scenarios().size())));
+    }
+
     /**
      * Quick pricing calculation with just configuration ID.
      */
@@ -42,7 +84,9 @@ public class PricingController {
             @PathVariable String configurationId,
             @RequestParam(required = false) String customerTier,
             @RequestParam(required = false, defaultValue = "false") boolean includeSupport,
-            @RequestParam(required = false, defaultValue = "STANDARD") String supportTier) {
+            @RequestParam(required = false, defaultValue = "STANDARD") String supportTier,
+            @RequestParam(required = false, defaultValue = "false") boolean explain,
+            @RequestParam(required = false) String currency) {
         
         Map<String, Object> options = new java.util.HashMap<>();
         if (includeSupport) {
@@ -55,7 +99,11 @@ public class PricingController {
                 customerTier,
                 null,
                 null,
-                options
+                options,
+                explain,
+                null,
+                null,
+                currency
         );
         
         PricingResult result = pricingService.calculatePrice(request);
@@ -71,6 +119,148 @@ public class PricingController {
         return ResponseEntity.ok(ApiResponse.success(strategies));
     }
 
+    /**
+     * Invalidate cached pricing results. Catalog changes are picked up by
+     * polling; this is for forcing it by hand.
+     */
+    @PostMapping("/cache/invalidate")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> invalidateCache() {
+        long catalogVersion = pricingService.invalidateCache();
+        return ResponseEntity.ok(ApiResponse.success(
+                Map.of("catalogVersion", catalogVersion), "Pricing cache invalidated"));
+    }
+
+    /**
+     * Pricing result cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getCacheStats()));
+    }
+
+    /**
+     * Catalog circuit breaker state and last-known-good snapshot size.
+     */
+    @GetMapping("/catalog/status")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCatalogStatus() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getCatalogStatus()));
+    }
+
+    /**
+     * Pricing rules in use: version, source and parameters.
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRules() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getRules()));
+    }
+
+    /**
+     * Re-read the pricing rules file ({@code pricing.rules-file}) and swap
+     * it in as the next version.
+     */
+    @PostMapping("/rules/reload")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reloadRules() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.reloadRules(), "Pricing rules reloaded"));
+    }
+
+    /**
+     * Contract price book in use: source, customers, SKUs and contract lines.
+     */
+    @GetMapping("/contracts")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getContracts() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getContracts()));
+    }
+
+    /**
+     * Re-read the contracts file ({@code pricing.contracts.file}) and swap it in.
+     */
+    @PostMapping("/contracts/reload")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reloadContracts() {
+        return ResponseEntity.ok(ApiResponse.success(
+                pricingService.reloadContracts(), "Contract price book reloaded"));
+    }
+
+    /**
+     * Promotions in use: source, version and counts.
+     */
+    @GetMapping("/promotions")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPromotions() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getPromotions()));
+    }
+
+    /**
+     * Re-read the promotions file ({@code pricing.promotions.file}) and swap it in.
+     */
+    @PostMapping("/promotions/reload")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reloadPromotions() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.reloadPromotions(), "Promotions reloaded"));
+    }
+
+    /**
+     * FX rates in use: snapshot ID, base currency and rates.
+     */
+    @GetMapping("/fx")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getFxRates() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getFxRates()));
+    }
+
+    /**
+     * A recent FX snapshot by ID, as recorded on pricing results and quotes.
+     */
+    @GetMapping("/fx/{snapshotId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getFxSnapshot(@PathVariable String snapshotId) {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.getFxSnapshot(snapshotId)));
+    }
+
+    /**
+     * Re-read the FX rates file ({@code pricing.fx.rates-file}) now.
+     */
+    @PostMapping("/fx/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> refreshFxRates() {
+        return ResponseEntity.ok(ApiResponse.success(pricingService.refreshFxRates(), "FX rates refreshed"));
+    }
+
+    /**
+     * Start generating a price list of every active SKU for every customer
+     * tier and support option. Poll the returned job for progress.
+     */
+    @PostMapping("/price-lists")
+    public ResponseEntity<ApiResponse<PriceListJob>> generatePriceList(
+            @RequestParam(required = false, defaultValue = "CSV") String format) {
+        PriceListJob job = priceListService.start(PriceListFormat.parse(format));
+        return ResponseEntity.accepted().body(ApiResponse.success(job, "Price list generation started"));
+    }
+
+    /**
+     * Price list jobs since startup, newest first.
+     */
+    @GetMapping("/price-lists")
+    public ResponseEntity<ApiResponse<List<PriceListJob>>> getPriceLists() {
+        return ResponseEntity.ok(ApiResponse.success(priceListService.getJobs()));
+    }
+
+    /**
+     * State and progress of a price list job.
+     */
+    @GetMapping("/price-lists/{id}")
+    public ResponseEntity<ApiResponse<PriceListJob>> getPriceList(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(priceListService.getJob(id)));
+    }
+
+    /**
+     * Download a completed price list.
+     */
+    @GetMapping("/price-lists/{id}/download")
+    public ResponseEntity<Resource> downloadPriceList(@PathVariable String id) {
+        PriceListJob job = priceListService.getJob(id);
+        Path file = priceListService.getFile(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormat().getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.getFileName()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
     /**
      * Health check for pricing service.
      */
@@ -0,0 +1,134 @@
+package com.netconfig.pricing.discount;
+
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingNote;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quantity break table, e.g. 6+: 10%, 11+: 15%, 51+: 22%.
+ *
+ * Breaks are held in two parallel sorted arrays so a lookup is a binary
+ * search over primitives. Instances are immutable and shared between
+ * threads; a reload builds new tables rather than changing these.
+ */
+public final class VolumeDiscountTable {
+
+    private final String unit;
+    private final int[] minQuantities;
+    private final int[] basisPoints;
+    private final PricingNote[] lineNotes;
+
+    private VolumeDiscountTable(String unit, int[] minQuantities, int[] basisPoints) {
+        this.unit = unit;
+        this.minQuantities = minQuantities;
+        this.basisPoints = basisPoints;
+        this.lineNotes = new PricingNote[minQuantities.length];
+        for (int i = 0; i < lineNotes.length; i++) {
+            lineNotes[i] = new PricingNote(PricingNote.Code.VOLUME_DISCOUNT_LINE, Map.of(
+                    "percent", percentLabel(basisPoints[i]),
+                    "threshold", minQuantities[i] - 1,
+                    "unit", unit));
+        }
+    }
+
+    /**
+     * One quantity break: {@code percent} off from {@code minQuantity} units up.
+     */
+    public record Tier(int minQuantity, BigDecimal percent) {}
+
+    /**
+     * Build a table from breaks in any order.
+     *
+     * @param unit what is being counted, used in descriptions (e.g. "switches")
+     * @throws IllegalArgumentException if the breaks are empty, overlap or out of range
+     */
+    public static VolumeDiscountTable of(String unit, List<Tier> tiers) {
+        if (tiers == null || tiers.isEmpty()) {
+            throw new IllegalArgumentException("Volume discount table for " + unit + " has no tiers");
+        }
+        List<Tier> sorted = new ArrayList<>(tiers);
+        sorted.sort(Comparator.comparingInt(Tier::minQuantity));
+
+        int[] minQuantities = new int[sorted.size()];
+        int[] basisPoints = new int[sorted.size()];
+        for (int i = 0; i < minQuantities.length; i++) {
+            Tier tier = sorted.get(i);
+            if (tier.minQuantity() < 1) {
+                throw new IllegalArgumentException("Volume discount tier for " + unit
+                        + " must start at 1 or more: " + tier.minQuantity());
+            }
+            if (i > 0 && tier.minQuantity() == minQuantities[i - 1]) {
+                throw new IllegalArgumentException("Duplicate volume discount tier for " + unit
+                        + " at quantity " + tier.minQuantity());
+            }
+            if (tier.percent() == null
+                    || tier.percent().signum() < 0
+                    || tier.percent().compareTo(BigDecimal.valueOf(100)) > 0) {
+                throw new IllegalArgumentException("Volume discount percent for " + unit
+                        + " must be between 0 and 100: " + tier.percent());
+            }
+            minQuantities[i] = tier.minQuantity();
+            try {
+                basisPoints[i] = FixedPointLedger.toBasisPoints(
+                        tier.percent().divide(BigDecimal.valueOf(100), 4, RoundingMode.UNNECESSARY));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Volume discount percent for " + unit
+                        + " has more than two decimals: " + tier.percent());
+            }
+        }
+        return new VolumeDiscountTable(unit, minQuantities, basisPoints);
+    }
+
+    /**
+     * Index of the tier that applies to a quantity, or -1 if it is below the
+     * first break.
+     */
+    public int tierFor(int quantity) {
+        int index = Arrays.binarySearch(minQuantities, quantity);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int getMinQuantity(int tier) {
+        return minQuantities[tier];
+    }
+
+    public int getBasisPoints(int tier) {
+        return basisPoints[tier];
+    }
+
+    /**
+     * Discount rate of a tier as a scale-4 fraction, e.g. 0.1000.
+     */
+    public BigDecimal getRate(int tier) {
+        return BigDecimal.valueOf(basisPoints[tier], 4);
+    }
+
+    /**
+     * Per-line note for a tier, shared by every line it applies to.
+     */
+    public PricingNote getLineNote(int tier) {
+        return lineNotes[tier];
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public int size() {
+        return minQuantities.length;
+    }
+
+    /**
+     * Basis points as a percentage without trailing zeros, e.g. 1250 → "12.5".
+     */
+    static String percentLabel(int basisPoints) {
+        return BigDecimal.valueOf(basisPoints, 2).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.netconfig.pricing.discount;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable set of volume discount tables, one per product type and one per
+ * SKU family. A SKU family is a dash-separated SKU prefix ("SW-C9300" covers
+ * "SW-C9300-48P"); the longest matching family wins over the product type.
+ */
+public final class VolumeDiscountTables {
+
+    public static final VolumeDiscountTables EMPTY = new VolumeDiscountTables(Map.of(), Map.of());
+
+    private final Map<String, VolumeDiscountTable> byProductType;
+    private final Map<String, VolumeDiscountTable> bySkuFamily;
+
+    private VolumeDiscountTables(Map<String, VolumeDiscountTable> byProductType,
+                                 Map<String, VolumeDiscountTable> bySkuFamily) {
+        this.byProductType = byProductType;
+        this.bySkuFamily = bySkuFamily;
+    }
+
+    /**
+     * Externalized form of the tables, as read from the tables file.
+     */
+    public record Definition(
+        Map<String, TableDefinition> productTypes,
+        Map<String, TableDefinition> skuFamilies
+    ) {}
+
+    /**
+     * One table in the tables file. {@code unit} is optional and only used
+     * in descriptions.
+     */
+    public record TableDefinition(
+        String unit,
+        List<VolumeDiscountTable.Tier> tiers
+    ) {}
+
+    /**
+     * The single switch-threshold/discount-percent pair: more than
+     * {@code switchThreshold} switches get {@code discountPercent} off.
+     */
+    public static VolumeDiscountTables legacy(int switchThreshold, int discountPercent) {
+        VolumeDiscountTable table = VolumeDiscountTable.of("switches", List.of(
+                new VolumeDiscountTable.Tier(switchThreshold + 1, BigDecimal.valueOf(discountPercent))));
+        return new VolumeDiscountTables(Map.of("SWITCH", table), Map.of());
+    }
+
+    /**
+     * Build and validate tables from their externalized form.
+     *
+     * @throws IllegalArgumentException if any table is invalid
+     */
+    public static VolumeDiscountTables from(Definition definition) {
+        Map<String, VolumeDiscountTable> byProductType = new HashMap<>();
+        if (definition.productTypes() != null) {
+            definition.productTypes().forEach((type, table) -> byProductType.put(
+                    type.toUpperCase(Locale.ROOT),
+                    VolumeDiscountTable.of(unitOr(table, pluralize(type.toLowerCase(Locale.ROOT))), table.tiers())));
+        }
+        Map<String, VolumeDiscountTable> bySkuFamily = new HashMap<>();
+        if (definition.skuFamilies() != null) {
+            definition.skuFamilies().forEach((family, table) -> bySkuFamily.put(
+                    family,
+                    VolumeDiscountTable.of(unitOr(table, family + " units"), table.tiers())));
+        }
+        return new VolumeDiscountTables(Map.copyOf(byProductType), Map.copyOf(bySkuFamily));
+    }
+
+    /**
+     * Table for a line item: the longest SKU family prefix, else the
+     * product type, else null.
+     */
+    public VolumeDiscountTable tableFor(String sku, String productType) {
+        if (!bySkuFamily.isEmpty() && sku != null) {
+            String family = sku;
+            while (true) {
+                VolumeDiscountTable table = bySkuFamily.get(family);
+                if (table != null) {
+                    return table;
+                }
+                int dash = family.lastIndexOf('-');
+                if (dash <= 0) {
+                    break;
+                }
+                family = family.substring(0, dash);
+            }
+        }
+        return productType != null ? byProductType.get(productType) : null;
+    }
+
+    /**
+     * Product type whose table is the only one, or null if there are
+     * family tables or more than one type.
+     */
+    public String getOnlyProductType() {
+        if (!bySkuFamily.isEmpty() || byProductType.size() != 1) {
+            return null;
+        }
+        return byProductType.keySet().iterator().next();
+    }
+
+    public Map<String, VolumeDiscountTable> getProductTypeTables() {
+        return byProductType;
+    }
+
+    public Map<String, VolumeDiscountTable> getSkuFamilyTables() {
+        return bySkuFamily;
+    }
+
+    private static String unitOr(TableDefinition table, String fallback) {
+        if (table == null) {
+            throw new IllegalArgumentException("Volume discount table for " + fallback + " is empty");
+        }
+        return table.unit() != null && !table.unit().isBlank() ? table.unit() : fallback;
+    }
+
+    private static String pluralize(String noun) {
+        return noun.endsWith("s") || noun.endsWith("x") || noun.endsWith("ch") || noun.endsWith("sh")
+                ? noun + "es"
+                : noun + "s";
+    }
+}
@@ -0,0 +1,260 @@
+package com.netconfig.pricing.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Working state of a pricing calculation with money held as long cents.
+ *
+ * Mirrors {@link PricingResult} field by field so strategies can port their
+ * BigDecimal logic one-to-one. Percentages are basis points and rounding is
+ * HALF_UP, which gives the same numbers as multiplying by a scale-4
+ * BigDecimal percentage and calling {@code setScale(2, HALF_UP)}.
+ * Conversion back to BigDecimal happens once, in {@link #toResult}.
+ */
+public class FixedPointLedger {
+
+    private static final long BASIS_POINTS = 10_000L;
+
+    private final List<PricingLineItem> source;
+    private final long[] unitPrices;
+    private final BigDecimal[] unitCosts;  // not used in the arithmetic, carried through conversion
+    private final long[] lineTotals;
+    private final long[] discounts;
+    private final PricingNote[] discountNotes;
+
+    private long subtotal;
+    private long lineItemDiscount;
+    private long orderDiscount;
+    private long totalDiscount;
+    private long serviceAddOn;
+    private long grandTotal;
+    private final List<String> appliedStrategies = new ArrayList<>();
+    private final List<PricingNote> notes = new ArrayList<>();
+
+    private FixedPointLedger(List<PricingLineItem> source, long[] unitPrices, long[] lineTotals) {
+        this.source = source;
+        this.unitPrices = unitPrices;
+        this.unitCosts = new BigDecimal[lineTotals.length];
+        for (int i = 0; i < unitCosts.length; i++) {
+            unitCosts[i] = source.get(i).getUnitCost();
+        }
+        this.lineTotals = lineTotals;
+        this.discounts = new long[lineTotals.length];
+        this.discountNotes = new PricingNote[lineTotals.length];
+    }
+
+    /**
+     * Build a ledger for the context's line items, or return null if a
+     * price is not a whole number of cents (the caller should then use the
+     * BigDecimal path).
+     */
+    public static FixedPointLedger of(PricingContext context) {
+        List<PricingLineItem> items = context.getLineItems();
+        long[] unitPrices = new long[items.size()];
+        long[] lineTotals = new long[items.size()];
+        try {
+            for (int i = 0; i < lineTotals.length; i++) {
+                PricingLineItem item = items.get(i);
+                unitPrices[i] = toCents(item.getUnitPrice());
+                lineTotals[i] = Math.multiplyExact(unitPrices[i], item.getQuantity());
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return new FixedPointLedger(items, unitPrices, lineTotals);
+    }
+
+    /**
+     * Exact conversion to cents.
+     *
+     * @throws ArithmeticException if the amount has more than two decimals or overflows
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Percentage (as a fraction, e.g. 0.1500) in basis points.
+     *
+     * @throws ArithmeticException if it has more than four decimals
+     */
+    public static int toBasisPoints(BigDecimal fraction) {
+        return fraction.movePointRight(4).intValueExact();
+    }
+
+    /**
+     * {@code cents * basisPoints / 10000}, rounded HALF_UP (away from zero on ties).
+     */
+    public static long percentOf(long cents, int basisPoints) {
+        long scaled = Math.multiplyExact(cents, (long) basisPoints);
+        long half = BASIS_POINTS / 2;
+        return scaled >= 0
+                ? (scaled + half) / BASIS_POINTS
+                : -((-scaled + half) / BASIS_POINTS);
+    }
+
+    /**
+     * Cents as a scale-2 BigDecimal, e.g. for formatting descriptions.
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Line items
+    public int getLineCount() {
+        return lineTotals.length;
+    }
+
+    public String getProductSku(int line) {
+        return source.get(line).getProductSku();
+    }
+
+    public String getProductType(int line) {
+        return source.get(line).getProductType();
+    }
+
+    public String getCatalogCurrency(int line) {
+        return source.get(line).getCatalogCurrency();
+    }
+
+    public int getQuantity(int line) {
+        return source.get(line).getQuantity();
+    }
+
+    public long getUnitPrice(int line) {
+        return unitPrices[line];
+    }
+
+    /**
+     * Reprice a line; the line total follows from the quantity.
+     */
+    public void setUnitPrice(int line, long cents) {
+        unitPrices[line] = cents;
+        lineTotals[line] = Math.multiplyExact(cents, (long) source.get(line).getQuantity());
+    }
+
+    /**
+     * Unit cost, or null if unknown.
+     */
+    public BigDecimal getUnitCost(int line) {
+        return unitCosts[line];
+    }
+
+    public void setUnitCost(int line, BigDecimal unitCost) {
+        unitCosts[line] = unitCost;
+    }
+
+    public long getLineTotal(int line) {
+        return lineTotals[line];
+    }
+
+    public long getDiscount(int line) {
+        return discounts[line];
+    }
+
+    public void setDiscount(int line, long cents) {
+        discounts[line] = cents;
+    }
+
+    public void setDiscountNote(int line, PricingNote note) {
+        discountNotes[line] = note;
+    }
+
+    // Totals
+    public long getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(long subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public long getTotalDiscount() {
+        return totalDiscount;
+    }
+
+    public void setTotalDiscount(long totalDiscount) {
+        this.totalDiscount = totalDiscount;
+    }
+
+    public long getGrandTotal() {
+        return grandTotal;
+    }
+
+    public void setGrandTotal(long grandTotal) {
+        this.grandTotal = grandTotal;
+    }
+
+    public void setServiceAddOn(long serviceAddOn) {
+        this.serviceAddOn = serviceAddOn;
+    }
+
+    public void addAppliedStrategy(String strategyName) {
+        appliedStrategies.add(strategyName);
+    }
+
+    public void addNote(PricingNote note) {
+        notes.add(note);
+    }
+
+    /**
+     * Add an order-level discount, see {@link PricingResult#addOrderDiscount}.
+     */
+    public void addOrderDiscount(long cents) {
+        orderDiscount = Math.addExact(orderDiscount, cents);
+        recalculateTotals();
+    }
+
+    /**
+     * Same as {@link PricingResult#recalculateTotals()}.
+     */
+    public void recalculateTotals() {
+        long lines = 0;
+        long lineDiscounts = 0;
+        for (int i = 0; i < lineTotals.length; i++) {
+            lines = Math.addExact(lines, lineTotals[i]);
+            lineDiscounts = Math.addExact(lineDiscounts, discounts[i]);
+        }
+        subtotal = lines;
+        lineItemDiscount = lineDiscounts;
+        totalDiscount = Math.addExact(lineItemDiscount, orderDiscount);
+        grandTotal = Math.addExact(Math.subtractExact(subtotal, totalDiscount), serviceAddOn);
+    }
+
+    /**
+     * Convert to the API representation. Amounts come out with scale 2.
+     */
+    public PricingResult toResult(String configurationId) {
+        PricingResult result = new PricingResult(configurationId);
+
+        List<PricingLineItem> lineItems = new ArrayList<>(lineTotals.length);
+        for (int i = 0; i < lineTotals.length; i++) {
+            PricingLineItem item = source.get(i);
+            PricingLineItem line = new PricingLineItem();
+            line.setProductSku(item.getProductSku());
+            line.setProductName(item.getProductName());
+            line.setProductType(item.getProductType());
+            line.setQuantity(item.getQuantity());
+            line.setUnitPrice(toAmount(unitPrices[i]));
+            line.setCatalogCurrency(item.getCatalogCurrency());
+            line.setUnitCost(unitCosts[i]);
+            line.setLineTotal(toAmount(lineTotals[i]));
+            line.setDiscountAmount(toAmount(discounts[i]));
+            line.setDiscountNote(discountNotes[i]);
+            lineItems.add(line);
+        }
+        result.setLineItems(lineItems);
+
+        result.setSubtotal(toAmount(subtotal));
+        result.setLineItemDiscount(toAmount(lineItemDiscount));
+        result.setOrderDiscount(toAmount(orderDiscount));
+        result.setTotalDiscount(toAmount(totalDiscount));
+        result.setServiceAddOn(toAmount(serviceAddOn));
+        result.setGrandTotal(toAmount(grandTotal));
+        result.setAppliedStrategies(new ArrayList<>(appliedStrategies));
+        result.setNotes(new ArrayList<>(notes));
+        return result;
+    }
+}
@@ -1,5 +1,9 @@
 package com.netconfig.pricing.domain;
 
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.rules.PricingRules;
+
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +23,19 @@ public class PricingContext {
     private Integer rackUnitsUsed;
     private Integer rackCapacity;
 
+    // Rules snapshot pinned by the engine for this calculation
+    private PricingRules rules;
+
+    // Instant the prices are for (promotion windows)
+    private Instant pricedAt = Instant.now();
+
+    // Currency to price in, and the FX snapshot pinned for this calculation
+    private String currency = "USD";
+    private FxRates fxRates;
+
+    // Memoized by getSwitchCount(); reset when line items are replaced
+    private int switchCount = -1;
+
     public PricingContext() {
     }
 
@@ -58,6 +75,7 @@ public class PricingContext {
 
     public void setLineItems(List<PricingLineItem> lineItems) {
         this.lineItems = lineItems;
+        this.switchCount = -1;
     }
 
     public Map<String, Object> getOptions() {
@@ -84,16 +102,92 @@ public class PricingContext {
         this.rackCapacity = rackCapacity;
     }
 
+    /**
+     * Rules to price with, or null when strategies are used without the
+     * engine (they then fall back to their own configuration).
+     */
+    public PricingRules getRules() {
+        return rules;
+    }
+
+    public void setRules(PricingRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Instant the prices are for; time-boxed promotions are matched against
+     * it. Defaults to when the context was created.
+     */
+    public Instant getPricedAt() {
+        return pricedAt;
+    }
+
+    public void setPricedAt(Instant pricedAt) {
+        this.pricedAt = pricedAt;
+    }
+
+    /**
+     * Currency the result is priced in.
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    /**
+     * Exchange rates to convert catalog prices with, or null when
+     * strategies are used without the engine (no conversion).
+     */
+    public FxRates getFxRates() {
+        return fxRates;
+    }
+
+    public void setFxRates(FxRates fxRates) {
+        this.fxRates = fxRates;
+    }
+
+    /**
+     * Copy of this context with a different customer tier and options.
+     * Line items are shared, not copied.
+     */
+    public PricingContext forScenario(String customerTier, Map<String, Object> options) {
+        PricingContext copy = new PricingContext(configurationId, lineItems);
+        copy.customerId = customerId;
+        copy.customerTier = customerTier;
+        copy.options = options;
+        copy.rackUnitsUsed = rackUnitsUsed;
+        copy.rackCapacity = rackCapacity;
+        copy.rules = rules;
+        copy.pricedAt = pricedAt;
+        copy.currency = currency;
+        copy.fxRates = fxRates;
+        copy.switchCount = switchCount;
+        return copy;
+    }
+
     public boolean hasOption(String key) {
         return options.containsKey(key) && Boolean.TRUE.equals(options.get(key));
     }
 
+    /**
+     * Total quantity of switches. Computed once; line items are expected not
+     * to change in place after pricing starts.
+     */
     public int getSwitchCount() {
         if (lineItems == null) return 0;
-        return lineItems.stream()
-                .filter(item -> "SWITCH".equals(item.getProductType()))
-                .mapToInt(PricingLineItem::getQuantity)
-                .sum();
+        if (switchCount < 0) {
+            int count = 0;
+            for (PricingLineItem item : lineItems) {
+                if ("SWITCH".equals(item.getProductType())) {
+                    count += item.getQuantity();
+                }
+            }
+            switchCount = count;
+        }
+        return switchCount;
     }
 
     /**
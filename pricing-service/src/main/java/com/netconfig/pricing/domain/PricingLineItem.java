@@ -1,5 +1,9 @@
 package com.netconfig.pricing.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.math.BigDecimal;
 
 /**
@@ -12,9 +16,14 @@ public class PricingLineItem {
     private String productType;
     private int quantity;
     private BigDecimal unitPrice;
+    private String catalogCurrency = "USD";  // currency of the catalog price, before conversion
     private BigDecimal lineTotal;
     private BigDecimal discountAmount = BigDecimal.ZERO;
-    private String discountReason;
+    private PricingNote discountNote;
+    private BigDecimal unitCost;       // null if the catalog has no cost price
+    private BigDecimal margin;         // set by recalculateTotals, null without a cost
+    private BigDecimal marginPercent;
+    private boolean explain;
 
     public PricingLineItem() {
     }
@@ -70,6 +79,18 @@ public class PricingLineItem {
         this.unitPrice = unitPrice;
     }
 
+    /**
+     * Currency the product is listed in. Prices on a priced line are in the
+     * result's currency.
+     */
+    public String getCatalogCurrency() {
+        return catalogCurrency;
+    }
+
+    public void setCatalogCurrency(String catalogCurrency) {
+        this.catalogCurrency = catalogCurrency;
+    }
+
     public BigDecimal getLineTotal() {
         return lineTotal;
     }
@@ -86,12 +107,90 @@ public class PricingLineItem {
         this.discountAmount = discountAmount;
     }
 
-    public String getDiscountReason() {
-        return discountReason;
+    public PricingNote getDiscountNote() {
+        return discountNote;
     }
 
-    public void setDiscountReason(String discountReason) {
-        this.discountReason = discountReason;
+    public void setDiscountNote(PricingNote discountNote) {
+        this.discountNote = discountNote;
+    }
+
+    /**
+     * Cost of one unit in the same currency as the unit price, or null if
+     * unknown.
+     */
+    public BigDecimal getUnitCost() {
+        return unitCost;
+    }
+
+    public void setUnitCost(BigDecimal unitCost) {
+        this.unitCost = unitCost;
+    }
+
+    /**
+     * Final total less cost, after line discounts but before order-level
+     * discounts. Null if the cost is unknown.
+     */
+    public BigDecimal getMargin() {
+        return margin;
+    }
+
+    public void setMargin(BigDecimal margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Margin as a percentage of the final total, null if unknown.
+     */
+    public BigDecimal getMarginPercent() {
+        return marginPercent;
+    }
+
+    public void setMarginPercent(BigDecimal marginPercent) {
+        this.marginPercent = marginPercent;
+    }
+
+    /**
+     * Rendered text of the discount note. Formats on every call.
+     */
+    @JsonIgnore
+    public String getDiscountReason() {
+        return discountNote != null ? discountNote.render() : null;
+    }
+
+    @JsonProperty("discountReason")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String discountReasonIfExplained() {
+        return explain ? getDiscountReason() : null;
+    }
+
+    @JsonIgnore
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+    /**
+     * Field-by-field copy.
+     */
+    public PricingLineItem copy() {
+        PricingLineItem copy = new PricingLineItem();
+        copy.productSku = productSku;
+        copy.productName = productName;
+        copy.productType = productType;
+        copy.quantity = quantity;
+        copy.unitPrice = unitPrice;
+        copy.catalogCurrency = catalogCurrency;
+        copy.lineTotal = lineTotal;
+        copy.discountAmount = discountAmount;
+        copy.discountNote = discountNote;
+        copy.unitCost = unitCost;
+        copy.margin = margin;
+        copy.marginPercent = marginPercent;
+        return copy;
     }
 
     public BigDecimal getFinalTotal() {
@@ -0,0 +1,63 @@
+package com.netconfig.pricing.domain;
+
+import java.util.Map;
+
+/**
+ * Structured explanation of a pricing adjustment: a code plus named
+ * parameters. Strategies record notes instead of formatted text; the text
+ * is only rendered when a caller asks for an explanation.
+ */
+public record PricingNote(
+    Code code,
+    Map<String, Object> params
+) {
+    /**
+     * Note codes and their text templates. Template arguments are taken
+     * from {@link #params} in the order of {@code paramNames}.
+     */
+    public enum Code {
+        CATALOG_FALLBACK("Catalog unavailable: %d product(s) priced from last known catalog prices (%s)",
+                "products", "skus"),
+        FX_CONVERSION("Converted %d line(s) from %s to %s at %s (FX snapshot %s)",
+                "lines", "from", "to", "rate", "snapshot"),
+        CONTRACT_PRICE("Contract pricing for customer %s: %d line(s) at contract prices (list $%.2f, contract $%.2f)",
+                "customerId", "lines", "listTotal", "contractTotal"),
+        VOLUME_DISCOUNT_LINE("Volume discount: %s%% off (>%d %s)",
+                "percent", "threshold", "unit"),
+        VOLUME_DISCOUNT("Volume discount: %s%% off %s (purchased %d, threshold %d) - saved $%.2f",
+                "percent", "unit", "quantity", "threshold", "amount"),
+        PROMOTION_LINE("Promotion %s: %s%% off",
+                "promotion", "percent"),
+        PROMOTION("Promotion %s (%s): %s%% off %d line(s) - saved $%.2f",
+                "promotion", "description", "percent", "lines", "amount"),
+        BUNDLE_DISCOUNT("Bundle discount: %d%% off (rack %d%% utilized, threshold %d%%) - saved $%.2f",
+                "percent", "rackUtilization", "threshold", "amount"),
+        TIER_DISCOUNT("%s tier discount: %d%% off - saved $%.2f",
+                "tier", "percent", "amount"),
+        SUPPORT_ADD_ON("24/7 %s Support: %d%% of hardware ($%.2f) = $%.2f",
+                "supportTier", "percent", "hardwareTotal", "amount"),
+        MARGIN_APPROVAL("Approval required: order margin %s%% is below the %d%% minimum",
+                "marginPercent", "minimum"),
+        LINE_MARGIN_APPROVAL("Approval required: %d line(s) below the %d%% line margin minimum (%s)",
+                "lines", "minimum", "skus");
+
+        private final String template;
+        private final String[] paramNames;
+
+        Code(String template, String... paramNames) {
+            this.template = template;
+            this.paramNames = paramNames;
+        }
+    }
+
+    /**
+     * Human-readable text of this note.
+     */
+    public String render() {
+        Object[] args = new Object[code.paramNames.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = params.get(code.paramNames[i]);
+        }
+        return String.format(code.template, args);
+    }
+}
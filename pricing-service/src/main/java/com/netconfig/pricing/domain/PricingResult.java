@@ -1,9 +1,15 @@
 package com.netconfig.pricing.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Result of a pricing calculation.
@@ -18,10 +24,20 @@ public class PricingResult {
     private BigDecimal totalDiscount = BigDecimal.ZERO;     // Combined total discount
     private BigDecimal serviceAddOn = BigDecimal.ZERO;
     private BigDecimal grandTotal = BigDecimal.ZERO;
+    private BigDecimal totalCost;      // Null unless every line has a cost
+    private BigDecimal margin;         // Hardware after all discounts less cost; excludes the service add-on
+    private BigDecimal marginPercent;
+    private boolean approvalRequired;  // A margin is below the minimum in the rules; see the notes
     private String currency = "USD";
     private List<String> appliedStrategies = new ArrayList<>();
-    private List<String> discountDescriptions = new ArrayList<>();
+    private List<PricingNote> notes = new ArrayList<>();
     private Instant calculatedAt;
+    private long rulesVersion;       // Version of the pricing rules used, 0 if not priced by the engine
+    private String fxSnapshotId;     // FX rates used, null if not priced by the engine
+    private Map<String, BigDecimal> fxRates = Map.of();  // Snapshot rates the prices depend on, by currency
+    private boolean degraded;        // Some catalog prices came from the last-known-good snapshot
+    // Whether discount text is included when serialized; set per caller, never cached
+    private boolean explain;
 
     public PricingResult() {
         this.calculatedAt = Instant.now();
@@ -97,6 +113,52 @@ public class PricingResult {
         this.grandTotal = grandTotal;
     }
 
+    /**
+     * Cost of all lines, or null if some line has no cost price.
+     */
+    public BigDecimal getTotalCost() {
+        return totalCost;
+    }
+
+    public void setTotalCost(BigDecimal totalCost) {
+        this.totalCost = totalCost;
+    }
+
+    /**
+     * Subtotal less all discounts less total cost. The service add-on is
+     * not part of it. Null if the total cost is unknown.
+     */
+    public BigDecimal getMargin() {
+        return margin;
+    }
+
+    public void setMargin(BigDecimal margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Margin as a percentage of the discounted hardware total, null if unknown.
+     */
+    public BigDecimal getMarginPercent() {
+        return marginPercent;
+    }
+
+    public void setMarginPercent(BigDecimal marginPercent) {
+        this.marginPercent = marginPercent;
+    }
+
+    /**
+     * Whether the discounts leave a margin below the minimum and the price
+     * needs approval; see the MARGIN_APPROVAL and LINE_MARGIN_APPROVAL notes.
+     */
+    public boolean isApprovalRequired() {
+        return approvalRequired;
+    }
+
+    public void setApprovalRequired(boolean approvalRequired) {
+        this.approvalRequired = approvalRequired;
+    }
+
     public String getCurrency() {
         return currency;
     }
@@ -113,12 +175,44 @@ public class PricingResult {
         this.appliedStrategies = appliedStrategies;
     }
 
+    public List<PricingNote> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<PricingNote> notes) {
+        this.notes = notes;
+    }
+
+    /**
+     * Rendered text of the notes. Formats on every call.
+     */
+    @JsonIgnore
     public List<String> getDiscountDescriptions() {
-        return discountDescriptions;
+        return notes.stream()
+                .map(PricingNote::render)
+                .toList();
     }
 
-    public void setDiscountDescriptions(List<String> discountDescriptions) {
-        this.discountDescriptions = discountDescriptions;
+    @JsonProperty("discountDescriptions")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<String> discountDescriptionsIfExplained() {
+        return explain ? getDiscountDescriptions() : null;
+    }
+
+    @JsonIgnore
+    public boolean isExplain() {
+        return explain;
+    }
+
+    /**
+     * Include rendered text (discountDescriptions, line item discountReason)
+     * in the serialized result.
+     */
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+        for (PricingLineItem item : lineItems) {
+            item.setExplain(explain);
+        }
     }
 
     public Instant getCalculatedAt() {
@@ -129,12 +223,88 @@ public class PricingResult {
         this.calculatedAt = calculatedAt;
     }
 
+    public long getRulesVersion() {
+        return rulesVersion;
+    }
+
+    public void setRulesVersion(long rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
+
+    /**
+     * ID of the FX rate snapshot the prices were converted with.
+     */
+    public String getFxSnapshotId() {
+        return fxSnapshotId;
+    }
+
+    public void setFxSnapshotId(String fxSnapshotId) {
+        this.fxSnapshotId = fxSnapshotId;
+    }
+
+    /**
+     * Rates from the FX snapshot for the base, priced and catalog
+     * currencies, as units per unit of the base. Conversions use only
+     * these, so the prices can be reproduced after the snapshot itself is
+     * gone.
+     */
+    public Map<String, BigDecimal> getFxRates() {
+        return fxRates;
+    }
+
+    public void setFxRates(Map<String, BigDecimal> fxRates) {
+        this.fxRates = fxRates;
+    }
+
+    /**
+     * Whether some prices are last known catalog prices because the
+     * catalog could not be reached; see the CATALOG_FALLBACK note.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
     public void addAppliedStrategy(String strategyName) {
         this.appliedStrategies.add(strategyName);
     }
 
-    public void addDiscountDescription(String description) {
-        this.discountDescriptions.add(description);
+    public void addNote(PricingNote note) {
+        this.notes.add(note);
+    }
+
+    /**
+     * Copy of this result for another configuration ID. Line items and
+     * lists are copied so the caller can modify the result freely.
+     */
+    public PricingResult copyFor(String configurationId) {
+        PricingResult copy = new PricingResult(configurationId);
+        copy.lineItems = new ArrayList<>(lineItems.size());
+        for (PricingLineItem item : lineItems) {
+            copy.lineItems.add(item.copy());
+        }
+        copy.subtotal = subtotal;
+        copy.lineItemDiscount = lineItemDiscount;
+        copy.orderDiscount = orderDiscount;
+        copy.totalDiscount = totalDiscount;
+        copy.serviceAddOn = serviceAddOn;
+        copy.grandTotal = grandTotal;
+        copy.totalCost = totalCost;
+        copy.margin = margin;
+        copy.marginPercent = marginPercent;
+        copy.approvalRequired = approvalRequired;
+        copy.currency = currency;
+        copy.appliedStrategies = new ArrayList<>(appliedStrategies);
+        copy.notes = new ArrayList<>(notes);
+        copy.calculatedAt = calculatedAt;
+        copy.rulesVersion = rulesVersion;
+        copy.fxSnapshotId = fxSnapshotId;
+        copy.fxRates = fxRates;
+        copy.degraded = degraded;
+        return copy;
     }
 
     /**
@@ -163,5 +333,45 @@ public class PricingResult {
                 .subtract(totalDiscount)
                 .add(serviceAddOn);
     }
-}
 
+    /**
+     * Work out line margins, total cost and the order margin from the
+     * current totals. Margins are on the hardware total (after discounts,
+     * before support); the order margin is unknown if any line has no cost.
+     * Call once, after the last change to the totals.
+     */
+    public void calculateMargins() {
+        BigDecimal cost = BigDecimal.ZERO;
+        for (PricingLineItem item : lineItems) {
+            if (item.getUnitCost() == null) {
+                item.setMargin(null);
+                item.setMarginPercent(null);
+                cost = null;
+                continue;
+            }
+            BigDecimal lineCost = item.getUnitCost().multiply(BigDecimal.valueOf(item.getQuantity()));
+            BigDecimal lineRevenue = item.getFinalTotal();
+            item.setMargin(lineRevenue.subtract(lineCost));
+            item.setMarginPercent(percentOf(item.getMargin(), lineRevenue));
+            if (cost != null) {
+                cost = cost.add(lineCost);
+            }
+        }
+
+        BigDecimal hardware = subtotal.subtract(totalDiscount);
+        this.totalCost = cost;
+        this.margin = cost != null ? hardware.subtract(cost) : null;
+        this.marginPercent = margin != null ? percentOf(margin, hardware) : null;
+    }
+
+    /**
+     * {@code part} as a percentage of {@code whole}, scale 2, or null if
+     * {@code whole} is not positive.
+     */
+    private static BigDecimal percentOf(BigDecimal part, BigDecimal whole) {
+        if (whole.signum() <= 0) {
+            return null;
+        }
+        return part.movePointRight(2).divide(whole, 2, RoundingMode.HALF_UP);
+    }
+}
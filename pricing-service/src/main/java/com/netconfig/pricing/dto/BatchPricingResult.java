@@ -0,0 +1,23 @@
+package com.netconfig.pricing.dto;
+
+import com.netconfig.pricing.domain.PricingResult;
+
+/**
+ * One line of a batch pricing response.
+ * {@code index} is the position of the request in the submitted batch.
+ */
+public record BatchPricingResult(
+    int index,
+    String configurationId,
+    boolean success,
+    PricingResult result,
+    String error
+) {
+    public static BatchPricingResult success(int index, String configurationId, PricingResult result) {
+        return new BatchPricingResult(index, configurationId, true, result, null);
+    }
+
+    public static BatchPricingResult failure(int index, String configurationId, String error) {
+        return new BatchPricingResult(index, configurationId, false, null, error);
+    }
+}
@@ -1,10 +1,20 @@
 package com.netconfig.pricing.dto;
 
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
 import jakarta.validation.constraints.NotBlank;
+
+import java.time.Instant;
 import java.util.Map;
 
 /**
  * Request DTO for pricing calculation.
+ *
+ * Callers that already hold the configuration (e.g. the Quote Service) can
+ * send it inline as {@code configuration}; it is then priced as-is and the
+ * Configuration Service is not called.
+ *
+ * Catalog prices in other currencies are converted to {@code currency}
+ * with the current FX snapshot; the result records the snapshot ID.
  */
 public record PricingRequest(
     @NotBlank(message = "Configuration ID is required")
@@ -15,12 +25,25 @@ public record PricingRequest(
     Integer rackUnitsUsed,
     Integer rackCapacity,
     
-    Map<String, Object> options  // include_support, support_tier, etc.
+    Map<String, Object> options,  // include_support, support_tier, etc.
+
+    boolean explain,  // include rendered discount text in the response
+
+    ConfigurationResponse configuration,  // optional inline copy of the configuration
+
+    Instant pricedAt,  // price as of this instant (promotions); default: now
+
+    String currency  // ISO 4217 code to price in; default: the FX base currency
 ) {
     public PricingRequest {
         if (options == null) {
             options = Map.of();
         }
     }
+
+    public PricingRequest(String configurationId, String customerTier, Integer rackUnitsUsed,
+                          Integer rackCapacity, Map<String, Object> options) {
+        this(configurationId, customerTier, rackUnitsUsed, rackCapacity, options, false, null, null, null);
+    }
 }
 
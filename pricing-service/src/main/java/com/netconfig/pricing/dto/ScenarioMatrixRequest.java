@@ -0,0 +1,49 @@
+package com.netconfig.pricing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for pricing one configuration under several customer tiers
+ * and support options at once.
+ */
+public record ScenarioMatrixRequest(
+    @NotBlank(message = "Configuration ID is required")
+    String configurationId,
+
+    Integer rackUnitsUsed,
+    Integer rackCapacity,
+
+    @Size(max = 10, message = "At most 10 customer tiers")
+    List<String> customerTiers,  // default: STANDARD, PARTNER, ENTERPRISE
+
+    @Size(max = 10, message = "At most 10 support tiers")
+    List<String> supportTiers,   // NONE, STANDARD, PREMIUM (default: all three)
+
+    Map<String, Object> options,  // shared by every scenario
+
+    boolean explain  // include rendered discount text in the response
+) {
+    public static final String NO_SUPPORT = "NONE";
+
+    public ScenarioMatrixRequest {
+        if (customerTiers == null || customerTiers.isEmpty()) {
+            customerTiers = List.of("STANDARD", "PARTNER", "ENTERPRISE");
+        }
+        if (supportTiers == null || supportTiers.isEmpty()) {
+            supportTiers = List.of(NO_SUPPORT, "STANDARD", "PREMIUM");
+        }
+        if (options == null) {
+            options = Map.of();
+        }
+    }
+
+    public ScenarioMatrixRequest(String configurationId, Integer rackUnitsUsed, Integer rackCapacity,
+                                 List<String> customerTiers, List<String> supportTiers,
+                                 Map<String, Object> options) {
+        this(configurationId, rackUnitsUsed, rackCapacity, customerTiers, supportTiers, options, false);
+    }
+}
@@ -0,0 +1,21 @@
+package com.netconfig.pricing.dto;
+
+import com.netconfig.pricing.domain.PricingResult;
+
+import java.util.List;
+
+/**
+ * Pricing results for every customer tier × support tier combination.
+ * {@code sharedStrategies} ran once for all scenarios.
+ */
+public record ScenarioMatrixResponse(
+    String configurationId,
+    List<String> sharedStrategies,
+    List<Scenario> scenarios
+) {
+    public record Scenario(
+        String customerTier,
+        String supportTier,
+        PricingResult result
+    ) {}
+}
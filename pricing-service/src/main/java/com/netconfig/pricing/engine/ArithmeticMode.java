@@ -0,0 +1,11 @@
+package com.netconfig.pricing.engine;
+
+/**
+ * Number representation used while running the strategy pipeline.
+ */
+public enum ArithmeticMode {
+    /** BigDecimal amounts throughout (default). */
+    BIG_DECIMAL,
+    /** Long cents inside the pipeline, converted to BigDecimal for the result. */
+    FIXED_POINT
+}
@@ -1,20 +1,34 @@
 package com.netconfig.pricing.engine;
 
+import com.netconfig.pricing.cache.PricingResultCache;
 import com.netconfig.pricing.client.CatalogClient;
+import com.netconfig.pricing.client.CatalogUnavailableException;
 import com.netconfig.pricing.client.ConfigurationClient;
 import com.netconfig.pricing.client.dto.ConfigurationItemResponse;
 import com.netconfig.pricing.client.dto.ConfigurationResponse;
 import com.netconfig.pricing.client.dto.ProductResponse;
 import com.netconfig.pricing.domain.PricingContext;
 import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingNote;
 import com.netconfig.pricing.domain.PricingResult;
 import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixResponse;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
 import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.impl.SupportAddOnStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.*;
 
 /**
@@ -29,17 +43,38 @@ public class PricingEngine {
     private final List<PricingStrategy> strategies;
     private final CatalogClient catalogClient;
     private final ConfigurationClient configurationClient;
+    private final PricingResultCache resultCache;
+    private final PricingRulesRegistry rulesRegistry;
+    private final PromotionRegistry promotionRegistry;
+    private final FxRateRegistry fxRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ArithmeticMode arithmeticMode;
+    // Pipeline for the newest rules seen; replaced when the rules are reloaded
+    private volatile StrategyPipeline pipeline;
 
     public PricingEngine(
             List<PricingStrategy> strategies,
             CatalogClient catalogClient,
-            ConfigurationClient configurationClient) {
+            ConfigurationClient configurationClient,
+            PricingResultCache resultCache,
+            PricingRulesRegistry rulesRegistry,
+            PromotionRegistry promotionRegistry,
+            FxRateRegistry fxRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${pricing.arithmetic-mode:BIG_DECIMAL}") ArithmeticMode arithmeticMode) {
         // Sort strategies by order
         this.strategies = strategies.stream()
                 .sorted(Comparator.comparingInt(PricingStrategy::getOrder))
                 .toList();
         this.catalogClient = catalogClient;
         this.configurationClient = configurationClient;
+        this.resultCache = resultCache;
+        this.rulesRegistry = rulesRegistry;
+        this.promotionRegistry = promotionRegistry;
+        this.fxRegistry = fxRegistry;
+        this.meterRegistry = meterRegistry;
+        this.arithmeticMode = arithmeticMode;
+        this.pipeline = new StrategyPipeline(this.strategies, rulesRegistry.current(), arithmeticMode, meterRegistry);
 
         log.info("Initialized PricingEngine with {} strategies: {}",
                 strategies.size(),
@@ -55,26 +90,106 @@ public class PricingEngine {
     public PricingResult calculatePrice(PricingRequest request) {
         log.info("Calculating price for configuration: {}", request.configurationId());
 
-        // Fetch configuration
-        ConfigurationResponse configuration = configurationClient.getConfiguration(request.configurationId())
+        ConfigurationResponse configuration = resolveConfiguration(request);
+        return calculatePrice(configuration, request, null);
+    }
+
+    /**
+     * Calculate pricing for an already fetched configuration, using products
+     * fetched up front (see {@link #fetchProducts}), or fetching them on a
+     * cache miss if {@code products} is null.
+     */
+    public PricingResult calculatePrice(ConfigurationResponse configuration, PricingRequest request,
+                                        Map<String, ProductResponse> products) {
+        PricingRules rules = rulesRegistry.current();
+        Instant pricedAt = request.pricedAt() != null ? request.pricedAt() : Instant.now();
+        long promotionEpoch = promotionRegistry.current().epochAt(pricedAt);
+        FxRates fx = fxRegistry.current();
+        String currency = request.currency() != null ? FxRates.normalize(request.currency()) : fx.getBase();
+        fx.require(currency);
+
+        PricingResult result = resultCache.get(configuration, request, rules.version(), promotionEpoch, fx.getId(),
+                () -> price(configuration, request,
+                        products != null ? products : fetchProducts(List.of(configuration)),
+                        rules, pricedAt, fx, currency));
+        result.setExplain(request.explain());
+        return result;
+    }
+
+    /**
+     * The configuration to price: the inline copy from the request if there
+     * is one, otherwise fetched from the Configuration Service.
+     */
+    public ConfigurationResponse resolveConfiguration(PricingRequest request) {
+        ConfigurationResponse inline = request.configuration();
+        if (inline == null) {
+            return fetchConfiguration(request.configurationId());
+        }
+        if (inline.id() != null && !inline.id().equals(request.configurationId())) {
+            throw new IllegalArgumentException("Inline configuration " + inline.id()
+                    + " does not match configuration ID " + request.configurationId());
+        }
+        if (inline.items() == null) {
+            throw new IllegalArgumentException("Inline configuration has no items");
+        }
+        for (ConfigurationItemResponse item : inline.items()) {
+            if (item.productSku() == null || item.quantity() <= 0) {
+                throw new IllegalArgumentException(
+                        "Inline configuration item needs a SKU and a positive quantity: " + item.productSku());
+            }
+        }
+        return inline.id() != null ? inline : new ConfigurationResponse(request.configurationId(),
+                inline.name(), inline.customerId(), inline.rackSku(), inline.items());
+    }
+
+    /**
+     * Fetch a configuration from the Configuration Service.
+     */
+    public ConfigurationResponse fetchConfiguration(String configurationId) {
+        if (configurationId == null || configurationId.isBlank()) {
+            throw new IllegalArgumentException("Configuration ID is required");
+        }
+        return configurationClient.getConfiguration(configurationId)
                 .orElseThrow(() -> new IllegalArgumentException(
-                        "Configuration not found: " + request.configurationId()));
+                        "Configuration not found: " + configurationId));
+    }
 
-        // Build pricing context
-        PricingContext context = buildContext(configuration, request);
-
-        // Execute strategies in order
-        PricingResult result = new PricingResult(request.configurationId());
-
-        for (PricingStrategy strategy : strategies) {
-            try {
-                log.debug("Applying strategy: {}", strategy.getName());
-                result = strategy.apply(context, result);
-            } catch (Exception e) {
-                log.error("Strategy {} failed", strategy.getName(), e);
-                // Continue with other strategies
+    /**
+     * Fetch every product referenced by the given configurations in one
+     * catalog call, keyed by SKU.
+     */
+    public Map<String, ProductResponse> fetchProducts(Collection<ConfigurationResponse> configurations) {
+        Set<String> skus = new HashSet<>();
+        for (ConfigurationResponse configuration : configurations) {
+            for (ConfigurationItemResponse item : configuration.items()) {
+                skus.add(item.productSku());
+            }
+            if (configuration.rackSku() != null) {
+                skus.add(configuration.rackSku());
             }
         }
+        return catalogClient.getProductsBySkus(skus);
+    }
+
+    /**
+     * Run the strategy pipeline for a fetched configuration.
+     */
+    private PricingResult price(ConfigurationResponse configuration, PricingRequest request,
+                                Map<String, ProductResponse> products, PricingRules rules, Instant pricedAt,
+                                FxRates fx, String currency) {
+        // Build pricing context
+        PricingContext context = buildContext(configuration, request, products);
+        context.setRules(rules);
+        context.setPricedAt(pricedAt);
+        pinFxRates(context, fx, currency);
+
+        PricingResult result = pipelineFor(rules).run(context);
+        evaluateMargins(result, rules);
+        result.setRulesVersion(rules.version());
+        result.setCurrency(currency);
+        result.setFxSnapshotId(fx.getId());
+        result.setFxRates(appliedFxRates(context, fx));
+        markDegraded(result, configuration, products);
 
         log.info("Pricing complete for {}: subtotal=${}, discount=${}, total=${}",
                 request.configurationId(),
@@ -85,18 +200,90 @@ public class PricingEngine {
         return result;
     }
 
+    /**
+     * Price a configuration for every customer tier × support tier
+     * combination. The configuration and products are fetched once and the
+     * strategies before the first scenario-dependent one run once; only the
+     * remaining (applicable) strategies run per scenario, each on its own
+     * copy of the shared result. Scenarios are priced in the FX base
+     * currency.
+     */
+    public ScenarioMatrixResponse calculateScenarios(ScenarioMatrixRequest request) {
+        log.info("Calculating scenario matrix for configuration: {} ({} x {})",
+                request.configurationId(), request.customerTiers(), request.supportTiers());
+
+        ConfigurationResponse configuration = fetchConfiguration(request.configurationId());
+        return calculateScenarios(configuration, request, fetchProducts(List.of(configuration)));
+    }
+
+    /**
+     * Scenario matrix for an already fetched configuration, using products
+     * fetched up front.
+     */
+    public ScenarioMatrixResponse calculateScenarios(ConfigurationResponse configuration,
+                                                     ScenarioMatrixRequest request,
+                                                     Map<String, ProductResponse> products) {
+        PricingRules rules = rulesRegistry.current();
+        StrategyPipeline pipeline = pipelineFor(rules);
+        PricingRequest baseRequest = new PricingRequest(
+                request.configurationId(),
+                null,
+                request.rackUnitsUsed(),
+                request.rackCapacity(),
+                request.options());
+        PricingContext context = buildContext(configuration, baseRequest, products);
+        context.setRules(rules);
+        FxRates fx = fxRegistry.current();
+        pinFxRates(context, fx, fx.getBase());
+
+        PricingResult prefix = pipeline.runShared(context);
+        prefix.setCurrency(fx.getBase());
+        prefix.setFxSnapshotId(fx.getId());
+        prefix.setFxRates(appliedFxRates(context, fx));
+        markDegraded(prefix, configuration, products);
+
+        List<ScenarioMatrixResponse.Scenario> scenarios = new ArrayList<>();
+        for (String customerTier : request.customerTiers()) {
+            for (String supportTier : request.supportTiers()) {
+                PricingContext scenarioContext = context.forScenario(
+                        customerTier, scenarioOptions(request.options(), supportTier));
+                PricingResult result = pipeline.runForked(scenarioContext, prefix.copyFor(request.configurationId()));
+                evaluateMargins(result, rules);
+                result.setRulesVersion(rules.version());
+                result.setExplain(request.explain());
+                scenarios.add(new ScenarioMatrixResponse.Scenario(customerTier, supportTier, result));
+            }
+        }
+
+        return new ScenarioMatrixResponse(
+                request.configurationId(),
+                pipeline.sharedStrategyNames(),
+                scenarios);
+    }
+
+    private Map<String, Object> scenarioOptions(Map<String, Object> baseOptions, String supportTier) {
+        Map<String, Object> options = new HashMap<>(baseOptions);
+        options.remove(SupportAddOnStrategy.SUPPORT_OPTION_KEY);
+        options.remove(SupportAddOnStrategy.SUPPORT_TIER_KEY);
+        if (!ScenarioMatrixRequest.NO_SUPPORT.equalsIgnoreCase(supportTier)) {
+            options.put(SupportAddOnStrategy.SUPPORT_OPTION_KEY, true);
+            options.put(SupportAddOnStrategy.SUPPORT_TIER_KEY, supportTier);
+        }
+        return options;
+    }
+
     /**
      * Build pricing context from configuration and request.
      */
-    private PricingContext buildContext(ConfigurationResponse configuration, PricingRequest request) {
+    private PricingContext buildContext(ConfigurationResponse configuration, PricingRequest request,
+                                        Map<String, ProductResponse> products) {
         List<PricingLineItem> lineItems = new ArrayList<>();
 
-        // Fetch product prices and build line items
+        // Look up product prices and build line items
         for (ConfigurationItemResponse item : configuration.items()) {
-            Optional<ProductResponse> product = catalogClient.getProductBySku(item.productSku());
-            
-            if (product.isPresent()) {
-                ProductResponse p = product.get();
+            ProductResponse p = priced(products.get(item.productSku()));
+
+            if (p != null) {
                 PricingLineItem lineItem = new PricingLineItem(
                         p.sku(),
                         p.name(),
@@ -104,6 +291,8 @@ public class PricingEngine {
                         item.quantity(),
                         p.basePrice()
                 );
+                lineItem.setCatalogCurrency(FxRates.normalize(p.currency()));
+                lineItem.setUnitCost(p.costPrice());
                 lineItems.add(lineItem);
             } else {
                 log.warn("Product not found in catalog: {}", item.productSku());
@@ -112,14 +301,19 @@ public class PricingEngine {
 
         // Add rack if present
         if (configuration.rackSku() != null) {
-            catalogClient.getProductBySku(configuration.rackSku())
-                    .ifPresent(rack -> lineItems.add(new PricingLineItem(
-                            rack.sku(),
-                            rack.name(),
-                            rack.type(),
-                            1,
-                            rack.basePrice()
-                    )));
+            ProductResponse rack = priced(products.get(configuration.rackSku()));
+            if (rack != null) {
+                PricingLineItem rackItem = new PricingLineItem(
+                        rack.sku(),
+                        rack.name(),
+                        rack.type(),
+                        1,
+                        rack.basePrice()
+                );
+                rackItem.setCatalogCurrency(FxRates.normalize(rack.currency()));
+                rackItem.setUnitCost(rack.costPrice());
+                lineItems.add(rackItem);
+            }
         }
 
         PricingContext context = new PricingContext(configuration.id(), lineItems);
@@ -136,6 +330,174 @@ public class PricingEngine {
         return context;
     }
 
+    /**
+     * A product that can be priced, or null if the catalog does not know it.
+     *
+     * @throws CatalogUnavailableException if the catalog could not be reached and
+     *         there is no last known price; dropping the line would
+     *         understate the total
+     */
+    private ProductResponse priced(ProductResponse product) {
+        if (product != null && product.source() == ProductResponse.Source.UNAVAILABLE) {
+            throw new CatalogUnavailableException(
+                    "Catalog unavailable and no last known price for " + product.sku());
+        }
+        return product;
+    }
+
+    /**
+     * Flag a result priced partly from the last-known-good catalog snapshot.
+     */
+    private void markDegraded(PricingResult result, ConfigurationResponse configuration,
+                              Map<String, ProductResponse> products) {
+        Set<String> stale = new TreeSet<>();
+        for (ConfigurationItemResponse item : configuration.items()) {
+            ProductResponse product = products.get(item.productSku());
+            if (product != null && product.source() == ProductResponse.Source.SNAPSHOT) {
+                stale.add(product.sku());
+            }
+        }
+        if (configuration.rackSku() != null) {
+            ProductResponse rack = products.get(configuration.rackSku());
+            if (rack != null && rack.source() == ProductResponse.Source.SNAPSHOT) {
+                stale.add(rack.sku());
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.warn("Priced {} from last known catalog prices for {}", configuration.id(), stale);
+            result.setDegraded(true);
+            result.addNote(new PricingNote(PricingNote.Code.CATALOG_FALLBACK, Map.of(
+                    "products", stale.size(),
+                    "skus", String.join(", ", stale))));
+        }
+    }
+
+    /**
+     * Post-strategy evaluation stage: compute the line and order margins
+     * once, on the final totals, and flag the result for approval if a
+     * margin is below the minimum in the rules. Costs come with the catalog
+     * products already fetched, so this makes no further calls.
+     */
+    private void evaluateMargins(PricingResult result, PricingRules rules) {
+        result.recalculateTotals();
+        result.calculateMargins();
+        PricingRules.MarginApproval minimums = rules.marginApproval();
+
+        int lowLines = 0;
+        Set<String> lowSkus = new TreeSet<>();
+        for (PricingLineItem item : result.getLineItems()) {
+            if (belowMinimum(item.getMargin(), item.getMarginPercent(), minimums.minLineMarginPercent())) {
+                lowLines++;
+                lowSkus.add(item.getProductSku());
+            }
+        }
+        boolean lowOrder = belowMinimum(result.getMargin(), result.getMarginPercent(),
+                minimums.minOrderMarginPercent());
+
+        if (lowOrder) {
+            result.addNote(new PricingNote(PricingNote.Code.MARGIN_APPROVAL, Map.of(
+                    "marginPercent", result.getMarginPercent() != null
+                            ? result.getMarginPercent().toPlainString() : "n/a",
+                    "minimum", minimums.minOrderMarginPercent())));
+        }
+        if (lowLines > 0) {
+            result.addNote(new PricingNote(PricingNote.Code.LINE_MARGIN_APPROVAL, Map.of(
+                    "lines", lowLines,
+                    "minimum", minimums.minLineMarginPercent(),
+                    "skus", String.join(", ", lowSkus))));
+        }
+        result.setApprovalRequired(lowOrder || lowLines > 0);
+    }
+
+    /**
+     * Whether a known margin is below the minimum percent. A margin on a
+     * zero total has no percentage and only counts if it is negative.
+     */
+    private static boolean belowMinimum(BigDecimal margin, BigDecimal marginPercent, int minimumPercent) {
+        if (margin == null) {
+            return false;
+        }
+        return marginPercent != null
+                ? marginPercent.compareTo(BigDecimal.valueOf(minimumPercent)) < 0
+                : margin.signum() < 0;
+    }
+
+    /**
+     * Pin the FX snapshot and target currency for a calculation. Every
+     * catalog currency must have a rate, since a failing conversion
+     * strategy would otherwise be skipped and leave prices unconverted.
+     *
+     * @throws IllegalArgumentException if a currency has no rate in the snapshot
+     */
+    private void pinFxRates(PricingContext context, FxRates fx, String currency) {
+        fx.require(currency);
+        for (PricingLineItem item : context.getLineItems()) {
+            fx.require(item.getCatalogCurrency());
+        }
+        context.setFxRates(fx);
+        context.setCurrency(currency);
+    }
+
+    /**
+     * The snapshot rates a calculation depends on: the base, the priced
+     * currency and every catalog currency. Cross rates are derived from
+     * these, so they are all a quote needs to reproduce its prices.
+     */
+    private static Map<String, BigDecimal> appliedFxRates(PricingContext context, FxRates fx) {
+        Map<String, BigDecimal> applied = new TreeMap<>();
+        applied.put(fx.getBase(), fx.require(fx.getBase()));
+        applied.put(context.getCurrency(), fx.require(context.getCurrency()));
+        for (PricingLineItem item : context.getLineItems()) {
+            applied.put(item.getCatalogCurrency(), fx.require(item.getCatalogCurrency()));
+        }
+        return Collections.unmodifiableMap(applied);
+    }
+
+    /**
+     * Pipeline whose triggers were built from these rules. After a reload
+     * the first calculation with the new rules builds and publishes a new
+     * pipeline; a calculation still holding older rules gets a pipeline of
+     * its own rather than replacing the newer one.
+     */
+    private StrategyPipeline pipelineFor(PricingRules rules) {
+        StrategyPipeline current = pipeline;
+        if (current.rules() == rules) {
+            return current;
+        }
+        synchronized (this) {
+            if (pipeline.rules() == rules) {
+                return pipeline;
+            }
+            StrategyPipeline rebuilt = new StrategyPipeline(strategies, rules, arithmeticMode, meterRegistry);
+            if (rules.version() > pipeline.rules().version()) {
+                log.info("Rebuilt strategy pipeline for pricing rules version {}", rules.version());
+                pipeline = rebuilt;
+            }
+            return rebuilt;
+        }
+    }
+
+    /**
+     * Drop all cached results, e.g. after catalog prices changed.
+     */
+    public long invalidateCache() {
+        return resultCache.invalidateAll();
+    }
+
+    /**
+     * Cache size and hit/miss statistics.
+     */
+    public Map<String, Object> getCacheStats() {
+        return resultCache.getStats();
+    }
+
+    /**
+     * Catalog circuit breaker state and last-known-good snapshot size.
+     */
+    public Map<String, Object> getCatalogStatus() {
+        return catalogClient.getStatus();
+    }
+
     /**
      * Get list of active pricing strategies.
      */
@@ -146,15 +508,16 @@ public class PricingEngine {
     }
 
     /**
-     * Calculate price with pre-built context (for testing).
+     * Calculate price with pre-built context (for testing). Uses the
+     * context's rules, or pins the current rules if it has none.
      */
     public PricingResult calculatePrice(PricingContext context) {
-        PricingResult result = new PricingResult(context.getConfigurationId());
-
-        for (PricingStrategy strategy : strategies) {
-            result = strategy.apply(context, result);
+        if (context.getRules() == null) {
+            context.setRules(rulesRegistry.current());
         }
-
+        PricingResult result = pipelineFor(context.getRules()).run(context);
+        evaluateMargins(result, context.getRules());
+        result.setRulesVersion(context.getRules().version());
         return result;
     }
 }
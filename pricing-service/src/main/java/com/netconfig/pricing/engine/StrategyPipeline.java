@@ -0,0 +1,219 @@
+package com.netconfig.pricing.engine;
+
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.StrategyTrigger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordered strategies, compiled into per-context pipelines.
+ *
+ * Each strategy gets a bit in a 64-bit mask. For a context, the engine sets
+ * the bits of the strategies whose {@link StrategyTrigger} matches and runs
+ * the pipeline compiled for that mask; pipelines are cached per mask, so
+ * there is one per distinct trigger signature. Triggers depend on rule
+ * thresholds, so a pipeline is built for one {@link PricingRules} version.
+ * Every strategy run is timed under {@code pricing.strategy.duration}.
+ */
+class StrategyPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(StrategyPipeline.class);
+
+    static final String TIMER_NAME = "pricing.strategy.duration";
+
+    private final Stage[] stages;
+    private final PricingRules rules;
+    private final ArithmeticMode arithmeticMode;
+    // Strategies before the first scenario-dependent one
+    private final long sharedMask;
+    private final long allMask;
+    private final Map<Long, Stage[]> compiled = new ConcurrentHashMap<>();
+
+    private record Stage(PricingStrategy strategy, FixedPointPricingStrategy fixedPoint,
+                         StrategyTrigger trigger, Timer timer) {}
+
+    StrategyPipeline(List<PricingStrategy> orderedStrategies, PricingRules rules,
+                     ArithmeticMode arithmeticMode, MeterRegistry meterRegistry) {
+        if (orderedStrategies.size() > Long.SIZE) {
+            throw new IllegalStateException("At most " + Long.SIZE + " pricing strategies are supported");
+        }
+        this.rules = rules;
+        this.arithmeticMode = arithmeticMode;
+        this.stages = new Stage[orderedStrategies.size()];
+
+        long shared = 0;
+        boolean forked = false;
+        for (int i = 0; i < stages.length; i++) {
+            PricingStrategy strategy = orderedStrategies.get(i);
+            stages[i] = new Stage(
+                    strategy,
+                    strategy instanceof FixedPointPricingStrategy fixed ? fixed : null,
+                    strategy.getTrigger(rules),
+                    Timer.builder(TIMER_NAME)
+                            .description("Time spent applying a pricing strategy")
+                            .tag("strategy", strategy.getName())
+                            .register(meterRegistry));
+            forked |= strategy.isScenarioDependent();
+            if (!forked) {
+                shared |= 1L << i;
+            }
+        }
+        this.sharedMask = shared;
+        this.allMask = stages.length == Long.SIZE ? -1L : (1L << stages.length) - 1;
+
+        if (arithmeticMode == ArithmeticMode.FIXED_POINT) {
+            for (Stage stage : stages) {
+                if (stage.fixedPoint() == null) {
+                    log.warn("Strategy {} has no fixed-point variant; pipelines containing it use BigDecimal",
+                            stage.strategy().getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Run every applicable strategy.
+     */
+    PricingResult run(PricingContext context) {
+        Stage[] pipeline = compile(applicableMask(context, allMask));
+        if (arithmeticMode == ArithmeticMode.FIXED_POINT && supportsFixedPoint(pipeline)) {
+            PricingResult result = runFixedPoint(pipeline, context);
+            if (result != null) {
+                return result;
+            }
+        }
+        return runBigDecimal(pipeline, context, new PricingResult(context.getConfigurationId()));
+    }
+
+    /**
+     * Run the applicable strategies that do not depend on tier or options.
+     */
+    PricingResult runShared(PricingContext context) {
+        Stage[] pipeline = compile(applicableMask(context, sharedMask));
+        return runBigDecimal(pipeline, context, new PricingResult(context.getConfigurationId()));
+    }
+
+    /**
+     * Run the applicable scenario-dependent strategies on top of a copy of
+     * the shared result.
+     */
+    PricingResult runForked(PricingContext scenarioContext, PricingResult sharedResult) {
+        Stage[] pipeline = compile(applicableMask(scenarioContext, allMask & ~sharedMask));
+        return runBigDecimal(pipeline, scenarioContext, sharedResult);
+    }
+
+    /**
+     * Rules the triggers were built from.
+     */
+    PricingRules rules() {
+        return rules;
+    }
+
+    List<String> sharedStrategyNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < stages.length; i++) {
+            if ((sharedMask & (1L << i)) != 0) {
+                names.add(stages[i].strategy().getName());
+            }
+        }
+        return names;
+    }
+
+    int compiledPipelineCount() {
+        return compiled.size();
+    }
+
+    private long applicableMask(PricingContext context, long candidates) {
+        long mask = 0;
+        for (int i = 0; i < stages.length; i++) {
+            long bit = 1L << i;
+            if ((candidates & bit) != 0 && stages[i].trigger().matches(context)) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    private Stage[] compile(long mask) {
+        return compiled.computeIfAbsent(mask, m -> {
+            List<Stage> selected = new ArrayList<>(Long.bitCount(m));
+            for (int i = 0; i < stages.length; i++) {
+                if ((m & (1L << i)) != 0) {
+                    selected.add(stages[i]);
+                }
+            }
+            return selected.toArray(Stage[]::new);
+        });
+    }
+
+    private static boolean supportsFixedPoint(Stage[] pipeline) {
+        for (Stage stage : pipeline) {
+            if (stage.fixedPoint() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Apply strategies in order. A failing strategy is logged and skipped.
+     */
+    private PricingResult runBigDecimal(Stage[] pipeline, PricingContext context, PricingResult result) {
+        for (Stage stage : pipeline) {
+            long start = System.nanoTime();
+            try {
+                log.debug("Applying strategy: {}", stage.strategy().getName());
+                result = stage.strategy().apply(context, result);
+            } catch (Exception e) {
+                log.error("Strategy {} failed", stage.strategy().getName(), e);
+                // Continue with other strategies
+            } finally {
+                stage.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Run the pipeline on a long-cents ledger. Returns null when the
+     * calculation cannot be done exactly in cents (sub-cent prices or
+     * overflow) so the caller can fall back to BigDecimal.
+     */
+    private PricingResult runFixedPoint(Stage[] pipeline, PricingContext context) {
+        FixedPointLedger ledger = FixedPointLedger.of(context);
+        if (ledger == null) {
+            log.debug("Sub-cent prices in {}, using BigDecimal", context.getConfigurationId());
+            return null;
+        }
+
+        for (Stage stage : pipeline) {
+            long start = System.nanoTime();
+            try {
+                stage.fixedPoint().applyFixed(context, ledger);
+            } catch (ArithmeticException e) {
+                log.warn("Fixed-point overflow in {} for {}, using BigDecimal",
+                        stage.strategy().getName(), context.getConfigurationId());
+                return null;
+            } catch (Exception e) {
+                log.error("Strategy {} failed", stage.strategy().getName(), e);
+                // Continue with other strategies
+            } finally {
+                stage.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        return ledger.toResult(context.getConfigurationId());
+    }
+}
@@ -0,0 +1,208 @@
+package com.netconfig.pricing.fx;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current FX rate snapshot.
+ *
+ * Rates are read from {@code pricing.fx.rates-file} (JSON, any Spring
+ * resource location) and re-read in the background every
+ * {@code pricing.fx.refresh-interval}. Pricing only ever reads the current
+ * reference, so a slow or failing rate source never delays a calculation;
+ * a bad file leaves the current snapshot in place. Recent snapshots are
+ * kept by ID in memory only; pricing results carry the rates they used,
+ * which is what quotes keep. Without a file only the base currency can be
+ * priced.
+ */
+@Component
+public class FxRateRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateRegistry.class);
+
+    private static final int HISTORY_SIZE = 32;
+
+    private final String base;
+    private final String ratesFile;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService refresher;
+    private final AtomicReference<FxRates> current = new AtomicReference<>();
+    private final Map<String, FxRates> history = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FxRates> eldest) {
+            return size() > HISTORY_SIZE;
+        }
+    };
+
+    /**
+     * Layout of the rates file: units of each currency per one unit of {@code base}.
+     */
+    public record RatesFile(String base, Instant asOf, Map<String, BigDecimal> rates) {}
+
+    @Autowired
+    public FxRateRegistry(
+            @Value("${pricing.fx.base-currency:USD}") String base,
+            @Value("${pricing.fx.rates-file:}") String ratesFile,
+            @Value("${pricing.fx.refresh-interval:5m}") Duration refreshInterval,
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper) {
+        this.base = FxRates.normalize(base);
+        this.ratesFile = ratesFile;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        publish(FxRates.baseOnly(this.base));
+
+        if (!isReloadable()) {
+            this.refresher = null;
+            return;
+        }
+        try {
+            refresh();
+        } catch (IllegalArgumentException e) {
+            // Keep starting; the background refresh retries
+            log.error("Cannot load FX rates, pricing in {} only until a refresh succeeds: {}",
+                    this.base, e.getMessage());
+        }
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fx-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registry with fixed rates that are never refreshed.
+     */
+    public FxRateRegistry(FxRates rates) {
+        this.base = rates.getBase();
+        this.ratesFile = null;
+        this.resourceLoader = null;
+        this.objectMapper = null;
+        this.refresher = null;
+        publish(rates);
+    }
+
+    /**
+     * The snapshot to price with. Read once per calculation; never blocks.
+     */
+    public FxRates current() {
+        return current.get();
+    }
+
+    /**
+     * A recent snapshot by ID, including the current one.
+     */
+    public Optional<FxRates> find(String snapshotId) {
+        synchronized (history) {
+            return Optional.ofNullable(history.get(snapshotId));
+        }
+    }
+
+    /**
+     * Whether rates come from a file and are refreshed.
+     */
+    public boolean isReloadable() {
+        return ratesFile != null && !ratesFile.isBlank();
+    }
+
+    /**
+     * Re-read the rates file now. The snapshot is only swapped if the rates
+     * changed, so an unchanged file keeps its ID (and cached results).
+     *
+     * @return the current snapshot
+     * @throws IllegalArgumentException if no rates file is configured or it is invalid
+     */
+    public synchronized FxRates refresh() {
+        if (!isReloadable()) {
+            throw new IllegalArgumentException("No FX rates file configured (pricing.fx.rates-file)");
+        }
+        FxRates rates = load();
+        if (!rates.getId().equals(current.get().getId())) {
+            publish(rates);
+            log.info("FX rates {} as of {}: {} currencies", rates.getId(), rates.getAsOf(), rates.getRates().size());
+        }
+        return rates;
+    }
+
+    /**
+     * ID, base, as-of time and rates of the current snapshot.
+     */
+    public Map<String, Object> getSummary() {
+        return summary(current.get());
+    }
+
+    /**
+     * Summary of a snapshot, as returned by {@link #getSummary()}.
+     */
+    public static Map<String, Object> summary(FxRates rates) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("snapshotId", rates.getId());
+        summary.put("base", rates.getBase());
+        summary.put("asOf", rates.getAsOf().toString());
+        summary.put("rates", rates.getRates());
+        return summary;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("FX rate refresh failed, keeping snapshot {}: {}", current.get().getId(), e.getMessage());
+        }
+    }
+
+    private void publish(FxRates rates) {
+        synchronized (history) {
+            history.put(rates.getId(), rates);
+        }
+        current.set(rates);
+    }
+
+    private FxRates load() {
+        Resource resource = resourceLoader.getResource(ratesFile);
+        RatesFile file;
+        try (InputStream in = resource.getInputStream()) {
+            file = objectMapper.readerFor(RatesFile.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read FX rates from " + ratesFile + ": " + e.getMessage(), e);
+        }
+        if (file.base() != null && !FxRates.normalize(file.base()).equals(base)) {
+            throw new IllegalArgumentException("FX rates file " + ratesFile + " has base " + file.base()
+                    + ", expected " + base + " (pricing.fx.base-currency)");
+        }
+        return FxRates.of(base, file.asOf(), file.rates() != null ? file.rates() : Map.of());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+}
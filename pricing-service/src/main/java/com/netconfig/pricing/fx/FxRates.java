@@ -0,0 +1,152 @@
+package com.netconfig.pricing.fx;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of exchange rates against one base currency.
+ *
+ * Rates are units of a currency per one unit of the base, so converting
+ * between two non-base currencies goes through the base. The snapshot ID is
+ * derived from the content (base, as-of time and rates), so the same rates
+ * always get the same ID and a quote's ID identifies exactly the rates it
+ * was priced with.
+ */
+public final class FxRates {
+
+    private static final MathContext CROSS_RATE = MathContext.DECIMAL64;
+
+    private final String id;
+    private final String base;
+    private final Instant asOf;
+    private final Map<String, BigDecimal> rates;
+
+    private FxRates(String id, String base, Instant asOf, Map<String, BigDecimal> rates) {
+        this.id = id;
+        this.base = base;
+        this.asOf = asOf;
+        this.rates = rates;
+    }
+
+    /**
+     * Build a snapshot. The base currency always has rate 1.
+     *
+     * @param rates units of each currency per one unit of {@code base}
+     * @throws IllegalArgumentException on unknown currency codes or rates that are not positive
+     */
+    public static FxRates of(String base, Instant asOf, Map<String, BigDecimal> rates) {
+        String baseCode = normalize(base);
+        if (asOf == null) {
+            throw new IllegalArgumentException("FX rates need an as-of time");
+        }
+        Map<String, BigDecimal> sorted = new TreeMap<>();
+        rates.forEach((currency, rate) -> {
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("FX rate for " + currency + " must be positive: " + rate);
+            }
+            sorted.put(normalize(currency), rate.stripTrailingZeros());
+        });
+        BigDecimal baseRate = sorted.put(baseCode, BigDecimal.ONE);
+        if (baseRate != null && baseRate.compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalArgumentException("FX rate for the base currency " + baseCode + " must be 1: " + baseRate);
+        }
+        return new FxRates(contentId(baseCode, asOf, sorted), baseCode, asOf, Map.copyOf(sorted));
+    }
+
+    /**
+     * Snapshot that only knows the base currency.
+     */
+    public static FxRates baseOnly(String base) {
+        return of(base, Instant.EPOCH, Map.of());
+    }
+
+    /**
+     * Upper-case ISO 4217 code.
+     *
+     * @throws IllegalArgumentException if the code is not a known currency
+     */
+    public static String normalize(String currency) {
+        if (currency == null || currency.isBlank()) {
+            throw new IllegalArgumentException("Currency code is required");
+        }
+        return Currency.getInstance(currency.trim().toUpperCase(Locale.ROOT)).getCurrencyCode();
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from}.
+     *
+     * @throws IllegalArgumentException if either currency has no rate in this snapshot
+     */
+    public BigDecimal rate(String from, String to) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        return require(to).divide(require(from), CROSS_RATE);
+    }
+
+    /**
+     * Convert an amount, rounded HALF_UP to cents.
+     */
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        if (from.equals(to)) {
+            return amount;
+        }
+        return amount.multiply(rate(from, to)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currency has no rate in this snapshot
+     */
+    public BigDecimal require(String currency) {
+        BigDecimal rate = rates.get(currency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No FX rate for " + currency + " in snapshot " + id);
+        }
+        return rate;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Units of each currency per unit of the base, by currency code.
+     */
+    public Map<String, BigDecimal> getRates() {
+        return new TreeMap<>(rates);
+    }
+
+    private static String contentId(String base, Instant asOf, Map<String, BigDecimal> sortedRates) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((base + "|" + asOf).getBytes(StandardCharsets.UTF_8));
+            sortedRates.forEach((currency, rate) ->
+                    digest.update(("\n" + currency + "=" + rate.toPlainString()).getBytes(StandardCharsets.UTF_8)));
+            return "fx-" + HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.netconfig.pricing.pricelist;
+
+import java.util.Locale;
+
+/**
+ * Output format of a generated price list.
+ */
+public enum PriceListFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String mediaType;
+
+    PriceListFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Parse a format name, ignoring case.
+     *
+     * @throws IllegalArgumentException if the name is not a known format
+     */
+    public static PriceListFormat parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown price list format: " + name + " (CSV or NDJSON)");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.netconfig.pricing.pricelist;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State and progress of one price list generation run. Counters are
+ * updated by the generating thread while clients poll the job.
+ */
+public class PriceListJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final PriceListFormat format;
+    private final Path outputPath;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong productsPriced = new AtomicLong();
+    private final AtomicLong productsFailed = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public PriceListJob(String id, PriceListFormat format, Path outputPath) {
+        this.id = id;
+        this.format = format;
+        this.outputPath = outputPath;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public PriceListFormat getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getFileName() {
+        return outputPath.getFileName().toString();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getPages() {
+        return pages.get();
+    }
+
+    public long getProductsPriced() {
+        return productsPriced.get();
+    }
+
+    public long getProductsFailed() {
+        return productsFailed.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getElapsedMillis() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public double getProductsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? productsPriced.get() * 1000.0 / elapsed : 0.0;
+    }
+
+    /**
+     * Where the finished file is written. Not part of the JSON view.
+     */
+    public Path outputPath() {
+        return outputPath;
+    }
+
+    public void pageDone() {
+        pages.incrementAndGet();
+    }
+
+    public void productPriced(int rows) {
+        productsPriced.incrementAndGet();
+        rowsWritten.addAndGet(rows);
+    }
+
+    public void productFailed() {
+        productsFailed.incrementAndGet();
+    }
+
+    public void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,45 @@
+package com.netconfig.pricing.pricelist;
+
+import java.math.BigDecimal;
+
+/**
+ * One price list line: a SKU priced for one customer tier and support option.
+ */
+public record PriceListRow(
+    String sku,
+    String name,
+    String productType,
+    String customerTier,
+    String supportTier,
+    BigDecimal listPrice,
+    BigDecimal discount,
+    BigDecimal serviceAddOn,
+    BigDecimal total,
+    String currency
+) {
+    public static final String CSV_HEADER =
+            "sku,name,productType,customerTier,supportTier,listPrice,discount,serviceAddOn,total,currency";
+
+    /**
+     * The row as a CSV line (RFC 4180 quoting), without line terminator.
+     */
+    public String toCsv() {
+        return String.join(",",
+                csv(sku), csv(name), csv(productType), csv(customerTier), csv(supportTier),
+                csv(listPrice), csv(discount), csv(serviceAddOn), csv(total), csv(currency));
+    }
+
+    private static String csv(BigDecimal amount) {
+        return amount != null ? amount.toPlainString() : "";
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,60 @@
+package com.netconfig.pricing.promotion;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A time-boxed percentage discount on the line items it targets.
+ *
+ * A promotion targets one SKU, one product type, or (with neither set)
+ * every product, optionally only for one customer tier. It is active from
+ * {@code validFrom} (inclusive) until {@code validUntil} (exclusive).
+ *
+ * @param basisPoints discount in hundredths of a percent, e.g. 1250 = 12.5%
+ */
+public record Promotion(
+    String id,
+    String description,
+    String sku,
+    String productType,
+    String customerTier,
+    int basisPoints,
+    Instant validFrom,
+    Instant validUntil
+) {
+    public Promotion {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Promotion needs an ID");
+        }
+        if (sku != null && productType != null) {
+            throw new IllegalArgumentException("Promotion " + id + " targets both a SKU and a product type");
+        }
+        if (basisPoints <= 0 || basisPoints > 10_000) {
+            throw new IllegalArgumentException("Promotion " + id + " percent must be above 0 and at most 100");
+        }
+        if (validFrom == null || validUntil == null || !validFrom.isBefore(validUntil)) {
+            throw new IllegalArgumentException("Promotion " + id + " needs a validity window with validFrom before validUntil");
+        }
+    }
+
+    /**
+     * Whether the promotion is valid at this instant.
+     */
+    public boolean isActiveAt(Instant instant) {
+        return !instant.isBefore(validFrom) && instant.isBefore(validUntil);
+    }
+
+    /**
+     * Whether the promotion applies to this customer tier.
+     */
+    public boolean appliesToTier(String tier) {
+        return customerTier == null || customerTier.equalsIgnoreCase(tier);
+    }
+
+    /**
+     * Discount as a percent label, e.g. "12.5".
+     */
+    public String percentLabel() {
+        return BigDecimal.valueOf(basisPoints, 2).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,251 @@
+package com.netconfig.pricing.promotion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Promotions indexed by target and validity window.
+ *
+ * Promotions are grouped by SKU, by product type and "all products"; each
+ * group is a static centered interval tree over the validity windows. A
+ * lookup for one line item visits at most three trees, each in
+ * O(log n + k) for k matching promotions, so the cost does not grow with
+ * the number of promotions that are inactive or target other products.
+ *
+ * The index also keeps every window boundary in sorted order: between two
+ * consecutive boundaries the set of active promotions cannot change, so
+ * {@link #epochAt} identifies "the same promotions" cheaply, e.g. for
+ * cache keys. Instances are immutable.
+ */
+public final class PromotionIndex {
+
+    private static final Comparator<Promotion> BEST_FIRST = Comparator
+            .comparingInt(Promotion::basisPoints).reversed()
+            .thenComparing(Promotion::id);
+
+    public static final PromotionIndex EMPTY = of(0, List.of());
+
+    private final long version;
+    private final int size;
+    private final Map<String, Node> bySku;
+    private final Map<String, Node> byProductType;
+    private final Node allProducts;
+    private final long[] boundaries;
+
+    private PromotionIndex(long version, int size, Map<String, Node> bySku, Map<String, Node> byProductType,
+                           Node allProducts, long[] boundaries) {
+        this.version = version;
+        this.size = size;
+        this.bySku = bySku;
+        this.byProductType = byProductType;
+        this.allProducts = allProducts;
+        this.boundaries = boundaries;
+    }
+
+    /**
+     * Build an index.
+     *
+     * @param version distinguishes this index from earlier ones in {@link #epochAt}
+     * @throws IllegalArgumentException if two promotions share an ID
+     */
+    public static PromotionIndex of(long version, Collection<Promotion> promotions) {
+        Map<String, List<Promotion>> skuGroups = new HashMap<>();
+        Map<String, List<Promotion>> typeGroups = new HashMap<>();
+        List<Promotion> global = new ArrayList<>();
+        Map<String, Promotion> ids = new HashMap<>();
+        long[] boundaries = new long[promotions.size() * 2];
+        int b = 0;
+
+        for (Promotion promotion : promotions) {
+            if (ids.putIfAbsent(promotion.id(), promotion) != null) {
+                throw new IllegalArgumentException("Duplicate promotion ID: " + promotion.id());
+            }
+            if (promotion.sku() != null) {
+                skuGroups.computeIfAbsent(promotion.sku(), k -> new ArrayList<>()).add(promotion);
+            } else if (promotion.productType() != null) {
+                typeGroups.computeIfAbsent(promotion.productType(), k -> new ArrayList<>()).add(promotion);
+            } else {
+                global.add(promotion);
+            }
+            boundaries[b++] = promotion.validFrom().toEpochMilli();
+            boundaries[b++] = promotion.validUntil().toEpochMilli();
+        }
+
+        Map<String, Node> bySku = new HashMap<>();
+        skuGroups.forEach((sku, group) -> bySku.put(sku, Node.build(group)));
+        Map<String, Node> byProductType = new HashMap<>();
+        typeGroups.forEach((type, group) -> byProductType.put(type, Node.build(group)));
+
+        Arrays.sort(boundaries);
+        return new PromotionIndex(version, promotions.size(), Map.copyOf(bySku), Map.copyOf(byProductType),
+                Node.build(global), distinct(boundaries));
+    }
+
+    /**
+     * The best promotion for a line item at an instant: the highest
+     * discount among those active for its SKU, its product type or all
+     * products and the customer tier; ties go to the lowest ID. Null if
+     * none applies.
+     */
+    public Promotion bestFor(String sku, String productType, String customerTier, Instant at) {
+        Promotion[] best = new Promotion[1];
+        forEachActive(sku, productType, at, promotion -> {
+            if (promotion.appliesToTier(customerTier)
+                    && (best[0] == null || BEST_FIRST.compare(promotion, best[0]) < 0)) {
+                best[0] = promotion;
+            }
+        });
+        return best[0];
+    }
+
+    /**
+     * Every promotion active for a SKU / product type at an instant, for any tier.
+     */
+    public List<Promotion> activeFor(String sku, String productType, Instant at) {
+        List<Promotion> active = new ArrayList<>();
+        forEachActive(sku, productType, at, active::add);
+        return active;
+    }
+
+    /**
+     * Identifies the promotions in effect at an instant: equal for two
+     * instants of the same index exactly when no validity window starts or
+     * ends between them, and different across indexes.
+     */
+    public long epochAt(Instant at) {
+        long t = at.toEpochMilli();
+        int index = Arrays.binarySearch(boundaries, t);
+        int passed = index >= 0 ? index + 1 : -index - 1;
+        return (version << 32) | passed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSkuCount() {
+        return bySku.size();
+    }
+
+    public int getProductTypeCount() {
+        return byProductType.size();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void forEachActive(String sku, String productType, Instant at, Consumer<Promotion> action) {
+        if (size == 0) {
+            return;
+        }
+        long t = at.toEpochMilli();
+        if (sku != null) {
+            Node.stab(bySku.get(sku), t, action);
+        }
+        if (productType != null) {
+            Node.stab(byProductType.get(productType), t, action);
+        }
+        Node.stab(allProducts, t, action);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+    /**
+     * Centered interval tree node over half-open windows [from, until).
+     * Every window stored at a node contains its center; windows entirely
+     * before the center go left and entirely after go right.
+     */
+    private static final class Node {
+
+        private final long center;
+        private final Promotion[] byStart;  // ascending validFrom
+        private final Promotion[] byEnd;    // descending validUntil
+        private final Node left;
+        private final Node right;
+
+        private Node(long center, Promotion[] byStart, Promotion[] byEnd, Node left, Node right) {
+            this.center = center;
+            this.byStart = byStart;
+            this.byEnd = byEnd;
+            this.left = left;
+            this.right = right;
+        }
+
+        static Node build(List<Promotion> promotions) {
+            if (promotions.isEmpty()) {
+                return null;
+            }
+            // The median start is itself contained in a window, so every
+            // node keeps at least one and the recursion always shrinks
+            long[] starts = new long[promotions.size()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = promotions.get(i).validFrom().toEpochMilli();
+            }
+            Arrays.sort(starts);
+            long center = starts[starts.length / 2];
+
+            List<Promotion> before = new ArrayList<>();
+            List<Promotion> after = new ArrayList<>();
+            List<Promotion> here = new ArrayList<>();
+            for (Promotion promotion : promotions) {
+                if (promotion.validUntil().toEpochMilli() <= center) {
+                    before.add(promotion);
+                } else if (promotion.validFrom().toEpochMilli() > center) {
+                    after.add(promotion);
+                } else {
+                    here.add(promotion);
+                }
+            }
+
+            Promotion[] byStart = here.toArray(Promotion[]::new);
+            Arrays.sort(byStart, Comparator.comparing(Promotion::validFrom));
+            Promotion[] byEnd = here.toArray(Promotion[]::new);
+            Arrays.sort(byEnd, Comparator.comparing(Promotion::validUntil).reversed());
+            return new Node(center, byStart, byEnd, build(before), build(after));
+        }
+
+        static void stab(Node node, long t, Consumer<Promotion> action) {
+            while (node != null) {
+                if (t < node.center) {
+                    // Every window here ends after the center, so only the start matters
+                    for (Promotion promotion : node.byStart) {
+                        if (promotion.validFrom().toEpochMilli() > t) {
+                            break;
+                        }
+                        action.accept(promotion);
+                    }
+                    node = node.left;
+                } else {
+                    // Every window here starts at or before the center, so only the end matters
+                    for (Promotion promotion : node.byEnd) {
+                        if (promotion.validUntil().toEpochMilli() <= t) {
+                            break;
+                        }
+                        action.accept(promotion);
+                    }
+                    node = t > node.center ? node.right : null;
+                }
+            }
+        }
+    }
+}
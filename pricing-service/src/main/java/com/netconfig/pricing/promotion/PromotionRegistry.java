@@ -0,0 +1,173 @@
+package com.netconfig.pricing.promotion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current promotion index.
+ *
+ * Promotions are read from {@code pricing.promotions.file}, a CSV file (any
+ * Spring resource location) with the header
+ * {@code id,description,sku,productType,customerTier,percent,validFrom,validUntil}.
+ * Leave {@code sku} and {@code productType} empty to target every product
+ * and {@code customerTier} empty for every tier; windows are ISO-8601
+ * instants. Each load builds a new index with the next version, swapped in
+ * once complete; a bad file leaves the current index in place. Without a
+ * file there are no promotions.
+ */
+@Component
+public class PromotionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PromotionRegistry.class);
+
+    private static final String HEADER = "id,description,sku,productType,customerTier,percent,validFrom,validUntil";
+
+    private final String promotionsFile;
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<PromotionIndex> current = new AtomicReference<>(PromotionIndex.EMPTY);
+
+    @Autowired
+    public PromotionRegistry(
+            @Value("${pricing.promotions.file:}") String promotionsFile,
+            ResourceLoader resourceLoader) {
+        this.promotionsFile = promotionsFile;
+        this.resourceLoader = resourceLoader;
+
+        if (isReloadable()) {
+            current.set(load(1));
+        }
+    }
+
+    /**
+     * Registry with a fixed index that cannot be reloaded.
+     */
+    public PromotionRegistry(PromotionIndex index) {
+        this.promotionsFile = null;
+        this.resourceLoader = null;
+        current.set(index);
+    }
+
+    /**
+     * The index to price with. Read once per calculation.
+     */
+    public PromotionIndex current() {
+        return current.get();
+    }
+
+    /**
+     * Whether promotions come from a file and can be reloaded.
+     */
+    public boolean isReloadable() {
+        return promotionsFile != null && !promotionsFile.isBlank();
+    }
+
+    /**
+     * Re-read the promotions file and swap the new index in.
+     *
+     * @return summary of the loaded index
+     * @throws IllegalArgumentException if no promotions file is configured or it is invalid
+     */
+    public synchronized Map<String, Object> reload() {
+        if (!isReloadable()) {
+            throw new IllegalArgumentException("No promotions file configured (pricing.promotions.file)");
+        }
+        PromotionIndex index = load(current.get().getVersion() + 1);
+        current.set(index);
+        return summary(index);
+    }
+
+    /**
+     * Size of the current index.
+     */
+    public Map<String, Object> getSummary() {
+        return summary(current.get());
+    }
+
+    private PromotionIndex load(long version) {
+        Resource resource = resourceLoader.getResource(promotionsFile);
+        List<Promotion> promotions = new ArrayList<>();
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#") || (lineNumber == 1 && line.trim().equals(HEADER))) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != 8) {
+                    throw new IllegalArgumentException("expected " + HEADER);
+                }
+                promotions.add(new Promotion(
+                        fields[0].trim(),
+                        fields[1].trim(),
+                        optional(fields[2]),
+                        optional(fields[3]),
+                        optional(fields[4]),
+                        basisPoints(fields[5]),
+                        instant(fields[6]),
+                        instant(fields[7])));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot read promotions from " + promotionsFile + ": " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid promotions file " + promotionsFile + " at line " + lineNumber + ": " + e.getMessage(), e);
+        }
+
+        PromotionIndex index = PromotionIndex.of(version, promotions);
+        log.info("Loaded promotions from {}: {}", promotionsFile, summary(index));
+        return index;
+    }
+
+    private static String optional(String field) {
+        String value = field.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int basisPoints(String field) {
+        try {
+            return new BigDecimal(field.trim()).movePointRight(2).intValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("percent must have at most two decimals: " + field.trim());
+        }
+    }
+
+    private static Instant instant(String field) {
+        try {
+            return Instant.parse(field.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("not an ISO-8601 instant: " + field.trim());
+        }
+    }
+
+    private Map<String, Object> summary(PromotionIndex index) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("source", isReloadable() ? promotionsFile : "none");
+        summary.put("version", index.getVersion());
+        summary.put("promotions", index.size());
+        summary.put("skus", index.getSkuCount());
+        summary.put("productTypes", index.getProductTypeCount());
+        return summary;
+    }
+}
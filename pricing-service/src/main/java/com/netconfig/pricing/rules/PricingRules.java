@@ -0,0 +1,125 @@
+package com.netconfig.pricing.rules;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Immutable, versioned snapshot of the pricing rule parameters.
+ *
+ * The engine pins one snapshot per calculation (see
+ * {@link com.netconfig.pricing.domain.PricingContext#getRules()}), so every
+ * strategy in a calculation sees the same rules even while a reload swaps
+ * in a new snapshot, and the result records which version it used.
+ *
+ * @param version increases by one on every reload
+ * @param source where the rules came from (file location or "properties")
+ * @param loadedAt when this snapshot was built
+ */
+public record PricingRules(
+    long version,
+    String source,
+    Instant loadedAt,
+    VolumeDiscountTables volumeDiscount,
+    BundleDiscount bundleDiscount,
+    TierDiscount tierDiscount,
+    SupportAddOn supportAddOn,
+    MarginApproval marginApproval
+) {
+    /**
+     * Rules without margin minimums beyond not selling below cost.
+     */
+    public PricingRules(long version, String source, Instant loadedAt, VolumeDiscountTables volumeDiscount,
+                        BundleDiscount bundleDiscount, TierDiscount tierDiscount, SupportAddOn supportAddOn) {
+        this(version, source, loadedAt, volumeDiscount, bundleDiscount, tierDiscount, supportAddOn,
+                MarginApproval.BELOW_COST);
+    }
+
+    /**
+     * Rack bundle discount: {@code discountPercent} off when rack
+     * utilization is at least {@code capacityThreshold} percent.
+     */
+    public record BundleDiscount(
+        @JsonProperty(required = true) int capacityThreshold,
+        @JsonProperty(required = true) int discountPercent
+    ) {
+        public BundleDiscount {
+            checkPercent("bundle capacity threshold", capacityThreshold);
+            checkPercent("bundle discount", discountPercent);
+        }
+    }
+
+    /**
+     * Customer tier discounts.
+     */
+    public record TierDiscount(
+        @JsonProperty(required = true) int partnerPercent,
+        @JsonProperty(required = true) int enterprisePercent
+    ) {
+        public TierDiscount {
+            checkPercent("partner discount", partnerPercent);
+            checkPercent("enterprise discount", enterprisePercent);
+        }
+    }
+
+    /**
+     * Support add-on as a percentage of the discounted hardware total.
+     */
+    public record SupportAddOn(
+        @JsonProperty(required = true) int standardPercent,
+        @JsonProperty(required = true) int premiumPercent
+    ) {
+        public SupportAddOn {
+            checkPercent("standard support", standardPercent);
+            checkPercent("premium support", premiumPercent);
+        }
+    }
+
+    /**
+     * Margin minimums: a result whose order margin, or any line's margin,
+     * is below the minimum percent of its discounted total needs approval.
+     * Only lines and orders with a known cost are checked.
+     */
+    public record MarginApproval(
+        @JsonProperty(required = true) int minOrderMarginPercent,
+        @JsonProperty(required = true) int minLineMarginPercent
+    ) {
+        /** Flags only sales below cost. */
+        public static final MarginApproval BELOW_COST = new MarginApproval(0, 0);
+
+        public MarginApproval {
+            checkPercent("minimum order margin", minOrderMarginPercent);
+            checkPercent("minimum line margin", minLineMarginPercent);
+        }
+    }
+
+    /**
+     * Copy of these rules stamped with a new version.
+     */
+    public PricingRules withVersion(long version, String source, Instant loadedAt) {
+        return new PricingRules(version, source, loadedAt,
+                volumeDiscount, bundleDiscount, tierDiscount, supportAddOn, marginApproval);
+    }
+
+    /**
+     * Whole percent as a scale-4 fraction, e.g. 15 → 0.1500.
+     */
+    public static BigDecimal rate(int percent) {
+        return BigDecimal.valueOf(basisPoints(percent), 4);
+    }
+
+    /**
+     * Whole percent in basis points, e.g. 15 → 1500.
+     */
+    public static int basisPoints(int percent) {
+        return percent * 100;
+    }
+
+    private static void checkPercent(String name, int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException(name + " percent must be between 0 and 100: " + percent);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.netconfig.pricing.rules;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.discount.VolumeDiscountTable;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link PricingRules} snapshot.
+ *
+ * The rules start from the {@code pricing.*} properties. With
+ * {@code pricing.rules-file} (JSON, any Spring resource location) the file
+ * replaces them section by section and can be re-read at runtime. A reload
+ * builds a complete new snapshot with the next version and swaps the
+ * reference; readers never lock, and a bad file leaves the current rules in
+ * place.
+ */
+@Component
+public class PricingRulesRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingRulesRegistry.class);
+
+    private static final String PROPERTIES_SOURCE = "properties";
+
+    private final PricingRules defaults;
+    private final String rulesFile;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<PricingRules> current = new AtomicReference<>();
+
+    /**
+     * Layout of the rules file. Every section is optional.
+     */
+    public record RulesFile(
+        VolumeDiscountTables.Definition volumeDiscount,
+        PricingRules.BundleDiscount bundleDiscount,
+        PricingRules.TierDiscount tierDiscount,
+        PricingRules.SupportAddOn supportAddOn,
+        PricingRules.MarginApproval marginApproval
+    ) {}
+
+    @Autowired
+    public PricingRulesRegistry(
+            @Value("${pricing.volume-discount.switch-threshold:5}") int switchThreshold,
+            @Value("${pricing.volume-discount.discount-percent:10}") int volumePercent,
+            @Value("${pricing.bundle-discount.capacity-threshold:80}") int capacityThreshold,
+            @Value("${pricing.bundle-discount.discount-percent:5}") int bundlePercent,
+            @Value("${pricing.partner-discount.percent:15}") int partnerPercent,
+            @Value("${pricing.enterprise-discount.percent:20}") int enterprisePercent,
+            @Value("${pricing.support-addon.standard-percent:15}") int standardSupportPercent,
+            @Value("${pricing.support-addon.premium-percent:20}") int premiumSupportPercent,
+            @Value("${pricing.approval.min-order-margin-percent:15}") int minOrderMarginPercent,
+            @Value("${pricing.approval.min-line-margin-percent:0}") int minLineMarginPercent,
+            @Value("${pricing.rules-file:}") String rulesFile,
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper) {
+        this.defaults = new PricingRules(0, PROPERTIES_SOURCE, Instant.now(),
+                VolumeDiscountTables.legacy(switchThreshold, volumePercent),
+                new PricingRules.BundleDiscount(capacityThreshold, bundlePercent),
+                new PricingRules.TierDiscount(partnerPercent, enterprisePercent),
+                new PricingRules.SupportAddOn(standardSupportPercent, premiumSupportPercent),
+                new PricingRules.MarginApproval(minOrderMarginPercent, minLineMarginPercent));
+        this.rulesFile = rulesFile;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+
+        current.set(isReloadable() ? load(1) : defaults.withVersion(1, PROPERTIES_SOURCE, Instant.now()));
+        log.info("Pricing rules version 1 from {}", current.get().source());
+    }
+
+    /**
+     * Registry with fixed rules that cannot be reloaded.
+     */
+    public PricingRulesRegistry(PricingRules rules) {
+        this.defaults = rules;
+        this.rulesFile = null;
+        this.resourceLoader = null;
+        this.objectMapper = null;
+        current.set(rules);
+    }
+
+    /**
+     * The current rules. Callers should read this once per calculation.
+     */
+    public PricingRules current() {
+        return current.get();
+    }
+
+    /**
+     * Whether the rules come from a file and can be reloaded.
+     */
+    public boolean isReloadable() {
+        return rulesFile != null && !rulesFile.isBlank();
+    }
+
+    /**
+     * Re-read the rules file and swap in the result as the next version.
+     *
+     * @return the new rules
+     * @throws IllegalArgumentException if no rules file is configured or it is invalid
+     */
+    public synchronized PricingRules reload() {
+        if (!isReloadable()) {
+            throw new IllegalArgumentException("No pricing rules file configured (pricing.rules-file)");
+        }
+        PricingRules rules = load(current.get().version() + 1);
+        current.set(rules);
+        log.info("Pricing rules reloaded: version {}", rules.version());
+        return rules;
+    }
+
+    /**
+     * Version, source and parameters of the current rules.
+     */
+    public Map<String, Object> getSummary() {
+        PricingRules rules = current.get();
+        VolumeDiscountTables volume = rules.volumeDiscount();
+
+        Map<String, Object> volumeSummary = new LinkedHashMap<>();
+        volumeSummary.put("productTypes", volume.getProductTypeTables().size());
+        volumeSummary.put("skuFamilies", volume.getSkuFamilyTables().size());
+        volumeSummary.put("tiers", volume.getProductTypeTables().values().stream().mapToInt(VolumeDiscountTable::size).sum()
+                + volume.getSkuFamilyTables().values().stream().mapToInt(VolumeDiscountTable::size).sum());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("version", rules.version());
+        summary.put("source", rules.source());
+        summary.put("loadedAt", rules.loadedAt().toString());
+        summary.put("volumeDiscount", volumeSummary);
+        summary.put("bundleDiscount", rules.bundleDiscount());
+        summary.put("tierDiscount", rules.tierDiscount());
+        summary.put("supportAddOn", rules.supportAddOn());
+        summary.put("marginApproval", rules.marginApproval());
+        return summary;
+    }
+
+    private PricingRules load(long version) {
+        Resource resource = resourceLoader.getResource(rulesFile);
+        RulesFile file;
+        try (InputStream in = resource.getInputStream()) {
+            // Unknown keys are most likely typos that would silently fall back to defaults
+            file = objectMapper.readerFor(RulesFile.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot read pricing rules from " + rulesFile + ": " + e.getMessage(), e);
+        }
+
+        return new PricingRules(version, rulesFile, Instant.now(),
+                file.volumeDiscount() != null
+                        ? VolumeDiscountTables.from(file.volumeDiscount())
+                        : defaults.volumeDiscount(),
+                file.bundleDiscount() != null ? file.bundleDiscount() : defaults.bundleDiscount(),
+                file.tierDiscount() != null ? file.tierDiscount() : defaults.tierDiscount(),
+                file.supportAddOn() != null ? file.supportAddOn() : defaults.supportAddOn(),
+                file.marginApproval() != null ? file.marginApproval() : defaults.marginApproval());
+    }
+}
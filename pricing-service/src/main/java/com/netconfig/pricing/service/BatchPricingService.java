@@ -0,0 +1,146 @@
+package com.netconfig.pricing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import com.netconfig.pricing.dto.BatchPricingResult;
+import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.engine.PricingEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Prices many configurations at once.
+ *
+ * Configurations are fetched in parallel, the SKUs of all of them are
+ * fetched from the catalog in a single call, and each configuration is then
+ * priced on the bounded pricing executor. Results are handed out as soon as
+ * each one completes, so they arrive in completion order, not request order.
+ */
+@Service
+public class BatchPricingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchPricingService.class);
+
+    private final PricingEngine pricingEngine;
+    private final Executor executor;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+    private final long streamTimeoutMillis;
+
+    public BatchPricingService(
+            PricingEngine pricingEngine,
+            @Qualifier("pricingExecutor") Executor executor,
+            ObjectMapper objectMapper,
+            @Value("${pricing.batch.max-size:500}") int maxBatchSize,
+            @Value("${pricing.batch.timeout-ms:300000}") long streamTimeoutMillis) {
+        this.pricingEngine = pricingEngine;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    /**
+     * Price a batch and stream one JSON line per configuration.
+     */
+    public ResponseBodyEmitter streamBatch(List<PricingRequest> requests) {
+        validateBatch(requests);
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+        calculateBatch(requests, line -> send(emitter, line))
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        log.error("Batch pricing failed", ex);
+                        emitter.completeWithError(ex);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+        return emitter;
+    }
+
+    /**
+     * Price a batch, passing each result to {@code sink} as it completes.
+     * The sink may be called from several threads at once.
+     */
+    public CompletableFuture<Void> calculateBatch(List<PricingRequest> requests, Consumer<BatchPricingResult> sink) {
+        validateBatch(requests);
+        log.info("Pricing batch of {} configurations", requests.size());
+
+        List<CompletableFuture<ConfigurationResponse>> configurations = new ArrayList<>(requests.size());
+        for (PricingRequest request : requests) {
+            configurations.add(CompletableFuture.supplyAsync(
+                    () -> pricingEngine.resolveConfiguration(request), executor));
+        }
+
+        CompletableFuture<Map<String, ProductResponse>> products = CompletableFuture
+                .allOf(configurations.toArray(CompletableFuture[]::new))
+                .handle((ignored, ex) -> configurations.stream()
+                        .filter(f -> !f.isCompletedExceptionally())
+                        .map(CompletableFuture::join)
+                        .toList())
+                .thenApplyAsync(pricingEngine::fetchProducts, executor);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            PricingRequest request = requests.get(i);
+            results.add(configurations.get(i)
+                    .thenCombineAsync(products,
+                            (configuration, productMap) -> pricingEngine.calculatePrice(configuration, request, productMap),
+                            executor)
+                    .handle((result, ex) -> ex == null
+                            ? BatchPricingResult.success(index, request.configurationId(), result)
+                            : BatchPricingResult.failure(index, request.configurationId(), errorMessage(ex)))
+                    .thenAccept(sink));
+        }
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new));
+    }
+
+    private void validateBatch(List<PricingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one pricing request is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch too large: " + requests.size() + " requests (max " + maxBatchSize + ")");
+        }
+        if (requests.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Batch contains null requests");
+        }
+    }
+
+    private void send(ResponseBodyEmitter emitter, BatchPricingResult line) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(line) + "\n", MediaType.APPLICATION_NDJSON);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize batch result {}", line.index(), e);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; remaining results are dropped
+            log.debug("Batch pricing client disconnected: {}", e.getMessage());
+        }
+    }
+
+    private static String errorMessage(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
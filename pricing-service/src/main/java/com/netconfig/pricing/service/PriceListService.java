@@ -0,0 +1,250 @@
+package com.netconfig.pricing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.client.CatalogClient;
+import com.netconfig.pricing.client.dto.ConfigurationItemResponse;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.dto.ScenarioMatrixRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixResponse;
+import com.netconfig.pricing.engine.PricingEngine;
+import com.netconfig.pricing.pricelist.PriceListFormat;
+import com.netconfig.pricing.pricelist.PriceListJob;
+import com.netconfig.pricing.pricelist.PriceListRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates full price lists: every active SKU × customer tier × support
+ * option.
+ *
+ * The catalog is read in one pass of keyset pages. Each page is priced in
+ * parallel on a dedicated fork/join pool (one scenario matrix per SKU, so
+ * the shared strategies run once per SKU) and its rows are appended to the
+ * output file before the next page is read, so memory use is bounded by
+ * the page size, not the catalog size. The file is written under a
+ * temporary name and renamed when complete. One job runs at a time.
+ */
+@Service
+public class PriceListService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceListService.class);
+
+    private final PricingEngine pricingEngine;
+    private final CatalogClient catalogClient;
+    private final ObjectMapper objectMapper;
+    private final Executor jobExecutor;
+    private final ForkJoinPool pricingPool;
+    private final Path outputDir;
+    private final int pageSize;
+    private final Map<String, PriceListJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<PriceListJob> running = new AtomicReference<>();
+
+    @Autowired
+    public PriceListService(
+            PricingEngine pricingEngine,
+            CatalogClient catalogClient,
+            ObjectMapper objectMapper,
+            @Value("${pricing.price-list.output-dir:${java.io.tmpdir}/price-lists}") String outputDir,
+            @Value("${pricing.price-list.page-size:500}") int pageSize,
+            @Value("${pricing.price-list.parallelism:0}") int parallelism) {
+        this(pricingEngine, catalogClient, objectMapper, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "price-list");
+            thread.setDaemon(true);
+            return thread;
+        }), Path.of(outputDir), pageSize, parallelism);
+    }
+
+    PriceListService(PricingEngine pricingEngine, CatalogClient catalogClient, ObjectMapper objectMapper,
+                     Executor jobExecutor, Path outputDir, int pageSize, int parallelism) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Price list page size must be positive: " + pageSize);
+        }
+        this.pricingEngine = pricingEngine;
+        this.catalogClient = catalogClient;
+        this.objectMapper = objectMapper;
+        this.jobExecutor = jobExecutor;
+        this.pricingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.outputDir = outputDir;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Start generating a price list in the background.
+     *
+     * @throws IllegalArgumentException if a price list is already being generated
+     */
+    public PriceListJob start(PriceListFormat format) {
+        String id = UUID.randomUUID().toString();
+        PriceListJob job = new PriceListJob(id, format, outputDir.resolve("price-list-" + id + "." + format.getExtension()));
+        if (!running.compareAndSet(null, job)) {
+            throw new IllegalArgumentException("A price list is already being generated: " + running.get().getId());
+        }
+        jobs.put(id, job);
+        log.info("Starting price list {} ({})", id, format);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            running.set(null);
+            job.fail(e.getMessage());
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no such job
+     */
+    public PriceListJob getJob(String id) {
+        PriceListJob job = jobs.get(id);
+        if (job == null) {
+            throw new IllegalArgumentException("Price list not found: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * All jobs since startup, newest first.
+     */
+    public List<PriceListJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(PriceListJob::getStartedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * The finished file of a job.
+     *
+     * @throws IllegalArgumentException if the job is unknown or not completed
+     */
+    public Path getFile(String id) {
+        PriceListJob job = getJob(id);
+        if (job.getState() != PriceListJob.State.COMPLETED) {
+            throw new IllegalArgumentException("Price list " + id + " is " + job.getState());
+        }
+        return job.outputPath();
+    }
+
+    private void run(PriceListJob job) {
+        Path target = job.outputPath();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            Files.createDirectories(outputDir);
+            try (BufferedWriter out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+                if (job.getFormat() == PriceListFormat.CSV) {
+                    out.write(PriceListRow.CSV_HEADER);
+                    out.newLine();
+                }
+                String after = null;
+                while (true) {
+                    List<ProductResponse> page = catalogClient.scanActiveProducts(after, pageSize);
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    for (List<PriceListRow> rows : pricePage(job, page)) {
+                        write(out, job.getFormat(), rows);
+                        if (!rows.isEmpty()) {
+                            job.productPriced(rows.size());
+                        }
+                    }
+                    job.pageDone();
+                    log.debug("Price list {}: {} products priced, {} rows", job.getId(),
+                            job.getProductsPriced(), job.getRowsWritten());
+                    if (page.size() < pageSize) {
+                        break;
+                    }
+                    after = page.get(page.size() - 1).sku();
+                }
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.complete();
+            log.info("Price list {} complete: {} products, {} rows, {} failed in {} ms", job.getId(),
+                    job.getProductsPriced(), job.getRowsWritten(), job.getProductsFailed(), job.getElapsedMillis());
+        } catch (Exception e) {
+            log.error("Price list {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Leave the partial file; it is never served
+            }
+        } finally {
+            running.set(null);
+        }
+    }
+
+    /**
+     * Price one page of products in parallel. Rows come back in page order.
+     */
+    private List<List<PriceListRow>> pricePage(PriceListJob job, List<ProductResponse> page)
+            throws InterruptedException, ExecutionException {
+        return pricingPool.submit(() -> page.parallelStream()
+                .map(product -> priceProduct(job, product))
+                .toList()).get();
+    }
+
+    private List<PriceListRow> priceProduct(PriceListJob job, ProductResponse product) {
+        ConfigurationResponse configuration = new ConfigurationResponse(
+                "price-list:" + product.sku(), product.name(), null, null,
+                List.of(new ConfigurationItemResponse(null, product.sku(), product.name(), 1)));
+        ScenarioMatrixRequest request = new ScenarioMatrixRequest(
+                configuration.id(), null, null, null, null, null);
+        try {
+            ScenarioMatrixResponse matrix = pricingEngine.calculateScenarios(
+                    configuration, request, Map.of(product.sku(), product));
+            List<PriceListRow> rows = new ArrayList<>(matrix.scenarios().size());
+            for (ScenarioMatrixResponse.Scenario scenario : matrix.scenarios()) {
+                PricingResult result = scenario.result();
+                rows.add(new PriceListRow(
+                        product.sku(), product.name(), product.type(),
+                        scenario.customerTier(), scenario.supportTier(),
+                        result.getSubtotal(), result.getTotalDiscount(), result.getServiceAddOn(),
+                        result.getGrandTotal(), result.getCurrency()));
+            }
+            return rows;
+        } catch (RuntimeException e) {
+            log.warn("Price list {}: failed to price {}: {}", job.getId(), product.sku(), e.getMessage());
+            job.productFailed();
+            return List.of();
+        }
+    }
+
+    private void write(BufferedWriter out, PriceListFormat format, List<PriceListRow> rows) throws IOException {
+        for (PriceListRow row : rows) {
+            out.write(format == PriceListFormat.CSV ? row.toCsv() : objectMapper.writeValueAsString(row));
+            out.newLine();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pricingPool.shutdownNow();
+        if (jobExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
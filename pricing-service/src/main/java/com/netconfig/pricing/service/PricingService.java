@@ -1,13 +1,21 @@
 package com.netconfig.pricing.service;
 
+import com.netconfig.pricing.contract.ContractPriceBookRegistry;
 import com.netconfig.pricing.domain.PricingResult;
 import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixResponse;
 import com.netconfig.pricing.engine.PricingEngine;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service layer for pricing operations.
@@ -18,9 +26,21 @@ public class PricingService {
     private static final Logger log = LoggerFactory.getLogger(PricingService.class);
 
     private final PricingEngine pricingEngine;
+    private final PricingRulesRegistry rules;
+    private final ContractPriceBookRegistry contracts;
+    private final PromotionRegistry promotions;
+    private final FxRateRegistry fxRates;
 
-    public PricingService(PricingEngine pricingEngine) {
+    public PricingService(PricingEngine pricingEngine,
+                          PricingRulesRegistry rules,
+                          ContractPriceBookRegistry contracts,
+                          PromotionRegistry promotions,
+                          FxRateRegistry fxRates) {
         this.pricingEngine = pricingEngine;
+        this.rules = rules;
+        this.contracts = contracts;
+        this.promotions = promotions;
+        this.fxRates = fxRates;
     }
 
     /**
@@ -31,6 +51,114 @@ public class PricingService {
         return pricingEngine.calculatePrice(request);
     }
 
+    /**
+     * Price a configuration for every tier and support combination.
+     */
+    public ScenarioMatrixResponse calculateScenarios(ScenarioMatrixRequest request) {
+        log.info("Processing scenario matrix request for configuration: {}", request.configurationId());
+        return pricingEngine.calculateScenarios(request);
+    }
+
+    /**
+     * Invalidate cached pricing results.
+     */
+    public long invalidateCache() {
+        log.info("Invalidating pricing result cache");
+        return pricingEngine.invalidateCache();
+    }
+
+    /**
+     * Get pricing result cache statistics.
+     */
+    public Map<String, Object> getCacheStats() {
+        return pricingEngine.getCacheStats();
+    }
+
+    /**
+     * Catalog availability as seen by the pricing service.
+     */
+    public Map<String, Object> getCatalogStatus() {
+        return pricingEngine.getCatalogStatus();
+    }
+
+    /**
+     * Reload the pricing rules file. Results are cached per rules version,
+     * so there is nothing to invalidate.
+     */
+    public Map<String, Object> reloadRules() {
+        PricingRules reloaded = rules.reload();
+        log.info("Pricing rules reloaded from {}: version {}", reloaded.source(), reloaded.version());
+        return rules.getSummary();
+    }
+
+    /**
+     * Version, source and parameters of the pricing rules in use.
+     */
+    public Map<String, Object> getRules() {
+        return rules.getSummary();
+    }
+
+    /**
+     * Reload the contracts file and invalidate cached results.
+     */
+    public Map<String, Object> reloadContracts() {
+        log.info("Reloading contract price book");
+        Map<String, Object> summary = contracts.reload();
+        pricingEngine.invalidateCache();
+        return summary;
+    }
+
+    /**
+     * Size of the contract price book in use.
+     */
+    public Map<String, Object> getContracts() {
+        return contracts.getSummary();
+    }
+
+    /**
+     * Reload the promotions file. Results are cached per promotion epoch,
+     * which changes with every reload, so there is nothing to invalidate.
+     */
+    public Map<String, Object> reloadPromotions() {
+        log.info("Reloading promotions");
+        return promotions.reload();
+    }
+
+    /**
+     * Size of the promotion index in use.
+     */
+    public Map<String, Object> getPromotions() {
+        return promotions.getSummary();
+    }
+
+    /**
+     * The FX snapshot in use.
+     */
+    public Map<String, Object> getFxRates() {
+        return fxRates.getSummary();
+    }
+
+    /**
+     * A recent FX snapshot, e.g. the one a quote was priced with.
+     *
+     * @throws IllegalArgumentException if the snapshot is no longer held
+     */
+    public Map<String, Object> getFxSnapshot(String snapshotId) {
+        return fxRates.find(snapshotId)
+                .map(FxRateRegistry::summary)
+                .orElseThrow(() -> new IllegalArgumentException("FX snapshot not found: " + snapshotId));
+    }
+
+    /**
+     * Re-read the FX rates now instead of waiting for the background
+     * refresh. Results are cached per snapshot, so there is nothing to
+     * invalidate.
+     */
+    public Map<String, Object> refreshFxRates() {
+        log.info("Refreshing FX rates");
+        return FxRateRegistry.summary(fxRates.refresh());
+    }
+
     /**
      * Get list of active pricing strategies.
      */
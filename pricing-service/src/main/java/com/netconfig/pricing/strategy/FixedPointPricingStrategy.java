@@ -0,0 +1,20 @@
+package com.netconfig.pricing.strategy;
+
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingContext;
+
+/**
+ * Optional fixed-point (long cents) variant of a pricing strategy, used
+ * when {@code pricing.arithmetic-mode=FIXED_POINT}.
+ * Implementations must produce exactly the same amounts as their
+ * BigDecimal {@link PricingStrategy#apply} counterpart.
+ */
+public interface FixedPointPricingStrategy {
+
+    /**
+     * Apply this strategy to the ledger.
+     *
+     * @throws ArithmeticException on overflow; the engine then recomputes with BigDecimal
+     */
+    void applyFixed(PricingContext context, FixedPointLedger ledger);
+}
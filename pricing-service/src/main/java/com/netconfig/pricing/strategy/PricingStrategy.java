@@ -2,6 +2,7 @@ package com.netconfig.pricing.strategy;
 
 import com.netconfig.pricing.domain.PricingContext;
 import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.rules.PricingRules;
 
 /**
  * Strategy interface for pricing calculations.
@@ -29,5 +30,23 @@ public interface PricingStrategy {
     default int getOrder() {
         return 100;
     }
+
+    /**
+     * Conditions under which this strategy can apply under the given rules
+     * (null: the strategy's own configuration). Strategies whose trigger
+     * does not match are not invoked at all.
+     */
+    default StrategyTrigger getTrigger(PricingRules rules) {
+        return StrategyTrigger.ALWAYS;
+    }
+
+    /**
+     * Whether the outcome depends on the customer tier or request options.
+     * The scenario matrix runs strategies up to the first dependent one
+     * once and repeats only the rest per scenario.
+     */
+    default boolean isScenarioDependent() {
+        return false;
+    }
 }
 
@@ -0,0 +1,82 @@
+package com.netconfig.pricing.strategy;
+
+import com.netconfig.pricing.domain.PricingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conditions under which a strategy can have an effect. The engine skips a
+ * strategy whose trigger does not match the context, so these must be
+ * necessary conditions: if they do not hold, {@code apply} must be a no-op.
+ *
+ * @param customerTiers tiers the strategy applies to (case-insensitive), or empty for any tier
+ * @param requiredOptions option keys that must be set to {@code true}
+ * @param minSwitchCount minimum number of switches, 0 for no minimum
+ * @param minRackUtilizationPercent minimum rack utilization, or null if utilization is not needed
+ */
+public record StrategyTrigger(
+    List<String> customerTiers,
+    List<String> requiredOptions,
+    int minSwitchCount,
+    Integer minRackUtilizationPercent
+) {
+    public static final StrategyTrigger ALWAYS = new StrategyTrigger(List.of(), List.of(), 0, null);
+
+    public StrategyTrigger {
+        customerTiers = List.copyOf(customerTiers);
+        requiredOptions = List.copyOf(requiredOptions);
+    }
+
+    public StrategyTrigger forTiers(String... tiers) {
+        return new StrategyTrigger(List.of(tiers), requiredOptions, minSwitchCount, minRackUtilizationPercent);
+    }
+
+    public StrategyTrigger withOption(String key) {
+        List<String> options = new ArrayList<>(requiredOptions);
+        options.add(key);
+        return new StrategyTrigger(customerTiers, options, minSwitchCount, minRackUtilizationPercent);
+    }
+
+    public StrategyTrigger withMinSwitchCount(int count) {
+        return new StrategyTrigger(customerTiers, requiredOptions, count, minRackUtilizationPercent);
+    }
+
+    public StrategyTrigger withMinRackUtilization(int percent) {
+        return new StrategyTrigger(customerTiers, requiredOptions, minSwitchCount, percent);
+    }
+
+    /**
+     * Whether the strategy may apply to this context.
+     */
+    public boolean matches(PricingContext context) {
+        if (!customerTiers.isEmpty() && !matchesTier(context.getCustomerTier())) {
+            return false;
+        }
+        for (String key : requiredOptions) {
+            if (!context.hasOption(key)) {
+                return false;
+            }
+        }
+        if (minSwitchCount > 0 && context.getSwitchCount() < minSwitchCount) {
+            return false;
+        }
+        if (minRackUtilizationPercent != null) {
+            Integer utilization = context.getRackUtilizationPercent();
+            return utilization != null && utilization >= minRackUtilizationPercent;
+        }
+        return true;
+    }
+
+    private boolean matchesTier(String tier) {
+        if (tier == null) {
+            return false;
+        }
+        for (String candidate : customerTiers) {
+            if (candidate.equalsIgnoreCase(tier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
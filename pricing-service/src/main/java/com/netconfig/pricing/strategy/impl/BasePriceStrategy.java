@@ -1,8 +1,10 @@
 package com.netconfig.pricing.strategy.impl;
 
+import com.netconfig.pricing.domain.FixedPointLedger;
 import com.netconfig.pricing.domain.PricingContext;
 import com.netconfig.pricing.domain.PricingLineItem;
 import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
 import com.netconfig.pricing.strategy.PricingStrategy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -16,7 +18,7 @@ import java.util.ArrayList;
  */
 @Component
 @Order(1)
-public class BasePriceStrategy implements PricingStrategy {
+public class BasePriceStrategy implements PricingStrategy, FixedPointPricingStrategy {
 
     @Override
     public PricingResult apply(PricingContext context, PricingResult currentResult) {
@@ -35,6 +37,18 @@ public class BasePriceStrategy implements PricingStrategy {
         return currentResult;
     }
 
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        long subtotal = 0;
+        for (int i = 0; i < ledger.getLineCount(); i++) {
+            subtotal = Math.addExact(subtotal, ledger.getLineTotal(i));
+        }
+
+        ledger.setSubtotal(subtotal);
+        ledger.setGrandTotal(subtotal);
+        ledger.addAppliedStrategy(getName());
+    }
+
     @Override
     public String getName() {
         return "BasePrice";
@@ -1,14 +1,20 @@
 package com.netconfig.pricing.strategy.impl;
 
+import com.netconfig.pricing.domain.FixedPointLedger;
 import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingNote;
 import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
 import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.StrategyTrigger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
 
 /**
  * Bundle discount strategy: Apply discount when rack is well-utilized.
@@ -16,41 +22,67 @@ import java.math.RoundingMode;
  */
 @Component
 @Order(20)
-public class BundleDiscountStrategy implements PricingStrategy {
+public class BundleDiscountStrategy implements PricingStrategy, FixedPointPricingStrategy {
 
-    private final int capacityThreshold;
-    private final BigDecimal discountPercent;
+    private final PricingRules.BundleDiscount defaults;
 
     public BundleDiscountStrategy(
             @Value("${pricing.bundle-discount.capacity-threshold:80}") int capacityThreshold,
             @Value("${pricing.bundle-discount.discount-percent:5}") int discountPercent) {
-        this.capacityThreshold = capacityThreshold;
-        this.discountPercent = BigDecimal.valueOf(discountPercent).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        this.defaults = new PricingRules.BundleDiscount(capacityThreshold, discountPercent);
     }
 
     @Override
     public PricingResult apply(PricingContext context, PricingResult currentResult) {
+        PricingRules.BundleDiscount rules = rules(context.getRules());
         Integer rackUtilization = context.getRackUtilizationPercent();
         
-        if (rackUtilization != null && rackUtilization >= capacityThreshold) {
+        if (rackUtilization != null && rackUtilization >= rules.capacityThreshold()) {
             BigDecimal currentTotal = currentResult.getSubtotal().subtract(currentResult.getTotalDiscount());
             BigDecimal bundleDiscount = currentTotal
-                    .multiply(discountPercent)
+                    .multiply(PricingRules.rate(rules.discountPercent()))
                     .setScale(2, RoundingMode.HALF_UP);
             
             currentResult.addOrderDiscount(bundleDiscount);
-            currentResult.addDiscountDescription(
-                    String.format("Bundle discount: %d%% off (rack %d%% utilized, threshold %d%%) - saved $%.2f",
-                            discountPercent.multiply(BigDecimal.valueOf(100)).intValue(),
-                            rackUtilization,
-                            capacityThreshold,
-                            bundleDiscount));
+            currentResult.addNote(bundleNote(rules, rackUtilization, bundleDiscount));
             currentResult.addAppliedStrategy(getName());
         }
         
         return currentResult;
     }
 
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        PricingRules.BundleDiscount rules = rules(context.getRules());
+        Integer rackUtilization = context.getRackUtilizationPercent();
+
+        if (rackUtilization != null && rackUtilization >= rules.capacityThreshold()) {
+            long currentTotal = Math.subtractExact(ledger.getSubtotal(), ledger.getTotalDiscount());
+            long bundleDiscount = FixedPointLedger.percentOf(currentTotal, PricingRules.basisPoints(rules.discountPercent()));
+
+            ledger.addOrderDiscount(bundleDiscount);
+            ledger.addNote(bundleNote(rules, rackUtilization, FixedPointLedger.toAmount(bundleDiscount)));
+            ledger.addAppliedStrategy(getName());
+        }
+    }
+
+    private PricingNote bundleNote(PricingRules.BundleDiscount rules, int rackUtilization, BigDecimal saved) {
+        return new PricingNote(PricingNote.Code.BUNDLE_DISCOUNT, Map.of(
+                "percent", rules.discountPercent(),
+                "rackUtilization", rackUtilization,
+                "threshold", rules.capacityThreshold(),
+                "amount", saved));
+    }
+
+    private PricingRules.BundleDiscount rules(PricingRules rules) {
+        return rules != null ? rules.bundleDiscount() : defaults;
+    }
+
+    @Override
+    public StrategyTrigger getTrigger(PricingRules rules) {
+        return StrategyTrigger.ALWAYS.withMinRackUtilization(rules(rules).capacityThreshold());
+    }
+
     @Override
     public String getName() {
         return "BundleDiscount";
@@ -0,0 +1,153 @@
+package com.netconfig.pricing.strategy.impl;
+
+import com.netconfig.pricing.contract.ContractPriceBook;
+import com.netconfig.pricing.contract.ContractPriceBookRegistry;
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingNote;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Contract pricing strategy: replace catalog unit prices with the
+ * customer's contract prices (override, cap and floor per SKU).
+ * Contract prices are in the product's catalog currency, like list prices,
+ * so this runs first, before {@link CurrencyConversionStrategy} converts
+ * the contract price along with the rest of the line. Every later strategy
+ * works from contract prices. The note totals are in the priced currency.
+ */
+@Component
+@Order(-2)
+public class ContractPriceStrategy implements PricingStrategy, FixedPointPricingStrategy {
+
+    private final Supplier<ContractPriceBook> priceBook;
+
+    @Autowired
+    public ContractPriceStrategy(ContractPriceBookRegistry registry) {
+        this.priceBook = registry::current;
+    }
+
+    public ContractPriceStrategy(ContractPriceBook priceBook) {
+        this.priceBook = () -> priceBook;
+    }
+
+    @Override
+    public PricingResult apply(PricingContext context, PricingResult currentResult) {
+        ContractPriceBook book = priceBook.get();
+        int customer = book.customerIndex(context.getCustomerId());
+        if (customer < 0) {
+            return currentResult;
+        }
+
+        int repriced = 0;
+        BigDecimal listTotal = BigDecimal.ZERO;
+        BigDecimal contractTotal = BigDecimal.ZERO;
+
+        for (PricingLineItem item : context.getLineItems()) {
+            int slot = book.find(customer, item.getProductSku());
+            if (slot == ContractPriceBook.NOT_FOUND) {
+                continue;
+            }
+            BigDecimal contractPrice = book.unitPrice(slot, item.getUnitPrice());
+            if (contractPrice.compareTo(item.getUnitPrice()) == 0) {
+                continue;
+            }
+            BigDecimal quantity = BigDecimal.valueOf(item.getQuantity());
+            listTotal = listTotal.add(priced(context, item.getUnitPrice(), item.getCatalogCurrency()).multiply(quantity));
+            contractTotal = contractTotal.add(priced(context, contractPrice, item.getCatalogCurrency()).multiply(quantity));
+            item.setUnitPrice(contractPrice);
+            item.setLineTotal(contractPrice.multiply(quantity));
+            repriced++;
+        }
+
+        if (repriced > 0) {
+            currentResult.addNote(contractNote(context.getCustomerId(), repriced, listTotal, contractTotal));
+            currentResult.addAppliedStrategy(getName());
+        }
+
+        return currentResult;
+    }
+
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        ContractPriceBook book = priceBook.get();
+        int customer = book.customerIndex(context.getCustomerId());
+        if (customer < 0) {
+            return;
+        }
+
+        int repriced = 0;
+        long listTotal = 0;
+        long contractTotal = 0;
+
+        for (int i = 0; i < ledger.getLineCount(); i++) {
+            int slot = book.find(customer, ledger.getProductSku(i));
+            if (slot == ContractPriceBook.NOT_FOUND) {
+                continue;
+            }
+            long contractPrice = book.unitPriceCents(slot, ledger.getUnitPrice(i));
+            if (contractPrice == ledger.getUnitPrice(i)) {
+                continue;
+            }
+            String currency = ledger.getCatalogCurrency(i);
+            listTotal = Math.addExact(listTotal, Math.multiplyExact(
+                    pricedCents(context, ledger.getUnitPrice(i), currency), ledger.getQuantity(i)));
+            contractTotal = Math.addExact(contractTotal, Math.multiplyExact(
+                    pricedCents(context, contractPrice, currency), ledger.getQuantity(i)));
+            ledger.setUnitPrice(i, contractPrice);
+            repriced++;
+        }
+
+        if (repriced > 0) {
+            ledger.addNote(contractNote(context.getCustomerId(), repriced,
+                    FixedPointLedger.toAmount(listTotal), FixedPointLedger.toAmount(contractTotal)));
+            ledger.addAppliedStrategy(getName());
+        }
+    }
+
+    /**
+     * A catalog-currency unit price in the priced currency, rounded as
+     * {@link CurrencyConversionStrategy} will round it.
+     */
+    private static BigDecimal priced(PricingContext context, BigDecimal unitPrice, String catalogCurrency) {
+        FxRates fx = context.getFxRates();
+        return fx != null ? fx.convert(unitPrice, catalogCurrency, context.getCurrency()) : unitPrice;
+    }
+
+    private static long pricedCents(PricingContext context, long unitPriceCents, String catalogCurrency) {
+        FxRates fx = context.getFxRates();
+        if (fx == null || catalogCurrency.equals(context.getCurrency())) {
+            return unitPriceCents;
+        }
+        return FixedPointLedger.toCents(
+                fx.convert(FixedPointLedger.toAmount(unitPriceCents), catalogCurrency, context.getCurrency()));
+    }
+
+    private PricingNote contractNote(String customerId, int lines, BigDecimal listTotal, BigDecimal contractTotal) {
+        return new PricingNote(PricingNote.Code.CONTRACT_PRICE, Map.of(
+                "customerId", customerId,
+                "lines", lines,
+                "listTotal", listTotal,
+                "contractTotal", contractTotal));
+    }
+
+    @Override
+    public String getName() {
+        return "ContractPrice";
+    }
+
+    @Override
+    public int getOrder() {
+        return -2;
+    }
+}
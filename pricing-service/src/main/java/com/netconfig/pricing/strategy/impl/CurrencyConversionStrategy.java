@@ -0,0 +1,107 @@
+package com.netconfig.pricing.strategy.impl;
+
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingNote;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Currency conversion strategy: convert catalog unit prices listed in other
+ * currencies into the currency being priced, using the FX snapshot pinned
+ * on the context. Runs in one pass over the lines right after contract
+ * pricing (contract prices are in catalog currency), so every later
+ * strategy works in the priced currency. Unit prices and costs are rounded
+ * HALF_UP to cents before quantities are applied.
+ */
+@Component
+@Order(-1)
+public class CurrencyConversionStrategy implements PricingStrategy, FixedPointPricingStrategy {
+
+    @Override
+    public PricingResult apply(PricingContext context, PricingResult currentResult) {
+        FxRates fx = context.getFxRates();
+        if (fx == null) {
+            return currentResult;
+        }
+        String target = context.getCurrency();
+
+        Map<String, Integer> converted = new TreeMap<>();
+        for (PricingLineItem item : context.getLineItems()) {
+            String source = item.getCatalogCurrency();
+            if (source.equals(target)) {
+                continue;
+            }
+            BigDecimal unitPrice = fx.convert(item.getUnitPrice(), source, target);
+            item.setUnitPrice(unitPrice);
+            item.setLineTotal(unitPrice.multiply(BigDecimal.valueOf(item.getQuantity())));
+            if (item.getUnitCost() != null) {
+                item.setUnitCost(fx.convert(item.getUnitCost(), source, target));
+            }
+            converted.merge(source, 1, Integer::sum);
+        }
+
+        if (!converted.isEmpty()) {
+            converted.forEach((source, lines) -> currentResult.addNote(conversionNote(fx, source, target, lines)));
+            currentResult.addAppliedStrategy(getName());
+        }
+
+        return currentResult;
+    }
+
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        FxRates fx = context.getFxRates();
+        if (fx == null) {
+            return;
+        }
+        String target = context.getCurrency();
+
+        Map<String, Integer> converted = new TreeMap<>();
+        for (int i = 0; i < ledger.getLineCount(); i++) {
+            String source = ledger.getCatalogCurrency(i);
+            if (source.equals(target)) {
+                continue;
+            }
+            BigDecimal unitPrice = fx.convert(FixedPointLedger.toAmount(ledger.getUnitPrice(i)), source, target);
+            ledger.setUnitPrice(i, FixedPointLedger.toCents(unitPrice));
+            if (ledger.getUnitCost(i) != null) {
+                ledger.setUnitCost(i, fx.convert(ledger.getUnitCost(i), source, target));
+            }
+            converted.merge(source, 1, Integer::sum);
+        }
+
+        if (!converted.isEmpty()) {
+            converted.forEach((source, lines) -> ledger.addNote(conversionNote(fx, source, target, lines)));
+            ledger.addAppliedStrategy(getName());
+        }
+    }
+
+    private PricingNote conversionNote(FxRates fx, String source, String target, int lines) {
+        return new PricingNote(PricingNote.Code.FX_CONVERSION, Map.of(
+                "lines", lines,
+                "from", source,
+                "to", target,
+                "rate", fx.rate(source, target).toPlainString(),
+                "snapshot", fx.getId()));
+    }
+
+    @Override
+    public String getName() {
+        return "CurrencyConversion";
+    }
+
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
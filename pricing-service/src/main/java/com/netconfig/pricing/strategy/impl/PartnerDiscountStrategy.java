@@ -1,14 +1,20 @@
 package com.netconfig.pricing.strategy.impl;
 
+import com.netconfig.pricing.domain.FixedPointLedger;
 import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingNote;
 import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
 import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.StrategyTrigger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
 
 /**
  * Partner discount strategy: Apply discount for partner-tier customers.
@@ -16,19 +22,17 @@ import java.math.RoundingMode;
  */
 @Component
 @Order(30)
-public class PartnerDiscountStrategy implements PricingStrategy {
+public class PartnerDiscountStrategy implements PricingStrategy, FixedPointPricingStrategy {
 
     private static final String PARTNER_TIER = "PARTNER";
     private static final String ENTERPRISE_TIER = "ENTERPRISE";
     
-    private final BigDecimal partnerDiscountPercent;
-    private final BigDecimal enterpriseDiscountPercent;
+    private final PricingRules.TierDiscount defaults;
 
     public PartnerDiscountStrategy(
             @Value("${pricing.partner-discount.percent:15}") int partnerPercent,
             @Value("${pricing.enterprise-discount.percent:20}") int enterprisePercent) {
-        this.partnerDiscountPercent = BigDecimal.valueOf(partnerPercent).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        this.enterpriseDiscountPercent = BigDecimal.valueOf(enterprisePercent).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        this.defaults = new PricingRules.TierDiscount(partnerPercent, enterprisePercent);
     }
 
     @Override
@@ -39,35 +43,78 @@ public class PartnerDiscountStrategy implements PricingStrategy {
             return currentResult;
         }
 
-        BigDecimal discountPercent = null;
+        PricingRules.TierDiscount rules = rules(context.getRules());
+        Integer percent = null;
         String tierName = null;
         
         if (ENTERPRISE_TIER.equalsIgnoreCase(customerTier)) {
-            discountPercent = enterpriseDiscountPercent;
+            percent = rules.enterprisePercent();
             tierName = "Enterprise";
         } else if (PARTNER_TIER.equalsIgnoreCase(customerTier)) {
-            discountPercent = partnerDiscountPercent;
+            percent = rules.partnerPercent();
             tierName = "Partner";
         }
         
-        if (discountPercent != null) {
+        if (percent != null) {
             BigDecimal currentTotal = currentResult.getSubtotal().subtract(currentResult.getTotalDiscount());
             BigDecimal tierDiscount = currentTotal
-                    .multiply(discountPercent)
+                    .multiply(PricingRules.rate(percent))
                     .setScale(2, RoundingMode.HALF_UP);
             
             currentResult.addOrderDiscount(tierDiscount);
-            currentResult.addDiscountDescription(
-                    String.format("%s tier discount: %d%% off - saved $%.2f",
-                            tierName,
-                            discountPercent.multiply(BigDecimal.valueOf(100)).intValue(),
-                            tierDiscount));
+            currentResult.addNote(tierNote(tierName, percent, tierDiscount));
             currentResult.addAppliedStrategy(getName());
         }
         
         return currentResult;
     }
 
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        String customerTier = context.getCustomerTier();
+
+        if (customerTier == null) {
+            return;
+        }
+
+        PricingRules.TierDiscount rules = rules(context.getRules());
+        int percent;
+        String tierName;
+
+        if (ENTERPRISE_TIER.equalsIgnoreCase(customerTier)) {
+            percent = rules.enterprisePercent();
+            tierName = "Enterprise";
+        } else if (PARTNER_TIER.equalsIgnoreCase(customerTier)) {
+            percent = rules.partnerPercent();
+            tierName = "Partner";
+        } else {
+            return;
+        }
+
+        long currentTotal = Math.subtractExact(ledger.getSubtotal(), ledger.getTotalDiscount());
+        long tierDiscount = FixedPointLedger.percentOf(currentTotal, PricingRules.basisPoints(percent));
+
+        ledger.addOrderDiscount(tierDiscount);
+        ledger.addNote(tierNote(tierName, percent, FixedPointLedger.toAmount(tierDiscount)));
+        ledger.addAppliedStrategy(getName());
+    }
+
+    private PricingNote tierNote(String tierName, int percent, BigDecimal saved) {
+        return new PricingNote(PricingNote.Code.TIER_DISCOUNT, Map.of(
+                "tier", tierName,
+                "percent", percent,
+                "amount", saved));
+    }
+
+    private PricingRules.TierDiscount rules(PricingRules rules) {
+        return rules != null ? rules.tierDiscount() : defaults;
+    }
+
+    @Override
+    public StrategyTrigger getTrigger(PricingRules rules) {
+        return StrategyTrigger.ALWAYS.forTiers(PARTNER_TIER, ENTERPRISE_TIER);
+    }
+
     @Override
     public String getName() {
         return "PartnerDiscount";
@@ -77,5 +124,9 @@ public class PartnerDiscountStrategy implements PricingStrategy {
     public int getOrder() {
         return 30;
     }
-}
 
+    @Override
+    public boolean isScenarioDependent() {
+        return true;
+    }
+}
@@ -0,0 +1,154 @@
+package com.netconfig.pricing.strategy.impl;
+
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingNote;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.promotion.Promotion;
+import com.netconfig.pricing.promotion.PromotionIndex;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Promotion strategy: apply time-boxed promotions (see {@link PromotionIndex})
+ * to the line items they target at the context's pricing instant. Each line
+ * gets its single best promotion, on top of any volume discount; tier
+ * discounts then apply to the promoted total.
+ */
+@Component
+@Order(25)
+public class PromotionStrategy implements PricingStrategy, FixedPointPricingStrategy {
+
+    private final Supplier<PromotionIndex> promotions;
+
+    @Autowired
+    public PromotionStrategy(PromotionRegistry registry) {
+        this.promotions = registry::current;
+    }
+
+    public PromotionStrategy(PromotionIndex promotions) {
+        this.promotions = () -> promotions;
+    }
+
+    @Override
+    public PricingResult apply(PricingContext context, PricingResult currentResult) {
+        PromotionIndex index = promotions.get();
+        if (index.isEmpty()) {
+            return currentResult;
+        }
+
+        List<PricingLineItem> items = currentResult.getLineItems();
+        Map<Promotion, Savings<BigDecimal>> savings = new LinkedHashMap<>();
+        BigDecimal totalPromotionDiscount = BigDecimal.ZERO;
+
+        for (PricingLineItem item : items) {
+            Promotion promotion = index.bestFor(item.getProductSku(), item.getProductType(),
+                    context.getCustomerTier(), context.getPricedAt());
+            if (promotion == null) {
+                continue;
+            }
+            BigDecimal itemDiscount = item.getLineTotal()
+                    .multiply(BigDecimal.valueOf(promotion.basisPoints(), 4))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            item.setDiscountAmount(item.getDiscountAmount().add(itemDiscount));
+            item.setDiscountNote(lineNote(promotion));
+
+            savings.merge(promotion, new Savings<>(1, itemDiscount),
+                    (a, b) -> new Savings<>(a.lines() + b.lines(), a.amount().add(b.amount())));
+            totalPromotionDiscount = totalPromotionDiscount.add(itemDiscount);
+        }
+
+        if (!savings.isEmpty()) {
+            currentResult.setTotalDiscount(currentResult.getTotalDiscount().add(totalPromotionDiscount));
+            savings.forEach((promotion, saved) ->
+                    currentResult.addNote(promotionNote(promotion, saved.lines(), saved.amount())));
+            currentResult.addAppliedStrategy(getName());
+            currentResult.recalculateTotals();
+        }
+
+        return currentResult;
+    }
+
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        PromotionIndex index = promotions.get();
+        if (index.isEmpty()) {
+            return;
+        }
+
+        // Ledger lines are in context line item order
+        List<PricingLineItem> items = context.getLineItems();
+        Map<Promotion, Savings<Long>> savings = new LinkedHashMap<>();
+        long totalPromotionDiscount = 0;
+
+        for (int i = 0; i < ledger.getLineCount(); i++) {
+            Promotion promotion = index.bestFor(ledger.getProductSku(i), items.get(i).getProductType(),
+                    context.getCustomerTier(), context.getPricedAt());
+            if (promotion == null) {
+                continue;
+            }
+            long itemDiscount = FixedPointLedger.percentOf(ledger.getLineTotal(i), promotion.basisPoints());
+
+            ledger.setDiscount(i, Math.addExact(ledger.getDiscount(i), itemDiscount));
+            ledger.setDiscountNote(i, lineNote(promotion));
+
+            savings.merge(promotion, new Savings<>(1, itemDiscount),
+                    (a, b) -> new Savings<>(a.lines() + b.lines(), Math.addExact(a.amount(), b.amount())));
+            totalPromotionDiscount = Math.addExact(totalPromotionDiscount, itemDiscount);
+        }
+
+        if (!savings.isEmpty()) {
+            ledger.setTotalDiscount(Math.addExact(ledger.getTotalDiscount(), totalPromotionDiscount));
+            savings.forEach((promotion, saved) -> ledger.addNote(
+                    promotionNote(promotion, saved.lines(), FixedPointLedger.toAmount(saved.amount()))));
+            ledger.addAppliedStrategy(getName());
+            ledger.recalculateTotals();
+        }
+    }
+
+    private PricingNote lineNote(Promotion promotion) {
+        return new PricingNote(PricingNote.Code.PROMOTION_LINE, Map.of(
+                "promotion", promotion.id(),
+                "percent", promotion.percentLabel()));
+    }
+
+    private PricingNote promotionNote(Promotion promotion, int lines, BigDecimal saved) {
+        return new PricingNote(PricingNote.Code.PROMOTION, Map.of(
+                "promotion", promotion.id(),
+                "description", promotion.description(),
+                "percent", promotion.percentLabel(),
+                "lines", lines,
+                "amount", saved));
+    }
+
+    private record Savings<T>(int lines, T amount) {}
+
+    @Override
+    public String getName() {
+        return "Promotion";
+    }
+
+    @Override
+    public int getOrder() {
+        return 25;
+    }
+
+    @Override
+    public boolean isScenarioDependent() {
+        // Promotions may be limited to a customer tier
+        return true;
+    }
+}
@@ -1,14 +1,20 @@
 package com.netconfig.pricing.strategy.impl;
 
+import com.netconfig.pricing.domain.FixedPointLedger;
 import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingNote;
 import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
 import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.StrategyTrigger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
 
 /**
  * Support add-on strategy: Add 24/7 support cost as percentage of hardware.
@@ -16,19 +22,17 @@ import java.math.RoundingMode;
  */
 @Component
 @Order(100) // Applied last, on final total
-public class SupportAddOnStrategy implements PricingStrategy {
+public class SupportAddOnStrategy implements PricingStrategy, FixedPointPricingStrategy {
 
     public static final String SUPPORT_OPTION_KEY = "include_support";
     public static final String SUPPORT_TIER_KEY = "support_tier";
     
-    private final BigDecimal standardSupportPercent;
-    private final BigDecimal premiumSupportPercent;
+    private final PricingRules.SupportAddOn defaults;
 
     public SupportAddOnStrategy(
             @Value("${pricing.support-addon.standard-percent:15}") int standardPercent,
             @Value("${pricing.support-addon.premium-percent:20}") int premiumPercent) {
-        this.standardSupportPercent = BigDecimal.valueOf(standardPercent).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        this.premiumSupportPercent = BigDecimal.valueOf(premiumPercent).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        this.defaults = new PricingRules.SupportAddOn(standardPercent, premiumPercent);
     }
 
     @Override
@@ -38,29 +42,63 @@ public class SupportAddOnStrategy implements PricingStrategy {
         }
 
         String supportTier = (String) context.getOptions().getOrDefault(SUPPORT_TIER_KEY, "STANDARD");
-        BigDecimal supportPercent = "PREMIUM".equalsIgnoreCase(supportTier) 
-                ? premiumSupportPercent 
-                : standardSupportPercent;
+        int percent = percentFor(rules(context.getRules()), supportTier);
         
         // Calculate support cost on hardware total (after discounts)
         BigDecimal hardwareTotal = currentResult.getSubtotal().subtract(currentResult.getTotalDiscount());
         BigDecimal supportCost = hardwareTotal
-                .multiply(supportPercent)
+                .multiply(PricingRules.rate(percent))
                 .setScale(2, RoundingMode.HALF_UP);
         
         currentResult.setServiceAddOn(supportCost);
-        currentResult.addDiscountDescription(
-                String.format("24/7 %s Support: %d%% of hardware ($%.2f) = $%.2f",
-                        supportTier,
-                        supportPercent.multiply(BigDecimal.valueOf(100)).intValue(),
-                        hardwareTotal,
-                        supportCost));
+        currentResult.addNote(supportNote(supportTier, percent, hardwareTotal, supportCost));
         currentResult.addAppliedStrategy(getName());
         currentResult.recalculateTotals();
         
         return currentResult;
     }
 
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        if (!context.hasOption(SUPPORT_OPTION_KEY)) {
+            return;
+        }
+
+        String supportTier = (String) context.getOptions().getOrDefault(SUPPORT_TIER_KEY, "STANDARD");
+        int percent = percentFor(rules(context.getRules()), supportTier);
+
+        // Calculate support cost on hardware total (after discounts)
+        long hardwareTotal = Math.subtractExact(ledger.getSubtotal(), ledger.getTotalDiscount());
+        long supportCost = FixedPointLedger.percentOf(hardwareTotal, PricingRules.basisPoints(percent));
+
+        ledger.setServiceAddOn(supportCost);
+        ledger.addNote(supportNote(supportTier, percent,
+                FixedPointLedger.toAmount(hardwareTotal), FixedPointLedger.toAmount(supportCost)));
+        ledger.addAppliedStrategy(getName());
+        ledger.recalculateTotals();
+    }
+
+    private PricingNote supportNote(String supportTier, int percent, BigDecimal hardwareTotal, BigDecimal cost) {
+        return new PricingNote(PricingNote.Code.SUPPORT_ADD_ON, Map.of(
+                "supportTier", String.valueOf(supportTier),
+                "percent", percent,
+                "hardwareTotal", hardwareTotal,
+                "amount", cost));
+    }
+
+    private static int percentFor(PricingRules.SupportAddOn rules, String supportTier) {
+        return "PREMIUM".equalsIgnoreCase(supportTier) ? rules.premiumPercent() : rules.standardPercent();
+    }
+
+    private PricingRules.SupportAddOn rules(PricingRules rules) {
+        return rules != null ? rules.supportAddOn() : defaults;
+    }
+
+    @Override
+    public StrategyTrigger getTrigger(PricingRules rules) {
+        return StrategyTrigger.ALWAYS.withOption(SUPPORT_OPTION_KEY);
+    }
+
     @Override
     public String getName() {
         return "SupportAddOn";
@@ -70,5 +108,9 @@ public class SupportAddOnStrategy implements PricingStrategy {
     public int getOrder() {
         return 100;
     }
-}
 
+    @Override
+    public boolean isScenarioDependent() {
+        return true;
+    }
+}
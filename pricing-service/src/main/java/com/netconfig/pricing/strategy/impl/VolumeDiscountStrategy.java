@@ -1,72 +1,196 @@
 package com.netconfig.pricing.strategy.impl;
 
+import com.netconfig.pricing.discount.VolumeDiscountTable;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+import com.netconfig.pricing.domain.FixedPointLedger;
 import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingNote;
 import com.netconfig.pricing.domain.PricingLineItem;
 import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.strategy.FixedPointPricingStrategy;
 import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.StrategyTrigger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Volume discount strategy: Apply discount when switch count exceeds threshold.
+ * Volume discount strategy: Apply quantity break discounts per product type
+ * or SKU family (see {@link VolumeDiscountTables}). Quantities are summed
+ * over all line items sharing a table and every one of those lines gets
+ * the tier's discount.
  * Default: 10% off switches when buying more than 5.
  */
 @Component
 @Order(10)
-public class VolumeDiscountStrategy implements PricingStrategy {
+public class VolumeDiscountStrategy implements PricingStrategy, FixedPointPricingStrategy {
 
-    private final int switchThreshold;
-    private final BigDecimal discountPercent;
+    private final VolumeDiscountTables defaults;
 
     public VolumeDiscountStrategy(
             @Value("${pricing.volume-discount.switch-threshold:5}") int switchThreshold,
             @Value("${pricing.volume-discount.discount-percent:10}") int discountPercent) {
-        this.switchThreshold = switchThreshold;
-        this.discountPercent = BigDecimal.valueOf(discountPercent).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        this(VolumeDiscountTables.legacy(switchThreshold, discountPercent));
+    }
+
+    public VolumeDiscountStrategy(VolumeDiscountTables defaults) {
+        this.defaults = defaults;
     }
 
     @Override
     public PricingResult apply(PricingContext context, PricingResult currentResult) {
-        int switchCount = context.getSwitchCount();
-        
-        if (switchCount > switchThreshold) {
-            // Apply discount to all switch line items
-            BigDecimal totalSwitchDiscount = BigDecimal.ZERO;
-            
-            for (PricingLineItem item : currentResult.getLineItems()) {
-                if ("SWITCH".equals(item.getProductType())) {
-                    BigDecimal itemDiscount = item.getLineTotal()
-                            .multiply(discountPercent)
-                            .setScale(2, RoundingMode.HALF_UP);
-                    
-                    item.setDiscountAmount(item.getDiscountAmount().add(itemDiscount));
-                    item.setDiscountReason(String.format("Volume discount: %d%% off (>%d switches)",
-                            discountPercent.multiply(BigDecimal.valueOf(100)).intValue(),
-                            switchThreshold));
-                    
-                    totalSwitchDiscount = totalSwitchDiscount.add(itemDiscount);
+        List<PricingLineItem> items = currentResult.getLineItems();
+        QuantityBreaks breaks = QuantityBreaks.resolve(tables(context.getRules()), items);
+        if (breaks == null) {
+            return currentResult;
+        }
+
+        BigDecimal totalVolumeDiscount = BigDecimal.ZERO;
+        Map<VolumeDiscountTable, BigDecimal> savedPerTable = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            int tier = breaks.tiers()[i];
+            if (tier < 0) {
+                continue;
+            }
+            VolumeDiscountTable table = breaks.tables()[i];
+            PricingLineItem item = items.get(i);
+            BigDecimal itemDiscount = item.getLineTotal()
+                    .multiply(table.getRate(tier))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            item.setDiscountAmount(item.getDiscountAmount().add(itemDiscount));
+            item.setDiscountNote(table.getLineNote(tier));
+
+            savedPerTable.merge(table, itemDiscount, BigDecimal::add);
+            totalVolumeDiscount = totalVolumeDiscount.add(itemDiscount);
+        }
+
+        if (totalVolumeDiscount.compareTo(BigDecimal.ZERO) > 0) {
+            currentResult.setTotalDiscount(
+                    currentResult.getTotalDiscount().add(totalVolumeDiscount));
+            savedPerTable.forEach((table, saved) -> {
+                if (saved.compareTo(BigDecimal.ZERO) > 0) {
+                    currentResult.addNote(volumeNote(table, breaks.quantities().get(table), saved));
                 }
+            });
+            currentResult.addAppliedStrategy(getName());
+            currentResult.recalculateTotals();
+        }
+
+        return currentResult;
+    }
+
+    @Override
+    public void applyFixed(PricingContext context, FixedPointLedger ledger) {
+        // Ledger lines are in context line item order
+        List<PricingLineItem> items = context.getLineItems();
+        QuantityBreaks breaks = QuantityBreaks.resolve(tables(context.getRules()), items);
+        if (breaks == null) {
+            return;
+        }
+
+        long totalVolumeDiscount = 0;
+        Map<VolumeDiscountTable, Long> savedPerTable = new LinkedHashMap<>();
+
+        for (int i = 0; i < ledger.getLineCount(); i++) {
+            int tier = breaks.tiers()[i];
+            if (tier < 0) {
+                continue;
             }
-            
-            if (totalSwitchDiscount.compareTo(BigDecimal.ZERO) > 0) {
-                currentResult.setTotalDiscount(
-                        currentResult.getTotalDiscount().add(totalSwitchDiscount));
-                currentResult.addDiscountDescription(
-                        String.format("Volume discount: %d%% off switches (purchased %d, threshold %d) - saved $%.2f",
-                                discountPercent.multiply(BigDecimal.valueOf(100)).intValue(),
-                                switchCount,
-                                switchThreshold,
-                                totalSwitchDiscount));
-                currentResult.addAppliedStrategy(getName());
-                currentResult.recalculateTotals();
+            VolumeDiscountTable table = breaks.tables()[i];
+            long itemDiscount = FixedPointLedger.percentOf(ledger.getLineTotal(i), table.getBasisPoints(tier));
+
+            ledger.setDiscount(i, Math.addExact(ledger.getDiscount(i), itemDiscount));
+            ledger.setDiscountNote(i, table.getLineNote(tier));
+
+            savedPerTable.merge(table, itemDiscount, Math::addExact);
+            totalVolumeDiscount = Math.addExact(totalVolumeDiscount, itemDiscount);
+        }
+
+        if (totalVolumeDiscount > 0) {
+            ledger.setTotalDiscount(Math.addExact(ledger.getTotalDiscount(), totalVolumeDiscount));
+            savedPerTable.forEach((table, saved) -> {
+                if (saved > 0) {
+                    ledger.addNote(volumeNote(table, breaks.quantities().get(table), FixedPointLedger.toAmount(saved)));
+                }
+            });
+            ledger.addAppliedStrategy(getName());
+            ledger.recalculateTotals();
+        }
+    }
+
+    private PricingNote volumeNote(VolumeDiscountTable table, int quantity, BigDecimal saved) {
+        PricingNote lineNote = table.getLineNote(table.tierFor(quantity));
+        return new PricingNote(PricingNote.Code.VOLUME_DISCOUNT, Map.of(
+                "percent", lineNote.params().get("percent"),
+                "unit", table.getUnit(),
+                "quantity", quantity,
+                "threshold", lineNote.params().get("threshold"),
+                "amount", saved));
+    }
+
+    private VolumeDiscountTables tables(PricingRules rules) {
+        return rules != null ? rules.volumeDiscount() : defaults;
+    }
+
+    private static StrategyTrigger triggerFor(VolumeDiscountTables tables) {
+        // Only switch-only tables can be narrowed to a switch count
+        if (!"SWITCH".equals(tables.getOnlyProductType())) {
+            return StrategyTrigger.ALWAYS;
+        }
+        VolumeDiscountTable switches = tables.getProductTypeTables().get("SWITCH");
+        return StrategyTrigger.ALWAYS.withMinSwitchCount(switches.getMinQuantity(0));
+    }
+
+    /**
+     * Table and tier per line item, and total quantity per table.
+     * Tiers are -1 where no table applies or the quantity is below the
+     * first break.
+     */
+    private record QuantityBreaks(
+        VolumeDiscountTable[] tables,
+        int[] tiers,
+        Map<VolumeDiscountTable, Integer> quantities
+    ) {
+        /**
+         * Resolve the items against the tables, or return null if no table
+         * applies to any of them.
+         */
+        static QuantityBreaks resolve(VolumeDiscountTables snapshot, List<PricingLineItem> items) {
+            VolumeDiscountTable[] tables = new VolumeDiscountTable[items.size()];
+            Map<VolumeDiscountTable, Integer> quantities = new IdentityHashMap<>();
+            for (int i = 0; i < tables.length; i++) {
+                PricingLineItem item = items.get(i);
+                VolumeDiscountTable table = snapshot.tableFor(item.getProductSku(), item.getProductType());
+                if (table != null) {
+                    tables[i] = table;
+                    quantities.merge(table, item.getQuantity(), Integer::sum);
+                }
+            }
+            if (quantities.isEmpty()) {
+                return null;
+            }
+
+            int[] tiers = new int[tables.length];
+            for (int i = 0; i < tiers.length; i++) {
+                tiers[i] = tables[i] != null ? tables[i].tierFor(quantities.get(tables[i])) : -1;
             }
+            return new QuantityBreaks(tables, tiers, quantities);
         }
-        
-        return currentResult;
+    }
+
+    @Override
+    public StrategyTrigger getTrigger(PricingRules rules) {
+        return triggerFor(tables(rules));
     }
 
     @Override
@@ -79,4 +203,3 @@ public class VolumeDiscountStrategy implements PricingStrategy {
         return 10;
     }
 }
-
@@ -0,0 +1,118 @@
+package com.netconfig.pricing.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.fx.FxRates;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captured pricing traffic and the catalog and configuration data it was
+ * priced against.
+ *
+ * Requests are JSON lines, one {@link PricingRequest} each; lines without a
+ * {@code configurationId} are skipped and counted. The snapshot is one JSON
+ * document:
+ * <pre>
+ * {"capturedAt": "2026-10-19T00:00:00Z",
+ *  "configurations": [{"id": "cfg-1", "customerId": "c1", "rackSku": "RACK-42U", "items": [...]}],
+ *  "products": [{"sku": "SW-1", "type": "SWITCH", "basePrice": 1999.99, "costPrice": 1500.00}],
+ *  "fxRates": {"base": "USD", "asOf": "2026-10-19T00:00:00Z", "rates": {"EUR": 0.92}}}
+ * </pre>
+ * Requests without {@code pricedAt} are priced as of {@code capturedAt}, so
+ * a replay gives the same promotions every time.
+ *
+ * @param skipped request lines that were not pricing requests
+ */
+public record ReplayCapture(
+    List<PricingRequest> requests,
+    Map<String, ConfigurationResponse> configurations,
+    Map<String, ProductResponse> products,
+    FxRates fxRates,
+    int skipped
+) {
+    /**
+     * Layout of the snapshot file. Every section is optional.
+     */
+    public record Snapshot(
+        Instant capturedAt,
+        List<ConfigurationResponse> configurations,
+        List<ProductResponse> products,
+        FxRateRegistry.RatesFile fxRates
+    ) {}
+
+    /**
+     * Read a capture.
+     *
+     * @param pricedAt instant for requests without one; overrides the snapshot's {@code capturedAt} if set
+     * @throws IllegalArgumentException if a file cannot be read or parsed
+     */
+    public static ReplayCapture load(InputStream requestsIn, InputStream snapshotIn, Instant pricedAt,
+                                     ObjectMapper objectMapper) {
+        Snapshot snapshot;
+        try {
+            snapshot = snapshotIn != null
+                    ? objectMapper.readValue(snapshotIn, Snapshot.class)
+                    : new Snapshot(null, null, null, null);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read replay snapshot: " + e.getMessage(), e);
+        }
+        Instant defaultPricedAt = pricedAt != null ? pricedAt : snapshot.capturedAt();
+
+        List<PricingRequest> requests = new ArrayList<>();
+        int skipped = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(requestsIn, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.hasNonNull("configurationId")) {
+                    skipped++;
+                    continue;
+                }
+                PricingRequest request = objectMapper.treeToValue(node, PricingRequest.class);
+                requests.add(request.pricedAt() != null || defaultPricedAt == null ? request : new PricingRequest(
+                        request.configurationId(), request.customerTier(), request.rackUnitsUsed(),
+                        request.rackCapacity(), request.options(), request.explain(), request.configuration(),
+                        defaultPricedAt, request.currency()));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot read replay requests (line " + lineNumber + "): " + e.getMessage(), e);
+        }
+
+        Map<String, ConfigurationResponse> configurations = new LinkedHashMap<>();
+        if (snapshot.configurations() != null) {
+            snapshot.configurations().forEach(c -> configurations.put(c.id(), c));
+        }
+        Map<String, ProductResponse> products = new LinkedHashMap<>();
+        if (snapshot.products() != null) {
+            snapshot.products().forEach(p -> products.put(p.sku(), p));
+        }
+        FxRateRegistry.RatesFile rates = snapshot.fxRates();
+        FxRates fx = rates != null
+                ? FxRates.of(rates.base() != null ? rates.base() : "USD",
+                        rates.asOf() != null ? rates.asOf() : Instant.EPOCH,
+                        rates.rates() != null ? rates.rates() : Map.of())
+                : FxRates.baseOnly("USD");
+
+        return new ReplayCapture(requests, configurations, products, fx, skipped);
+    }
+}
@@ -0,0 +1,59 @@
+package com.netconfig.pricing.replay;
+
+import com.netconfig.pricing.client.CatalogClient;
+import com.netconfig.pricing.client.CatalogSnapshot;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Catalog stand-in answering from captured products. Never calls out.
+ */
+public class ReplayCatalogClient extends CatalogClient {
+
+    private final Map<String, ProductResponse> products;
+
+    public ReplayCatalogClient(Map<String, ProductResponse> products) {
+        super("http://replay.invalid", Duration.ofSeconds(1), 1, 1, Duration.ofSeconds(1),
+                new CatalogSnapshot(1), new SimpleMeterRegistry());
+        this.products = Map.copyOf(products);
+    }
+
+    @Override
+    public Optional<ProductResponse> getProductBySku(String sku) {
+        return Optional.ofNullable(products.get(sku));
+    }
+
+    @Override
+    public Map<String, ProductResponse> getProductsBySkus(Collection<String> skus) {
+        Map<String, ProductResponse> found = new HashMap<>();
+        for (String sku : skus) {
+            ProductResponse product = products.get(sku);
+            if (product != null) {
+                found.put(sku, product);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<ProductResponse> scanActiveProducts(String afterSku, int limit) {
+        return products.values().stream()
+                .filter(p -> afterSku == null || p.sku().compareTo(afterSku) > 0)
+                .sorted(Comparator.comparing(ProductResponse::sku))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        return Map.of("replay", true, "products", products.size());
+    }
+}
@@ -0,0 +1,26 @@
+package com.netconfig.pricing.replay;
+
+import com.netconfig.pricing.client.ConfigurationClient;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Configuration Service stand-in answering from captured configurations.
+ * Never calls out.
+ */
+public class ReplayConfigurationClient extends ConfigurationClient {
+
+    private final Map<String, ConfigurationResponse> configurations;
+
+    public ReplayConfigurationClient(Map<String, ConfigurationResponse> configurations) {
+        super("http://replay.invalid");
+        this.configurations = Map.copyOf(configurations);
+    }
+
+    @Override
+    public Optional<ConfigurationResponse> getConfiguration(String configurationId) {
+        return Optional.ofNullable(configurations.get(configurationId));
+    }
+}
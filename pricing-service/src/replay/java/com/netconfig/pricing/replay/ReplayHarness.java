@@ -0,0 +1,342 @@
+package com.netconfig.pricing.replay;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.netconfig.pricing.cache.PricingResultCache;
+import com.netconfig.pricing.contract.ContractPriceBookRegistry;
+import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.engine.ArithmeticMode;
+import com.netconfig.pricing.engine.PricingEngine;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.BundleDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.ContractPriceStrategy;
+import com.netconfig.pricing.strategy.impl.CurrencyConversionStrategy;
+import com.netconfig.pricing.strategy.impl.PartnerDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.PromotionStrategy;
+import com.netconfig.pricing.strategy.impl.SupportAddOnStrategy;
+import com.netconfig.pricing.strategy.impl.VolumeDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays captured pricing requests against a locally built
+ * {@link PricingEngine}, offline.
+ *
+ * The catalog and Configuration Service are replaced by stand-ins serving
+ * the capture's snapshot (see {@link ReplayCapture}), so a replay only
+ * measures the engine and gives the same results every run. The requests
+ * are priced {@code --iterations} times by {@code --concurrency} threads
+ * after a warm-up, and throughput and latency percentiles are printed.
+ *
+ * To compare two engine builds, replay with {@code --record=a.jsonl} on
+ * one and {@code --baseline=a.jsonl} on the other: every request whose
+ * result differs is reported field by field, and the exit code is 1.
+ *
+ * <pre>
+ * --requests=FILE         captured PricingRequests, JSON lines (default: bundled sample)
+ * --snapshot=FILE         configurations, products and FX rates (default: bundled sample)
+ * --priced-at=INSTANT     price requests without pricedAt as of this instant
+ * --concurrency=N         pricing threads (default 4)
+ * --iterations=N          passes over the requests (default 10)
+ * --warmup=N              passes before measuring (default 2)
+ * --arithmetic-mode=MODE  BIG_DECIMAL or FIXED_POINT (default BIG_DECIMAL)
+ * --cache=true            price through the result cache (default false)
+ * --rules-file=LOCATION   pricing rules JSON, as pricing.rules-file
+ * --contracts-file=...    contract prices CSV, as pricing.contracts.file
+ * --promotions-file=...   promotions CSV, as pricing.promotions.file
+ * --record=FILE           write result digests for a later --baseline
+ * --baseline=FILE         compare results with digests recorded earlier
+ * --max-diffs=N           differing requests to print (default 20)
+ * </pre>
+ */
+public final class ReplayHarness {
+
+    // Latencies above a minute are clamped; three significant digits
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final PricingEngine engine;
+    private final List<PricingRequest> requests;
+
+    public ReplayHarness(PricingEngine engine, List<PricingRequest> requests) {
+        this.engine = engine;
+        this.requests = requests;
+    }
+
+    /**
+     * Outcome of a measured run.
+     *
+     * @param digests result digest per request, from the first pass
+     */
+    public record Report(
+        int calculations,
+        long errors,
+        Duration elapsed,
+        Histogram latencyNanos,
+        List<ResultDigest> digests
+    ) {
+        public double throughput() {
+            return calculations / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Keep per-calculation logging out of the measurement
+        ((Logger) LoggerFactory.getLogger("com.netconfig")).setLevel(Level.WARN);
+
+        Map<String, String> options = parseOptions(args);
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        ReplayCapture capture;
+        try (InputStream requestsIn = open(options.get("requests"), "/replay/sample-requests.jsonl");
+             InputStream snapshotIn = open(options.get("snapshot"), "/replay/sample-snapshot.json")) {
+            String pricedAt = options.get("priced-at");
+            capture = ReplayCapture.load(requestsIn, snapshotIn,
+                    pricedAt != null ? Instant.parse(pricedAt) : null, objectMapper);
+        }
+        if (capture.requests().isEmpty()) {
+            throw new IllegalArgumentException("No pricing requests in capture (" + capture.skipped()
+                    + " lines without a configurationId skipped)");
+        }
+
+        int concurrency = intOption(options, "concurrency", 4);
+        int iterations = intOption(options, "iterations", 10);
+        int warmup = intOption(options, "warmup", 2);
+        ArithmeticMode mode = ArithmeticMode.valueOf(options.getOrDefault("arithmetic-mode", "BIG_DECIMAL"));
+
+        ReplayHarness harness = new ReplayHarness(engine(capture, options, mode, objectMapper), capture.requests());
+        System.out.printf("Replaying %d requests (%d lines skipped), %d configurations, %d products; %s, concurrency %d%n",
+                capture.requests().size(), capture.skipped(), capture.configurations().size(),
+                capture.products().size(), mode, concurrency);
+
+        if (warmup > 0) {
+            harness.run(concurrency, warmup);
+        }
+        Report report = harness.run(concurrency, iterations);
+        print(report, concurrency);
+
+        if (options.containsKey("record")) {
+            writeDigests(Path.of(options.get("record")), report.digests(), objectMapper);
+            System.out.println("Recorded result digests to " + options.get("record"));
+        }
+        if (options.containsKey("baseline")) {
+            int differing = compare(report.digests(), readDigests(Path.of(options.get("baseline")), objectMapper),
+                    intOption(options, "max-diffs", 20));
+            if (differing > 0) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Price every request {@code iterations} times on {@code concurrency}
+     * threads. Each thread records into its own histogram; they are merged
+     * at the end.
+     */
+    public Report run(int concurrency, int iterations) throws Exception {
+        int total = Math.multiplyExact(requests.size(), iterations);
+        AtomicInteger next = new AtomicInteger();
+        LongAdder errors = new LongAdder();
+        ResultDigest[] digests = new ResultDigest[requests.size()];
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Histogram>> workers = new ArrayList<>(concurrency);
+            long start = System.nanoTime();
+            for (int t = 0; t < concurrency; t++) {
+                workers.add(pool.submit(() -> {
+                    Histogram histogram = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+                    int i;
+                    while ((i = next.getAndIncrement()) < total) {
+                        int index = i % requests.size();
+                        PricingRequest request = requests.get(index);
+                        ResultDigest digest;
+                        long began = System.nanoTime();
+                        try {
+                            var result = engine.calculatePrice(request);
+                            histogram.recordValue(Math.min(System.nanoTime() - began, HIGHEST_TRACKABLE_NANOS));
+                            digest = i < requests.size() ? ResultDigest.of(index, request.configurationId(), result) : null;
+                        } catch (RuntimeException e) {
+                            histogram.recordValue(Math.min(System.nanoTime() - began, HIGHEST_TRACKABLE_NANOS));
+                            errors.increment();
+                            digest = i < requests.size() ? ResultDigest.failed(index, request.configurationId(), e) : null;
+                        }
+                        if (digest != null) {
+                            digests[index] = digest;
+                        }
+                    }
+                    return histogram;
+                }));
+            }
+
+            Histogram latency = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            for (Future<Histogram> worker : workers) {
+                latency.add(worker.get());
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new Report(total, errors.sum(), elapsed, latency, List.of(digests));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Engine wired like the service, with the default {@code pricing.*}
+     * settings, against the capture's stand-in clients.
+     */
+    static PricingEngine engine(ReplayCapture capture, Map<String, String> options, ArithmeticMode mode,
+                                ObjectMapper objectMapper) {
+        ResourceLoader resourceLoader = new DefaultResourceLoader();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PricingRulesRegistry rules = new PricingRulesRegistry(5, 10, 80, 5, 15, 20, 15, 20, 15, 0,
+                options.getOrDefault("rules-file", ""), resourceLoader, objectMapper);
+        PromotionRegistry promotions = new PromotionRegistry(options.getOrDefault("promotions-file", ""), resourceLoader);
+        ContractPriceBookRegistry contracts = new ContractPriceBookRegistry(
+                options.getOrDefault("contracts-file", ""), resourceLoader);
+
+        List<PricingStrategy> strategies = List.of(
+                new CurrencyConversionStrategy(),
+                new ContractPriceStrategy(contracts),
+                new BasePriceStrategy(),
+                new VolumeDiscountStrategy(5, 10),
+                new BundleDiscountStrategy(80, 5),
+                new PromotionStrategy(promotions),
+                new PartnerDiscountStrategy(15, 20),
+                new SupportAddOnStrategy(15, 20));
+        PricingResultCache cache = new PricingResultCache(Boolean.parseBoolean(options.getOrDefault("cache", "false")),
+                10_000, Duration.ofMinutes(10), meterRegistry);
+        return new PricingEngine(strategies,
+                new ReplayCatalogClient(capture.products()),
+                new ReplayConfigurationClient(capture.configurations()),
+                cache, rules, promotions, new FxRateRegistry(capture.fxRates()), meterRegistry, mode);
+    }
+
+    private static void print(Report report, int concurrency) {
+        Histogram latency = report.latencyNanos();
+        System.out.printf("%d calculations in %.3f s at concurrency %d: %.1f/s, %d errors%n",
+                report.calculations(), report.elapsed().toNanos() / 1e9, concurrency,
+                report.throughput(), report.errors());
+        System.out.printf("Latency (us): p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                latency.getValueAtPercentile(50) / 1e3,
+                latency.getValueAtPercentile(90) / 1e3,
+                latency.getValueAtPercentile(99) / 1e3,
+                latency.getValueAtPercentile(99.9) / 1e3,
+                latency.getMaxValue() / 1e3);
+    }
+
+    /**
+     * Print requests whose results differ from the baseline.
+     *
+     * @return number of differing requests
+     */
+    static int compare(List<ResultDigest> digests, List<ResultDigest> baseline, int maxDiffs) {
+        if (baseline.size() != digests.size()) {
+            System.out.printf("Baseline has %d requests, this capture %d; comparing the first %d%n",
+                    baseline.size(), digests.size(), Math.min(baseline.size(), digests.size()));
+        }
+        int differing = 0;
+        for (int i = 0; i < Math.min(baseline.size(), digests.size()); i++) {
+            List<String> diffs = digests.get(i).diff(baseline.get(i));
+            if (diffs.isEmpty()) {
+                continue;
+            }
+            if (differing++ < maxDiffs) {
+                System.out.printf("#%d %s:%n", i, digests.get(i).configurationId());
+                diffs.forEach(diff -> System.out.println("    " + diff));
+            }
+        }
+        System.out.printf("%d of %d results differ from the baseline%n", differing, digests.size());
+        return differing;
+    }
+
+    private static void writeDigests(Path file, List<ResultDigest> digests, ObjectMapper objectMapper)
+            throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (ResultDigest digest : digests) {
+                writer.write(objectMapper.writeValueAsString(digest));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static List<ResultDigest> readDigests(Path file, ObjectMapper objectMapper) throws IOException {
+        List<ResultDigest> digests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    digests.add(objectMapper.readValue(line, ResultDigest.class));
+                }
+            }
+        }
+        return digests;
+    }
+
+    private static InputStream open(String file, String bundled) throws IOException {
+        if (file != null) {
+            return Files.newInputStream(Path.of(file));
+        }
+        InputStream in = ReplayHarness.class.getResourceAsStream(bundled);
+        if (in == null) {
+            throw new IllegalStateException("Bundled replay sample missing: " + bundled);
+        }
+        return in;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        int parsed = value != null ? Integer.parseInt(value) : defaultValue;
+        if (parsed < (name.equals("warmup") ? 0 : 1)) {
+            throw new IllegalArgumentException("--" + name + " must be positive: " + value);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,90 @@
+package com.netconfig.pricing.replay;
+
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingNote;
+import com.netconfig.pricing.domain.PricingResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The parts of a pricing result that must not change between two engine
+ * builds, flattened to strings. Timestamps are left out, and amounts are
+ * compared by value, so 10.5 and 10.50 are the same.
+ *
+ * @param index position of the request in the capture
+ * @param error exception message if the request failed, else null
+ */
+public record ResultDigest(
+    int index,
+    String configurationId,
+    String error,
+    Map<String, String> fields
+) {
+    public static ResultDigest of(int index, String configurationId, PricingResult result) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("subtotal", amount(result.getSubtotal()));
+        fields.put("lineItemDiscount", amount(result.getLineItemDiscount()));
+        fields.put("orderDiscount", amount(result.getOrderDiscount()));
+        fields.put("serviceAddOn", amount(result.getServiceAddOn()));
+        fields.put("grandTotal", amount(result.getGrandTotal()));
+        fields.put("currency", result.getCurrency());
+        fields.put("fxSnapshotId", result.getFxSnapshotId());
+        fields.put("margin", amount(result.getMargin()));
+        fields.put("approvalRequired", String.valueOf(result.isApprovalRequired()));
+        fields.put("degraded", String.valueOf(result.isDegraded()));
+        fields.put("appliedStrategies", String.join(",", result.getAppliedStrategies()));
+        List<String> notes = new ArrayList<>();
+        for (PricingNote note : result.getNotes()) {
+            notes.add(note.render());
+        }
+        fields.put("notes", String.join(" | ", notes));
+
+        List<PricingLineItem> lines = result.getLineItems();
+        for (int i = 0; i < lines.size(); i++) {
+            PricingLineItem line = lines.get(i);
+            String prefix = "line[" + i + "].";
+            fields.put(prefix + "sku", line.getProductSku());
+            fields.put(prefix + "quantity", String.valueOf(line.getQuantity()));
+            fields.put(prefix + "unitPrice", amount(line.getUnitPrice()));
+            fields.put(prefix + "lineTotal", amount(line.getLineTotal()));
+            fields.put(prefix + "discountAmount", amount(line.getDiscountAmount()));
+        }
+        return new ResultDigest(index, configurationId, null, fields);
+    }
+
+    public static ResultDigest failed(int index, String configurationId, RuntimeException e) {
+        return new ResultDigest(index, configurationId, e.getClass().getSimpleName() + ": " + e.getMessage(), Map.of());
+    }
+
+    /**
+     * Differences from a baseline digest of the same request, one
+     * {@code "field: baseline -> this"} entry each; empty if they match.
+     */
+    public List<String> diff(ResultDigest baseline) {
+        List<String> diffs = new ArrayList<>();
+        if (!Objects.equals(baseline.error(), error)) {
+            diffs.add("error: " + baseline.error() + " -> " + error);
+        }
+        Set<String> keys = new LinkedHashSet<>(baseline.fields().keySet());
+        keys.addAll(fields.keySet());
+        for (String key : keys) {
+            String before = baseline.fields().get(key);
+            String after = fields.get(key);
+            if (!Objects.equals(before, after)) {
+                diffs.add(key + ": " + before + " -> " + after);
+            }
+        }
+        return diffs;
+    }
+
+    private static String amount(BigDecimal amount) {
+        return amount != null ? amount.stripTrailingZeros().toPlainString() : null;
+    }
+}
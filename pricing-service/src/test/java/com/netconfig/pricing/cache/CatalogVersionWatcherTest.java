@@ -0,0 +1,72 @@
+package com.netconfig.pricing.cache;
+
+import com.netconfig.pricing.client.CatalogClient;
+import com.netconfig.pricing.client.CatalogUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CatalogVersionWatcher.
+ */
+class CatalogVersionWatcherTest {
+
+    private CatalogClient catalogClient;
+    private PricingResultCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogVersionWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(CatalogClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PricingResultCache(true, 100, Duration.ofMinutes(10), meterRegistry);
+        watcher = new CatalogVersionWatcher(catalogClient, cache, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should invalidate on the first poll and whenever the version changes")
+    void shouldInvalidateWhenVersionChanges() {
+        // Given
+        when(catalogClient.getCatalogVersion()).thenReturn("1000-15", "1000-15", "2000-15");
+
+        // When / Then
+        watcher.poll();
+        assertThat(cache.getStats()).containsEntry("catalogVersion", 1L);
+        watcher.poll();
+        assertThat(cache.getStats()).containsEntry("catalogVersion", 1L);
+        watcher.poll();
+        assertThat(cache.getStats()).containsEntry("catalogVersion", 2L);
+    }
+
+    @Test
+    @DisplayName("Should count failed polls and keep the cache until the catalog answers")
+    void shouldCountFailedPolls() {
+        // Given
+        when(catalogClient.getCatalogVersion())
+                .thenReturn("1000-15")
+                .thenThrow(new CatalogUnavailableException("Catalog circuit open, not fetching catalog version"))
+                .thenThrow(new IllegalStateException("Catalog did not return a version"))
+                .thenReturn("1000-15", "1000-16");
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            watcher.poll();
+        }
+
+        // Then: failures leave the version alone, an unchanged version afterwards too
+        assertThat(meterRegistry.get("pricing.cache.catalog.poll.failures").counter().count()).isEqualTo(2.0);
+        assertThat(cache.getStats()).containsEntry("catalogVersion", 1L);
+        watcher.poll();
+        assertThat(cache.getStats()).containsEntry("catalogVersion", 1L);
+        watcher.poll();
+        assertThat(cache.getStats()).containsEntry("catalogVersion", 2L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.netconfig.pricing.cache;
+
+import com.netconfig.pricing.client.dto.ConfigurationItemResponse;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.dto.PricingRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PricingResultCache.
+ */
+class PricingResultCacheTest {
+
+    private PricingResultCache cache;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PricingResultCache(true, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        calculations = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should reuse results for identical content regardless of item order")
+    void shouldHitForSameContent() {
+        // Given: two configurations with the same items in a different order
+        ConfigurationResponse first = configuration("cfg-1",
+                item("SW-1", 2), item("PSU-1", 4));
+        ConfigurationResponse second = configuration("cfg-2",
+                item("PSU-1", 4), item("SW-1", 2));
+
+        // When
+        cache.get(first, request("cfg-1", "partner"), 1L, 0L, "fx-1", this::calculate);
+        PricingResult result = cache.get(second, request("cfg-2", "PARTNER"), 1L, 0L, "fx-1", this::calculate);
+
+        // Then: calculated once, copy carries the requested configuration ID
+        assertThat(calculations).hasValue(1);
+        assertThat(result.getConfigurationId()).isEqualTo("cfg-2");
+    }
+
+    @Test
+    @DisplayName("Should miss when quantity, options, rules version, promotion epoch or FX snapshot change")
+    void shouldMissWhenInputsChange() {
+        cache.get(configuration("cfg-1", item("SW-1", 2)), request("cfg-1", null), 1L, 0L, "fx-1", this::calculate);
+        cache.get(configuration("cfg-1", item("SW-1", 3)), request("cfg-1", null), 1L, 0L, "fx-1", this::calculate);
+        cache.get(configuration("cfg-1", item("SW-1", 3)),
+                new PricingRequest("cfg-1", null, null, null, Map.of("include_support", true)),
+                1L, 0L, "fx-1", this::calculate);
+        cache.get(configuration("cfg-1", item("SW-1", 3)), request("cfg-1", null), 2L, 0L, "fx-1", this::calculate);
+        cache.get(configuration("cfg-1", item("SW-1", 3)), request("cfg-1", null), 2L, 1L, "fx-1", this::calculate);
+        cache.get(configuration("cfg-1", item("SW-1", 3)), request("cfg-1", null), 2L, 1L, "fx-2", this::calculate);
+
+        assertThat(calculations).hasValue(6);
+    }
+
+    @Test
+    @DisplayName("Should recalculate after invalidation and hand out independent copies")
+    void shouldRecalculateAfterInvalidation() {
+        ConfigurationResponse config = configuration("cfg-1", item("SW-1", 2));
+
+        PricingResult first = cache.get(config, request("cfg-1", null), 1L, 0L, "fx-1", this::calculate);
+        first.getLineItems().get(0).setDiscountAmount(new BigDecimal("99.00"));
+        PricingResult second = cache.get(config, request("cfg-1", null), 1L, 0L, "fx-1", this::calculate);
+
+        assertThat(second.getLineItems().get(0).getDiscountAmount()).isEqualByComparingTo("0");
+
+        cache.invalidateAll();
+        cache.get(config, request("cfg-1", null), 1L, 0L, "fx-1", this::calculate);
+
+        assertThat(calculations).hasValue(2);
+    }
+
+    private PricingResult calculate() {
+        calculations.incrementAndGet();
+        PricingResult result = new PricingResult("calculated");
+        result.getLineItems().add(new PricingLineItem("SW-1", "Switch", "SWITCH", 2, new BigDecimal("1000.00")));
+        result.recalculateTotals();
+        return result;
+    }
+
+    private ConfigurationResponse configuration(String id, ConfigurationItemResponse... items) {
+        return new ConfigurationResponse(id, "Test", "customer-1", "RACK-42U", List.of(items));
+    }
+
+    private ConfigurationItemResponse item(String sku, int quantity) {
+        return new ConfigurationItemResponse(sku + "-" + quantity, sku, sku, quantity);
+    }
+
+    private PricingRequest request(String configurationId, String tier) {
+        return new PricingRequest(configurationId, tier, null, null, null);
+    }
+}
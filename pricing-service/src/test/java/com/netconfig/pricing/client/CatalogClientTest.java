@@ -0,0 +1,78 @@
+package com.netconfig.pricing.client;
+
+import com.netconfig.pricing.client.dto.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CatalogClient fallbacks and its CircuitBreaker.
+ */
+class CatalogClientTest {
+
+    @Test
+    @DisplayName("Should open after consecutive failures and close after a successful probe")
+    void shouldOpenAndCloseCircuit() {
+        // Given
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), now::get);
+
+        // When: a success resets the count, then three failures in a row
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.onFailure();
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        // After the open duration exactly one probe goes through
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should answer from the last known copies when the catalog cannot be reached")
+    void shouldFallBackToSnapshot() {
+        // Given: nothing listens on port 1; one product was seen before
+        CatalogSnapshot snapshot = new CatalogSnapshot(100);
+        snapshot.putAll(List.of(new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99"))));
+        CatalogClient client = new CatalogClient("http://127.0.0.1:1", Duration.ofSeconds(2), 4,
+                2, Duration.ofMinutes(5), snapshot, new SimpleMeterRegistry());
+
+        // When
+        Map<String, ProductResponse> first = client.getProductsBySkus(List.of("SW-1", "PSU-1"));
+        client.getProductsBySkus(List.of("SW-1"));
+        Map<String, ProductResponse> third = client.getProductsBySkus(List.of("SW-1"));
+
+        // Then
+        assertThat(first.get("SW-1").source()).isEqualTo(ProductResponse.Source.SNAPSHOT);
+        assertThat(first.get("SW-1").basePrice()).isEqualByComparingTo("1999.99");
+        assertThat(first.get("PSU-1").source()).isEqualTo(ProductResponse.Source.UNAVAILABLE);
+        assertThat(third.get("SW-1").source()).isEqualTo(ProductResponse.Source.SNAPSHOT);
+        assertThat(client.getStatus())
+                .containsEntry("circuit", CircuitBreaker.State.OPEN)
+                .containsEntry("snapshotFallbacks", 3L)
+                .containsEntry("unavailableFallbacks", 1L);
+    }
+}
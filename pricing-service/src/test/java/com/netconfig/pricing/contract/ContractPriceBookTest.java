@@ -0,0 +1,110 @@
+package com.netconfig.pricing.contract;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.netconfig.pricing.contract.ContractPriceBook.NOT_FOUND;
+import static com.netconfig.pricing.contract.ContractPriceBook.NOT_SET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the contract price book and its registry.
+ */
+class ContractPriceBookTest {
+
+    @Test
+    @DisplayName("Should find every contract line among many customers and SKUs")
+    void shouldIndexManyContractLines() {
+        // Given: 2000 customers x 50 SKUs, each customer on every other SKU
+        ContractPriceBook.Builder builder = new ContractPriceBook.Builder();
+        for (int customer = 0; customer < 2000; customer++) {
+            for (int sku = customer % 2; sku < 50; sku += 2) {
+                builder.add("C" + customer, "SKU-" + sku, customer * 100 + sku, NOT_SET, NOT_SET);
+            }
+        }
+
+        // When
+        ContractPriceBook book = builder.build();
+
+        // Then
+        assertThat(book.size()).isEqualTo(50_000);
+        assertThat(book.getCapacity()).isGreaterThanOrEqualTo(book.size() * 4 / 3);
+        for (int customer = 0; customer < 2000; customer++) {
+            int index = book.customerIndex("C" + customer);
+            for (int sku = 0; sku < 50; sku++) {
+                int slot = book.find(index, "SKU-" + sku);
+                if (sku % 2 == customer % 2) {
+                    assertThat(book.unitPriceCents(slot, 999_999)).isEqualTo(customer * 100L + sku);
+                } else {
+                    assertThat(slot).isEqualTo(NOT_FOUND);
+                }
+            }
+        }
+        assertThat(book.customerIndex("unknown")).isEqualTo(NOT_FOUND);
+        assertThat(book.find(book.customerIndex("C1"), "SKU-unknown")).isEqualTo(NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should hold prices between floor and cap")
+    void shouldApplyCapAndFloor() {
+        ContractPriceBook book = new ContractPriceBook.Builder()
+                .add("C1", "SW-1", NOT_SET, 90_000, 50_000)
+                .add("C1", "SW-2", 120_000, 100_000, NOT_SET)
+                .build();
+        int customer = book.customerIndex("C1");
+        int capped = book.find(customer, "SW-1");
+
+        assertThat(book.unitPriceCents(capped, 100_000)).isEqualTo(90_000);
+        assertThat(book.unitPriceCents(capped, 40_000)).isEqualTo(50_000);
+        assertThat(book.unitPriceCents(capped, 70_000)).isEqualTo(70_000);
+        assertThat(book.unitPrice(capped, new BigDecimal("400.00"))).isEqualByComparingTo("500.00");
+        // The cap also limits the override
+        assertThat(book.unitPriceCents(book.find(customer, "SW-2"), 150_000)).isEqualTo(100_000);
+
+        assertThatThrownBy(() -> new ContractPriceBook.Builder()
+                .add("C1", "SW-1", 100, NOT_SET, NOT_SET)
+                .add("C1", "SW-1", 200, NOT_SET, NOT_SET)
+                .build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("C1/SW-1");
+    }
+
+    @Test
+    @DisplayName("Should load contracts from CSV and keep the old book when the file is invalid")
+    void shouldLoadAndReloadFromCsv(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("contracts.csv");
+        Files.writeString(file, """
+                customerId,sku,price,cap,floor
+                ACME,SW-1,899.50,,
+                ACME,PSU-1,,250,
+                """);
+        ContractPriceBookRegistry registry = new ContractPriceBookRegistry(
+                file.toUri().toString(), new DefaultResourceLoader());
+        ContractPriceBook loaded = registry.current();
+
+        // Then
+        int acme = loaded.customerIndex("ACME");
+        assertThat(loaded.unitPriceCents(loaded.find(acme, "SW-1"), 100_000)).isEqualTo(89_950);
+        assertThat(registry.getSummary()).containsEntry("contractLines", 2);
+
+        // When: a sub-cent amount is introduced
+        Files.writeString(file, """
+                customerId,sku,price,cap,floor
+                ACME,SW-1,899.505,,
+                """);
+
+        // Then
+        assertThatThrownBy(registry::reload)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+        assertThat(registry.current()).isSameAs(loaded);
+    }
+}
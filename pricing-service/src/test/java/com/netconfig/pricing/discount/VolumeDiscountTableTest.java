@@ -0,0 +1,67 @@
+package com.netconfig.pricing.discount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for volume discount tables.
+ */
+class VolumeDiscountTableTest {
+
+    @Test
+    @DisplayName("Should find the tier for a quantity at and between breaks")
+    void shouldFindTierByBinarySearch() {
+        // Given: 6-10: 10%, 11-50: 15%, 51+: 22%, declared out of order
+        VolumeDiscountTable table = VolumeDiscountTable.of("switches", List.of(
+                new VolumeDiscountTable.Tier(51, new BigDecimal("22")),
+                new VolumeDiscountTable.Tier(6, new BigDecimal("10")),
+                new VolumeDiscountTable.Tier(11, new BigDecimal("15"))));
+
+        // Then
+        assertThat(table.tierFor(5)).isEqualTo(-1);
+        assertThat(table.getBasisPoints(table.tierFor(6))).isEqualTo(1000);
+        assertThat(table.getBasisPoints(table.tierFor(10))).isEqualTo(1000);
+        assertThat(table.getBasisPoints(table.tierFor(11))).isEqualTo(1500);
+        assertThat(table.getBasisPoints(table.tierFor(50))).isEqualTo(1500);
+        assertThat(table.getBasisPoints(table.tierFor(10_000))).isEqualTo(2200);
+        assertThat(table.getLineNote(table.tierFor(11)).render())
+                .isEqualTo("Volume discount: 15% off (>10 switches)");
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate breaks and out-of-range percentages")
+    void shouldRejectInvalidTiers() {
+        assertThatThrownBy(() -> VolumeDiscountTable.of("switches", List.of(
+                new VolumeDiscountTable.Tier(6, new BigDecimal("10")),
+                new VolumeDiscountTable.Tier(6, new BigDecimal("15")))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VolumeDiscountTable.of("switches", List.of(
+                new VolumeDiscountTable.Tier(6, new BigDecimal("120")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should prefer the longest SKU family over the product type")
+    void shouldResolveSkuFamilyBeforeProductType() {
+        VolumeDiscountTables tables = VolumeDiscountTables.from(new VolumeDiscountTables.Definition(
+                Map.of("SWITCH", table(6, "10")),
+                Map.of("SW-C9300", table(2, "20"), "SW", table(3, "12"))));
+
+        assertThat(tables.tableFor("SW-C9300-48P", "SWITCH").getUnit()).isEqualTo("SW-C9300 units");
+        assertThat(tables.tableFor("SW-C9200-24T", "SWITCH").getUnit()).isEqualTo("SW units");
+        assertThat(tables.tableFor("NX-93180", "SWITCH").getUnit()).isEqualTo("switches");
+        assertThat(tables.tableFor("PSU-1100W", "PSU")).isNull();
+    }
+
+    private VolumeDiscountTables.TableDefinition table(int minQuantity, String percent) {
+        return new VolumeDiscountTables.TableDefinition(null, List.of(
+                new VolumeDiscountTable.Tier(minQuantity, new BigDecimal(percent))));
+    }
+}
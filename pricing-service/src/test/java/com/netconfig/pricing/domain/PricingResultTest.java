@@ -0,0 +1,58 @@
+package com.netconfig.pricing.domain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PricingResult serialization of pricing notes.
+ */
+class PricingResultTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private PricingResult result;
+
+    @BeforeEach
+    void setUp() {
+        PricingLineItem item = new PricingLineItem("SW-1", "Switch", "SWITCH", 6, new BigDecimal("100.00"));
+        item.setDiscountNote(new PricingNote(PricingNote.Code.VOLUME_DISCOUNT_LINE,
+                Map.of("percent", 10, "threshold", 5, "unit", "switches")));
+
+        result = new PricingResult("cfg-1");
+        result.getLineItems().add(item);
+        result.addNote(new PricingNote(PricingNote.Code.TIER_DISCOUNT,
+                Map.of("tier", "Partner", "percent", 15, "amount", new BigDecimal("81.00"))));
+    }
+
+    @Test
+    @DisplayName("Should serialize structured notes only by default")
+    void shouldOmitTextByDefault() throws Exception {
+        JsonNode json = objectMapper.valueToTree(result);
+
+        assertThat(json.has("discountDescriptions")).isFalse();
+        assertThat(json.get("lineItems").get(0).has("discountReason")).isFalse();
+        assertThat(json.get("notes").get(0).get("code").asText()).isEqualTo("TIER_DISCOUNT");
+        assertThat(json.get("notes").get(0).get("params").get("percent").asInt()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should include rendered text when explanation is requested")
+    void shouldRenderTextWhenExplained() throws Exception {
+        result.setExplain(true);
+
+        JsonNode json = objectMapper.valueToTree(result);
+
+        assertThat(json.get("discountDescriptions").get(0).asText())
+                .isEqualTo("Partner tier discount: 15% off - saved $81.00");
+        assertThat(json.get("lineItems").get(0).get("discountReason").asText())
+                .isEqualTo("Volume discount: 10% off (>5 switches)");
+    }
+}
@@ -0,0 +1,229 @@
+package com.netconfig.pricing.engine;
+
+import com.netconfig.pricing.cache.PricingResultCache;
+import com.netconfig.pricing.contract.ContractPriceBook;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+import com.netconfig.pricing.domain.FixedPointLedger;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.promotion.Promotion;
+import com.netconfig.pricing.promotion.PromotionIndex;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.BundleDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.ContractPriceStrategy;
+import com.netconfig.pricing.strategy.impl.CurrencyConversionStrategy;
+import com.netconfig.pricing.strategy.impl.PartnerDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.PromotionStrategy;
+import com.netconfig.pricing.strategy.impl.SupportAddOnStrategy;
+import com.netconfig.pricing.strategy.impl.VolumeDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential tests: the fixed-point kernel must give the same amounts as the BigDecimal path.
+ */
+class FixedPointPricingTest {
+
+    private static final String[] TYPES = {"SWITCH", "PSU", "RACK", "CABLE"};
+    private static final String[] TIERS = {null, "STANDARD", "PARTNER", "ENTERPRISE"};
+    private static final String[] SUPPORT = {null, "STANDARD", "PREMIUM"};
+    private static final String[] CUSTOMERS = {null, "CUST-0", "CUST-1", "CUST-2"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+    private static final Instant PROMOTION_START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final FxRates FX = FxRates.of("USD", PROMOTION_START, Map.of(
+            "EUR", new BigDecimal("0.9237"), "GBP", new BigDecimal("0.78913")));
+
+    private final PricingEngine bigDecimalEngine = engine(ArithmeticMode.BIG_DECIMAL);
+    private final PricingEngine fixedPointEngine = engine(ArithmeticMode.FIXED_POINT);
+
+    @Test
+    @DisplayName("Fixed-point results should match BigDecimal results for random configurations")
+    void shouldMatchBigDecimalPath() {
+        Random random = new Random(42);
+
+        for (int run = 0; run < 2000; run++) {
+            long seed = random.nextLong();
+
+            PricingResult expected = bigDecimalEngine.calculatePrice(randomContext(new Random(seed)));
+            PricingResult actual = fixedPointEngine.calculatePrice(randomContext(new Random(seed)));
+
+            assertSameAmounts(actual, expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round half up like BigDecimal.setScale")
+    void shouldRoundHalfUp() {
+        // 0.05 * 10% = 0.005 -> 0.01, 0.04 * 10% = 0.004 -> 0.00
+        assertThat(FixedPointLedger.percentOf(5, 1000)).isEqualTo(1);
+        assertThat(FixedPointLedger.percentOf(4, 1000)).isEqualTo(0);
+        assertThat(FixedPointLedger.percentOf(-5, 1000)).isEqualTo(-1);
+        assertThat(FixedPointLedger.percentOf(-4, 1000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for sub-cent prices")
+    void shouldFallBackForSubCentPrices() {
+        List<PricingLineItem> items = new ArrayList<>();
+        items.add(new PricingLineItem("SW-1", "Switch", "SWITCH", 7, new BigDecimal("10.005")));
+        PricingContext context = new PricingContext("cfg", items);
+
+        PricingResult result = fixedPointEngine.calculatePrice(context);
+
+        // BigDecimal keeps the extra digit: 7 x 10.005 = 70.035, 10% = 7.0035 -> 7.00
+        assertThat(result.getSubtotal()).isEqualByComparingTo("70.035");
+        assertThat(result.getGrandTotal()).isEqualByComparingTo("63.035");
+    }
+
+    private void assertSameAmounts(PricingResult actual, PricingResult expected) {
+        assertThat(actual.getSubtotal()).isEqualByComparingTo(expected.getSubtotal());
+        assertThat(actual.getLineItemDiscount()).isEqualByComparingTo(expected.getLineItemDiscount());
+        assertThat(actual.getOrderDiscount()).isEqualByComparingTo(expected.getOrderDiscount());
+        assertThat(actual.getTotalDiscount()).isEqualByComparingTo(expected.getTotalDiscount());
+        assertThat(actual.getServiceAddOn()).isEqualByComparingTo(expected.getServiceAddOn());
+        assertThat(actual.getGrandTotal()).isEqualByComparingTo(expected.getGrandTotal());
+        assertThat(actual.getAppliedStrategies()).isEqualTo(expected.getAppliedStrategies());
+        assertThat(actual.getDiscountDescriptions()).isEqualTo(expected.getDiscountDescriptions());
+        assertSameAmount(actual.getMargin(), expected.getMargin());
+        assertSameAmount(actual.getMarginPercent(), expected.getMarginPercent());
+        assertThat(actual.isApprovalRequired()).isEqualTo(expected.isApprovalRequired());
+
+        assertThat(actual.getLineItems()).hasSameSizeAs(expected.getLineItems());
+        for (int i = 0; i < expected.getLineItems().size(); i++) {
+            PricingLineItem a = actual.getLineItems().get(i);
+            PricingLineItem e = expected.getLineItems().get(i);
+            assertThat(a.getUnitPrice()).isEqualByComparingTo(e.getUnitPrice());
+            assertThat(a.getLineTotal()).isEqualByComparingTo(e.getLineTotal());
+            assertThat(a.getDiscountAmount()).isEqualByComparingTo(e.getDiscountAmount());
+            assertThat(a.getDiscountReason()).isEqualTo(e.getDiscountReason());
+            assertSameAmount(a.getMargin(), e.getMargin());
+        }
+    }
+
+    private void assertSameAmount(BigDecimal actual, BigDecimal expected) {
+        if (expected == null) {
+            assertThat(actual).isNull();
+        } else {
+            assertThat(actual).isEqualByComparingTo(expected);
+        }
+    }
+
+    private PricingContext randomContext(Random random) {
+        List<PricingLineItem> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(12);
+        for (int i = 0; i < lines; i++) {
+            // Catalog prices arrive via BigDecimal.valueOf(double), so mix scales 0-2
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(5_000_000), random.nextInt(3))
+                    .setScale(random.nextInt(3), RoundingMode.DOWN);
+            String type = TYPES[random.nextInt(TYPES.length)];
+            PricingLineItem item = new PricingLineItem("SKU-" + i, "Product " + i, type, 1 + random.nextInt(20), price);
+            item.setCatalogCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            if (random.nextInt(4) > 0) {
+                item.setUnitCost(price.multiply(BigDecimal.valueOf(50 + random.nextInt(50), 2))
+                        .setScale(2, RoundingMode.HALF_UP));
+            }
+            items.add(item);
+        }
+
+        PricingContext context = new PricingContext("cfg-" + random.nextInt(100), items);
+        context.setCustomerId(CUSTOMERS[random.nextInt(CUSTOMERS.length)]);
+        context.setCustomerTier(TIERS[random.nextInt(TIERS.length)]);
+
+        Map<String, Object> options = new HashMap<>();
+        String support = SUPPORT[random.nextInt(SUPPORT.length)];
+        if (support != null) {
+            options.put("include_support", true);
+            options.put("support_tier", support);
+        }
+        context.setOptions(options);
+
+        if (random.nextBoolean()) {
+            context.setRackCapacity(42);
+            context.setRackUnitsUsed(random.nextInt(43));
+        }
+        context.setPricedAt(PROMOTION_START.plus(random.nextInt(60), ChronoUnit.DAYS));
+        context.setFxRates(FX);
+        context.setCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+        return context;
+    }
+
+    private static PricingEngine engine(ArithmeticMode mode) {
+        List<PricingStrategy> strategies = List.of(
+                new CurrencyConversionStrategy(),
+                new ContractPriceStrategy(contracts()),
+                new BasePriceStrategy(),
+                new VolumeDiscountStrategy(5, 10),
+                new BundleDiscountStrategy(80, 5),
+                new PromotionStrategy(promotions()),
+                new PartnerDiscountStrategy(15, 20),
+                new SupportAddOnStrategy(15, 20));
+        PricingResultCache cache = new PricingResultCache(false, 1, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        PricingRulesRegistry rules = new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                VolumeDiscountTables.legacy(5, 10),
+                new PricingRules.BundleDiscount(80, 5),
+                new PricingRules.TierDiscount(15, 20),
+                new PricingRules.SupportAddOn(15, 20)));
+        return new PricingEngine(strategies, null, null, cache, rules,
+                new PromotionRegistry(PromotionIndex.EMPTY), new FxRateRegistry(FxRates.baseOnly("USD")),
+                new SimpleMeterRegistry(), mode);
+    }
+
+    /**
+     * Overrides, caps and floors (around the $0-$50,000 random list prices) for some SKUs.
+     */
+    private static ContractPriceBook contracts() {
+        Random random = new Random(7);
+        ContractPriceBook.Builder builder = new ContractPriceBook.Builder();
+        for (int customer = 0; customer < 3; customer++) {
+            for (int sku = 0; sku < 12; sku += 1 + random.nextInt(2)) {
+                int price = random.nextBoolean() ? random.nextInt(5_000_000) : ContractPriceBook.NOT_SET;
+                int cap = random.nextBoolean() ? 2_500_000 + random.nextInt(2_500_000) : ContractPriceBook.NOT_SET;
+                int floor = random.nextBoolean() ? random.nextInt(2_500_000) : ContractPriceBook.NOT_SET;
+                if (price == ContractPriceBook.NOT_SET && cap == ContractPriceBook.NOT_SET
+                        && floor == ContractPriceBook.NOT_SET) {
+                    floor = 100;
+                }
+                builder.add("CUST-" + customer, "SKU-" + sku, price, cap, floor);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Overlapping SKU, product type and tier promotions over the 60 days
+     * the random contexts are priced in.
+     */
+    private static PromotionIndex promotions() {
+        Random random = new Random(11);
+        List<Promotion> promotions = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Instant from = PROMOTION_START.plus(random.nextInt(50), ChronoUnit.DAYS);
+            String sku = i % 3 == 0 ? "SKU-" + random.nextInt(12) : null;
+            String type = i % 3 == 1 ? TYPES[random.nextInt(TYPES.length)] : null;
+            promotions.add(new Promotion("P" + i, "Promotion " + i, sku, type, TIERS[random.nextInt(TIERS.length)],
+                    1 + random.nextInt(3000), from, from.plus(1 + random.nextInt(20), ChronoUnit.DAYS)));
+        }
+        return PromotionIndex.of(1, promotions);
+    }
+}
@@ -0,0 +1,403 @@
+package com.netconfig.pricing.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.cache.PricingResultCache;
+import com.netconfig.pricing.client.CatalogClient;
+import com.netconfig.pricing.client.CatalogUnavailableException;
+import com.netconfig.pricing.client.ConfigurationClient;
+import com.netconfig.pricing.client.dto.ConfigurationItemResponse;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import com.netconfig.pricing.contract.ContractPriceBook;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+import com.netconfig.pricing.domain.PricingNote;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixRequest;
+import com.netconfig.pricing.dto.ScenarioMatrixResponse;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.promotion.PromotionIndex;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.BundleDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.ContractPriceStrategy;
+import com.netconfig.pricing.strategy.impl.CurrencyConversionStrategy;
+import com.netconfig.pricing.strategy.impl.PartnerDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.SupportAddOnStrategy;
+import com.netconfig.pricing.strategy.impl.VolumeDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PricingEngine.
+ */
+class PricingEngineTest {
+
+    private PricingEngine engine;
+    private CatalogClient catalogClient;
+    private ConfigurationClient configurationClient;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(CatalogClient.class);
+        configurationClient = mock(ConfigurationClient.class);
+
+        PricingRulesRegistry rules = new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                VolumeDiscountTables.legacy(5, 10),
+                new PricingRules.BundleDiscount(80, 5),
+                new PricingRules.TierDiscount(15, 20),
+                new PricingRules.SupportAddOn(15, 20)));
+        engine = engine(rules);
+
+        when(configurationClient.getConfiguration("cfg-1")).thenReturn(Optional.of(new ConfigurationResponse(
+                "cfg-1", "Test", "customer-1", "RACK-42U",
+                List.of(new ConfigurationItemResponse("i1", "SW-1", "Switch", 8),
+                        new ConfigurationItemResponse("i2", "PSU-1", "PSU", 2)))));
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99")),
+                "PSU-1", new ProductResponse("p2", "PSU-1", "PSU", "PSU", new BigDecimal("349.50")),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1200.00"))));
+    }
+
+    @Test
+    @DisplayName("Scenario matrix should match individually calculated prices")
+    void scenarioMatrixShouldMatchIndividualCalculations() {
+        // Given
+        ScenarioMatrixRequest request = new ScenarioMatrixRequest("cfg-1", 36, 42, null, null, null);
+
+        // When
+        ScenarioMatrixResponse matrix = engine.calculateScenarios(request);
+
+        // Then: 3 tiers x 3 support options, each equal to a standalone calculation
+        assertThat(matrix.scenarios()).hasSize(9);
+        assertThat(matrix.sharedStrategies()).containsExactly("CurrencyConversion", "BasePrice", "VolumeDiscount", "BundleDiscount");
+
+        for (ScenarioMatrixResponse.Scenario scenario : matrix.scenarios()) {
+            Map<String, Object> options = new HashMap<>();
+            if (!"NONE".equals(scenario.supportTier())) {
+                options.put("include_support", true);
+                options.put("support_tier", scenario.supportTier());
+            }
+            PricingResult expected = engine.calculatePrice(
+                    new PricingRequest("cfg-1", scenario.customerTier(), 36, 42, options));
+            PricingResult actual = scenario.result();
+
+            assertThat(actual.getGrandTotal()).isEqualByComparingTo(expected.getGrandTotal());
+            assertThat(actual.getTotalDiscount()).isEqualByComparingTo(expected.getTotalDiscount());
+            assertThat(actual.getServiceAddOn()).isEqualByComparingTo(expected.getServiceAddOn());
+            assertThat(actual.getAppliedStrategies()).isEqualTo(expected.getAppliedStrategies());
+            assertThat(actual.getDiscountDescriptions()).isEqualTo(expected.getDiscountDescriptions());
+        }
+    }
+
+    @Test
+    @DisplayName("Scenario matrix should fetch configuration and products once")
+    void scenarioMatrixShouldFetchOnce() {
+        engine.calculateScenarios(new ScenarioMatrixRequest("cfg-1", null, null, null, null, null));
+
+        verify(configurationClient, times(1)).getConfiguration("cfg-1");
+        verify(catalogClient, times(1)).getProductsBySkus(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should price with reloaded rules and stamp results with the rules version")
+    void shouldUseReloadedRules(@TempDir Path dir) throws Exception {
+        // Given: rack 50% utilized, below the 80% bundle threshold
+        Path file = dir.resolve("pricing-rules.json");
+        Files.writeString(file, """
+                {"bundleDiscount": {"capacityThreshold": 80, "discountPercent": 5}}
+                """);
+        PricingRulesRegistry rules = new PricingRulesRegistry(5, 10, 80, 5, 15, 20, 15, 20, 15, 0,
+                file.toUri().toString(), new DefaultResourceLoader(), new ObjectMapper());
+        PricingEngine reloadable = engine(rules);
+        PricingRequest request = new PricingRequest("cfg-1", null, 21, 42, Map.of());
+
+        PricingResult before = reloadable.calculatePrice(request);
+
+        // When: the threshold drops to 50%
+        Files.writeString(file, """
+                {"bundleDiscount": {"capacityThreshold": 50, "discountPercent": 5}}
+                """);
+        rules.reload();
+        PricingResult after = reloadable.calculatePrice(request);
+
+        // Then
+        assertThat(before.getRulesVersion()).isEqualTo(1);
+        assertThat(before.getAppliedStrategies()).doesNotContain("BundleDiscount");
+        assertThat(after.getRulesVersion()).isEqualTo(2);
+        assertThat(after.getAppliedStrategies()).contains("BundleDiscount");
+    }
+
+    @Test
+    @DisplayName("Should price an inline configuration without calling the Configuration Service")
+    void shouldPriceInlineConfiguration() {
+        // Given: the same configuration the client would return for cfg-1
+        ConfigurationResponse inline = new ConfigurationResponse(
+                "cfg-1", "Test", "customer-1", "RACK-42U",
+                List.of(new ConfigurationItemResponse("i1", "SW-1", "Switch", 8),
+                        new ConfigurationItemResponse("i2", "PSU-1", "PSU", 2)));
+        PricingRequest fetched = new PricingRequest("cfg-1", "PARTNER", 36, 42, Map.of());
+        PricingRequest sent = new PricingRequest("cfg-1", "PARTNER", 36, 42, Map.of(), false, inline, null, null);
+        PricingResult expected = engine.calculatePrice(fetched);
+
+        // When
+        PricingResult actual = engine.calculatePrice(sent);
+
+        // Then: one fetch for the first request only
+        verify(configurationClient, times(1)).getConfiguration("cfg-1");
+        assertThat(actual.getGrandTotal()).isEqualByComparingTo(expected.getGrandTotal());
+        assertThat(actual.getAppliedStrategies()).isEqualTo(expected.getAppliedStrategies());
+    }
+
+    @Test
+    @DisplayName("Should reject an inline configuration for a different ID")
+    void shouldRejectMismatchedInlineConfiguration() {
+        ConfigurationResponse inline = new ConfigurationResponse("cfg-2", "Other", "customer-1", null,
+                List.of(new ConfigurationItemResponse("i1", "SW-1", "Switch", 1)));
+        PricingRequest request = new PricingRequest("cfg-1", null, null, null, Map.of(), false, inline, null, null);
+
+        assertThatThrownBy(() -> engine.calculatePrice(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not match");
+    }
+
+    @Test
+    @DisplayName("Should convert catalog prices in other currencies into the requested currency")
+    void shouldConvertCatalogCurrencies() {
+        // Given: the rack is listed in EUR, at 0.88 EUR / 0.75 GBP per USD
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99")),
+                "PSU-1", new ProductResponse("p2", "PSU-1", "PSU", "PSU", new BigDecimal("349.50")),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1100.00"), "EUR")));
+        FxRates fx = FxRates.of("USD", Instant.parse("2026-10-19T00:00:00Z"),
+                Map.of("EUR", new BigDecimal("0.88"), "GBP", new BigDecimal("0.75")));
+        PricingEngine engine = engine(new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                VolumeDiscountTables.legacy(5, 10),
+                new PricingRules.BundleDiscount(80, 5),
+                new PricingRules.TierDiscount(15, 20),
+                new PricingRules.SupportAddOn(15, 20))), new FxRateRegistry(fx));
+
+        // When
+        PricingResult usd = engine.calculatePrice(new PricingRequest("cfg-1", null, null, null, Map.of()));
+        PricingResult gbp = engine.calculatePrice(
+                new PricingRequest("cfg-1", null, null, null, Map.of(), false, null, null, "gbp"));
+
+        // Then
+        assertThat(usd.getCurrency()).isEqualTo("USD");
+        assertThat(usd.getFxSnapshotId()).isEqualTo(fx.getId());
+        assertThat(usd.getAppliedStrategies()).startsWith("CurrencyConversion");
+        assertThat(unitPrice(usd, "RACK-42U")).isEqualByComparingTo("1250.00");
+        assertThat(unitPrice(usd, "SW-1")).isEqualByComparingTo("1999.99");
+
+        assertThat(gbp.getCurrency()).isEqualTo("GBP");
+        assertThat(unitPrice(gbp, "RACK-42U")).isEqualByComparingTo("937.50");
+        assertThat(unitPrice(gbp, "SW-1")).isEqualByComparingTo("1499.99");
+        assertThat(unitPrice(gbp, "PSU-1")).isEqualByComparingTo("262.13");
+
+        // Only the rates the prices depend on are kept with the result
+        assertThat(usd.getFxRates()).containsOnlyKeys("EUR", "USD");
+        assertThat(gbp.getFxRates()).containsOnlyKeys("EUR", "GBP", "USD");
+        assertThat(gbp.getFxRates().get("EUR")).isEqualByComparingTo("0.88");
+        assertThat(gbp.getFxRates().get("GBP")).isEqualByComparingTo("0.75");
+        assertThat(gbp.getFxRates().get("USD")).isEqualByComparingTo("1");
+
+        assertThatThrownBy(() -> engine.calculatePrice(
+                new PricingRequest("cfg-1", null, null, null, Map.of(), false, null, null, "CHF")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No FX rate for CHF");
+    }
+
+    @Test
+    @DisplayName("Should apply contract prices in catalog currency before converting to the priced currency")
+    void shouldApplyContractsBeforeCurrencyConversion() {
+        // Given: the rack is listed in EUR; customer-1 pays 1800.00 USD per switch, at most
+        // 300.00 USD per PSU and 1000.00 EUR for the rack; priced in GBP
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99")),
+                "PSU-1", new ProductResponse("p2", "PSU-1", "PSU", "PSU", new BigDecimal("349.50")),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1100.00"), "EUR")));
+        FxRates fx = FxRates.of("USD", Instant.parse("2026-10-19T00:00:00Z"),
+                Map.of("EUR", new BigDecimal("0.88"), "GBP", new BigDecimal("0.75")));
+        ContractPriceStrategy contracts = new ContractPriceStrategy(new ContractPriceBook.Builder()
+                .add("customer-1", "SW-1", 180_000, ContractPriceBook.NOT_SET, ContractPriceBook.NOT_SET)
+                .add("customer-1", "PSU-1", ContractPriceBook.NOT_SET, 30_000, ContractPriceBook.NOT_SET)
+                .add("customer-1", "RACK-42U", 100_000, ContractPriceBook.NOT_SET, ContractPriceBook.NOT_SET)
+                .build());
+        PricingRequest gbp = new PricingRequest("cfg-1", null, null, null, Map.of(), false, null, null, "GBP");
+        BigDecimal rackInGbp = fx.convert(new BigDecimal("1000.00"), "EUR", "GBP");
+
+        for (ArithmeticMode mode : ArithmeticMode.values()) {
+            PricingEngine engine = engine(new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                    VolumeDiscountTables.legacy(5, 10),
+                    new PricingRules.BundleDiscount(80, 5),
+                    new PricingRules.TierDiscount(15, 20),
+                    new PricingRules.SupportAddOn(15, 20))), new FxRateRegistry(fx), mode, List.of(contracts));
+
+            // When
+            PricingResult result = engine.calculatePrice(gbp);
+
+            // Then: contract prices are converted like list prices, the PSU cap applies in USD
+            assertThat(result.getAppliedStrategies()).as(mode.name())
+                    .startsWith("ContractPrice", "CurrencyConversion");
+            assertThat(unitPrice(result, "SW-1")).as(mode.name()).isEqualByComparingTo("1350.00");
+            assertThat(unitPrice(result, "PSU-1")).as(mode.name()).isEqualByComparingTo("225.00");
+            assertThat(unitPrice(result, "RACK-42U")).as(mode.name()).isEqualByComparingTo(rackInGbp);
+
+            // And: the contract note reports totals in GBP
+            PricingNote note = result.getNotes().stream()
+                    .filter(n -> n.code() == PricingNote.Code.CONTRACT_PRICE)
+                    .findFirst()
+                    .orElseThrow();
+            assertThat((BigDecimal) note.params().get("listTotal")).as(mode.name())
+                    .isEqualByComparingTo(new BigDecimal("12524.18").add(new BigDecimal("937.50")));
+            assertThat((BigDecimal) note.params().get("contractTotal")).as(mode.name())
+                    .isEqualByComparingTo(new BigDecimal("11250.00").add(rackInGbp));
+        }
+    }
+
+    @Test
+    @DisplayName("Should flag results priced from last known catalog prices and refuse to drop unpriced lines")
+    void shouldPriceDegradedFromSnapshot() {
+        // Given: the catalog is down; the switch and rack were seen before, the PSU was not
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99"))
+                        .withSource(ProductResponse.Source.SNAPSHOT),
+                "PSU-1", new ProductResponse("p2", "PSU-1", "PSU", "PSU", new BigDecimal("349.50")),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1200.00"))
+                        .withSource(ProductResponse.Source.SNAPSHOT)));
+        PricingRequest request = new PricingRequest("cfg-1", null, null, null, Map.of());
+
+        // When
+        PricingResult degraded = engine.calculatePrice(request);
+
+        // Then: nothing is dropped
+        assertThat(degraded.isDegraded()).isTrue();
+        assertThat(degraded.getLineItems()).hasSize(3);
+        assertThat(degraded.getNotes()).anySatisfy(note -> {
+            assertThat(note.code()).isEqualTo(PricingNote.Code.CATALOG_FALLBACK);
+            assertThat(note.render()).contains("2 product(s)", "RACK-42U, SW-1");
+        });
+
+        // Given: now the PSU cannot be priced at all
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99")),
+                "PSU-1", ProductResponse.unavailable("PSU-1"),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1200.00"))));
+
+        assertThatThrownBy(() -> engine.calculatePrice(request))
+                .isInstanceOf(CatalogUnavailableException.class)
+                .hasMessageContaining("PSU-1");
+    }
+
+    @Test
+    @DisplayName("Should compute margins from catalog costs and flag stacked discounts for approval")
+    void shouldFlagLowMarginsForApproval() {
+        // Given: minimum 15% order margin and 10% line margin; the PSU sells close to cost
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99"),
+                        "USD", new BigDecimal("1500.00"), null),
+                "PSU-1", new ProductResponse("p2", "PSU-1", "PSU", "PSU", new BigDecimal("349.50"),
+                        "USD", new BigDecimal("340.00"), null),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1200.00"),
+                        "USD", new BigDecimal("700.00"), null)));
+        PricingEngine engine = engine(new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                VolumeDiscountTables.legacy(5, 10),
+                new PricingRules.BundleDiscount(80, 5),
+                new PricingRules.TierDiscount(15, 20),
+                new PricingRules.SupportAddOn(15, 20),
+                new PricingRules.MarginApproval(15, 10))));
+
+        // When: volume discount only, then stacked with the partner discount
+        PricingResult list = engine.calculatePrice(new PricingRequest("cfg-1", null, null, null, Map.of()));
+        PricingResult partner = engine.calculatePrice(new PricingRequest("cfg-1", "PARTNER", null, null, Map.of()));
+
+        // Then: 16298.93 after volume discount against 13380.00 cost
+        assertThat(list.getTotalCost()).isEqualByComparingTo("13380.00");
+        assertThat(list.getMargin()).isEqualByComparingTo("2918.93");
+        assertThat(list.getMarginPercent()).isEqualByComparingTo("17.91");
+        assertThat(list.getLineItems()).filteredOn(item -> item.getProductSku().equals("PSU-1"))
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getMargin()).isEqualByComparingTo("19.00");
+                    assertThat(item.getMarginPercent()).isEqualByComparingTo("2.72");
+                });
+        assertThat(list.isApprovalRequired()).isTrue();
+        assertThat(list.getNotes()).extracting(PricingNote::code)
+                .contains(PricingNote.Code.LINE_MARGIN_APPROVAL)
+                .doesNotContain(PricingNote.Code.MARGIN_APPROVAL);
+
+        assertThat(partner.getMargin()).isEqualByComparingTo(
+                partner.getSubtotal().subtract(partner.getTotalDiscount()).subtract(partner.getTotalCost()));
+        assertThat(partner.getMarginPercent()).isLessThan(new BigDecimal("15"));
+        assertThat(partner.getNotes()).extracting(PricingNote::code)
+                .contains(PricingNote.Code.MARGIN_APPROVAL, PricingNote.Code.LINE_MARGIN_APPROVAL);
+
+        // And: nothing is flagged when the catalog has no cost prices
+        when(catalogClient.getProductsBySkus(anyCollection())).thenReturn(Map.of(
+                "SW-1", new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("1999.99")),
+                "PSU-1", new ProductResponse("p2", "PSU-1", "PSU", "PSU", new BigDecimal("349.50")),
+                "RACK-42U", new ProductResponse("p3", "RACK-42U", "Rack", "RACK", new BigDecimal("1200.00"))));
+        PricingResult uncosted = engine.calculatePrice(new PricingRequest("cfg-1", "PARTNER", null, null, Map.of()));
+        assertThat(uncosted.getTotalCost()).isNull();
+        assertThat(uncosted.isApprovalRequired()).isFalse();
+    }
+
+    private BigDecimal unitPrice(PricingResult result, String sku) {
+        return result.getLineItems().stream()
+                .filter(item -> item.getProductSku().equals(sku))
+                .findFirst()
+                .orElseThrow()
+                .getUnitPrice();
+    }
+
+    private PricingEngine engine(PricingRulesRegistry rules) {
+        return engine(rules, new FxRateRegistry(FxRates.baseOnly("USD")));
+    }
+
+    private PricingEngine engine(PricingRulesRegistry rules, FxRateRegistry fx) {
+        return engine(rules, fx, ArithmeticMode.BIG_DECIMAL, List.of());
+    }
+
+    private PricingEngine engine(PricingRulesRegistry rules, FxRateRegistry fx, ArithmeticMode mode,
+                                 List<PricingStrategy> extraStrategies) {
+        List<PricingStrategy> strategies = new ArrayList<>(extraStrategies);
+        strategies.addAll(List.of(
+                new CurrencyConversionStrategy(),
+                new SupportAddOnStrategy(15, 20),
+                new PartnerDiscountStrategy(15, 20),
+                new BundleDiscountStrategy(80, 5),
+                new VolumeDiscountStrategy(5, 10),
+                new BasePriceStrategy()));
+        // Cache disabled so every calculatePrice call really runs the pipeline
+        PricingResultCache cache = new PricingResultCache(false, 10, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        return new PricingEngine(strategies, catalogClient, configurationClient, cache, rules,
+                new PromotionRegistry(PromotionIndex.EMPTY), fx, new SimpleMeterRegistry(), mode);
+    }
+}
@@ -0,0 +1,102 @@
+package com.netconfig.pricing.engine;
+
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.strategy.PricingStrategy;
+import com.netconfig.pricing.strategy.StrategyTrigger;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.PartnerDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.VolumeDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for StrategyPipeline.
+ */
+class StrategyPipelineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VolumeDiscountStrategy volume;
+    private PartnerDiscountStrategy partner;
+    private StrategyPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        volume = spy(new VolumeDiscountStrategy(5, 10));
+        partner = spy(new PartnerDiscountStrategy(15, 20));
+        List<PricingStrategy> strategies = List.of(new BasePriceStrategy(), volume, partner);
+        pipeline = new StrategyPipeline(strategies, null, ArithmeticMode.BIG_DECIMAL, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should not invoke strategies whose trigger does not match")
+    void shouldSkipNonApplicableStrategies() {
+        // Given: 3 switches (threshold 5) and no customer tier
+        PricingContext context = context(3, null);
+
+        // When
+        PricingResult result = pipeline.run(context);
+
+        // Then
+        verify(volume, never()).apply(any(), any());
+        verify(partner, never()).apply(any(), any());
+        assertThat(result.getAppliedStrategies()).containsExactly("BasePrice");
+    }
+
+    @Test
+    @DisplayName("Should reuse the compiled pipeline for the same trigger signature")
+    void shouldCachePipelinePerSignature() {
+        pipeline.run(context(6, "PARTNER"));
+        pipeline.run(context(8, "partner"));
+        pipeline.run(context(1, null));
+
+        assertThat(pipeline.compiledPipelineCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should time every applied strategy")
+    void shouldTimeStrategies() {
+        pipeline.run(context(6, "ENTERPRISE"));
+
+        assertThat(meterRegistry.get(StrategyPipeline.TIMER_NAME).tag("strategy", "VolumeDiscount").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(StrategyPipeline.TIMER_NAME).tag("strategy", "PartnerDiscount").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Trigger should match tiers case-insensitively and require utilization when set")
+    void triggerShouldMatchConditions() {
+        StrategyTrigger trigger = StrategyTrigger.ALWAYS.forTiers("PARTNER").withMinRackUtilization(80);
+        PricingContext context = context(0, "partner");
+
+        assertThat(trigger.matches(context)).isFalse();
+
+        context.setRackUnitsUsed(40);
+        context.setRackCapacity(42);
+        assertThat(trigger.matches(context)).isTrue();
+    }
+
+    private PricingContext context(int switches, String tier) {
+        List<PricingLineItem> items = new ArrayList<>();
+        items.add(new PricingLineItem("SW-1", "Switch", "SWITCH", switches, new BigDecimal("1000.00")));
+        items.add(new PricingLineItem("PSU-1", "PSU", "PSU", 2, new BigDecimal("300.00")));
+        PricingContext context = new PricingContext("cfg-1", items);
+        context.setCustomerTier(tier);
+        return context;
+    }
+}
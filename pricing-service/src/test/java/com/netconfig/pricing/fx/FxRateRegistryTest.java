@@ -0,0 +1,83 @@
+package com.netconfig.pricing.fx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FxRates and FxRateRegistry.
+ */
+class FxRateRegistryTest {
+
+    @Test
+    @DisplayName("Should convert between two currencies through the base")
+    void shouldConvertThroughBase() {
+        FxRates fx = FxRates.of("USD", Instant.parse("2026-10-19T00:00:00Z"),
+                Map.of("EUR", new BigDecimal("0.80"), "GBP", new BigDecimal("0.60")));
+
+        assertThat(fx.convert(new BigDecimal("100.00"), "EUR", "USD")).isEqualByComparingTo("125.00");
+        assertThat(fx.convert(new BigDecimal("100.00"), "EUR", "GBP")).isEqualByComparingTo("75.00");
+        assertThat(fx.convert(new BigDecimal("100.00"), "USD", "USD")).isEqualByComparingTo("100.00");
+        assertThatThrownBy(() -> fx.rate("USD", "CHF"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No FX rate for CHF");
+    }
+
+    @Test
+    @DisplayName("Should derive the snapshot ID from the rates, not from the order or scale they were given in")
+    void shouldDeriveIdFromContent() {
+        Instant asOf = Instant.parse("2026-10-19T00:00:00Z");
+        FxRates a = FxRates.of("USD", asOf, Map.of("EUR", new BigDecimal("0.92"), "GBP", new BigDecimal("0.79")));
+        FxRates b = FxRates.of("usd", asOf, Map.of("gbp", new BigDecimal("0.7900"), "EUR", new BigDecimal("0.92")));
+        FxRates c = FxRates.of("USD", asOf, Map.of("EUR", new BigDecimal("0.93"), "GBP", new BigDecimal("0.79")));
+
+        assertThat(a.getId()).isEqualTo(b.getId());
+        assertThat(a.getId()).isNotEqualTo(c.getId());
+    }
+
+    @Test
+    @DisplayName("Should swap in changed rates, keep old snapshots by ID and survive a bad file")
+    void shouldRefreshFromFile(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("fx-rates.json");
+        Files.writeString(file, """
+                {"base": "USD", "asOf": "2026-10-19T00:00:00Z", "rates": {"EUR": 0.92}}
+                """);
+        FxRateRegistry registry = new FxRateRegistry("USD", "file:" + file, Duration.ofHours(1),
+                new DefaultResourceLoader(), new ObjectMapper().registerModule(new JavaTimeModule()));
+        try {
+            FxRates first = registry.current();
+            assertThat(first.require("EUR")).isEqualByComparingTo("0.92");
+
+            // When: refreshed unchanged, then with new rates, then with a broken file
+            assertThat(registry.refresh().getId()).isEqualTo(first.getId());
+            Files.writeString(file, """
+                    {"base": "USD", "asOf": "2026-10-20T00:00:00Z", "rates": {"EUR": 0.93, "GBP": 0.79}}
+                    """);
+            FxRates second = registry.refresh();
+            Files.writeString(file, "{\"rates\": {\"EUR\": -1}}");
+
+            // Then
+            assertThatThrownBy(registry::refresh).isInstanceOf(IllegalArgumentException.class);
+            assertThat(registry.current()).isSameAs(second);
+            assertThat(second.getId()).isNotEqualTo(first.getId());
+            assertThat(second.supports("GBP")).isTrue();
+            assertThat(registry.find(first.getId())).containsSame(first);
+        } finally {
+            registry.shutdown();
+        }
+    }
+}
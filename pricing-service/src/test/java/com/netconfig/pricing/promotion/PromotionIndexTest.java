@@ -0,0 +1,111 @@
+package com.netconfig.pricing.promotion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the promotion index and its registry.
+ */
+class PromotionIndexTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String[] TYPES = {"SWITCH", "PSU", "RACK"};
+
+    @Test
+    @DisplayName("Should find exactly the active promotions among tens of thousands")
+    void shouldMatchLinearScan() {
+        // Given: 30,000 promotions over a year across 500 SKUs, 3 types and all products
+        Random random = new Random(3);
+        List<Promotion> promotions = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            Instant from = START.plus(random.nextInt(365 * 24), ChronoUnit.HOURS);
+            Instant until = from.plus(1 + random.nextInt(30 * 24), ChronoUnit.HOURS);
+            int scope = random.nextInt(10);
+            promotions.add(new Promotion("P" + i, "Promotion " + i,
+                    scope < 8 ? "SKU-" + random.nextInt(500) : null,
+                    scope == 8 ? TYPES[random.nextInt(TYPES.length)] : null,
+                    null, 1 + random.nextInt(5000), from, until));
+        }
+
+        // When
+        PromotionIndex index = PromotionIndex.of(1, promotions);
+
+        // Then: every query agrees with a linear scan, including window boundaries
+        for (int q = 0; q < 500; q++) {
+            Promotion probe = promotions.get(random.nextInt(promotions.size()));
+            Instant at = switch (q % 3) {
+                case 0 -> probe.validFrom();
+                case 1 -> probe.validUntil();
+                default -> START.plus(random.nextInt(400 * 24), ChronoUnit.HOURS);
+            };
+            String sku = "SKU-" + random.nextInt(500);
+            String type = TYPES[random.nextInt(TYPES.length)];
+
+            List<Promotion> expected = promotions.stream()
+                    .filter(p -> p.isActiveAt(at))
+                    .filter(p -> sku.equals(p.sku()) || type.equals(p.productType())
+                            || (p.sku() == null && p.productType() == null))
+                    .toList();
+            assertThat(index.activeFor(sku, type, at)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick the best promotion for the tier and change epoch only at window boundaries")
+    void shouldPickBestPromotionAndTrackEpochs() {
+        Instant jan10 = START.plus(9, ChronoUnit.DAYS);
+        Instant feb1 = START.plus(31, ChronoUnit.DAYS);
+        PromotionIndex index = PromotionIndex.of(1, List.of(
+                new Promotion("ALL", "Winter sale", null, null, null, 500, START, feb1),
+                new Promotion("SW", "Switch week", null, "SWITCH", null, 1000, jan10, jan10.plus(7, ChronoUnit.DAYS)),
+                new Promotion("PARTNER", "Partner deal", "SW-1", null, "PARTNER", 1500, START, feb1)));
+
+        assertThat(index.bestFor("SW-1", "SWITCH", "STANDARD", START).id()).isEqualTo("ALL");
+        assertThat(index.bestFor("SW-1", "SWITCH", "STANDARD", jan10).id()).isEqualTo("SW");
+        assertThat(index.bestFor("SW-1", "SWITCH", "partner", jan10).id()).isEqualTo("PARTNER");
+        assertThat(index.bestFor("PSU-1", "PSU", null, feb1)).isNull();
+
+        assertThat(index.epochAt(START)).isEqualTo(index.epochAt(jan10.minusMillis(1)));
+        assertThat(index.epochAt(jan10)).isNotEqualTo(index.epochAt(jan10.minusMillis(1)));
+        assertThat(PromotionIndex.of(2, List.of()).epochAt(START)).isNotEqualTo(PromotionIndex.EMPTY.epochAt(START));
+    }
+
+    @Test
+    @DisplayName("Should load promotions from CSV and keep the old index when the file is invalid")
+    void shouldReloadFromCsv(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("promotions.csv");
+        Files.writeString(file, """
+                id,description,sku,productType,customerTier,percent,validFrom,validUntil
+                SPRING,Spring sale,,SWITCH,,12.5,2026-03-01T00:00:00Z,2026-04-01T00:00:00Z
+                """);
+        PromotionRegistry registry = new PromotionRegistry(file.toUri().toString(), new DefaultResourceLoader());
+
+        // When: the window is reversed in the new file
+        Files.writeString(file, """
+                SPRING,Spring sale,,SWITCH,,12.5,2026-04-01T00:00:00Z,2026-03-01T00:00:00Z
+                """);
+
+        // Then
+        assertThatThrownBy(registry::reload)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+        Promotion spring = registry.current().bestFor("SW-1", "SWITCH", null, Instant.parse("2026-03-15T00:00:00Z"));
+        assertThat(spring.basisPoints()).isEqualTo(1250);
+        assertThat(spring.percentLabel()).isEqualTo("12.5");
+        assertThat(registry.getSummary()).containsEntry("version", 1L).containsEntry("promotions", 1);
+    }
+}
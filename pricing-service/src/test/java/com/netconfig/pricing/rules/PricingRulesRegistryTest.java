@@ -0,0 +1,88 @@
+package com.netconfig.pricing.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PricingRulesRegistry.
+ */
+class PricingRulesRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should use properties for sections missing from the rules file")
+    void shouldFallBackToPropertiesPerSection() throws Exception {
+        // Given: the file only sets the bundle discount
+        Path file = write("""
+                {"bundleDiscount": {"capacityThreshold": 60, "discountPercent": 7}}
+                """);
+
+        // When
+        PricingRules rules = registry(file).current();
+
+        // Then
+        assertThat(rules.version()).isEqualTo(1);
+        assertThat(rules.bundleDiscount()).isEqualTo(new PricingRules.BundleDiscount(60, 7));
+        assertThat(rules.tierDiscount()).isEqualTo(new PricingRules.TierDiscount(15, 20));
+        assertThat(rules.volumeDiscount().getProductTypeTables()).containsOnlyKeys("SWITCH");
+    }
+
+    @Test
+    @DisplayName("Should swap in the next version on reload and keep the current one when the file is invalid")
+    void shouldReloadAtomically() throws Exception {
+        // Given
+        Path file = write("""
+                {"tierDiscount": {"partnerPercent": 15, "enterprisePercent": 20}}
+                """);
+        PricingRulesRegistry registry = registry(file);
+
+        // When: the partner discount is raised and volume tiers are added
+        Files.writeString(file, """
+                {"tierDiscount": {"partnerPercent": 18, "enterprisePercent": 20},
+                 "volumeDiscount": {"productTypes": {"SWITCH": {"tiers": [
+                     {"minQuantity": 6, "percent": 10},
+                     {"minQuantity": 11, "percent": 15}]}}}}
+                """);
+        PricingRules reloaded = registry.reload();
+
+        // Then
+        assertThat(reloaded.version()).isEqualTo(2);
+        assertThat(registry.current()).isSameAs(reloaded);
+        assertThat(reloaded.tierDiscount().partnerPercent()).isEqualTo(18);
+        assertThat(reloaded.volumeDiscount().getProductTypeTables().get("SWITCH").size()).isEqualTo(2);
+
+        // When: a section is incomplete, a key is misspelled or a percentage is out of range
+        for (String invalid : new String[] {
+                "{\"tierDiscount\": {\"partnerPercent\": 18}}",
+                "{\"bundleDiscounts\": {\"capacityThreshold\": 60, \"discountPercent\": 7}}",
+                "{\"supportAddOn\": {\"standardPercent\": 15, \"premiumPercent\": 120}}"}) {
+            Files.writeString(file, invalid);
+
+            // Then
+            assertThatThrownBy(registry::reload).isInstanceOf(IllegalArgumentException.class);
+            assertThat(registry.current()).isSameAs(reloaded);
+        }
+    }
+
+    private Path write(String json) throws Exception {
+        Path file = dir.resolve("pricing-rules.json");
+        Files.writeString(file, json);
+        return file;
+    }
+
+    private PricingRulesRegistry registry(Path file) {
+        return new PricingRulesRegistry(5, 10, 80, 5, 15, 20, 15, 20, 15, 0,
+                file.toUri().toString(), new DefaultResourceLoader(), new ObjectMapper());
+    }
+}
@@ -0,0 +1,103 @@
+package com.netconfig.pricing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.client.dto.ConfigurationItemResponse;
+import com.netconfig.pricing.client.dto.ConfigurationResponse;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.dto.BatchPricingResult;
+import com.netconfig.pricing.dto.PricingRequest;
+import com.netconfig.pricing.engine.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BatchPricingService.
+ */
+class BatchPricingServiceTest {
+
+    private PricingEngine engine;
+    private BatchPricingService service;
+
+    @BeforeEach
+    void setUp() {
+        engine = mock(PricingEngine.class);
+        // Run everything on the calling thread to keep the test deterministic
+        service = new BatchPricingService(engine, Runnable::run, new ObjectMapper(), 3, 1000);
+    }
+
+    @Test
+    @DisplayName("Should fetch products once for the whole batch and report per-item failures")
+    void shouldPriceBatchWithSingleCatalogFetch() {
+        // Given: two known configurations and one unknown
+        ConfigurationResponse first = configuration("cfg-1");
+        ConfigurationResponse second = configuration("cfg-2");
+        when(engine.resolveConfiguration(request("cfg-1"))).thenReturn(first);
+        when(engine.resolveConfiguration(request("cfg-2"))).thenReturn(second);
+        when(engine.resolveConfiguration(request("missing")))
+                .thenThrow(new IllegalArgumentException("Configuration not found: missing"));
+
+        Map<String, ProductResponse> products = Map.of("SW-1",
+                new ProductResponse("p1", "SW-1", "Switch", "SWITCH", new BigDecimal("100.00")));
+        when(engine.fetchProducts(anyCollection())).thenReturn(products);
+        when(engine.calculatePrice(any(ConfigurationResponse.class), any(PricingRequest.class), anyMap()))
+                .thenAnswer(inv -> new PricingResult(((ConfigurationResponse) inv.getArgument(0)).id()));
+
+        List<BatchPricingResult> lines = new CopyOnWriteArrayList<>();
+
+        // When
+        service.calculateBatch(List.of(request("cfg-1"), request("missing"), request("cfg-2")), lines::add)
+                .join();
+
+        // Then
+        verify(engine, times(1)).fetchProducts(List.of(first, second));
+        verify(engine).calculatePrice(eq(first), any(PricingRequest.class), eq(products));
+        assertThat(lines).hasSize(3);
+        assertThat(lines).filteredOn(BatchPricingResult::success)
+                .extracting(BatchPricingResult::index)
+                .containsExactlyInAnyOrder(0, 2);
+        assertThat(lines).filteredOn(line -> !line.success())
+                .singleElement()
+                .satisfies(line -> {
+                    assertThat(line.index()).isEqualTo(1);
+                    assertThat(line.error()).contains("not found");
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the configured maximum")
+    void shouldRejectOversizedBatch() {
+        List<PricingRequest> requests = Collections.nCopies(4, request("cfg-1"));
+
+        assertThatThrownBy(() -> service.calculateBatch(requests, line -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max 3");
+    }
+
+    private ConfigurationResponse configuration(String id) {
+        return new ConfigurationResponse(id, "Test", "customer-1", null,
+                List.of(new ConfigurationItemResponse("item-1", "SW-1", "Switch", 1)));
+    }
+
+    private PricingRequest request(String configurationId) {
+        return new PricingRequest(configurationId, null, null, null, null);
+    }
+}
@@ -0,0 +1,128 @@
+package com.netconfig.pricing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netconfig.pricing.cache.PricingResultCache;
+import com.netconfig.pricing.client.CatalogClient;
+import com.netconfig.pricing.client.ConfigurationClient;
+import com.netconfig.pricing.client.dto.ProductResponse;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
+import com.netconfig.pricing.engine.ArithmeticMode;
+import com.netconfig.pricing.engine.PricingEngine;
+import com.netconfig.pricing.fx.FxRateRegistry;
+import com.netconfig.pricing.fx.FxRates;
+import com.netconfig.pricing.pricelist.PriceListFormat;
+import com.netconfig.pricing.pricelist.PriceListJob;
+import com.netconfig.pricing.pricelist.PriceListRow;
+import com.netconfig.pricing.promotion.PromotionIndex;
+import com.netconfig.pricing.promotion.PromotionRegistry;
+import com.netconfig.pricing.rules.PricingRules;
+import com.netconfig.pricing.rules.PricingRulesRegistry;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.PartnerDiscountStrategy;
+import com.netconfig.pricing.strategy.impl.SupportAddOnStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PriceListService.
+ */
+class PriceListServiceTest {
+
+    private CatalogClient catalogClient;
+    private PricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(CatalogClient.class);
+        PricingRulesRegistry rules = new PricingRulesRegistry(new PricingRules(1, "test", Instant.now(),
+                VolumeDiscountTables.legacy(5, 10),
+                new PricingRules.BundleDiscount(80, 5),
+                new PricingRules.TierDiscount(15, 20),
+                new PricingRules.SupportAddOn(15, 20)));
+        engine = new PricingEngine(
+                List.of(new SupportAddOnStrategy(15, 20), new PartnerDiscountStrategy(15, 20), new BasePriceStrategy()),
+                catalogClient, mock(ConfigurationClient.class),
+                new PricingResultCache(false, 10, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                rules, new PromotionRegistry(PromotionIndex.EMPTY), new FxRateRegistry(FxRates.baseOnly("USD")),
+                new SimpleMeterRegistry(), ArithmeticMode.BIG_DECIMAL);
+    }
+
+    @Test
+    @DisplayName("Should page through the catalog and write every SKU x tier x support row")
+    void shouldWritePriceListPageByPage(@TempDir Path dir) throws Exception {
+        // Given: three products in pages of two
+        when(catalogClient.scanActiveProducts(isNull(), anyInt())).thenReturn(List.of(
+                product("PSU-1", "PSU, 1100W", "PSU", "349.50"),
+                product("RACK-42U", "Rack", "RACK", "1200.00")));
+        when(catalogClient.scanActiveProducts("RACK-42U", 2)).thenReturn(List.of(
+                product("SW-1", "Switch", "SWITCH", "1999.99")));
+        PriceListService service = service(dir);
+
+        // When
+        PriceListJob job = service.start(PriceListFormat.CSV);
+
+        // Then: 3 products x 3 tiers x 3 support options, plus the header
+        assertThat(job.getState()).isEqualTo(PriceListJob.State.COMPLETED);
+        assertThat(job.getPages()).isEqualTo(2);
+        assertThat(job.getProductsPriced()).isEqualTo(3);
+        assertThat(job.getRowsWritten()).isEqualTo(27);
+
+        List<String> lines = Files.readAllLines(service.getFile(job.getId()));
+        assertThat(lines).hasSize(28);
+        assertThat(lines.get(0)).isEqualTo(PriceListRow.CSV_HEADER);
+        assertThat(lines).contains(
+                "PSU-1,\"PSU, 1100W\",PSU,STANDARD,NONE,349.50,0,0,349.50,USD",
+                "SW-1,Switch,SWITCH,PARTNER,NONE,1999.99,300.00,0,1699.99,USD");
+        assertThat(Files.list(dir)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fail the job without a file when the catalog cannot be read")
+    void shouldFailJobOnCatalogError(@TempDir Path dir) throws Exception {
+        // Given
+        when(catalogClient.scanActiveProducts(isNull(), anyInt())).thenReturn(List.of(
+                product("PSU-1", "PSU", "PSU", "349.50"),
+                product("RACK-42U", "Rack", "RACK", "1200.00")));
+        when(catalogClient.scanActiveProducts("RACK-42U", 2))
+                .thenThrow(new IllegalStateException("Catalog unavailable"));
+        PriceListService service = service(dir);
+
+        // When
+        PriceListJob job = service.start(PriceListFormat.NDJSON);
+
+        // Then
+        verify(catalogClient).scanActiveProducts("RACK-42U", 2);
+        assertThat(job.getState()).isEqualTo(PriceListJob.State.FAILED);
+        assertThat(job.getError()).contains("Catalog unavailable");
+        assertThat(Files.list(dir)).isEmpty();
+        assertThatThrownBy(() -> service.getFile(job.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PriceListService service(Path dir) {
+        // Run the job on the calling thread to keep the test deterministic
+        return new PriceListService(engine, catalogClient, new ObjectMapper(), Runnable::run, dir, 2, 2);
+    }
+
+    private ProductResponse product(String sku, String name, String type, String price) {
+        return new ProductResponse("id-" + sku, sku, name, type, new BigDecimal(price));
+    }
+}
@@ -0,0 +1,73 @@
+package com.netconfig.pricing.strategy;
+
+import com.netconfig.pricing.contract.ContractPriceBook;
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.ContractPriceStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.netconfig.pricing.contract.ContractPriceBook.NOT_SET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ContractPriceStrategy.
+ */
+class ContractPriceStrategyTest {
+
+    private ContractPriceStrategy strategy;
+    private final BasePriceStrategy basePrice = new BasePriceStrategy();
+
+    @BeforeEach
+    void setUp() {
+        // ACME pays $800 for SW-1 and at most $200 for PSU-1
+        strategy = new ContractPriceStrategy(new ContractPriceBook.Builder()
+                .add("ACME", "SW-1", 80_000, NOT_SET, NOT_SET)
+                .add("ACME", "PSU-1", NOT_SET, 20_000, NOT_SET)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should reprice contract SKUs before base price totals")
+    void shouldApplyContractPricesBeforeBasePrice() {
+        // Given: 2 x SW-1 at $1000 and 1 x PSU-1 at $300 list
+        PricingContext context = context("ACME");
+
+        // When
+        PricingResult result = basePrice.apply(context, strategy.apply(context, new PricingResult("config-1")));
+
+        // Then: 2 x $800 + $200 = $1800
+        assertThat(result.getSubtotal()).isEqualByComparingTo("1800.00");
+        assertThat(result.getLineItems().get(0).getUnitPrice()).isEqualByComparingTo("800.00");
+        assertThat(result.getAppliedStrategies()).containsExactly("ContractPrice", "BasePrice");
+        assertThat(result.getDiscountDescriptions()).containsExactly(
+                "Contract pricing for customer ACME: 2 line(s) at contract prices (list $2300.00, contract $1800.00)");
+    }
+
+    @Test
+    @DisplayName("Should leave catalog prices for customers without a contract")
+    void shouldIgnoreCustomersWithoutContract() {
+        PricingContext context = context("OTHER");
+
+        PricingResult result = basePrice.apply(context, strategy.apply(context, new PricingResult("config-1")));
+
+        assertThat(result.getSubtotal()).isEqualByComparingTo("2300.00");
+        assertThat(result.getAppliedStrategies()).doesNotContain("ContractPrice");
+    }
+
+    private PricingContext context(String customerId) {
+        List<PricingLineItem> items = new ArrayList<>();
+        items.add(new PricingLineItem("SW-1", "Switch", "SWITCH", 2, new BigDecimal("1000.00")));
+        items.add(new PricingLineItem("PSU-1", "PSU", "PSU", 1, new BigDecimal("300.00")));
+        PricingContext context = new PricingContext("config-1", items);
+        context.setCustomerId(customerId);
+        return context;
+    }
+}
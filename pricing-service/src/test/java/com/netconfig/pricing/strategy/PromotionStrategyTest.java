@@ -0,0 +1,69 @@
+package com.netconfig.pricing.strategy;
+
+import com.netconfig.pricing.domain.PricingContext;
+import com.netconfig.pricing.domain.PricingLineItem;
+import com.netconfig.pricing.domain.PricingResult;
+import com.netconfig.pricing.promotion.Promotion;
+import com.netconfig.pricing.promotion.PromotionIndex;
+import com.netconfig.pricing.strategy.impl.BasePriceStrategy;
+import com.netconfig.pricing.strategy.impl.PromotionStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PromotionStrategy.
+ */
+class PromotionStrategyTest {
+
+    private static final Instant MARCH = Instant.parse("2026-03-01T00:00:00Z");
+    private static final Instant APRIL = Instant.parse("2026-04-01T00:00:00Z");
+
+    private final BasePriceStrategy basePrice = new BasePriceStrategy();
+    private final PromotionStrategy strategy = new PromotionStrategy(PromotionIndex.of(1, List.of(
+            new Promotion("SPRING", "Spring switch sale", null, "SWITCH", null, 1000, MARCH, APRIL))));
+
+    @Test
+    @DisplayName("Should discount targeted lines while the promotion is running")
+    void shouldApplyActivePromotion() {
+        // Given: 2 x $1000 switches and a $300 PSU, priced mid-March
+        PricingContext context = context(Instant.parse("2026-03-15T12:00:00Z"));
+
+        // When
+        PricingResult result = strategy.apply(context, basePrice.apply(context, new PricingResult("config-1")));
+
+        // Then: 10% off the switches only
+        assertThat(result.getTotalDiscount()).isEqualByComparingTo("200.00");
+        assertThat(result.getGrandTotal()).isEqualByComparingTo("2100.00");
+        assertThat(result.getLineItems().get(0).getDiscountReason()).isEqualTo("Promotion SPRING: 10% off");
+        assertThat(result.getAppliedStrategies()).containsExactly("BasePrice", "Promotion");
+        assertThat(result.getDiscountDescriptions()).containsExactly(
+                "Promotion SPRING (Spring switch sale): 10% off 1 line(s) - saved $200.00");
+    }
+
+    @Test
+    @DisplayName("Should not discount once the promotion has ended")
+    void shouldIgnoreExpiredPromotion() {
+        PricingContext context = context(APRIL);
+
+        PricingResult result = strategy.apply(context, basePrice.apply(context, new PricingResult("config-1")));
+
+        assertThat(result.getTotalDiscount()).isEqualByComparingTo("0");
+        assertThat(result.getAppliedStrategies()).containsExactly("BasePrice");
+    }
+
+    private PricingContext context(Instant pricedAt) {
+        List<PricingLineItem> items = new ArrayList<>();
+        items.add(new PricingLineItem("SW-1", "Switch", "SWITCH", 2, new BigDecimal("1000.00")));
+        items.add(new PricingLineItem("PSU-1", "PSU", "PSU", 1, new BigDecimal("300.00")));
+        PricingContext context = new PricingContext("config-1", items);
+        context.setPricedAt(pricedAt);
+        return context;
+    }
+}
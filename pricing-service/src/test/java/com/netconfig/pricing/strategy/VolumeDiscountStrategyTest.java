@@ -1,5 +1,7 @@
 package com.netconfig.pricing.strategy;
 
+import com.netconfig.pricing.discount.VolumeDiscountTable;
+import com.netconfig.pricing.discount.VolumeDiscountTables;
 import com.netconfig.pricing.domain.PricingContext;
 import com.netconfig.pricing.domain.PricingLineItem;
 import com.netconfig.pricing.domain.PricingResult;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -118,6 +121,36 @@ class VolumeDiscountStrategyTest {
         assertThat(result.getTotalDiscount()).isEqualByComparingTo(new BigDecimal("1100.00"));
     }
 
+    @Test
+    @DisplayName("Should apply the tier reached by each table's total quantity")
+    void shouldApplyTieredTablesPerScope() {
+        // Given: switches 6-10: 10%, 11+: 15%; SW-C9300 family 2+: 20%
+        VolumeDiscountTables tables = VolumeDiscountTables.from(new VolumeDiscountTables.Definition(
+                Map.of("SWITCH", new VolumeDiscountTables.TableDefinition(null, List.of(
+                        new VolumeDiscountTable.Tier(6, new BigDecimal("10")),
+                        new VolumeDiscountTable.Tier(11, new BigDecimal("15"))))),
+                Map.of("SW-C9300", new VolumeDiscountTables.TableDefinition(null, List.of(
+                        new VolumeDiscountTable.Tier(2, new BigDecimal("20")))))));
+        VolumeDiscountStrategy tiered = new VolumeDiscountStrategy(tables);
+
+        List<PricingLineItem> items = new ArrayList<>();
+        items.add(createSwitchItem("SW-A", 5, new BigDecimal("1000.00")));         // $5000
+        items.add(createSwitchItem("SW-B", 7, new BigDecimal("1000.00")));         // $7000
+        items.add(createSwitchItem("SW-C9300-48P", 2, new BigDecimal("3000.00"))); // $6000, own family
+
+        PricingContext context = new PricingContext("config-1", items);
+        PricingResult result = createInitialResult(items);
+
+        // When
+        result = tiered.apply(context, result);
+
+        // Then: 12 generic switches get 15% of $12000 = $1800, the family 20% of $6000 = $1200
+        assertThat(result.getTotalDiscount()).isEqualByComparingTo(new BigDecimal("3000.00"));
+        assertThat(result.getDiscountDescriptions()).containsExactly(
+                "Volume discount: 15% off switches (purchased 12, threshold 10) - saved $1800.00",
+                "Volume discount: 20% off SW-C9300 units (purchased 2, threshold 1) - saved $1200.00");
+    }
+
     // Helper methods
     private PricingLineItem createSwitchItem(String sku, int quantity, BigDecimal unitPrice) {
         return new PricingLineItem(sku, "Switch " + sku, "SWITCH", quantity, unitPrice);
@@ -1,11 +1,17 @@
 package com.netconfig.quote.client;
 
+import com.netconfig.quote.client.dto.ConfigurationResponse;
 import com.netconfig.quote.client.dto.PricingResponse;
 import com.netconfig.quote.client.dto.PricingLineItemResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -24,23 +30,43 @@ public class PricingClient {
 
     private final WebClient webClient;
 
+    @Autowired
     public PricingClient(@Value("${services.pricing.url}") String pricingServiceUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(pricingServiceUrl)
+        this(WebClient.builder().baseUrl(pricingServiceUrl));
+    }
+
+    /**
+     * Client on the given builder. JSON decimals are read as BigDecimal, so
+     * amounts and FX rates keep every digit the Pricing Service sent.
+     */
+    PricingClient(WebClient.Builder builder) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .build();
+        this.webClient = builder
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper)))
                 .build();
     }
 
     /**
-     * Calculate pricing for a configuration.
+     * Calculate pricing for a configuration the caller has already fetched.
+     * The configuration is sent inline so the Pricing Service does not fetch
+     * it again. A null currency prices in the Pricing Service's base currency.
      */
-    public Optional<PricingResponse> calculatePrice(String configurationId, String customerTier,
-                                                    boolean includeSupport, String supportTier) {
+    public Optional<PricingResponse> calculatePrice(ConfigurationResponse configuration, String customerTier,
+                                                    boolean includeSupport, String supportTier,
+                                                    String currency) {
+        String configurationId = configuration.id();
         try {
             Map<String, Object> request = new java.util.HashMap<>();
             request.put("configurationId", configurationId);
+            request.put("configuration", configuration);
             if (customerTier != null) {
                 request.put("customerTier", customerTier);
             }
+            if (currency != null) {
+                request.put("currency", currency);
+            }
             
             Map<String, Object> options = new java.util.HashMap<>();
             if (includeSupport) {
@@ -48,6 +74,8 @@ public class PricingClient {
                 options.put("support_tier", supportTier != null ? supportTier : "STANDARD");
             }
             request.put("options", options);
+            // Quotes store the discount text, so ask for it to be rendered
+            request.put("explain", true);
 
             var response = webClient.post()
                     .uri("/api/v1/pricing/calculate")
@@ -97,14 +125,34 @@ public class PricingClient {
                 toBigDecimal(data.get("serviceAddOn")),
                 toBigDecimal(data.get("grandTotal")),
                 (String) data.getOrDefault("currency", "USD"),
+                (String) data.get("fxSnapshotId"),
+                toRates((Map<String, Object>) data.getOrDefault("fxRates", Map.of())),
+                Boolean.TRUE.equals(data.get("approvalRequired")),
                 discountDescriptions
         );
     }
 
+    /**
+     * Rates by currency, exactly as sent.
+     */
+    private Map<String, BigDecimal> toRates(Map<String, Object> rates) {
+        Map<String, BigDecimal> parsed = new java.util.TreeMap<>();
+        rates.forEach((currency, rate) -> {
+            if (rate != null) {
+                parsed.put(currency, toBigDecimal(rate));
+            }
+        });
+        return parsed;
+    }
+
     private BigDecimal toBigDecimal(Object value) {
         if (value == null) return BigDecimal.ZERO;
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
         if (value instanceof Number) {
-            return BigDecimal.valueOf(((Number) value).doubleValue());
+            // Integral JSON numbers still arrive as Integer or Long
+            return new BigDecimal(value.toString());
         }
         return BigDecimal.ZERO;
     }
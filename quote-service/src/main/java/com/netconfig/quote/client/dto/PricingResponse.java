@@ -2,6 +2,7 @@ package com.netconfig.quote.client.dto;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTO for pricing data received from the Pricing Service.
@@ -14,6 +15,9 @@ public record PricingResponse(
     BigDecimal serviceAddOn,
     BigDecimal grandTotal,
     String currency,
+    String fxSnapshotId,
+    Map<String, BigDecimal> fxRates,
+    boolean approvalRequired,
     List<String> discountDescriptions
 ) {}
 
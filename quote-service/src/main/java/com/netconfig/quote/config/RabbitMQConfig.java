@@ -1,12 +1,16 @@
 package com.netconfig.quote.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 /**
  * RabbitMQ configuration for quote events.
@@ -19,6 +23,7 @@ public class RabbitMQConfig {
     public static final String QUOTE_READY_QUEUE = "quote.ready.queue";
     public static final String QUOTE_REQUESTED_ROUTING_KEY = "quote.requested";
     public static final String QUOTE_READY_ROUTING_KEY = "quote.ready";
+    public static final String PDF_LISTENER_CONTAINER_FACTORY = "pdfListenerContainerFactory";
 
     @Bean
     public TopicExchange quoteExchange() {
@@ -63,5 +68,37 @@ public class RabbitMQConfig {
         template.setMessageConverter(jsonMessageConverter);
         return template;
     }
+
+    /**
+     * Listener containers for PDF rendering. Consumers are added, up to
+     * max-workers, while messages keep waiting in the queue and stopped again
+     * when it drains. A prefetch of one leaves waiting quotes on the broker,
+     * where any idle worker or instance can take them.
+     */
+    @Bean(name = PDF_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory pdfListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${quote.pdf.workers:2}") int workers,
+            @Value("${quote.pdf.max-workers:8}") int maxWorkers,
+            @Value("${quote.pdf.prefetch:1}") int prefetch,
+            @Value("${quote.pdf.virtual-threads:false}") boolean virtualThreads) {
+        if (workers < 1 || maxWorkers < workers) {
+            throw new IllegalArgumentException(
+                    "PDF workers must satisfy 1 <= workers <= max-workers: " + workers + ", " + maxWorkers);
+        }
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(workers);
+        factory.setMaxConcurrentConsumers(maxWorkers);
+        factory.setPrefetchCount(prefetch);
+        // Scale up after a few busy receives instead of the default ten, at most every 2s
+        factory.setConsecutiveActiveTrigger(3);
+        factory.setStartConsumerMinInterval(2000L);
+        if (virtualThreads) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("quote-pdf-"));
+        }
+        return factory;
+    }
 }
 
@@ -1,18 +1,22 @@
 package com.netconfig.quote.controller;
 
 import com.netconfig.common.dto.ApiResponse;
+import com.netconfig.common.exception.ResourceNotFoundException;
 import com.netconfig.quote.domain.Quote;
 import com.netconfig.quote.domain.QuoteStatus;
 import com.netconfig.quote.dto.CreateQuoteRequest;
 import com.netconfig.quote.dto.QuoteResponse;
+import com.netconfig.quote.pdf.PdfFileSender;
 import com.netconfig.quote.service.QuoteService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 /**
  * REST controller for quote operations.
@@ -22,9 +26,11 @@ import java.util.Map;
 public class QuoteController {
 
     private final QuoteService quoteService;
+    private final PdfFileSender pdfSender;
 
-    public QuoteController(QuoteService quoteService) {
+    public QuoteController(QuoteService quoteService, PdfFileSender pdfSender) {
         this.quoteService = quoteService;
+        this.pdfSender = pdfSender;
     }
 
     /**
@@ -149,27 +155,19 @@ public class QuoteController {
     }
 
     /**
-     * Get quote PDF (simulated).
+     * Download the quote PDF. Supports byte ranges, and If-None-Match
+     * revalidation against the ETag (the SHA-256 of the file).
      */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getQuotePdf(@PathVariable String id) {
+    public void getQuotePdf(@PathVariable String id, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
         Quote quote = quoteService.getQuote(id);
-        
-        if (quote.getPdfUrl() == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error("PDF not yet generated"));
+
+        if (quote.getPdfHash() == null) {
+            throw new ResourceNotFoundException("Quote PDF", id);
         }
-        
-        // In production, this would return the actual PDF or redirect to storage
-        Map<String, Object> pdfInfo = Map.of(
-                "quoteId", quote.getId(),
-                "quoteNumber", quote.getQuoteNumber(),
-                "pdfUrl", quote.getPdfUrl(),
-                "generatedAt", quote.getPdfGeneratedAt(),
-                "message", "In production, this would serve the actual PDF file"
-        );
-        
-        return ResponseEntity.ok(ApiResponse.success(pdfInfo));
+
+        pdfSender.send(quote.getPdfHash(), quote.getQuoteNumber() + ".pdf", request, response);
     }
 }
 
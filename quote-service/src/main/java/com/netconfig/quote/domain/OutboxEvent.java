@@ -0,0 +1,108 @@
+package com.netconfig.quote.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Message waiting to be published to RabbitMQ, written in the same
+ * transaction as the change it announces (transactional outbox).
+ * The relay claims rows in id order for a while ({@code claimedUntil}),
+ * publishes them and stamps {@code publishedAt}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_published_at", columnList = "publishedAt, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // AMQP message ID; the ID of the event in the payload
+    @Column(nullable = false)
+    private String messageId;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    // Type header for the JSON message converter
+    private String typeId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+
+    // Claim of the relay instance publishing the row; expired claims are taken over
+    private Instant claimedUntil;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String messageId, String exchange, String routingKey, String typeId, String payload) {
+        this.messageId = messageId;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.typeId = typeId;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public String getTypeId() {
+        return typeId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(Instant claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+}
@@ -5,14 +5,19 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Quote entity - an immutable pricing snapshot.
  * Stored in PostgreSQL for ACID compliance.
  */
 @Entity
-@Table(name = "quotes")
+@Table(name = "quotes", indexes = {
+    // Expiration job: open quotes past expiresAt
+    @Index(name = "idx_quotes_status_expires_at", columnList = "status, expiresAt")
+})
 public class Quote {
 
     @Id
@@ -47,11 +52,31 @@ public class Quote {
 
     private String currency = "USD";
 
+    // FX rate snapshot the prices were converted with, to reproduce the quote
+    private String fxSnapshotId;
+
+    // The snapshot's rates the prices depend on (units per unit of its base currency).
+    // Kept here because the pricing service only remembers recent snapshots.
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "quote_fx_rates", joinColumns = @JoinColumn(name = "quote_id"))
+    @MapKeyColumn(name = "currency", length = 3)
+    @Column(name = "rate", precision = 38, scale = 18)
+    private Map<String, BigDecimal> fxRates = new HashMap<>();
+
+    // Discounts leave a margin below the pricing minimum; needs sign-off before sending.
+    // Defaulted so the column can be added to a table that already has quotes.
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean approvalRequired;
+
     @Enumerated(EnumType.STRING)
     private QuoteStatus status = QuoteStatus.PENDING;
 
     private String pdfUrl;
 
+    // SHA-256 of the rendered PDF, its key in the content-addressed PDF store
+    @Column(length = 64)
+    private String pdfHash;
+
     @Column(nullable = false)
     private Instant createdAt;
 
@@ -175,6 +200,30 @@ public class Quote {
         this.currency = currency;
     }
 
+    public String getFxSnapshotId() {
+        return fxSnapshotId;
+    }
+
+    public void setFxSnapshotId(String fxSnapshotId) {
+        this.fxSnapshotId = fxSnapshotId;
+    }
+
+    public Map<String, BigDecimal> getFxRates() {
+        return fxRates;
+    }
+
+    public void setFxRates(Map<String, BigDecimal> fxRates) {
+        this.fxRates = fxRates;
+    }
+
+    public boolean isApprovalRequired() {
+        return approvalRequired;
+    }
+
+    public void setApprovalRequired(boolean approvalRequired) {
+        this.approvalRequired = approvalRequired;
+    }
+
     public QuoteStatus getStatus() {
         return status;
     }
@@ -191,6 +240,14 @@ public class Quote {
         this.pdfUrl = pdfUrl;
     }
 
+    public String getPdfHash() {
+        return pdfHash;
+    }
+
+    public void setPdfHash(String pdfHash) {
+        this.pdfHash = pdfHash;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
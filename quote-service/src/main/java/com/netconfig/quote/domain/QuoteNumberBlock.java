@@ -0,0 +1,41 @@
+package com.netconfig.quote.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * Counter row for quote numbers of one day. Each service instance
+ * reserves a block of numbers at a time by advancing {@code nextValue}.
+ */
+@Entity
+@Table(name = "quote_number_blocks")
+public class QuoteNumberBlock {
+
+    // Date part of the quote number, yyyyMMdd
+    @Id
+    private String day;
+
+    // First number not yet reserved by any instance
+    @Column(nullable = false)
+    private long nextValue;
+
+    public QuoteNumberBlock() {
+    }
+
+    public QuoteNumberBlock(String day, long nextValue) {
+        this.day = day;
+        this.nextValue = nextValue;
+    }
+
+    // Getters and Setters
+    public String getDay() {
+        return day;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
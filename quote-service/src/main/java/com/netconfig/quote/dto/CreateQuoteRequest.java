@@ -21,6 +21,8 @@ public record CreateQuoteRequest(
     
     boolean includeSupport,
     
-    String supportTier  // STANDARD, PREMIUM
+    String supportTier,  // STANDARD, PREMIUM
+
+    String currency  // ISO 4217 code to quote in; default: the pricing base currency
 ) {}
 
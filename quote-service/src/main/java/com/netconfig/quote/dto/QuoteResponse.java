@@ -7,6 +7,7 @@ import com.netconfig.quote.domain.QuoteStatus;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Response DTO for quote data.
@@ -24,6 +25,9 @@ public record QuoteResponse(
     BigDecimal serviceAddOn,
     BigDecimal grandTotal,
     String currency,
+    String fxSnapshotId,
+    Map<String, BigDecimal> fxRates,
+    boolean approvalRequired,
     QuoteStatus status,
     String pdfUrl,
     Instant createdAt,
@@ -48,6 +52,9 @@ public record QuoteResponse(
                 quote.getServiceAddOn(),
                 quote.getGrandTotal(),
                 quote.getCurrency(),
+                quote.getFxSnapshotId(),
+                Map.copyOf(quote.getFxRates()),
+                quote.isApprovalRequired(),
                 quote.getStatus(),
                 quote.getPdfUrl(),
                 quote.getCreatedAt(),
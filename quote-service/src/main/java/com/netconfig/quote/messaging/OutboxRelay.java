@@ -0,0 +1,195 @@
+package com.netconfig.quote.messaging;
+
+import com.netconfig.quote.config.RabbitMQConfig;
+import com.netconfig.quote.domain.OutboxEvent;
+import com.netconfig.quote.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publishes outbox rows to RabbitMQ.
+ *
+ * Each batch goes through three steps, and no transaction or row lock is
+ * held while talking to the broker:
+ * <ol>
+ *   <li>a short transaction claims the rows for {@code quote.outbox.claim-timeout},
+ *       locking them with SKIP LOCKED so several instances can relay side by side;</li>
+ *   <li>the rows are sent on one channel and confirmed by the broker
+ *       ({@code waitForConfirmsOrDie});</li>
+ *   <li>a second short transaction marks them published.</li>
+ * </ol>
+ * If the broker does not confirm, the claim is released and the batch is
+ * sent again on the next poll; if the relay dies in between, another one
+ * takes the rows over once the claim expires. Delivery is therefore at
+ * least once, and the PDF listener ignores a quote it has already taken.
+ *
+ * While the PDF queue holds {@code quote.pdf.max-queue-depth} messages or
+ * more, relaying pauses: new quotes wait in the outbox until the workers
+ * catch up, rather than piling up in the broker.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration claimTimeout;
+    private final Duration retention;
+    private final AmqpAdmin amqpAdmin;
+    private final int maxQueueDepth;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxRepository,
+            RabbitTemplate rabbitTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${quote.outbox.batch-size:100}") int batchSize,
+            @Value("${quote.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+            @Value("${quote.outbox.claim-timeout:30s}") Duration claimTimeout,
+            @Value("${quote.outbox.retention:7d}") Duration retention,
+            AmqpAdmin amqpAdmin,
+            @Value("${quote.pdf.max-queue-depth:500}") int maxQueueDepth,
+            MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Outbox batch size must be positive: " + batchSize);
+        }
+        if (claimTimeout.compareTo(confirmTimeout) <= 0) {
+            throw new IllegalArgumentException("Outbox claim timeout " + claimTimeout
+                    + " must be longer than the confirm timeout " + confirmTimeout);
+        }
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.claimTimeout = claimTimeout;
+        this.retention = retention;
+        this.amqpAdmin = amqpAdmin;
+        this.maxQueueDepth = maxQueueDepth;
+
+        Gauge.builder("quote.outbox.backlog", outboxRepository, OutboxEventRepository::countUnpublished)
+                .description("Outbox events not yet published to RabbitMQ")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish everything pending, one batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${quote.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                if (pdfQueueFull()) {
+                    log.debug("PDF queue at {}+ messages, holding outbox events", maxQueueDepth);
+                    return;
+                }
+                sent = relayBatch();
+            } while (sent == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim, publish and confirm one batch.
+     *
+     * @return number of rows published
+     */
+    public int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> claimed = outboxRepository.lockClaimable(now, Limit.of(batchSize));
+            if (!claimed.isEmpty()) {
+                outboxRepository.claim(ids(claimed), now.plus(claimTimeout));
+            }
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = ids(batch);
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEvent event : batch) {
+                    operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.releaseClaim(ids));
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markPublished(ids, Instant.now()));
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Drop published rows older than the retention period.
+     */
+    @Scheduled(cron = "${quote.outbox.cleanup-cron:0 15 * * * *}")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deletePublishedBefore(Instant.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    /**
+     * Whether the PDF queue has reached its depth limit (0 disables the check).
+     */
+    private boolean pdfQueueFull() {
+        if (maxQueueDepth <= 0) {
+            return false;
+        }
+        QueueInformation queue = amqpAdmin.getQueueInfo(RabbitMQConfig.QUOTE_REQUESTED_QUEUE);
+        return queue != null && queue.getMessageCount() >= maxQueueDepth;
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId(event.getMessageId());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        if (event.getTypeId() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getTypeId());
+        }
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
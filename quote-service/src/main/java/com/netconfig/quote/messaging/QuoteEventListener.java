@@ -5,13 +5,20 @@ import com.netconfig.common.event.QuoteRequestedEvent;
 import com.netconfig.quote.config.RabbitMQConfig;
 import com.netconfig.quote.domain.Quote;
 import com.netconfig.quote.domain.QuoteStatus;
+import com.netconfig.quote.pdf.PdfFileStorage;
+import com.netconfig.quote.pdf.QuotePdfRenderer;
 import com.netconfig.quote.repository.QuoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Listens for quote events and processes them asynchronously.
@@ -23,45 +30,65 @@ public class QuoteEventListener {
 
     private final QuoteRepository quoteRepository;
     private final QuoteEventPublisher eventPublisher;
+    private final QuotePdfRenderer pdfRenderer;
+    private final PdfFileStorage pdfStorage;
+    private final Timer renderTimer;
 
-    public QuoteEventListener(QuoteRepository quoteRepository, QuoteEventPublisher eventPublisher) {
+    public QuoteEventListener(QuoteRepository quoteRepository, QuoteEventPublisher eventPublisher,
+                              QuotePdfRenderer pdfRenderer, PdfFileStorage pdfStorage,
+                              MeterRegistry meterRegistry) {
         this.quoteRepository = quoteRepository;
         this.eventPublisher = eventPublisher;
+        this.pdfRenderer = pdfRenderer;
+        this.pdfStorage = pdfStorage;
+        this.renderTimer = Timer.builder("quote.pdf.render")
+                .description("Time to render a quote PDF")
+                .register(meterRegistry);
     }
 
-    @RabbitListener(queues = RabbitMQConfig.QUOTE_REQUESTED_QUEUE)
-    public void handleQuoteRequested(QuoteRequestedEvent event) {
+    /**
+     * Render and store the quote PDF. Runs on the PDF worker pool
+     * ({@code quote.pdf.*}), several quotes at a time.
+     *
+     * The outbox delivers at least once, so the quote is only taken while
+     * it is still PENDING and a duplicate event is dropped. A redelivery
+     * (the worker died mid-render) may also take over a GENERATING quote.
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUOTE_REQUESTED_QUEUE,
+            containerFactory = RabbitMQConfig.PDF_LISTENER_CONTAINER_FACTORY)
+    public void handleQuoteRequested(QuoteRequestedEvent event,
+                                     @Header(name = AmqpHeaders.REDELIVERED, required = false) Boolean redelivered) {
         log.info("Received QuoteRequestedEvent for quote: {}", event.quoteId());
 
         try {
-            // Update status to GENERATING
+            List<QuoteStatus> takeable = Boolean.TRUE.equals(redelivered)
+                    ? List.of(QuoteStatus.PENDING, QuoteStatus.GENERATING)
+                    : List.of(QuoteStatus.PENDING);
+            if (quoteRepository.startGenerating(event.quoteId(), takeable) == 0) {
+                log.info("Quote {} already taken, dropping duplicate event {}", event.quoteId(), event.eventId());
+                return;
+            }
             Quote quote = quoteRepository.findById(event.quoteId())
                     .orElseThrow(() -> new RuntimeException("Quote not found: " + event.quoteId()));
 
-            quote.setStatus(QuoteStatus.GENERATING);
-            quoteRepository.save(quote);
-
-            // Simulate PDF generation (long-running process)
             log.info("Generating PDF for quote: {}...", event.quoteId());
-            Thread.sleep(3000); // Simulate 3 second delay
+            byte[] pdf = renderTimer.record(() -> pdfRenderer.render(quote));
+            String pdfHash = pdfStorage.store(pdf);
 
-            // Generate fake PDF URL
-            String pdfUrl = String.format("/quotes/%s/pdf", event.quoteId());
+            String pdfUrl = String.format("/api/v1/quotes/%s/pdf", event.quoteId());
 
             // Update quote with PDF info
             quote.setStatus(QuoteStatus.READY);
             quote.setPdfUrl(pdfUrl);
+            quote.setPdfHash(pdfHash);
             quote.setPdfGeneratedAt(Instant.now());
             quoteRepository.save(quote);
 
-            log.info("PDF generated for quote: {}", event.quoteId());
+            log.info("PDF generated for quote: {} ({} bytes)", event.quoteId(), pdf.length);
 
             // Publish QuoteReadyEvent
             eventPublisher.publishQuoteReady(QuoteReadyEvent.create(event.quoteId(), pdfUrl));
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("PDF generation interrupted for quote: {}", event.quoteId());
         } catch (Exception e) {
             log.error("Error processing quote: {}", event.quoteId(), e);
             // In production, you'd want to handle this properly (retry, DLQ, etc.)
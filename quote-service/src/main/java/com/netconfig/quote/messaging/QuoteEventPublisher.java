@@ -3,13 +3,28 @@ package com.netconfig.quote.messaging;
 import com.netconfig.common.event.QuoteReadyEvent;
 import com.netconfig.common.event.QuoteRequestedEvent;
 import com.netconfig.quote.config.RabbitMQConfig;
+import com.netconfig.quote.domain.OutboxEvent;
+import com.netconfig.quote.repository.OutboxEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Publishes quote-related events to RabbitMQ.
+ *
+ * Events announcing a database change go through the outbox: they are
+ * written to {@code outbox_events} in the caller's transaction and sent by
+ * {@link OutboxRelay} after it commits, so a rollback never leaves an
+ * event behind and a broker outage never fails or stalls the transaction.
  */
 @Component
 public class QuoteEventPublisher {
@@ -17,18 +32,30 @@ public class QuoteEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(QuoteEventPublisher.class);
 
     private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final MessageConverter messageConverter;
 
-    public QuoteEventPublisher(RabbitTemplate rabbitTemplate) {
+    public QuoteEventPublisher(RabbitTemplate rabbitTemplate, OutboxEventRepository outboxRepository,
+                               MessageConverter jsonMessageConverter) {
         this.rabbitTemplate = rabbitTemplate;
+        this.outboxRepository = outboxRepository;
+        this.messageConverter = jsonMessageConverter;
     }
 
+    /**
+     * Queue a QuoteRequestedEvent in the outbox. Must be called in the
+     * transaction that saved the quote.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishQuoteRequested(QuoteRequestedEvent event) {
-        log.info("Publishing QuoteRequestedEvent for quote: {}", event.quoteId());
-        rabbitTemplate.convertAndSend(
+        log.info("Queueing QuoteRequestedEvent for quote: {}", event.quoteId());
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        outboxRepository.save(new OutboxEvent(
+                event.eventId(),
                 RabbitMQConfig.QUOTE_EXCHANGE,
                 RabbitMQConfig.QUOTE_REQUESTED_ROUTING_KEY,
-                event
-        );
+                message.getMessageProperties().getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME),
+                new String(message.getBody(), StandardCharsets.UTF_8)));
     }
 
     public void publishQuoteReady(QuoteReadyEvent event) {
@@ -40,4 +67,3 @@ public class QuoteEventPublisher {
         );
     }
 }
-
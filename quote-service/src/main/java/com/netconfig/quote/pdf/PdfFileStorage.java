@@ -0,0 +1,87 @@
+package com.netconfig.quote.pdf;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for rendered quote PDFs on the local filesystem.
+ *
+ * Files are named by the SHA-256 of their bytes ({@code ab/abcd....pdf}), so
+ * identical documents, such as an unchanged quote rendered again, are
+ * stored once. A stored file never changes, which makes its hash a strong
+ * ETag. Files are written under a temporary name and moved into place, so
+ * a reader never sees a half-written PDF.
+ */
+@Component
+public class PdfFileStorage {
+
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+
+    public PdfFileStorage(@Value("${quote.pdf.storage-dir:${java.io.tmpdir}/netconfig/quotes}") Path directory) {
+        this.directory = directory.toAbsolutePath();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot create quote PDF directory " + this.directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Store a PDF unless the same content is already stored.
+     *
+     * @return SHA-256 of the content (lowercase hex), its key in this store
+     */
+    public String store(byte[] pdf) {
+        String hash = sha256(pdf);
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash + "-", ".tmp");
+            try {
+                Files.write(temp, pdf);
+                // Another worker may have stored the same bytes meanwhile; replacing is harmless
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot store quote PDF " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * Path of the stored PDF with the given hash; the file may not exist.
+     */
+    public Path resolve(String hash) {
+        if (hash == null || !SHA_256_HEX.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid PDF content hash: " + hash);
+        }
+        return directory.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.netconfig.quote.pdf;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal PDF 1.4 writer for pages of monospaced text.
+ *
+ * Uses the standard Courier font, which every viewer provides, so nothing
+ * is embedded and a quote renders to a few kilobytes. The output has no
+ * timestamps or IDs, so the same lines always give the same bytes.
+ */
+final class PdfWriter {
+
+    // A4 in points
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 50;
+    private static final int FONT_SIZE = 10;
+    private static final int LEADING = 12;
+    // Two lines kept free above the page footer
+    static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LEADING - 2;
+
+    private PdfWriter() {
+    }
+
+    static byte[] write(List<String> lines) {
+        List<List<String>> pages = paginate(lines);
+        int pageCount = pages.size();
+        // 1 catalog, 2 page tree, 3 font, then a page and its content stream per page
+        long[] offsets = new long[4 + 2 * pageCount];
+        PdfBuffer out = new PdfBuffer();
+
+        out.ascii("%PDF-1.4\n%âãÏÓ\n");
+
+        offsets[1] = out.size();
+        out.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pageCount; i++) {
+            kids.append(i == 0 ? "" : " ").append(4 + 2 * i).append(" 0 R");
+        }
+        offsets[2] = out.size();
+        out.ascii("2 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pageCount + " >>\nendobj\n");
+
+        offsets[3] = out.size();
+        out.ascii("3 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Courier"
+                + " /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+        for (int i = 0; i < pageCount; i++) {
+            int pageObject = 4 + 2 * i;
+            int contentObject = pageObject + 1;
+            byte[] content = contentStream(pages.get(i), i + 1, pageCount);
+
+            offsets[pageObject] = out.size();
+            out.ascii(pageObject + " 0 obj\n<< /Type /Page /Parent 2 0 R"
+                    + " /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "]"
+                    + " /Resources << /Font << /F1 3 0 R >> >>"
+                    + " /Contents " + contentObject + " 0 R >>\nendobj\n");
+
+            offsets[contentObject] = out.size();
+            out.ascii(contentObject + " 0 obj\n<< /Length " + content.length + " >>\nstream\n");
+            out.write(content, 0, content.length);
+            out.ascii("\nendstream\nendobj\n");
+        }
+
+        long xref = out.size();
+        out.ascii("xref\n0 " + offsets.length + "\n0000000000 65535 f \n");
+        for (int i = 1; i < offsets.length; i++) {
+            out.ascii(String.format("%010d 00000 n \n", offsets[i]));
+        }
+        out.ascii("trailer\n<< /Size " + offsets.length + " /Root 1 0 R >>\n"
+                + "startxref\n" + xref + "\n%%EOF\n");
+        return out.toByteArray();
+    }
+
+    private static List<List<String>> paginate(List<String> lines) {
+        List<List<String>> pages = new ArrayList<>();
+        for (int from = 0; from < lines.size(); from += LINES_PER_PAGE) {
+            pages.add(lines.subList(from, Math.min(from + LINES_PER_PAGE, lines.size())));
+        }
+        if (pages.isEmpty()) {
+            pages.add(List.of());
+        }
+        return pages;
+    }
+
+    private static byte[] contentStream(List<String> lines, int page, int pageCount) {
+        StringBuilder content = new StringBuilder();
+        content.append("BT\n/F1 ").append(FONT_SIZE).append(" Tf\n")
+                .append(LEADING).append(" TL\n")
+                .append(MARGIN).append(' ').append(PAGE_HEIGHT - MARGIN).append(" Td\n");
+        for (String line : lines) {
+            appendString(content, line);
+            content.append(" Tj T*\n");
+        }
+        content.append("ET\n");
+
+        content.append("BT\n/F1 8 Tf\n")
+                .append(MARGIN).append(' ').append(MARGIN / 2).append(" Td\n");
+        appendString(content, "Page " + page + " of " + pageCount);
+        content.append(" Tj\nET");
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Append a PDF literal string. Characters outside Latin-1 become '?'.
+     */
+    private static void appendString(StringBuilder content, String text) {
+        content.append('(');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                content.append('\\').append(c);
+            } else if (c < 0x20) {
+                content.append(' ');
+            } else if (c > 0xFF) {
+                content.append('?');
+            } else {
+                content.append(c);
+            }
+        }
+        content.append(')');
+    }
+
+    private static final class PdfBuffer extends ByteArrayOutputStream {
+
+        PdfBuffer() {
+            super(4096);
+        }
+
+        void ascii(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
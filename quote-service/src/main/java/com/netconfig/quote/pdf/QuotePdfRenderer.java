@@ -0,0 +1,42 @@
+package com.netconfig.quote.pdf;
+
+import com.netconfig.quote.domain.Quote;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renders quotes to PDF documents.
+ *
+ * The layout template is read and compiled once at startup; rendering only
+ * walks the compiled lines, so renderers are thread-safe and cheap to call
+ * from every PDF worker.
+ */
+@Component
+public class QuotePdfRenderer {
+
+    private final QuotePdfTemplate template;
+
+    public QuotePdfRenderer(
+            ResourceLoader resourceLoader,
+            @Value("${quote.pdf.template:classpath:templates/quote-pdf.txt}") String templateFile) {
+        Resource resource = resourceLoader.getResource(templateFile);
+        try {
+            this.template = QuotePdfTemplate.compile(resource.getContentAsString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot read quote PDF template from " + templateFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Render a quote, with its line items loaded, to PDF bytes.
+     */
+    public byte[] render(Quote quote) {
+        return PdfWriter.write(template.render(quote));
+    }
+}
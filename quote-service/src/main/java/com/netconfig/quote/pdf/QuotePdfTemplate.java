@@ -0,0 +1,191 @@
+package com.netconfig.quote.pdf;
+
+import com.netconfig.quote.domain.Quote;
+import com.netconfig.quote.domain.QuoteLineItem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plain-text page layout for quote PDFs, parsed once and rendered per quote.
+ *
+ * {@code {{field}}} inserts a quote field; {@code {{field:12}}} right-aligns
+ * it in 12 columns and {@code {{field:-20}}} left-aligns it in 20, cutting
+ * longer values. Lines between {@code {{#lineItems}}} and
+ * {@code {{/lineItems}}} repeat once per line item, with line item fields.
+ * Amounts print with two decimals, instants as UTC dates.
+ */
+final class QuotePdfTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)(?::(-?\\d+))?}}");
+    private static final String ITEMS_START = "{{#lineItems}}";
+    private static final String ITEMS_END = "{{/lineItems}}";
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    private static final Map<String, Function<Quote, Object>> QUOTE_FIELDS = Map.ofEntries(
+            Map.entry("quoteNumber", Quote::getQuoteNumber),
+            Map.entry("configurationId", Quote::getConfigurationId),
+            Map.entry("customerId", Quote::getCustomerId),
+            Map.entry("customerName", Quote::getCustomerName),
+            Map.entry("customerEmail", Quote::getCustomerEmail),
+            Map.entry("itemCount", quote -> quote.getLineItems().size()),
+            Map.entry("subtotal", Quote::getSubtotal),
+            Map.entry("totalDiscount", Quote::getTotalDiscount),
+            Map.entry("serviceAddOn", Quote::getServiceAddOn),
+            Map.entry("grandTotal", Quote::getGrandTotal),
+            Map.entry("currency", Quote::getCurrency),
+            Map.entry("fxSnapshotId", Quote::getFxSnapshotId),
+            Map.entry("createdAt", Quote::getCreatedAt),
+            Map.entry("expiresAt", Quote::getExpiresAt)
+    );
+
+    private static final Map<String, Function<QuoteLineItem, Object>> ITEM_FIELDS = Map.ofEntries(
+            Map.entry("productSku", QuoteLineItem::getProductSku),
+            Map.entry("productName", QuoteLineItem::getProductName),
+            Map.entry("productType", QuoteLineItem::getProductType),
+            Map.entry("quantity", QuoteLineItem::getQuantity),
+            Map.entry("unitPrice", QuoteLineItem::getUnitPrice),
+            Map.entry("lineTotal", QuoteLineItem::getLineTotal),
+            Map.entry("discountAmount", QuoteLineItem::getDiscountAmount),
+            Map.entry("discountReason", QuoteLineItem::getDiscountReason),
+            Map.entry("finalTotal", QuoteLineItem::getFinalTotal)
+    );
+
+    /**
+     * Literal text followed by an optional field (null at the end of a line).
+     */
+    private record Segment<T>(String literal, Function<T, Object> field, int width) {}
+
+    private record Line<T>(List<Segment<T>> segments) {
+
+        String render(T source) {
+            StringBuilder out = new StringBuilder();
+            for (Segment<T> segment : segments) {
+                out.append(segment.literal());
+                if (segment.field() != null) {
+                    appendAligned(out, format(segment.field().apply(source)), segment.width());
+                }
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * A quote line, or the lines repeated per line item.
+     */
+    private record Part(Line<Quote> line, List<Line<QuoteLineItem>> itemLines) {}
+
+    private final List<Part> parts;
+
+    private QuotePdfTemplate(List<Part> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Parse a template, failing on unknown fields or unbalanced sections.
+     */
+    static QuotePdfTemplate compile(String text) {
+        List<Part> parts = new ArrayList<>();
+        List<Line<QuoteLineItem>> itemLines = null;
+        for (String line : text.lines().toList()) {
+            String trimmed = line.trim();
+            if (trimmed.equals(ITEMS_START)) {
+                if (itemLines != null) {
+                    throw new IllegalArgumentException("Nested " + ITEMS_START + " in PDF template");
+                }
+                itemLines = new ArrayList<>();
+            } else if (trimmed.equals(ITEMS_END)) {
+                if (itemLines == null) {
+                    throw new IllegalArgumentException(ITEMS_END + " without " + ITEMS_START + " in PDF template");
+                }
+                parts.add(new Part(null, List.copyOf(itemLines)));
+                itemLines = null;
+            } else if (itemLines != null) {
+                itemLines.add(parseLine(line, ITEM_FIELDS, "line item"));
+            } else {
+                parts.add(new Part(parseLine(line, QUOTE_FIELDS, "quote"), null));
+            }
+        }
+        if (itemLines != null) {
+            throw new IllegalArgumentException("Unclosed " + ITEMS_START + " in PDF template");
+        }
+        return new QuotePdfTemplate(List.copyOf(parts));
+    }
+
+    /**
+     * Text lines of the quote document.
+     */
+    List<String> render(Quote quote) {
+        List<String> lines = new ArrayList<>();
+        for (Part part : parts) {
+            if (part.line() != null) {
+                lines.add(part.line().render(quote));
+                continue;
+            }
+            for (QuoteLineItem item : quote.getLineItems()) {
+                for (Line<QuoteLineItem> line : part.itemLines()) {
+                    lines.add(line.render(item));
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static <T> Line<T> parseLine(String line, Map<String, Function<T, Object>> fields, String kind) {
+        List<Segment<T>> segments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(line);
+        int literalStart = 0;
+        while (matcher.find()) {
+            Function<T, Object> field = fields.get(matcher.group(1));
+            if (field == null) {
+                throw new IllegalArgumentException(
+                        "Unknown " + kind + " field in PDF template: " + matcher.group(1));
+            }
+            int width = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+            segments.add(new Segment<>(line.substring(literalStart, matcher.start()), field, width));
+            literalStart = matcher.end();
+        }
+        if (literalStart < line.length()) {
+            segments.add(new Segment<>(line.substring(literalStart), null, 0));
+        }
+        return new Line<>(List.copyOf(segments));
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal amount) {
+            return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+        }
+        if (value instanceof Instant instant) {
+            return DATE_FORMAT.format(instant);
+        }
+        return value.toString();
+    }
+
+    private static void appendAligned(StringBuilder out, String value, int width) {
+        if (width > 0) {
+            out.repeat(' ', Math.max(0, width - value.length())).append(value);
+        } else if (width < 0) {
+            int columns = -width;
+            if (value.length() > columns) {
+                out.append(value, 0, columns);
+            } else {
+                out.append(value).repeat(' ', columns - value.length());
+            }
+        } else {
+            out.append(value);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.netconfig.quote.repository;
+
+import com.netconfig.quote.domain.QuoteNumberBlock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * JPA repository for quote number counter rows.
+ */
+@Repository
+public interface QuoteNumberBlockRepository extends JpaRepository<QuoteNumberBlock, String> {
+
+    /**
+     * The day's counter row, locked until the calling transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM QuoteNumberBlock b WHERE b.day = :day")
+    Optional<QuoteNumberBlock> findForUpdate(String day);
+}
@@ -2,11 +2,15 @@ package com.netconfig.quote.repository;
 
 import com.netconfig.quote.domain.Quote;
 import com.netconfig.quote.domain.QuoteStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,13 +28,53 @@ public interface QuoteRepository extends JpaRepository<Quote, String> {
 
     List<Quote> findByConfigurationId(String configurationId);
 
-    @Query("SELECT q FROM Quote q WHERE q.expiresAt < :now AND q.status NOT IN ('EXPIRED', 'ACCEPTED', 'REJECTED')")
-    List<Quote> findExpiredQuotes(Instant now);
+    /**
+     * Keys of quotes in the given statuses whose validity ended before
+     * {@code now}, following the (expiresAt, id) position of the previous
+     * chunk, in that order.
+     */
+    @Query("""
+            SELECT q.id AS id, q.expiresAt AS expiresAt FROM Quote q
+            WHERE q.status IN :statuses AND q.expiresAt < :now
+              AND (q.expiresAt > :afterExpiresAt OR (q.expiresAt = :afterExpiresAt AND q.id > :afterId))
+            ORDER BY q.expiresAt, q.id""")
+    List<ExpiryKey> findExpiredKeys(Collection<QuoteStatus> statuses, Instant now,
+                                    Instant afterExpiresAt, String afterId, Limit limit);
+
+    /**
+     * Set the status of the given quotes that are still in one of
+     * {@code from}. Bumps the version, as a bulk update bypasses optimistic
+     * locking otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Quote q SET q.status = :to, q.version = q.version + 1 WHERE q.id IN :ids AND q.status IN :from")
+    int updateStatus(Collection<String> ids, Collection<QuoteStatus> from, QuoteStatus to);
+
+    /**
+     * Move a quote to GENERATING if it is still in one of {@code from}, in
+     * its own transaction. Returns 0 if another delivery of the same event
+     * already took it.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Quote q SET q.status = com.netconfig.quote.domain.QuoteStatus.GENERATING, q.version = q.version + 1
+            WHERE q.id = :id AND q.status IN :from""")
+    int startGenerating(String id, Collection<QuoteStatus> from);
 
     @Query("SELECT q FROM Quote q WHERE q.customerId = :customerId ORDER BY q.createdAt DESC")
     List<Quote> findRecentByCustomerId(String customerId);
 
     @Query("SELECT COUNT(q) FROM Quote q WHERE q.status = :status")
     long countByStatus(QuoteStatus status);
+
+    /**
+     * Position of a quote in expiry order.
+     */
+    interface ExpiryKey {
+        String getId();
+
+        Instant getExpiresAt();
+    }
 }
 
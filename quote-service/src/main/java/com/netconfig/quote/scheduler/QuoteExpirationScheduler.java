@@ -1,12 +1,18 @@
 package com.netconfig.quote.scheduler;
 
 import com.netconfig.quote.service.QuoteService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Scheduled task to expire old quotes.
  */
@@ -16,10 +22,29 @@ public class QuoteExpirationScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(QuoteExpirationScheduler.class);
 
+    // A progress line every this many chunks; each chunk is logged at debug
+    private static final int PROGRESS_LOG_INTERVAL = 20;
+
     private final QuoteService quoteService;
+    private final int batchSize;
+    private final Counter expiredCounter;
+    private final Timer runTimer;
 
-    public QuoteExpirationScheduler(QuoteService quoteService) {
+    public QuoteExpirationScheduler(
+            QuoteService quoteService,
+            @Value("${quote.expiration.batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Expiration batch size must be positive: " + batchSize);
+        }
         this.quoteService = quoteService;
+        this.batchSize = batchSize;
+        this.expiredCounter = Counter.builder("quote.expiration.expired")
+                .description("Quotes moved to EXPIRED by the expiration job")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("quote.expiration.run")
+                .description("Duration of expiration job runs")
+                .register(meterRegistry);
     }
 
     /**
@@ -27,9 +52,21 @@ public class QuoteExpirationScheduler {
      */
     @Scheduled(cron = "${quote.expiration.cron:0 0 0 * * *}")
     public void expireQuotes() {
-        log.info("Running quote expiration job...");
-        int count = quoteService.expireOldQuotes();
-        log.info("Expired {} quotes", count);
+        log.info("Running quote expiration job (batch size {})...", batchSize);
+        long started = System.nanoTime();
+
+        int count = quoteService.expireOldQuotes(batchSize, progress -> {
+            expiredCounter.increment(progress.chunkExpired());
+            if (progress.chunks() % PROGRESS_LOG_INTERVAL == 0) {
+                log.info("Expiration in progress: {} quotes expired in {} chunks",
+                        progress.totalExpired(), progress.chunks());
+            } else {
+                log.debug("Expired {} quotes in chunk {}", progress.chunkExpired(), progress.chunks());
+            }
+        });
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        runTimer.record(elapsed);
+        log.info("Expired {} quotes in {} ms", count, elapsed.toMillis());
     }
 }
-
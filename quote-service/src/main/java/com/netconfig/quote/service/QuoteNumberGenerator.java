@@ -1,38 +1,130 @@
 package com.netconfig.quote.service;
 
+import com.netconfig.quote.domain.QuoteNumberBlock;
+import com.netconfig.quote.repository.QuoteNumberBlockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Generates unique quote numbers.
  * Format: QT-YYYYMMDD-XXXXX (e.g., QT-20251225-00001)
+ *
+ * Numbers are unique across instances and restarts: each instance
+ * reserves a block of {@code quote.number.block-size} numbers for the day
+ * from a counter row in {@code quote_number_blocks} (hi/lo), then hands
+ * them out with a lock-free increment. Only running out of a block, or a
+ * new day, goes to the database. Numbers left in a block when an instance
+ * stops are never used, so numbers are increasing per instance but not
+ * gap-free.
  */
 @Component
 public class QuoteNumberGenerator {
 
+    private static final Logger log = LoggerFactory.getLogger(QuoteNumberGenerator.class);
+
     private static final String PREFIX = "QT";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-    
-    private final AtomicLong sequence = new AtomicLong(0);
-    private String currentDate = "";
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    /**
+     * Numbers {@code [next, end)} of one day reserved by this instance.
+     */
+    private record Block(String day, AtomicLong next, long end) {}
+
+    private final QuoteNumberBlockRepository blockRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+    private final Supplier<LocalDate> today;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    @Autowired
+    public QuoteNumberGenerator(
+            QuoteNumberBlockRepository blockRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${quote.number.block-size:1000}") int blockSize) {
+        this(blockRepository, transactionManager, blockSize, LocalDate::now);
+    }
+
+    QuoteNumberGenerator(QuoteNumberBlockRepository blockRepository,
+                         PlatformTransactionManager transactionManager,
+                         int blockSize, Supplier<LocalDate> today) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Quote number block size must be positive: " + blockSize);
+        }
+        this.blockRepository = blockRepository;
+        // Own transaction, committed at once, so the row lock is held only for the reservation
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.today = today;
+    }
 
     /**
      * Generate a new unique quote number.
      */
-    public synchronized String generate() {
-        String today = LocalDate.now().format(DATE_FORMAT);
-        
-        // Reset sequence if date changed
-        if (!today.equals(currentDate)) {
-            currentDate = today;
-            sequence.set(0);
+    public String generate() {
+        String day = today.get().format(DATE_FORMAT);
+        while (true) {
+            Block block = current.get();
+            if (block != null && block.day().equals(day)) {
+                long seq = block.next().getAndIncrement();
+                if (seq < block.end()) {
+                    return String.format("%s-%s-%05d", PREFIX, day, seq);
+                }
+            }
+            refill(block, day);
         }
-        
-        long seq = sequence.incrementAndGet();
-        return String.format("%s-%s-%05d", PREFIX, today, seq);
     }
-}
 
+    /**
+     * Replace an exhausted (or previous day's) block. Callers that find the
+     * block already replaced just retry with the new one.
+     */
+    private synchronized void refill(Block exhausted, String day) {
+        if (current.get() != exhausted) {
+            return;
+        }
+        long start = reserve(day);
+        current.set(new Block(day, new AtomicLong(start), start + blockSize));
+        log.debug("Reserved quote numbers {}-{} for {}", start, start + blockSize - 1, day);
+    }
+
+    /**
+     * Advance the day's counter row by one block.
+     *
+     * @return first number of the reserved block
+     */
+    private long reserve(String day) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long start = reserveTransaction.execute(status -> {
+                    QuoteNumberBlock row = blockRepository.findForUpdate(day)
+                            .orElseGet(() -> new QuoteNumberBlock(day, 1));
+                    long first = row.getNextValue();
+                    row.setNextValue(first + blockSize);
+                    blockRepository.saveAndFlush(row);
+                    return first;
+                });
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the day's row first; lock that one instead
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -13,13 +13,19 @@ import com.netconfig.quote.domain.QuoteStatus;
 import com.netconfig.quote.dto.CreateQuoteRequest;
 import com.netconfig.quote.messaging.QuoteEventPublisher;
 import com.netconfig.quote.repository.QuoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service for managing quotes.
@@ -29,33 +35,82 @@ public class QuoteService {
 
     private static final Logger log = LoggerFactory.getLogger(QuoteService.class);
 
+    // Statuses that lapse to EXPIRED once expiresAt has passed
+    private static final List<QuoteStatus> EXPIRABLE_STATUSES = List.of(
+            QuoteStatus.PENDING, QuoteStatus.GENERATING, QuoteStatus.READY, QuoteStatus.SENT);
+
     private final QuoteRepository quoteRepository;
     private final QuoteNumberGenerator quoteNumberGenerator;
     private final ConfigurationClient configurationClient;
     private final PricingClient pricingClient;
     private final QuoteEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer fetchTimer;
+    private final Timer writeTimer;
 
     public QuoteService(
             QuoteRepository quoteRepository,
             QuoteNumberGenerator quoteNumberGenerator,
             ConfigurationClient configurationClient,
             PricingClient pricingClient,
-            QuoteEventPublisher eventPublisher) {
+            QuoteEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
         this.quoteRepository = quoteRepository;
         this.quoteNumberGenerator = quoteNumberGenerator;
         this.configurationClient = configurationClient;
         this.pricingClient = pricingClient;
         this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.fetchTimer = Timer.builder("quote.create.phase")
+                .description("Quote creation time by phase; only the write phase holds a database connection")
+                .tag("phase", "fetch")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("quote.create.phase")
+                .description("Quote creation time by phase; only the write phase holds a database connection")
+                .tag("phase", "write")
+                .register(meterRegistry);
     }
 
     /**
      * Create a new quote from a configuration.
      * This triggers async PDF generation.
+     *
+     * The configuration and price are fetched first, outside any
+     * transaction, so no pooled database connection is held during the
+     * remote calls; only saving the quote and queueing its event run in a
+     * short write transaction.
      */
-    @Transactional
     public Quote createQuote(CreateQuoteRequest request) {
         log.info("Creating quote for configuration: {}", request.configurationId());
 
+        Fetched fetched = fetchTimer.record(() -> fetch(request));
+        Quote quote = buildQuote(request, fetched.configuration(), fetched.pricing());
+
+        Quote savedQuote = writeTimer.record(() -> transactionTemplate.execute(status -> {
+            Quote saved = quoteRepository.save(quote);
+
+            // Queue event for async PDF generation; the outbox relay sends it after commit
+            eventPublisher.publishQuoteRequested(
+                    QuoteRequestedEvent.create(
+                            saved.getId(),
+                            saved.getConfigurationId(),
+                            saved.getCustomerEmail()
+                    )
+            );
+            return saved;
+        }));
+        log.info("Created quote: {} ({})", savedQuote.getQuoteNumber(), savedQuote.getId());
+
+        return savedQuote;
+    }
+
+    private record Fetched(ConfigurationResponse configuration, PricingResponse pricing) {}
+
+    /**
+     * Remote calls for a new quote: the configuration, then its price.
+     */
+    private Fetched fetch(CreateQuoteRequest request) {
         // Fetch configuration
         ConfigurationResponse configuration = configurationClient.getConfiguration(request.configurationId())
                 .orElseThrow(() -> new IllegalArgumentException(
@@ -67,16 +122,24 @@ public class QuoteService {
                     "Configuration must be validated before creating a quote");
         }
 
-        // Calculate pricing
+        // Calculate pricing for the configuration just fetched
         PricingResponse pricing = pricingClient.calculatePrice(
-                request.configurationId(),
+                configuration,
                 request.customerTier(),
                 request.includeSupport(),
-                request.supportTier()
+                request.supportTier(),
+                request.currency()
         ).orElseThrow(() -> new IllegalStateException(
                 "Failed to calculate pricing for configuration: " + request.configurationId()));
 
-        // Create quote with snapshot of current prices
+        return new Fetched(configuration, pricing);
+    }
+
+    /**
+     * New, unsaved quote with a snapshot of the current prices.
+     */
+    private Quote buildQuote(CreateQuoteRequest request, ConfigurationResponse configuration,
+                             PricingResponse pricing) {
         Quote quote = new Quote();
         quote.setQuoteNumber(quoteNumberGenerator.generate());
         quote.setConfigurationId(request.configurationId());
@@ -88,6 +151,9 @@ public class QuoteService {
         quote.setServiceAddOn(pricing.serviceAddOn());
         quote.setGrandTotal(pricing.grandTotal());
         quote.setCurrency(pricing.currency());
+        quote.setFxSnapshotId(pricing.fxSnapshotId());
+        quote.setFxRates(new HashMap<>(pricing.fxRates()));
+        quote.setApprovalRequired(pricing.approvalRequired());
         quote.setStatus(QuoteStatus.PENDING);
 
         // Add line items as snapshot
@@ -103,21 +169,7 @@ public class QuoteService {
             lineItem.setDiscountReason(item.discountReason());
             quote.addLineItem(lineItem);
         }
-
-        // Save quote
-        Quote savedQuote = quoteRepository.save(quote);
-        log.info("Created quote: {} ({})", savedQuote.getQuoteNumber(), savedQuote.getId());
-
-        // Publish event for async PDF generation
-        eventPublisher.publishQuoteRequested(
-                QuoteRequestedEvent.create(
-                        savedQuote.getId(),
-                        savedQuote.getConfigurationId(),
-                        savedQuote.getCustomerEmail()
-                )
-        );
-
-        return savedQuote;
+        return quote;
     }
 
     /**
@@ -226,10 +278,11 @@ public class QuoteService {
         
         quote.setStatus(QuoteStatus.PENDING);
         quote.setPdfUrl(null);
+        quote.setPdfHash(null);
         quote.setPdfGeneratedAt(null);
         Quote savedQuote = quoteRepository.save(quote);
         
-        // Publish event for async PDF generation
+        // Queue event for async PDF generation; the outbox relay sends it after commit
         eventPublisher.publishQuoteRequested(
                 QuoteRequestedEvent.create(
                         savedQuote.getId(),
@@ -243,19 +296,50 @@ public class QuoteService {
     }
 
     /**
-     * Expire old quotes.
+     * Expire open quotes whose validity has ended, {@code batchSize} at a
+     * time. Each chunk reads only keys, continuing in (expiresAt, id) order
+     * from where the previous chunk stopped, and sets the status with one
+     * UPDATE in its own transaction. No quote entities are loaded, and
+     * rows stay locked for one chunk only.
+     *
+     * @param progress called after each chunk
+     * @return number of quotes expired
      */
-    @Transactional
-    public int expireOldQuotes() {
-        List<Quote> expiredQuotes = quoteRepository.findExpiredQuotes(Instant.now());
-        
-        for (Quote quote : expiredQuotes) {
-            quote.setStatus(QuoteStatus.EXPIRED);
-            quoteRepository.save(quote);
-            log.info("Expired quote: {}", quote.getQuoteNumber());
+    public int expireOldQuotes(int batchSize, Consumer<ExpirationProgress> progress) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Expiration batch size must be positive: " + batchSize);
         }
-        
-        return expiredQuotes.size();
+        Instant now = Instant.now();
+        QuoteRepository.ExpiryKey after = null;
+        int chunks = 0;
+        int expired = 0;
+
+        while (true) {
+            Instant afterExpiresAt = after != null ? after.getExpiresAt() : Instant.EPOCH;
+            String afterId = after != null ? after.getId() : "";
+            ExpirationChunk chunk = transactionTemplate.execute(status -> {
+                List<QuoteRepository.ExpiryKey> keys = quoteRepository.findExpiredKeys(
+                        EXPIRABLE_STATUSES, now, afterExpiresAt, afterId, Limit.of(batchSize));
+                if (keys.isEmpty()) {
+                    return new ExpirationChunk(0, null, 0);
+                }
+                int updated = quoteRepository.updateStatus(
+                        keys.stream().map(QuoteRepository.ExpiryKey::getId).toList(),
+                        EXPIRABLE_STATUSES, QuoteStatus.EXPIRED);
+                return new ExpirationChunk(keys.size(), keys.get(keys.size() - 1), updated);
+            });
+            if (chunk == null || chunk.keys() == 0) {
+                break;
+            }
+            chunks++;
+            expired += chunk.updated();
+            progress.accept(new ExpirationProgress(chunks, chunk.updated(), expired));
+            if (chunk.keys() < batchSize) {
+                break;
+            }
+            after = chunk.last();
+        }
+        return expired;
     }
 
     /**
@@ -272,6 +356,13 @@ public class QuoteService {
         );
     }
 
+    /**
+     * Running totals of an expiration run, reported after each chunk.
+     */
+    public record ExpirationProgress(int chunks, int chunkExpired, int totalExpired) {}
+
+    private record ExpirationChunk(int keys, QuoteRepository.ExpiryKey last, int updated) {}
+
     public record QuoteStats(
         long total,
         long pending,
@@ -0,0 +1,73 @@
+package com.netconfig.quote.client;
+
+import com.netconfig.quote.client.dto.ConfigurationResponse;
+import com.netconfig.quote.client.dto.PricingResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PricingClient response mapping.
+ */
+class PricingClientTest {
+
+    private static final ConfigurationResponse CONFIGURATION =
+            new ConfigurationResponse("cfg-1", "Branch rack", "cust-1", "RACK-42U", true, List.of());
+
+    @Test
+    @DisplayName("Should keep every digit of FX rates and amounts")
+    void shouldKeepDecimalPrecision() {
+        // Given: more significant digits than a double holds
+        PricingClient client = clientAnswering("""
+                {"success": true, "data": {
+                  "configurationId": "cfg-1",
+                  "lineItems": [{"productSku": "SW-1", "productName": "Switch", "productType": "SWITCH",
+                                 "quantity": 2, "unitPrice": 1234567890123.45, "lineTotal": 2469135780246.90,
+                                 "discountAmount": 0}],
+                  "subtotal": 2469135780246.90, "totalDiscount": 0, "serviceAddOn": 0,
+                  "grandTotal": 2469135780246.90,
+                  "currency": "JPY", "fxSnapshotId": "fx-7",
+                  "fxRates": {"JPY": 151.23456789012345678, "USD": 1}
+                }}""");
+
+        // When
+        PricingResponse response = client.calculatePrice(CONFIGURATION, null, false, null, "JPY").orElseThrow();
+
+        // Then
+        assertThat(response.fxRates().get("JPY")).isEqualTo(new BigDecimal("151.23456789012345678"));
+        assertThat(response.fxRates().get("USD")).isEqualByComparingTo("1");
+        assertThat(response.grandTotal()).isEqualTo(new BigDecimal("2469135780246.90"));
+        assertThat(response.lineItems().get(0).unitPrice()).isEqualTo(new BigDecimal("1234567890123.45"));
+        assertThat(response.lineItems().get(0).discountAmount()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should return empty when pricing is not successful")
+    void shouldReturnEmptyOnFailure() {
+        PricingClient client = clientAnswering("""
+                {"success": false, "message": "Configuration not found"}""");
+
+        assertThat(client.calculatePrice(CONFIGURATION, null, false, null, null)).isEmpty();
+    }
+
+    // Answers at the connector, so the body goes through the client's own decoders
+    private static PricingClient clientAnswering(String json) {
+        return new PricingClient(WebClient.builder()
+                .baseUrl("http://pricing")
+                .clientConnector((method, uri, requestCallback) -> {
+                    MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    response.setBody(json);
+                    return requestCallback.apply(new MockClientHttpRequest(method, uri)).thenReturn(response);
+                }));
+    }
+}
@@ -0,0 +1,276 @@
+package com.netconfig.quote.messaging;
+
+import com.netconfig.quote.config.RabbitMQConfig;
+import com.netconfig.quote.domain.OutboxEvent;
+import com.netconfig.quote.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OutboxRelay publishing, confirms and back-pressure.
+ */
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private OutboxEventRepository repository;
+    private RabbitTemplate rabbitTemplate;
+    private RabbitOperations operations;
+    private PlatformTransactionManager transactionManager;
+    private AmqpAdmin amqpAdmin;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        operations = mock(RabbitOperations.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        amqpAdmin = mock(AmqpAdmin.class);
+
+        // Run the callback on a dedicated channel, as RabbitTemplate.invoke does
+        when(rabbitTemplate.invoke(ArgumentMatchers.<RabbitOperations.OperationsCallback<Object>>any()))
+                .thenAnswer(invocation ->
+                        invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(amqpAdmin.getQueueInfo(RabbitMQConfig.QUOTE_REQUESTED_QUEUE))
+                .thenReturn(new QueueInformation(RabbitMQConfig.QUOTE_REQUESTED_QUEUE, 0, 1));
+
+        relay = new OutboxRelay(repository, rabbitTemplate, new TransactionTemplate(transactionManager),
+                BATCH_SIZE, Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofDays(7), amqpAdmin, 500,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should claim, send and mark published in separate steps, with no transaction open while sending")
+    void shouldMarkPublishedAfterConfirm() {
+        // Given
+        OutboxEvent first = event(1L, "Q-1");
+        OutboxEvent second = event(2L, "Q-2");
+        stubClaimable(List.of(first, second));
+        Instant before = Instant.now();
+
+        // When
+        int sent = relay.relayBatch();
+
+        // Then: the claim commits before the first send, the mark starts a new transaction after the confirms
+        assertThat(sent).isEqualTo(2);
+        InOrder order = inOrder(operations, repository, transactionManager);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).lockClaimable(any(Instant.class), eq(Limit.of(BATCH_SIZE)));
+        order.verify(repository).claim(eq(List.of(1L, 2L)), any(Instant.class));
+        order.verify(transactionManager).commit(any(TransactionStatus.class));
+        order.verify(operations, times(2)).send(eq(RabbitMQConfig.QUOTE_EXCHANGE),
+                eq(RabbitMQConfig.QUOTE_REQUESTED_ROUTING_KEY), any(Message.class));
+        order.verify(operations).waitForConfirmsOrDie(5_000L);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        order.verify(transactionManager).commit(any(TransactionStatus.class));
+
+        // The claim outlives the confirm timeout
+        ArgumentCaptor<Instant> claimedUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).claim(anyList(), claimedUntil.capture());
+        assertThat(claimedUntil.getValue()).isBetween(before.plusSeconds(30), Instant.now().plusSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should not touch the broker when nothing is claimable")
+    void shouldSkipEmptyBatch() {
+        // Given
+        stubClaimable(List.of());
+
+        // When
+        int sent = relay.relayBatch();
+
+        // Then
+        assertThat(sent).isZero();
+        verify(repository, never()).claim(anyList(), any());
+        verify(rabbitTemplate, never()).invoke(ArgumentMatchers.<RabbitOperations.OperationsCallback<Object>>any());
+    }
+
+    @Test
+    @DisplayName("Should build persistent JSON messages carrying the event's message ID and type")
+    void shouldBuildMessagesFromEvents() {
+        // Given
+        stubClaimable(List.of(event(1L, "Q-1")));
+
+        // When
+        relay.relayBatch();
+
+        // Then
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(operations).send(eq(RabbitMQConfig.QUOTE_EXCHANGE),
+                eq(RabbitMQConfig.QUOTE_REQUESTED_ROUTING_KEY), message.capture());
+        assertThat(message.getValue().getMessageProperties().getMessageId()).isEqualTo("msg-1");
+        assertThat(message.getValue().getMessageProperties().getDeliveryMode())
+                .isEqualTo(MessageDeliveryMode.PERSISTENT);
+        assertThat((String) message.getValue().getMessageProperties()
+                .getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME)).isEqualTo("QuoteRequestedEvent");
+        assertThat(new String(message.getValue().getBody())).isEqualTo("{\"quoteId\":\"Q-1\"}");
+    }
+
+    @Test
+    @DisplayName("Should release the claim and leave the batch unpublished when the broker does not confirm")
+    void shouldNotMarkPublishedWhenConfirmFails() {
+        // Given
+        stubClaimable(List.of(event(1L, "Q-1")));
+        doThrow(new AmqpTimeoutException("confirm timed out")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        // When / Then: relayBatch reports the failure after releasing the claim
+        assertThatThrownBy(() -> relay.relayBatch()).isInstanceOf(AmqpTimeoutException.class);
+        verify(repository, never()).markPublished(anyList(), any());
+        InOrder order = inOrder(repository, transactionManager);
+        order.verify(repository).releaseClaim(List.of(1L));
+        order.verify(transactionManager).commit(any(TransactionStatus.class));
+
+        // When / Then: the scheduled relay swallows it and retries on the next poll
+        relay.relay();
+        verify(repository, never()).markPublished(anyList(), any());
+        verify(repository, times(2)).lockClaimable(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a claim timeout that does not outlast the confirm timeout")
+    void shouldRejectShortClaimTimeout() {
+        assertThatThrownBy(() -> new OutboxRelay(repository, rabbitTemplate, new TransactionTemplate(transactionManager),
+                BATCH_SIZE, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofDays(7), amqpAdmin, 500,
+                new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("claim timeout");
+    }
+
+    @Test
+    @DisplayName("Should keep relaying while full batches come back")
+    void shouldRelayUntilBatchIsShort() {
+        // Given: one full batch, then a partial one
+        when(repository.lockClaimable(any(Instant.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(List.of(event(1L, "Q-1"), event(2L, "Q-2")))
+                .thenReturn(List.of(event(3L, "Q-3")));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(repository, times(2)).lockClaimable(any(), any());
+        verify(repository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(repository).markPublished(eq(List.of(3L)), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should hold outbox events while the PDF queue is full")
+    void shouldPauseWhileQueueIsFull() {
+        // Given
+        when(amqpAdmin.getQueueInfo(RabbitMQConfig.QUOTE_REQUESTED_QUEUE))
+                .thenReturn(new QueueInformation(RabbitMQConfig.QUOTE_REQUESTED_QUEUE, 500, 1));
+
+        // When
+        relay.relay();
+
+        // Then: nothing is claimed, so the rows stay in the outbox
+        verify(repository, never()).lockClaimable(any(), any());
+        verify(rabbitTemplate, never()).invoke(ArgumentMatchers.<RabbitOperations.OperationsCallback<Object>>any());
+    }
+
+    @Test
+    @DisplayName("Should stop between batches once the PDF queue fills up")
+    void shouldStopWhenQueueFillsMidRelay() {
+        // Given: a full batch is waiting, and the queue is full after it is sent
+        stubClaimable(List.of(event(1L, "Q-1"), event(2L, "Q-2")));
+        when(amqpAdmin.getQueueInfo(RabbitMQConfig.QUOTE_REQUESTED_QUEUE)).thenReturn(
+                new QueueInformation(RabbitMQConfig.QUOTE_REQUESTED_QUEUE, 499, 1),
+                new QueueInformation(RabbitMQConfig.QUOTE_REQUESTED_QUEUE, 501, 1));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(repository, times(1)).lockClaimable(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim rows with a write lock that skips rows other relays hold")
+    void shouldClaimWithSkipLocked() throws NoSuchMethodException {
+        Method lockClaimable = OutboxEventRepository.class.getMethod("lockClaimable", Instant.class, Limit.class);
+
+        assertThat(lockClaimable.getAnnotation(Lock.class).value()).isEqualTo(LockModeType.PESSIMISTIC_WRITE);
+        // Lock timeout -2 is Hibernate's SKIP LOCKED
+        QueryHint[] hints = lockClaimable.getAnnotation(QueryHints.class).value();
+        assertThat(hints).anySatisfy(hint -> {
+            assertThat(hint.name()).isEqualTo("jakarta.persistence.lock.timeout");
+            assertThat(hint.value()).isEqualTo("-2");
+        });
+    }
+
+    @Test
+    @DisplayName("Should purge published rows older than the retention period")
+    void shouldPurgePublishedRows() {
+        // Given
+        when(repository.deletePublishedBefore(any())).thenReturn(3);
+        Instant before = Instant.now();
+
+        // When
+        relay.purgePublished();
+
+        // Then
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).deletePublishedBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isBetween(before.minus(Duration.ofDays(7)),
+                Instant.now().minus(Duration.ofDays(7)));
+        verify(transactionManager).commit(any(TransactionStatus.class));
+    }
+
+    private void stubClaimable(List<OutboxEvent> events) {
+        when(repository.lockClaimable(any(Instant.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(events);
+    }
+
+    private OutboxEvent event(long id, String quoteId) {
+        OutboxEvent event = new OutboxEvent("msg-" + id, RabbitMQConfig.QUOTE_EXCHANGE,
+                RabbitMQConfig.QUOTE_REQUESTED_ROUTING_KEY, "QuoteRequestedEvent",
+                "{\"quoteId\":\"" + quoteId + "\"}");
+        // Assigned by the database in production
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
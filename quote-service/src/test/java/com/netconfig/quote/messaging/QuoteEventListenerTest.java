@@ -0,0 +1,107 @@
+package com.netconfig.quote.messaging;
+
+import com.netconfig.common.event.QuoteReadyEvent;
+import com.netconfig.common.event.QuoteRequestedEvent;
+import com.netconfig.quote.domain.Quote;
+import com.netconfig.quote.domain.QuoteStatus;
+import com.netconfig.quote.pdf.PdfFileStorage;
+import com.netconfig.quote.pdf.QuotePdfRenderer;
+import com.netconfig.quote.repository.QuoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QuoteEventListener duplicate handling.
+ */
+class QuoteEventListenerTest {
+
+    private static final String QUOTE_ID = "q-1";
+
+    private QuoteRepository quoteRepository;
+    private QuoteEventPublisher eventPublisher;
+    private QuotePdfRenderer pdfRenderer;
+    private PdfFileStorage pdfStorage;
+    private QuoteEventListener listener;
+    private QuoteRequestedEvent event;
+
+    @BeforeEach
+    void setUp() {
+        quoteRepository = mock(QuoteRepository.class);
+        eventPublisher = mock(QuoteEventPublisher.class);
+        pdfRenderer = mock(QuotePdfRenderer.class);
+        pdfStorage = mock(PdfFileStorage.class);
+        listener = new QuoteEventListener(quoteRepository, eventPublisher, pdfRenderer, pdfStorage,
+                new SimpleMeterRegistry());
+        event = QuoteRequestedEvent.create(QUOTE_ID, "cfg-1", "buyer@example.com");
+
+        Quote quote = new Quote();
+        quote.setId(QUOTE_ID);
+        quote.setStatus(QuoteStatus.GENERATING);
+        when(quoteRepository.findById(QUOTE_ID)).thenReturn(Optional.of(quote));
+        when(quoteRepository.save(any(Quote.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pdfRenderer.render(any())).thenReturn(new byte[] {'%'});
+        when(pdfStorage.store(any())).thenReturn("a".repeat(64));
+    }
+
+    @Test
+    @DisplayName("Should take a pending quote, render it and mark it ready")
+    void shouldRenderPendingQuote() {
+        // Given
+        when(quoteRepository.startGenerating(QUOTE_ID, List.of(QuoteStatus.PENDING))).thenReturn(1);
+
+        // When
+        listener.handleQuoteRequested(event, false);
+
+        // Then
+        verify(pdfRenderer).render(any());
+        verify(quoteRepository).save(any(Quote.class));
+        assertThat(quoteRepository.findById(QUOTE_ID).orElseThrow().getStatus()).isEqualTo(QuoteStatus.READY);
+        verify(eventPublisher).publishQuoteReady(any(QuoteReadyEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should drop a duplicate event for a quote another delivery already took")
+    void shouldDropDuplicateEvent() {
+        // Given: the quote is no longer pending
+        when(quoteRepository.startGenerating(eq(QUOTE_ID), anyCollection())).thenReturn(0);
+
+        // When
+        listener.handleQuoteRequested(event, null);
+
+        // Then: nothing rendered, saved or announced twice
+        verify(quoteRepository).startGenerating(QUOTE_ID, List.of(QuoteStatus.PENDING));
+        verify(quoteRepository, never()).findById(any());
+        verify(quoteRepository, never()).save(any());
+        verifyNoInteractions(pdfRenderer, pdfStorage, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should let a broker redelivery take over a quote left generating")
+    void shouldResumeOnRedelivery() {
+        // Given
+        when(quoteRepository.startGenerating(QUOTE_ID, List.of(QuoteStatus.PENDING, QuoteStatus.GENERATING)))
+                .thenReturn(1);
+
+        // When
+        listener.handleQuoteRequested(event, true);
+
+        // Then
+        verify(pdfRenderer).render(any());
+        verify(eventPublisher).publishQuoteReady(any(QuoteReadyEvent.class));
+    }
+}
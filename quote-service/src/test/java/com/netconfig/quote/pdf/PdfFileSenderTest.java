@@ -0,0 +1,258 @@
+package com.netconfig.quote.pdf;
+
+import com.netconfig.common.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PdfFileSender conditional and range requests.
+ */
+class PdfFileSenderTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path directory;
+
+    private PdfFileStorage storage;
+    private PdfFileSender sender;
+    private String hash;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        storage = new PdfFileStorage(directory);
+        sender = new PdfFileSender(storage);
+        hash = storage.store(CONTENT);
+        etag = "\"" + hash + "\"";
+    }
+
+    @Test
+    @DisplayName("Should stream the whole file with its ETag when no range is asked for")
+    void shouldSendWholeFile() throws IOException {
+        // When
+        MockHttpServletResponse response = send(get());
+
+        // Then: without sendfile support the body is written through transferTo
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("QT-1.pdf");
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when If-None-Match matches, including * and weak tags")
+    void shouldAnswerNotModified() throws IOException {
+        for (String ifNoneMatch : new String[] {etag, "*", "W/" + etag, "\"other\", " + etag}) {
+            // Given
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+
+            // When
+            MockHttpServletResponse response = send(request);
+
+            // Then
+            assertThat(response.getStatus()).as(ifNoneMatch).isEqualTo(304);
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send the whole file when If-None-Match names another version")
+    void shouldSendWhenETagDiffers() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + "0".repeat(64) + "\"");
+
+        // When
+        MockHttpServletResponse response = send(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should send a single byte range as 206 with Content-Range")
+    void shouldSendPartialContent() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=9-13");
+
+        // When
+        MockHttpServletResponse response = send(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 9-13/" + CONTENT.length);
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+        assertThat(response.getContentAsString()).isEqualTo("01234");
+    }
+
+    @Test
+    @DisplayName("Should clamp open-ended and suffix ranges to the file")
+    void shouldClampRanges() throws IOException {
+        // Given
+        MockHttpServletRequest openEnded = get();
+        openEnded.addHeader(HttpHeaders.RANGE, "bytes=19-");
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-4");
+        MockHttpServletRequest pastEnd = get();
+        pastEnd.addHeader(HttpHeaders.RANGE, "bytes=23-1000");
+
+        // When / Then
+        assertThat(send(openEnded).getContentAsString()).isEqualTo("abcdefghij");
+        assertThat(send(suffix).getContentAsString()).isEqualTo("ghij");
+        MockHttpServletResponse clamped = send(pastEnd);
+        assertThat(clamped.getHeader(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes 23-" + (CONTENT.length - 1) + "/" + CONTENT.length);
+        assertThat(clamped.getContentAsString()).isEqualTo("efghij");
+    }
+
+    @Test
+    @DisplayName("Should answer 416 for ranges that start past the end or are empty")
+    void shouldRejectUnsatisfiableRanges() throws IOException {
+        for (String range : new String[] {"bytes=" + CONTENT.length + "-", "bytes=1000-2000", "bytes=-0"}) {
+            // Given
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.RANGE, range);
+
+            // When
+            MockHttpServletResponse response = send(request);
+
+            // Then
+            assertThat(response.getStatus()).as(range).isEqualTo(416);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + CONTENT.length);
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to the whole file for multiple or malformed ranges")
+    void shouldIgnoreMultipleAndMalformedRanges() throws IOException {
+        for (String range : new String[] {"bytes=0-1,5-6", "bytes=abc", "items=0-1"}) {
+            // Given
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.RANGE, range);
+
+            // When
+            MockHttpServletResponse response = send(request);
+
+            // Then
+            assertThat(response.getStatus()).as(range).isEqualTo(200);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+            assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @DisplayName("Should honour the range only while If-Range matches the current ETag")
+    void shouldCheckIfRange() throws IOException {
+        // Given
+        MockHttpServletRequest current = get();
+        current.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        current.addHeader(HttpHeaders.IF_RANGE, etag);
+        MockHttpServletRequest stale = get();
+        stale.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"" + "0".repeat(64) + "\"");
+
+        // When
+        MockHttpServletResponse partial = send(current);
+        MockHttpServletResponse whole = send(stale);
+
+        // Then
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getContentAsString()).isEqualTo("%PDF");
+        assertThat(whole.getStatus()).isEqualTo(200);
+        assertThat(whole.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should send headers but no body for HEAD")
+    void shouldSendHeadersOnlyForHead() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/api/v1/quotes/q-1/pdf");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+
+        // When
+        MockHttpServletResponse response = send(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-9/" + CONTENT.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand the file to the connector when sendfile is supported")
+    void shouldUseSendfileWhenSupported() throws IOException {
+        // Given
+        MockHttpServletRequest request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        // When
+        MockHttpServletResponse response = send(request);
+
+        // Then: the end attribute is exclusive and nothing is written by the sender
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(storage.resolve(hash).toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(5L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(10L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stream files larger than one transferTo call")
+    void shouldStreamLargeFiles() throws IOException {
+        // Given
+        byte[] large = new byte[3 * 1024 * 1024 + 17];
+        Arrays.fill(large, (byte) 'x');
+        large[large.length - 1] = 'y';
+        String largeHash = storage.store(large);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(largeHash, "QT-2.pdf", get(), response);
+
+        // Then
+        assertThat(response.getContentLengthLong()).isEqualTo(large.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(large);
+    }
+
+    @Test
+    @DisplayName("Should report a missing file as not found")
+    void shouldRejectMissingFile() {
+        assertThatThrownBy(() -> sender.send("0".repeat(64), "QT-1.pdf", get(), new MockHttpServletResponse()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/v1/quotes/q-1/pdf");
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(hash, "QT-1.pdf", request, response);
+        return response;
+    }
+}
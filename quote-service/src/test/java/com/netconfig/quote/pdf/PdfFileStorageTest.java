@@ -0,0 +1,84 @@
+package com.netconfig.quote.pdf;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the content-addressed PdfFileStorage.
+ */
+class PdfFileStorageTest {
+
+    // SHA-256 of "%PDF-test"
+    private static final byte[] CONTENT = "%PDF-test".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path directory;
+
+    private PdfFileStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new PdfFileStorage(directory);
+    }
+
+    @Test
+    @DisplayName("Should store content under its SHA-256 in a two-character fan-out directory")
+    void shouldStoreByContentHash() throws IOException {
+        // When
+        String hash = storage.store(CONTENT);
+
+        // Then
+        assertThat(hash).matches("[0-9a-f]{64}");
+        Path file = storage.resolve(hash);
+        assertThat(file).isEqualTo(directory.resolve(hash.substring(0, 2)).resolve(hash + ".pdf"));
+        assertThat(Files.readAllBytes(file)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should store identical content once and leave no temporary files")
+    void shouldDeduplicateIdenticalContent() throws IOException {
+        // Given
+        String first = storage.store(CONTENT);
+        long modified = Files.getLastModifiedTime(storage.resolve(first)).toMillis();
+
+        // When
+        String second = storage.store(CONTENT.clone());
+        String other = storage.store("%PDF-other".getBytes(StandardCharsets.US_ASCII));
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(Files.getLastModifiedTime(storage.resolve(first)).toMillis()).isEqualTo(modified);
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile))
+                    .hasSize(2)
+                    .allSatisfy(path -> assertThat(path.toString()).endsWith(".pdf"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject anything but a lowercase SHA-256 hex string")
+    void shouldRejectInvalidHashes() {
+        String valid = "a".repeat(64);
+        assertThat(storage.resolve(valid)).startsWithRaw(directory);
+
+        for (String invalid : new String[] {null, "", "a".repeat(63), "a".repeat(65), "A".repeat(64),
+                "g".repeat(64), "../" + "a".repeat(61), "aa/" + "a".repeat(61)}) {
+            assertThatThrownBy(() -> storage.resolve(invalid))
+                    .as("hash %s", invalid)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid PDF content hash");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.netconfig.quote.pdf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PdfWriter document structure.
+ */
+class PdfWriterTest {
+
+    private static final Pattern STARTXREF = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$");
+    private static final Pattern STREAM = Pattern.compile("<< /Length (\\d+) >>\nstream\n");
+
+    @Test
+    @DisplayName("Should point every xref entry and startxref at the right object")
+    void shouldWriteMatchingXrefOffsets() {
+        // Given
+        String pdf = text(PdfWriter.write(lines(PdfWriter.LINES_PER_PAGE + 1)));
+
+        // When
+        Matcher startxref = STARTXREF.matcher(pdf);
+        assertThat(startxref.find()).isTrue();
+        int xref = Integer.parseInt(startxref.group(1));
+        String[] table = pdf.substring(xref).split("\n");
+
+        // Then: 3 fixed objects plus a page and a content stream per page
+        assertThat(table[0]).isEqualTo("xref");
+        assertThat(table[1]).isEqualTo("0 8");
+        assertThat(table[2]).isEqualTo("0000000000 65535 f ");
+        for (int object = 1; object < 8; object++) {
+            String entry = table[2 + object];
+            assertThat(entry).matches("\\d{10} 00000 n ");
+            int offset = Integer.parseInt(entry.substring(0, 10));
+            assertThat(pdf.substring(offset)).startsWith(object + " 0 obj\n");
+        }
+        assertThat(pdf).contains("trailer\n<< /Size 8 /Root 1 0 R >>");
+    }
+
+    @Test
+    @DisplayName("Should declare each content stream with its exact length")
+    void shouldWriteStreamLengths() {
+        String pdf = text(PdfWriter.write(lines(PdfWriter.LINES_PER_PAGE * 2)));
+
+        Matcher stream = STREAM.matcher(pdf);
+        int streams = 0;
+        while (stream.find()) {
+            int length = Integer.parseInt(stream.group(1));
+            assertThat(pdf.substring(stream.end() + length)).startsWith("\nendstream\n");
+            streams++;
+        }
+        assertThat(streams).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should start a new page every LINES_PER_PAGE lines and count the pages")
+    void shouldPaginate() {
+        // Given
+        String empty = text(PdfWriter.write(List.of()));
+        String onePage = text(PdfWriter.write(lines(PdfWriter.LINES_PER_PAGE)));
+        String threePages = text(PdfWriter.write(lines(PdfWriter.LINES_PER_PAGE * 2 + 1)));
+
+        // Then
+        assertThat(empty).contains("/Kids [4 0 R] /Count 1").contains("(Page 1 of 1)");
+        assertThat(onePage).contains("/Kids [4 0 R] /Count 1");
+        assertThat(threePages)
+                .contains("/Kids [4 0 R 6 0 R 8 0 R] /Count 3")
+                .contains("(Page 3 of 3)")
+                .contains("(line " + PdfWriter.LINES_PER_PAGE * 2 + ")");
+        assertThat(threePages.split("Tj T\\*\n", -1)).hasSize(PdfWriter.LINES_PER_PAGE * 2 + 2);
+        // The first line of the last page follows that page's content stream header
+        assertThat(threePages).containsPattern("9 0 obj\n<< /Length \\d+ >>\nstream\nBT\n/F1 10 Tf\n12 TL\n"
+                + "50 792 Td\n\\(line " + PdfWriter.LINES_PER_PAGE * 2 + "\\) Tj T\\*\nET\n");
+    }
+
+    @Test
+    @DisplayName("Should escape PDF string delimiters and replace characters outside Latin-1")
+    void shouldEscapeText() {
+        String pdf = text(PdfWriter.write(List.of("Rack (42U) \\ 1U", "Tab\there", "Price €5 or ¥5 ü")));
+
+        assertThat(pdf)
+                .contains("(Rack \\(42U\\) \\\\ 1U) Tj T*")
+                .contains("(Tab here) Tj T*")
+                .contains("(Price ?5 or ¥5 ü) Tj T*");
+    }
+
+    @Test
+    @DisplayName("Should write identical bytes for identical lines")
+    void shouldBeDeterministic() {
+        List<String> lines = lines(PdfWriter.LINES_PER_PAGE + 5);
+
+        assertThat(PdfWriter.write(lines)).isEqualTo(PdfWriter.write(new ArrayList<>(lines)));
+    }
+
+    private static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("line " + i);
+        }
+        return lines;
+    }
+
+    // ISO-8859-1 keeps one char per byte, so string indexes are byte offsets
+    private static String text(byte[] pdf) {
+        return new String(pdf, StandardCharsets.ISO_8859_1);
+    }
+}
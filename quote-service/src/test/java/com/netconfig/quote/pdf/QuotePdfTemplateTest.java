@@ -0,0 +1,133 @@
+package com.netconfig.quote.pdf;
+
+import com.netconfig.quote.domain.Quote;
+import com.netconfig.quote.domain.QuoteLineItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for QuotePdfTemplate parsing and rendering.
+ */
+class QuotePdfTemplateTest {
+
+    private Quote quote;
+
+    @BeforeEach
+    void setUp() {
+        quote = new Quote();
+        quote.setQuoteNumber("QT-20261019-00042");
+        quote.setCustomerName("Acme Corporation");
+        quote.setCurrency("EUR");
+        quote.setGrandTotal(new BigDecimal("1234.5"));
+        quote.setCreatedAt(Instant.parse("2026-10-19T23:30:00Z"));
+
+        QuoteLineItem rack = new QuoteLineItem("RACK-42U", "42U Rack", "RACK", 1, new BigDecimal("1100.00"));
+        QuoteLineItem psu = new QuoteLineItem("PSU-1", "Redundant Power Supply Unit 1100W", "PSU", 2,
+                new BigDecimal("349.505"));
+        psu.setDiscountAmount(new BigDecimal("10.00"));
+        quote.addLineItem(rack);
+        quote.addLineItem(psu);
+    }
+
+    @Test
+    @DisplayName("Should fill quote fields, formatting amounts with two decimals and instants as UTC dates")
+    void shouldRenderQuoteFields() {
+        QuotePdfTemplate template = QuotePdfTemplate.compile(
+                "Quote {{quoteNumber}} for {{customerName}}\n"
+                + "Date: {{createdAt}}, {{itemCount}} items\n"
+                + "Total {{currency}} {{grandTotal}}{{customerEmail}}|");
+
+        assertThat(template.render(quote)).containsExactly(
+                "Quote QT-20261019-00042 for Acme Corporation",
+                "Date: 2026-10-19, 2 items",
+                "Total EUR 1234.50|");
+    }
+
+    @Test
+    @DisplayName("Should right-align, left-align and cut values to the given width")
+    void shouldAlignAndTruncate() {
+        QuotePdfTemplate template = QuotePdfTemplate.compile("""
+                {{#lineItems}}
+                [{{productSku:10}}][{{productName:-12}}][{{quantity:3}}][{{finalTotal:-4}}]
+                {{/lineItems}}
+                """);
+
+        assertThat(template.render(quote)).containsExactly(
+                "[  RACK-42U][42U Rack    ][  1][1100]",
+                "[     PSU-1][Redundant Po][  2][689.]");
+    }
+
+    @Test
+    @DisplayName("Should repeat the section per line item between quote lines")
+    void shouldRepeatLineItemSection() {
+        QuotePdfTemplate template = QuotePdfTemplate.compile("""
+                Items:
+                  {{#lineItems}}
+                - {{productSku}} x{{quantity}}
+                  at {{unitPrice}}
+                  {{/lineItems}}
+                Total {{grandTotal:9}}
+                """);
+
+        assertThat(template.render(quote)).containsExactly(
+                "Items:",
+                "- RACK-42U x1",
+                "  at 1100.00",
+                "- PSU-1 x2",
+                "  at 349.51",
+                "Total   1234.50");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields, including quote fields inside the line item section")
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> QuotePdfTemplate.compile("Hello {{customer}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown quote field in PDF template: customer");
+        assertThatThrownBy(() -> QuotePdfTemplate.compile("{{productSku}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown quote field in PDF template: productSku");
+        assertThatThrownBy(() -> QuotePdfTemplate.compile("{{#lineItems}}\n{{grandTotal}}\n{{/lineItems}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown line item field in PDF template: grandTotal");
+    }
+
+    @Test
+    @DisplayName("Should reject nested, unopened and unclosed line item sections")
+    void shouldRejectUnbalancedSections() {
+        assertThatThrownBy(() -> QuotePdfTemplate.compile(
+                "{{#lineItems}}\n{{#lineItems}}\n{{/lineItems}}\n{{/lineItems}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Nested {{#lineItems}}");
+        assertThatThrownBy(() -> QuotePdfTemplate.compile("Total\n{{/lineItems}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{{/lineItems}} without {{#lineItems}}");
+        assertThatThrownBy(() -> QuotePdfTemplate.compile("{{#lineItems}}\n{{productSku}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unclosed {{#lineItems}}");
+    }
+
+    @Test
+    @DisplayName("Should compile the bundled template and keep its columns inside the page width")
+    void shouldCompileBundledTemplate() throws IOException {
+        String text;
+        try (InputStream in = getClass().getResourceAsStream("/templates/quote-pdf.txt")) {
+            assertThat(in).isNotNull();
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        assertThat(QuotePdfTemplate.compile(text).render(quote))
+                .contains("Quote number:   QT-20261019-00042")
+                .allSatisfy(line -> assertThat(line.length()).isLessThanOrEqualTo(80));
+    }
+}
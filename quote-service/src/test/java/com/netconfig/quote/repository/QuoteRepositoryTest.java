@@ -0,0 +1,128 @@
+package com.netconfig.quote.repository;
+
+import com.netconfig.quote.domain.Quote;
+import com.netconfig.quote.domain.QuoteStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the QuoteRepository expiration queries against an in-memory
+ * database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class QuoteRepositoryTest {
+
+    private static final List<QuoteStatus> EXPIRABLE = List.of(
+            QuoteStatus.PENDING, QuoteStatus.GENERATING, QuoteStatus.READY, QuoteStatus.SENT);
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    // Bulk updates bypass the persistence context, so it is cleared before reading rows back
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    @Test
+    @DisplayName("Should page expired keys in (expiresAt, id) order across equal expiry times")
+    void shouldPageKeysInExpiryOrder() {
+        // Given: three quotes lapsed at the same instant, one earlier, one not lapsed, one accepted
+        Instant tie = now.minus(1, ChronoUnit.HOURS);
+        List<String> tiedIds = List.of(
+                save("QT-1", QuoteStatus.READY, tie).getId(),
+                save("QT-2", QuoteStatus.SENT, tie).getId(),
+                save("QT-3", QuoteStatus.PENDING, tie).getId());
+        Quote earliest = save("QT-4", QuoteStatus.READY, now.minus(1, ChronoUnit.DAYS));
+        save("QT-5", QuoteStatus.READY, now.plus(1, ChronoUnit.DAYS));
+        save("QT-6", QuoteStatus.ACCEPTED, tie);
+
+        // When: two chunks of two, the second continuing from the first
+        List<QuoteRepository.ExpiryKey> first = quoteRepository.findExpiredKeys(
+                EXPIRABLE, now, Instant.EPOCH, "", Limit.of(2));
+        QuoteRepository.ExpiryKey last = first.get(1);
+        List<QuoteRepository.ExpiryKey> second = quoteRepository.findExpiredKeys(
+                EXPIRABLE, now, last.getExpiresAt(), last.getId(), Limit.of(2));
+
+        // Then: every lapsed open quote exactly once, the earliest first, ties by ID
+        assertThat(first.get(0).getId()).isEqualTo(earliest.getId());
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(2);
+        List<String> tied = List.of(first.get(1).getId(), second.get(0).getId(), second.get(1).getId());
+        assertThat(tied).isSorted().containsExactlyInAnyOrderElementsOf(tiedIds);
+        assertThat(quoteRepository.findExpiredKeys(
+                EXPIRABLE, now, second.get(1).getExpiresAt(), second.get(1).getId(), Limit.of(2))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not expire a quote whose status changed after the key scan")
+    void shouldSkipQuotesChangedAfterScan() {
+        // Given: both quotes are scanned, then one is accepted before the UPDATE
+        Instant lapsed = now.minus(1, ChronoUnit.HOURS);
+        Quote open = save("QT-1", QuoteStatus.READY, lapsed);
+        Quote accepted = save("QT-2", QuoteStatus.SENT, lapsed);
+        List<String> ids = quoteRepository.findExpiredKeys(EXPIRABLE, now, Instant.EPOCH, "", Limit.of(10))
+                .stream().map(QuoteRepository.ExpiryKey::getId).toList();
+        assertThat(ids).containsExactlyInAnyOrder(open.getId(), accepted.getId());
+        accepted.setStatus(QuoteStatus.ACCEPTED);
+        quoteRepository.saveAndFlush(accepted);
+
+        // When
+        int updated = quoteRepository.updateStatus(ids, EXPIRABLE, QuoteStatus.EXPIRED);
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(statusOf(open)).isEqualTo(QuoteStatus.EXPIRED);
+        assertThat(statusOf(accepted)).isEqualTo(QuoteStatus.ACCEPTED);
+    }
+
+    @Test
+    @DisplayName("Should bump the version of updated quotes only")
+    void shouldBumpVersionOfUpdatedQuotes() {
+        // Given
+        Quote open = save("QT-1", QuoteStatus.READY, now.minus(1, ChronoUnit.HOURS));
+        Quote rejected = save("QT-2", QuoteStatus.REJECTED, now.minus(1, ChronoUnit.HOURS));
+        long openVersion = open.getVersion();
+        long rejectedVersion = rejected.getVersion();
+
+        // When
+        quoteRepository.updateStatus(List.of(open.getId(), rejected.getId()), EXPIRABLE, QuoteStatus.EXPIRED);
+        entityManager.clear();
+
+        // Then
+        assertThat(quoteRepository.findById(open.getId()).orElseThrow().getVersion()).isEqualTo(openVersion + 1);
+        assertThat(quoteRepository.findById(rejected.getId()).orElseThrow().getVersion()).isEqualTo(rejectedVersion);
+    }
+
+    private Quote save(String quoteNumber, QuoteStatus status, Instant expiresAt) {
+        Quote quote = new Quote();
+        quote.setQuoteNumber(quoteNumber);
+        quote.setConfigurationId("cfg-1");
+        quote.setStatus(status);
+        quote.setExpiresAt(expiresAt);
+        return quoteRepository.saveAndFlush(quote);
+    }
+
+    private QuoteStatus statusOf(Quote quote) {
+        return quoteRepository.findById(quote.getId()).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,220 @@
+package com.netconfig.quote.service;
+
+import com.netconfig.quote.domain.QuoteNumberBlock;
+import com.netconfig.quote.repository.QuoteNumberBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QuoteNumberGenerator block reservation.
+ */
+class QuoteNumberGeneratorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+    private QuoteNumberBlockRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private final AtomicReference<LocalDate> today = new AtomicReference<>(DAY);
+
+    // Committed counter rows by day, and rows read by findForUpdate (so saving them is an update)
+    private final Map<String, Long> rows = new ConcurrentHashMap<>();
+    private final Set<QuoteNumberBlock> loaded = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(QuoteNumberBlockRepository.class);
+        when(repository.findForUpdate(anyString())).thenAnswer(invocation -> {
+            String day = invocation.getArgument(0);
+            return Optional.ofNullable(rows.get(day)).map(next -> {
+                QuoteNumberBlock row = new QuoteNumberBlock(day, next);
+                loaded.add(row);
+                return row;
+            });
+        });
+        when(repository.saveAndFlush(any(QuoteNumberBlock.class))).thenAnswer(invocation -> {
+            QuoteNumberBlock row = invocation.getArgument(0);
+            if (loaded.remove(row)) {
+                rows.put(row.getDay(), row.getNextValue());
+            } else if (rows.putIfAbsent(row.getDay(), row.getNextValue()) != null) {
+                throw new DataIntegrityViolationException("duplicate key " + row.getDay());
+            }
+            return row;
+        });
+
+        // One lock stands in for the counter row lock, held until commit or rollback
+        ReentrantLock rowLock = new ReentrantLock();
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should hand out a block before going back to the database")
+    void shouldReserveBlocks() {
+        // Given
+        QuoteNumberGenerator generator = generator(3);
+
+        // When
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(generator.generate());
+        }
+
+        // Then: the fourth number needed a second block
+        assertThat(numbers).containsExactly(
+                "QT-20261019-00001", "QT-20261019-00002", "QT-20261019-00003", "QT-20261019-00004");
+        verify(repository, times(2)).findForUpdate("20261019");
+        assertThat(rows).containsEntry("20261019", 7L);
+    }
+
+    @Test
+    @DisplayName("Should interleave blocks of two instances without reusing numbers")
+    void shouldShareCounterBetweenInstances() {
+        // Given
+        QuoteNumberGenerator first = generator(2);
+        QuoteNumberGenerator second = generator(2);
+
+        // When / Then
+        assertThat(first.generate()).isEqualTo("QT-20261019-00001");
+        assertThat(second.generate()).isEqualTo("QT-20261019-00003");
+        assertThat(first.generate()).isEqualTo("QT-20261019-00002");
+        assertThat(first.generate()).isEqualTo("QT-20261019-00005");
+        assertThat(second.generate()).isEqualTo("QT-20261019-00004");
+    }
+
+    @Test
+    @DisplayName("Should not hand out duplicates when concurrent callers exhaust and refill blocks")
+    void shouldStayUniqueUnderConcurrentRefills() throws Exception {
+        // Given: two instances with small blocks, so refills race constantly
+        List<QuoteNumberGenerator> generators = List.of(generator(7), generator(7));
+        int threads = 8;
+        int perThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int t = 0; t < threads; t++) {
+                QuoteNumberGenerator generator = generators.get(t % 2);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<String> numbers = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(generator.generate());
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+
+            // Then
+            Set<String> unique = ConcurrentHashMap.newKeySet();
+            int total = 0;
+            for (Future<List<String>> result : results) {
+                List<String> numbers = result.get(30, TimeUnit.SECONDS);
+                unique.addAll(numbers);
+                total += numbers.size();
+            }
+            assertThat(total).isEqualTo(threads * perThread);
+            assertThat(unique).hasSize(total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start a new counter when the day changes, even mid-block")
+    void shouldStartNewBlockOnNewDay() {
+        // Given
+        QuoteNumberGenerator generator = generator(100);
+        assertThat(generator.generate()).isEqualTo("QT-20261019-00001");
+
+        // When
+        today.set(DAY.plusDays(1));
+
+        // Then
+        assertThat(generator.generate()).isEqualTo("QT-20261020-00001");
+        assertThat(generator.generate()).isEqualTo("QT-20261020-00002");
+        assertThat(rows).containsEntry("20261019", 101L).containsEntry("20261020", 101L);
+    }
+
+    @Test
+    @DisplayName("Should lock the row another instance created first instead of failing")
+    void shouldRetryWhenDayRowCreatedConcurrently() {
+        // Given: the other instance's insert is not visible to the first lookup
+        QuoteNumberBlockRepository racing = mock(QuoteNumberBlockRepository.class);
+        QuoteNumberBlock created = new QuoteNumberBlock("20261019", 11);
+        when(racing.findForUpdate("20261019")).thenReturn(Optional.empty()).thenReturn(Optional.of(created));
+        when(racing.saveAndFlush(any(QuoteNumberBlock.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key 20261019"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        QuoteNumberGenerator generator = new QuoteNumberGenerator(racing, transactionManager, 10, today::get);
+
+        // When
+        String number = generator.generate();
+
+        // Then
+        assertThat(number).isEqualTo("QT-20261019-00011");
+        assertThat(created.getNextValue()).isEqualTo(21);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should give up after repeated insert conflicts")
+    void shouldGiveUpAfterRepeatedConflicts() {
+        // Given
+        QuoteNumberBlockRepository failing = mock(QuoteNumberBlockRepository.class);
+        when(failing.findForUpdate(anyString())).thenReturn(Optional.empty());
+        when(failing.saveAndFlush(any(QuoteNumberBlock.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key 20261019"));
+        QuoteNumberGenerator generator = new QuoteNumberGenerator(failing, transactionManager, 10, today::get);
+
+        // When / Then
+        assertThatThrownBy(generator::generate).isInstanceOf(DataIntegrityViolationException.class);
+        verify(failing, times(3)).saveAndFlush(any());
+    }
+
+    private QuoteNumberGenerator generator(int blockSize) {
+        return new QuoteNumberGenerator(repository, transactionManager, blockSize, today::get);
+    }
+}
@@ -0,0 +1,241 @@
+package com.netconfig.quote.service;
+
+import com.netconfig.common.event.QuoteRequestedEvent;
+import com.netconfig.quote.client.ConfigurationClient;
+import com.netconfig.quote.client.PricingClient;
+import com.netconfig.quote.client.dto.ConfigurationResponse;
+import com.netconfig.quote.client.dto.PricingLineItemResponse;
+import com.netconfig.quote.client.dto.PricingResponse;
+import com.netconfig.quote.domain.Quote;
+import com.netconfig.quote.domain.QuoteStatus;
+import com.netconfig.quote.dto.CreateQuoteRequest;
+import com.netconfig.quote.messaging.QuoteEventPublisher;
+import com.netconfig.quote.repository.OutboxEventRepository;
+import com.netconfig.quote.repository.QuoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for QuoteService against an in-memory database. Test methods run
+ * without a transaction of their own, so the service's transactions are
+ * the only ones.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuoteServiceTest {
+
+    private static final String CONFIGURATION_ID = "cfg-1";
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ConfigurationClient configurationClient;
+    private PricingClient pricingClient;
+    private QuoteEventPublisher eventPublisher;
+    private QuoteService service;
+
+    // Whether a transaction was active during each remote call
+    private final List<Boolean> remoteCallsInTransaction = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        quoteRepository.deleteAll();
+
+        configurationClient = mock(ConfigurationClient.class);
+        pricingClient = mock(PricingClient.class);
+        QuoteNumberGenerator quoteNumberGenerator = mock(QuoteNumberGenerator.class);
+        when(quoteNumberGenerator.generate()).thenReturn("QT-20261019-00001");
+        eventPublisher = new QuoteEventPublisher(mock(RabbitTemplate.class), outboxRepository,
+                new Jackson2JsonMessageConverter());
+        service = newService(eventPublisher, quoteNumberGenerator);
+
+        ConfigurationResponse configuration =
+                new ConfigurationResponse(CONFIGURATION_ID, "Branch rack", "cust-1", "RACK-42U", true, List.of());
+        PricingResponse pricing = new PricingResponse(CONFIGURATION_ID,
+                List.of(new PricingLineItemResponse("SW-1", "Switch", "SWITCH", 2,
+                        new BigDecimal("500.00"), new BigDecimal("1000.00"), BigDecimal.ZERO, null)),
+                new BigDecimal("1000.00"), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("1000.00"),
+                "USD", "fx-1", Map.of("USD", BigDecimal.ONE), false, List.of());
+        when(configurationClient.getConfiguration(CONFIGURATION_ID)).thenAnswer(invocation -> {
+            remoteCallsInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return Optional.of(configuration);
+        });
+        when(pricingClient.calculatePrice(any(), any(), anyBoolean(), any(), any())).thenAnswer(invocation -> {
+            remoteCallsInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return Optional.of(pricing);
+        });
+    }
+
+    @Test
+    @DisplayName("Should call configuration and pricing with no transaction active")
+    void shouldFetchOutsideTransaction() {
+        // When
+        Quote quote = service.createQuote(request());
+
+        // Then: both remote calls ran, neither inside a transaction
+        assertThat(remoteCallsInTransaction).containsExactly(false, false);
+        assertThat(quoteRepository.findById(quote.getId())).isPresent();
+        assertThat(outboxRepository.countUnpublished()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave neither quote nor outbox row when the write fails")
+    void shouldRollBackFailedWrite() {
+        // Given: the outbox row is written, then the transaction fails
+        QuoteEventPublisher failingPublisher = mock(QuoteEventPublisher.class);
+        doAnswer(invocation -> {
+            eventPublisher.publishQuoteRequested(invocation.getArgument(0));
+            throw new DataIntegrityViolationException("outbox insert failed");
+        }).when(failingPublisher).publishQuoteRequested(any(QuoteRequestedEvent.class));
+        QuoteNumberGenerator quoteNumberGenerator = mock(QuoteNumberGenerator.class);
+        when(quoteNumberGenerator.generate()).thenReturn("QT-20261019-00002");
+        QuoteService failingService = newService(failingPublisher, quoteNumberGenerator);
+
+        // When / Then
+        assertThatThrownBy(() -> failingService.createQuote(request()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(quoteRepository.count()).isZero();
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write nothing when a remote call fails")
+    void shouldWriteNothingWhenFetchFails() {
+        // Given
+        when(pricingClient.calculatePrice(any(), any(), anyBoolean(), any(), any())).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> service.createQuote(request()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(quoteRepository.count()).isZero();
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should expire in chunks and stop on an empty chunk after an exact multiple")
+    void shouldExpireExactMultipleOfBatchSize() {
+        // Given: six lapsed quotes, two of them with the same expiry
+        Instant now = Instant.now();
+        for (int i = 0; i < 6; i++) {
+            saveQuote("QT-E-" + i, QuoteStatus.READY, now.minus(Math.min(i, 4) + 1, ChronoUnit.HOURS));
+        }
+        List<QuoteService.ExpirationProgress> progress = new ArrayList<>();
+
+        // When
+        int expired = service.expireOldQuotes(3, progress::add);
+
+        // Then
+        assertThat(expired).isEqualTo(6);
+        assertThat(progress).containsExactly(
+                new QuoteService.ExpirationProgress(1, 3, 3),
+                new QuoteService.ExpirationProgress(2, 3, 6));
+        assertThat(quoteRepository.findByStatus(QuoteStatus.EXPIRED)).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("Should report a short last chunk and leave quotes that may not lapse")
+    void shouldExpireOnlyLapsedOpenQuotes() {
+        // Given
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            saveQuote("QT-E-" + i, QuoteStatus.SENT, now.minus(i + 1, ChronoUnit.MINUTES));
+        }
+        Quote accepted = saveQuote("QT-ACC", QuoteStatus.ACCEPTED, now.minus(1, ChronoUnit.DAYS));
+        Quote current = saveQuote("QT-CUR", QuoteStatus.READY, now.plus(1, ChronoUnit.DAYS));
+        List<QuoteService.ExpirationProgress> progress = new ArrayList<>();
+
+        // When
+        int expired = service.expireOldQuotes(2, progress::add);
+
+        // Then
+        assertThat(expired).isEqualTo(5);
+        assertThat(progress).extracting(QuoteService.ExpirationProgress::chunkExpired).containsExactly(2, 2, 1);
+        assertThat(progress).extracting(QuoteService.ExpirationProgress::totalExpired).containsExactly(2, 4, 5);
+        assertThat(quoteRepository.findById(accepted.getId()).orElseThrow().getStatus())
+                .isEqualTo(QuoteStatus.ACCEPTED);
+        assertThat(quoteRepository.findById(current.getId()).orElseThrow().getStatus())
+                .isEqualTo(QuoteStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Should bump the version of expired quotes so stale copies cannot be saved over them")
+    void shouldBumpVersionOnExpiry() {
+        // Given
+        Quote quote = saveQuote("QT-V", QuoteStatus.READY, Instant.now().minus(1, ChronoUnit.HOURS));
+
+        // When
+        service.expireOldQuotes(10, progress -> { });
+
+        // Then
+        Quote reloaded = quoteRepository.findById(quote.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(QuoteStatus.EXPIRED);
+        assertThat(reloaded.getVersion()).isEqualTo(quote.getVersion() + 1);
+        quote.setStatus(QuoteStatus.ACCEPTED);
+        assertThatThrownBy(() -> quoteRepository.save(quote))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch size below one")
+    void shouldRejectInvalidBatchSize() {
+        assertThatThrownBy(() -> service.expireOldQuotes(0, progress -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private QuoteService newService(QuoteEventPublisher publisher, QuoteNumberGenerator quoteNumberGenerator) {
+        return new QuoteService(quoteRepository, quoteNumberGenerator, configurationClient, pricingClient,
+                publisher, new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+    }
+
+    private Quote saveQuote(String quoteNumber, QuoteStatus status, Instant expiresAt) {
+        Quote quote = new Quote();
+        quote.setQuoteNumber(quoteNumber);
+        quote.setConfigurationId(CONFIGURATION_ID);
+        quote.setStatus(status);
+        quote.setExpiresAt(expiresAt);
+        return quoteRepository.save(quote);
+    }
+
+    private static CreateQuoteRequest request() {
+        return new CreateQuoteRequest(CONFIGURATION_ID, null, "Acme", "buyer@example.com",
+                null, false, null, null);
+    }
+}
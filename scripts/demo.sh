@@ -141,7 +141,8 @@ PRICING_RESPONSE=$(curl -s -X POST "$PRICING_URL/pricing/calculate" \
         \"options\": {
             \"include_support\": true,
             \"support_tier\": \"PREMIUM\"
-        }
+        },
+        \"explain\": true
     }")
 
 SUBTOTAL=$(echo $PRICING_RESPONSE | jq -r '.data.subtotal')